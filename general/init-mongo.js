@@ -37,21 +37,21 @@ db.createCollection('cuentas_bancarias', {
         },
         tipoCuenta: {
           bsonType: 'string',
-          enum: ['AHORROS', 'CORRIENTE', 'PLAZO_FIJO', 'VISTA'],
-          description: 'Tipo de cuenta bancaria'
+          enum: ['A', 'C', 'P', 'V'],
+          description: 'Tipo de cuenta bancaria: A ahorros, C corriente, P plazo fijo, V vista'
         },
         estadoCuenta: {
           bsonType: 'string',
-          enum: ['ACTIVA', 'INACTIVA', 'BLOQUEADA', 'CERRADA'],
-          description: 'Estado actual de la cuenta'
+          enum: ['A', 'I', 'B', 'C'],
+          description: 'Estado actual de la cuenta: A activa, I inactiva, B bloqueada, C cerrada'
         },
         saldoDisponible: {
-          bsonType: 'decimal',
-          description: 'Saldo disponible para transacciones'
+          bsonType: 'long',
+          description: 'Saldo disponible para transacciones, en centavos'
         },
         saldoContable: {
-          bsonType: 'decimal',
-          description: 'Saldo contable de la cuenta'
+          bsonType: 'long',
+          description: 'Saldo contable de la cuenta, en centavos'
         }
       }
     }
@@ -74,12 +74,12 @@ db.createCollection('movimientos_cuenta', {
         },
         tipoMovimiento: {
           bsonType: 'string',
-          enum: ['DEBITO', 'CREDITO'],
-          description: 'Tipo de movimiento'
+          enum: ['D', 'C'],
+          description: 'Tipo de movimiento: D débito, C crédito'
         },
         monto: {
-          bsonType: 'decimal',
-          description: 'Monto del movimiento'
+          bsonType: 'long',
+          description: 'Monto del movimiento, en centavos'
         },
         concepto: {
           bsonType: 'string',
@@ -99,7 +99,11 @@ db.cuentas_bancarias.createIndex({ 'tipoCuenta': 1 });
 db.movimientos_cuenta.createIndex({ 'numeroCuenta': 1 });
 db.movimientos_cuenta.createIndex({ 'numeroComprobante': 1 }, { unique: true });
 db.movimientos_cuenta.createIndex({ 'fechaMovimiento': -1 });
-db.movimientos_cuenta.createIndex({ 'numeroCuenta': 1, 'fechaMovimiento': -1 });
+db.movimientos_cuenta.createIndex({ 'numeroCuenta': 1, 'fechaMovimiento': -1, '_id': -1 });
+db.movimientos_cuenta.createIndex({ 'numeroCuenta': 1, 'tipoMovimiento': 1, 'fechaMovimiento': -1 }, { name: 'cuenta_tipo_fecha' });
+
+db.estadisticas_cuenta.createIndex({ 'numeroCuenta': 1 }, { unique: true });
+db.saldos_diarios.createIndex({ 'numeroCuenta': 1, 'fecha': -1 }, { unique: true });
 
 // Insertar datos de prueba (opcional)
 print('Inicializando base de datos BanQuito...');
@@ -0,0 +1,34 @@
+package com.banco.banquito.general.carga;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Elección de cuentas con distribución de Zipf: la cuenta de rango k recibe tráfico proporcional a 1/k^s. Con
+ * s=1 el 1% de las cuentas concentra cerca de la mitad de los movimientos, que es lo que hace visibles la
+ * contención por cuenta y la eficacia de la cache; s=0 es uniforme.
+ */
+final class DistribucionZipf {
+
+	private final double[] acumulada;
+
+	DistribucionZipf(int elementos, double exponente) {
+		acumulada = new double[elementos];
+		double suma = 0;
+		for (int k = 1; k <= elementos; k++) {
+			suma += 1.0 / Math.pow(k, exponente);
+			acumulada[k - 1] = suma;
+		}
+		for (int i = 0; i < elementos; i++) {
+			acumulada[i] /= suma;
+		}
+	}
+
+	/**
+	 * Índice de 0 a elementos-1; el 0 es el más frecuente.
+	 */
+	int siguiente() {
+		int indice = Arrays.binarySearch(acumulada, ThreadLocalRandom.current().nextDouble());
+		return Math.min(indice >= 0 ? indice : -indice - 1, acumulada.length - 1);
+	}
+}
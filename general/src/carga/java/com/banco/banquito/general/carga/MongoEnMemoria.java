@@ -0,0 +1,759 @@
+package com.banco.banquito.general.carga;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * Almacén en memoria con la parte de la semántica de Mongo que usa el servicio: documentos por colección
+ * convertidos con el mismo MongoConverter de la aplicación, índices únicos y secundarios equivalentes a los de
+ * init-mongo.js, filtros con los operadores de consulta habituales y $expr aritmético, orden, skip/limit y
+ * updates atómicos por documento ($set, $setOnInsert, $unset, $inc, $min, $max, $currentDate). Lo que no se
+ * soporta falla con UnsupportedOperationException en lugar de comportarse distinto a Mongo.
+ *
+ * <p>Cada colección usa un lock de lectura/escritura; las escrituras reemplazan el documento completo, así
+ * que una lectura nunca ve un documento a medio actualizar. La latencia simulada la aplican las plantillas,
+ * no este almacén.
+ */
+class MongoEnMemoria {
+
+	private static final Map<String, List<String>> INDICES_UNICOS = Map.of(
+			"cuentas_bancarias", List.of("numeroCuenta"),
+			"movimientos_cuenta", List.of("numeroComprobante"),
+			"estadisticas_cuenta", List.of("numeroCuenta"));
+
+	private static final Map<String, List<String>> INDICES_SECUNDARIOS = Map.of(
+			"cuentas_bancarias", List.of("clienteIdentificacion", "estadoCuenta", "tipoCuenta"),
+			"movimientos_cuenta", List.of("numeroCuenta"),
+			"saldos_diarios", List.of("numeroCuenta"));
+
+	private static final Object SIN_IGUALDAD = new Object();
+
+	private final MongoConverter converter;
+	private final QueryMapper queryMapper;
+	private final UpdateMapper updateMapper;
+	private final Duration latencia;
+	private final Map<String, Coleccion> colecciones = new ConcurrentHashMap<>();
+	private final AtomicLong operaciones = new AtomicLong();
+
+	MongoEnMemoria(MongoConverter converter, Duration latencia) {
+		this.converter = converter;
+		this.queryMapper = new QueryMapper(converter);
+		this.updateMapper = new UpdateMapper(converter);
+		this.latencia = latencia;
+	}
+
+	MongoConverter getConverter() {
+		return converter;
+	}
+
+	Duration getLatencia() {
+		return latencia;
+	}
+
+	long operaciones() {
+		return operaciones.get();
+	}
+
+	/**
+	 * Cuenta la operación y bloquea el hilo el tiempo de un viaje a Mongo. La variante reactiva solo cuenta y
+	 * difiere la respuesta sin bloquear.
+	 */
+	void esperar() {
+		registrarOperacion();
+		if (!latencia.isZero()) {
+			LockSupport.parkNanos(latencia.toNanos());
+		}
+	}
+
+	void registrarOperacion() {
+		operaciones.incrementAndGet();
+	}
+
+	String nombreColeccion(Class<?> tipo) {
+		return entidad(tipo).getCollection();
+	}
+
+	<T> List<T> buscar(Query query, Class<T> tipo, String nombreColeccion) {
+		List<Document> documentos = buscarDocumentos(query, tipo, nombreColeccion);
+		List<T> resultado = new ArrayList<>(documentos.size());
+		for (Document documento : documentos) {
+			resultado.add(leer(tipo, documento));
+		}
+		return resultado;
+	}
+
+	<T> T buscarUno(Query query, Class<T> tipo, String nombreColeccion) {
+		List<Document> documentos = buscarDocumentos(Query.of(query).limit(1), tipo, nombreColeccion);
+		return documentos.isEmpty() ? null : leer(tipo, documentos.get(0));
+	}
+
+	<T> T buscarPorId(Object id, Class<T> tipo, String nombreColeccion) {
+		Coleccion coleccion = coleccion(nombreColeccion);
+		Object idMapeado = queryMapper.convertId(id);
+		Document documento;
+		coleccion.lock.readLock().lock();
+		try {
+			documento = coleccion.documentos.get(clave(idMapeado));
+		} finally {
+			coleccion.lock.readLock().unlock();
+		}
+		return documento == null ? null : leer(tipo, documento);
+	}
+
+	boolean existe(Query query, Class<?> tipo, String nombreColeccion) {
+		return !buscarDocumentos(Query.of(query).limit(1), tipo, nombreColeccion).isEmpty();
+	}
+
+	long contar(Query query, Class<?> tipo, String nombreColeccion) {
+		return buscarDocumentos(query, tipo, nombreColeccion).size();
+	}
+
+	<T> T insertar(T objeto, String nombreColeccion) {
+		asegurarId(objeto);
+		Document documento = escribir(objeto);
+		Coleccion coleccion = coleccion(nombreColeccion);
+		coleccion.lock.writeLock().lock();
+		try {
+			Object id = clave(documento.get("_id"));
+			if (coleccion.documentos.containsKey(id)) {
+				throw duplicado(nombreColeccion, "_id", id);
+			}
+			coleccion.validarUnicos(nombreColeccion, documento, null);
+			coleccion.agregar(documento);
+		} finally {
+			coleccion.lock.writeLock().unlock();
+		}
+		return objeto;
+	}
+
+	<T> T guardar(T objeto, String nombreColeccion) {
+		asegurarId(objeto);
+		Document documento = escribir(objeto);
+		Coleccion coleccion = coleccion(nombreColeccion);
+		coleccion.lock.writeLock().lock();
+		try {
+			Object id = clave(documento.get("_id"));
+			Document anterior = coleccion.documentos.get(id);
+			coleccion.validarUnicos(nombreColeccion, documento, anterior == null ? null : id);
+			if (anterior != null) {
+				coleccion.quitar(anterior);
+			}
+			coleccion.agregar(documento);
+		} finally {
+			coleccion.lock.writeLock().unlock();
+		}
+		return objeto;
+	}
+
+	UpdateResult actualizar(Query query, UpdateDefinition update, Class<?> tipo, String nombreColeccion,
+							boolean upsert, boolean multiple) {
+		MongoPersistentEntity<?> entidad = entidadOpcional(tipo);
+		Document filtro = filtro(query, entidad);
+		Document cambios = updateMapper.getMappedObject(update.getUpdateObject(), entidad);
+		Coleccion coleccion = coleccion(nombreColeccion);
+
+		coleccion.lock.writeLock().lock();
+		try {
+			List<Document> coincidentes = coleccion.buscar(filtro, orden(query, entidad), multiple ? 0 : 1, 0);
+			if (coincidentes.isEmpty()) {
+				if (!upsert) {
+					return UpdateResult.acknowledged(0, 0L, null);
+				}
+				Document insertado = aplicar(documentoBase(filtro), cambios, true);
+				insertado.putIfAbsent("_id", new ObjectId());
+				coleccion.validarUnicos(nombreColeccion, insertado, null);
+				coleccion.agregar(insertado);
+				return UpdateResult.acknowledged(0, 0L, idBson(insertado.get("_id")));
+			}
+
+			long modificados = 0;
+			for (Document actual : coincidentes) {
+				Document nuevo = aplicar(actual, cambios, false);
+				coleccion.reemplazar(nombreColeccion, actual, nuevo);
+				if (!nuevo.equals(actual)) {
+					modificados++;
+				}
+			}
+			return UpdateResult.acknowledged(coincidentes.size(), modificados, null);
+		} finally {
+			coleccion.lock.writeLock().unlock();
+		}
+	}
+
+	<T> T buscarYModificar(Query query, UpdateDefinition update, FindAndModifyOptions opciones, Class<T> tipo,
+						   String nombreColeccion) {
+		MongoPersistentEntity<?> entidad = entidadOpcional(tipo);
+		Document filtro = filtro(query, entidad);
+		Document cambios = updateMapper.getMappedObject(update.getUpdateObject(), entidad);
+		Coleccion coleccion = coleccion(nombreColeccion);
+
+		Document resultado;
+		coleccion.lock.writeLock().lock();
+		try {
+			List<Document> coincidentes = coleccion.buscar(filtro, orden(query, entidad), 1, 0);
+			if (coincidentes.isEmpty()) {
+				if (!opciones.isUpsert()) {
+					return null;
+				}
+				Document insertado = aplicar(documentoBase(filtro), cambios, true);
+				insertado.putIfAbsent("_id", new ObjectId());
+				coleccion.validarUnicos(nombreColeccion, insertado, null);
+				coleccion.agregar(insertado);
+				resultado = opciones.isReturnNew() ? insertado : null;
+			} else {
+				Document actual = coincidentes.get(0);
+				if (opciones.isRemove()) {
+					coleccion.quitar(actual);
+					resultado = actual;
+				} else {
+					Document nuevo = aplicar(actual, cambios, false);
+					coleccion.reemplazar(nombreColeccion, actual, nuevo);
+					resultado = opciones.isReturnNew() ? nuevo : actual;
+				}
+			}
+		} finally {
+			coleccion.lock.writeLock().unlock();
+		}
+		return resultado == null ? null : leer(tipo, resultado);
+	}
+
+	DeleteResult eliminar(Query query, Class<?> tipo, String nombreColeccion) {
+		MongoPersistentEntity<?> entidad = entidadOpcional(tipo);
+		Document filtro = filtro(query, entidad);
+		Coleccion coleccion = coleccion(nombreColeccion);
+
+		coleccion.lock.writeLock().lock();
+		try {
+			List<Document> coincidentes = coleccion.buscar(filtro, null, query.getLimit(), 0);
+			for (Document documento : coincidentes) {
+				coleccion.quitar(documento);
+			}
+			return DeleteResult.acknowledged(coincidentes.size());
+		} finally {
+			coleccion.lock.writeLock().unlock();
+		}
+	}
+
+	private List<Document> buscarDocumentos(Query query, Class<?> tipo, String nombreColeccion) {
+		MongoPersistentEntity<?> entidad = entidadOpcional(tipo);
+		Document filtro = filtro(query, entidad);
+		Coleccion coleccion = coleccion(nombreColeccion);
+
+		coleccion.lock.readLock().lock();
+		try {
+			return coleccion.buscar(filtro, orden(query, entidad), query.getLimit(), query.getSkip());
+		} finally {
+			coleccion.lock.readLock().unlock();
+		}
+	}
+
+	private Coleccion coleccion(String nombre) {
+		return colecciones.computeIfAbsent(nombre, Coleccion::new);
+	}
+
+	private Document filtro(Query query, MongoPersistentEntity<?> entidad) {
+		return queryMapper.getMappedObject(query.getQueryObject(), entidad);
+	}
+
+	private Document orden(Query query, MongoPersistentEntity<?> entidad) {
+		Document orden = query.getSortObject();
+		return orden.isEmpty() ? null : queryMapper.getMappedSort(orden, entidad);
+	}
+
+	private MongoPersistentEntity<?> entidad(Class<?> tipo) {
+		return converter.getMappingContext().getRequiredPersistentEntity(tipo);
+	}
+
+	private MongoPersistentEntity<?> entidadOpcional(Class<?> tipo) {
+		return tipo == null || Document.class.isAssignableFrom(tipo) ? null : entidad(tipo);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void asegurarId(Object objeto) {
+		if (objeto instanceof Document documento) {
+			documento.putIfAbsent("_id", new ObjectId());
+			return;
+		}
+		MongoPersistentEntity<Object> entidad = (MongoPersistentEntity<Object>) entidad(objeto.getClass());
+		MongoPersistentProperty propiedadId = entidad.getIdProperty();
+		if (propiedadId == null) {
+			return;
+		}
+		PersistentPropertyAccessor<Object> accesor = entidad.getPropertyAccessor(objeto);
+		if (accesor.getProperty(propiedadId) == null) {
+			ObjectId id = new ObjectId();
+			accesor.setProperty(propiedadId, String.class.equals(propiedadId.getType()) ? id.toHexString() : id);
+		}
+	}
+
+	private Document escribir(Object objeto) {
+		if (objeto instanceof Document documento) {
+			return new Document(documento);
+		}
+		Document documento = new Document();
+		converter.write(objeto, documento);
+		return documento;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T leer(Class<T> tipo, Document documento) {
+		if (Document.class.isAssignableFrom(tipo)) {
+			return (T) new Document(documento);
+		}
+		return converter.read(tipo, documento);
+	}
+
+	private static Document documentoBase(Document filtro) {
+		// Un upsert parte de las igualdades del filtro, como hace Mongo
+		Document base = new Document();
+		for (Map.Entry<String, Object> condicion : filtro.entrySet()) {
+			Object valor = igualdad(filtro, condicion.getKey());
+			if (!condicion.getKey().startsWith("$") && valor != SIN_IGUALDAD) {
+				base.put(condicion.getKey(), valor);
+			}
+		}
+		return base;
+	}
+
+	private static Document aplicar(Document actual, Document cambios, boolean insercion) {
+		Document resultado = new Document(actual);
+		boolean conOperadores = cambios.keySet().stream().anyMatch(clave -> clave.startsWith("$"));
+		if (!conOperadores) {
+			// Reemplazo completo conservando el _id
+			Object id = actual.get("_id");
+			resultado = new Document(cambios);
+			if (id != null) {
+				resultado.put("_id", id);
+			}
+			return resultado;
+		}
+
+		for (Map.Entry<String, Object> operacion : cambios.entrySet()) {
+			Document campos = (Document) operacion.getValue();
+			for (Map.Entry<String, Object> campo : campos.entrySet()) {
+				String nombre = campo.getKey();
+				if (nombre.contains(".")) {
+					throw new UnsupportedOperationException("Update sobre campos anidados no soportado en memoria: " + nombre);
+				}
+				Object valor = campo.getValue();
+				Object existente = resultado.get(nombre);
+				switch (operacion.getKey()) {
+					case "$set" -> resultado.put(nombre, valor);
+					case "$setOnInsert" -> {
+						if (insercion) {
+							resultado.put(nombre, valor);
+						}
+					}
+					case "$unset" -> resultado.remove(nombre);
+					case "$inc" -> resultado.put(nombre, sumar(existente, valor));
+					case "$min" -> {
+						if (!resultado.containsKey(nombre) || comparar(valor, existente) < 0) {
+							resultado.put(nombre, valor);
+						}
+					}
+					case "$max" -> {
+						if (!resultado.containsKey(nombre) || comparar(valor, existente) > 0) {
+							resultado.put(nombre, valor);
+						}
+					}
+					case "$currentDate" -> resultado.put(nombre, new Date());
+					default -> throw new UnsupportedOperationException("Operador de update no soportado en memoria: " + operacion.getKey());
+				}
+			}
+		}
+		return resultado;
+	}
+
+	private static boolean coincide(Document documento, Document filtro) {
+		for (Map.Entry<String, Object> condicion : filtro.entrySet()) {
+			String campo = condicion.getKey();
+			Object valor = condicion.getValue();
+			boolean cumple = switch (campo) {
+				case "$and" -> lista(valor).stream().allMatch(subfiltro -> coincide(documento, (Document) subfiltro));
+				case "$or" -> lista(valor).stream().anyMatch(subfiltro -> coincide(documento, (Document) subfiltro));
+				case "$nor" -> lista(valor).stream().noneMatch(subfiltro -> coincide(documento, (Document) subfiltro));
+				case "$expr" -> verdadero(evaluar(documento, valor instanceof MongoExpression expresion ? expresion.toDocument() : valor));
+				default -> {
+					if (campo.startsWith("$")) {
+						throw new UnsupportedOperationException("Operador de consulta no soportado en memoria: " + campo);
+					}
+					yield cumpleCondicion(valorCampo(documento, campo), valor);
+				}
+			};
+			if (!cumple) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean cumpleCondicion(Object actual, Object condicion) {
+		if (condicion instanceof BsonRegularExpression regex) {
+			condicion = Pattern.compile(regex.getPattern(), regex.getOptions().contains("i") ? Pattern.CASE_INSENSITIVE : 0);
+		}
+		if (condicion instanceof Pattern patron) {
+			return actual instanceof String texto && patron.matcher(texto).find();
+		}
+		if (!(condicion instanceof Document operadores) || !esOperador(operadores)) {
+			return iguales(actual, condicion);
+		}
+		for (Map.Entry<String, Object> operador : operadores.entrySet()) {
+			Object valor = operador.getValue();
+			boolean cumple = switch (operador.getKey()) {
+				case "$eq" -> iguales(actual, valor);
+				case "$ne" -> !iguales(actual, valor);
+				case "$gt" -> comparables(actual, valor) && comparar(actual, valor) > 0;
+				case "$gte" -> comparables(actual, valor) && comparar(actual, valor) >= 0;
+				case "$lt" -> comparables(actual, valor) && comparar(actual, valor) < 0;
+				case "$lte" -> comparables(actual, valor) && comparar(actual, valor) <= 0;
+				case "$in" -> lista(valor).stream().anyMatch(opcion -> iguales(actual, opcion));
+				case "$nin" -> lista(valor).stream().noneMatch(opcion -> iguales(actual, opcion));
+				case "$exists" -> (actual != null) == verdadero(valor);
+				default -> throw new UnsupportedOperationException("Operador de consulta no soportado en memoria: " + operador.getKey());
+			};
+			if (!cumple) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Object evaluar(Document documento, Object expresion) {
+		if (expresion instanceof String texto && texto.startsWith("$")) {
+			return valorCampo(documento, texto.substring(1));
+		}
+		if (!(expresion instanceof Document operacion) || operacion.size() != 1 || !esOperador(operacion)) {
+			return expresion;
+		}
+
+		Map.Entry<String, Object> entrada = operacion.entrySet().iterator().next();
+		List<Object> argumentos = new ArrayList<>();
+		if (entrada.getValue() instanceof List<?> valores) {
+			for (Object valor : valores) {
+				argumentos.add(evaluar(documento, valor));
+			}
+		} else {
+			argumentos.add(evaluar(documento, entrada.getValue()));
+		}
+
+		return switch (entrada.getKey()) {
+			case "$add" -> {
+				if (argumentos.contains(null)) {
+					yield null;
+				}
+				// Como en Mongo: enteros dan entero (los montos en centavos) y cualquier decimal da Decimal128
+				if (argumentos.stream().allMatch(MongoEnMemoria::entero)) {
+					long suma = 0;
+					for (Object argumento : argumentos) {
+						suma = Math.addExact(suma, ((Number) argumento).longValue());
+					}
+					yield suma;
+				}
+				BigDecimal suma = BigDecimal.ZERO;
+				for (Object argumento : argumentos) {
+					suma = suma.add(decimal(argumento));
+				}
+				yield new Decimal128(suma);
+			}
+			case "$subtract" -> {
+				if (argumentos.contains(null)) {
+					yield null;
+				}
+				if (entero(argumentos.get(0)) && entero(argumentos.get(1))) {
+					yield Math.subtractExact(((Number) argumentos.get(0)).longValue(), ((Number) argumentos.get(1)).longValue());
+				}
+				yield new Decimal128(decimal(argumentos.get(0)).subtract(decimal(argumentos.get(1))));
+			}
+			case "$eq" -> iguales(argumentos.get(0), argumentos.get(1));
+			case "$ne" -> !iguales(argumentos.get(0), argumentos.get(1));
+			case "$gt" -> comparar(argumentos.get(0), argumentos.get(1)) > 0;
+			case "$gte" -> comparar(argumentos.get(0), argumentos.get(1)) >= 0;
+			case "$lt" -> comparar(argumentos.get(0), argumentos.get(1)) < 0;
+			case "$lte" -> comparar(argumentos.get(0), argumentos.get(1)) <= 0;
+			case "$and" -> argumentos.stream().allMatch(MongoEnMemoria::verdadero);
+			case "$or" -> argumentos.stream().anyMatch(MongoEnMemoria::verdadero);
+			case "$not" -> !verdadero(argumentos.get(0));
+			default -> throw new UnsupportedOperationException("Operador de expresión no soportado en memoria: " + entrada.getKey());
+		};
+	}
+
+	private static Object valorCampo(Document documento, String ruta) {
+		Object valor = documento;
+		for (String parte : ruta.split("\\.")) {
+			if (!(valor instanceof Document anidado)) {
+				return null;
+			}
+			valor = anidado.get(parte);
+		}
+		return valor;
+	}
+
+	private static Object igualdad(Document filtro, String campo) {
+		if (!filtro.containsKey(campo)) {
+			return SIN_IGUALDAD;
+		}
+		Object valor = filtro.get(campo);
+		if (valor instanceof Document operadores && esOperador(operadores)) {
+			return operadores.size() == 1 && operadores.containsKey("$eq") ? operadores.get("$eq") : SIN_IGUALDAD;
+		}
+		return valor instanceof Pattern || valor instanceof BsonRegularExpression ? SIN_IGUALDAD : valor;
+	}
+
+	private static boolean esOperador(Document documento) {
+		return !documento.isEmpty() && documento.keySet().iterator().next().startsWith("$");
+	}
+
+	private static List<?> lista(Object valor) {
+		if (valor instanceof List<?> elementos) {
+			return elementos;
+		}
+		if (valor instanceof Collection<?> elementos) {
+			return new ArrayList<>(elementos);
+		}
+		throw new UnsupportedOperationException("Se esperaba una lista y llegó: " + valor);
+	}
+
+	private static boolean verdadero(Object valor) {
+		if (valor instanceof Boolean booleano) {
+			return booleano;
+		}
+		if (esNumero(valor)) {
+			return decimal(valor).signum() != 0;
+		}
+		return valor != null;
+	}
+
+	private static boolean esNumero(Object valor) {
+		return valor instanceof Number || valor instanceof Decimal128;
+	}
+
+	private static boolean entero(Object valor) {
+		return valor instanceof Long || valor instanceof Integer;
+	}
+
+	private static BigDecimal decimal(Object valor) {
+		if (valor instanceof Decimal128 decimal128) {
+			return decimal128.bigDecimalValue();
+		}
+		if (valor instanceof BigDecimal decimal) {
+			return decimal;
+		}
+		if (valor instanceof Double || valor instanceof Float) {
+			return BigDecimal.valueOf(((Number) valor).doubleValue());
+		}
+		if (valor instanceof Number numero) {
+			return BigDecimal.valueOf(numero.longValue());
+		}
+		throw new UnsupportedOperationException("Valor no numérico en operación aritmética: " + valor);
+	}
+
+	private static Object sumar(Object actual, Object incremento) {
+		if (actual == null) {
+			return incremento;
+		}
+		if (actual instanceof Decimal128 || incremento instanceof Decimal128
+				|| actual instanceof BigDecimal || incremento instanceof BigDecimal) {
+			return new Decimal128(decimal(actual).add(decimal(incremento)));
+		}
+		if (actual instanceof Double || incremento instanceof Double) {
+			return ((Number) actual).doubleValue() + ((Number) incremento).doubleValue();
+		}
+		if (actual instanceof Integer entero && incremento instanceof Integer otro) {
+			return Math.addExact(entero, otro);
+		}
+		return Math.addExact(((Number) actual).longValue(), ((Number) incremento).longValue());
+	}
+
+	private static boolean iguales(Object a, Object b) {
+		if (esNumero(a) && esNumero(b)) {
+			return decimal(a).compareTo(decimal(b)) == 0;
+		}
+		return Objects.equals(a, b);
+	}
+
+	private static boolean comparables(Object a, Object b) {
+		// Como en Mongo, $gt/$lt solo comparan valores del mismo tipo BSON
+		return a != null && b != null && ((esNumero(a) && esNumero(b)) || a.getClass().equals(b.getClass()));
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int comparar(Object a, Object b) {
+		if (a == null || b == null) {
+			return a == null ? (b == null ? 0 : -1) : 1;
+		}
+		if (esNumero(a) && esNumero(b)) {
+			return decimal(a).compareTo(decimal(b));
+		}
+		if (a.getClass().equals(b.getClass()) && a instanceof Comparable comparable) {
+			return comparable.compareTo(b);
+		}
+		return a.getClass().getName().compareTo(b.getClass().getName());
+	}
+
+	private static Object clave(Object valor) {
+		// Claves de índice: 10, 10L y 10.00 son el mismo valor para Mongo
+		return esNumero(valor) ? decimal(valor).stripTrailingZeros() : valor;
+	}
+
+	private static BsonValue idBson(Object id) {
+		if (id instanceof ObjectId objectId) {
+			return new BsonObjectId(objectId);
+		}
+		return id instanceof String texto ? new BsonString(texto) : null;
+	}
+
+	private static DuplicateKeyException duplicado(String coleccion, String campo, Object valor) {
+		return new DuplicateKeyException("E11000 duplicate key error collection: " + coleccion
+				+ " index: " + campo + " dup key: { " + campo + ": " + valor + " }");
+	}
+
+	private static final class Coleccion {
+
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		private final Map<Object, Document> documentos = new LinkedHashMap<>();
+		private final Map<String, Map<Object, Object>> unicos = new HashMap<>();
+		private final Map<String, Map<Object, Set<Object>>> secundarios = new HashMap<>();
+
+		private Coleccion(String nombre) {
+			for (String campo : INDICES_UNICOS.getOrDefault(nombre, List.of())) {
+				unicos.put(campo, new HashMap<>());
+			}
+			for (String campo : INDICES_SECUNDARIOS.getOrDefault(nombre, List.of())) {
+				secundarios.put(campo, new HashMap<>());
+			}
+		}
+
+		private List<Document> buscar(Document filtro, Document orden, int limite, long salto) {
+			List<Document> resultado = new ArrayList<>();
+			for (Object id : candidatos(filtro)) {
+				Document documento = documentos.get(id);
+				if (documento != null && coincide(documento, filtro)) {
+					resultado.add(documento);
+				}
+			}
+			if (orden != null) {
+				resultado.sort(comparador(orden));
+			}
+			int desde = (int) Math.min(salto, resultado.size());
+			int hasta = limite > 0 ? Math.min(resultado.size(), desde + limite) : resultado.size();
+			return desde == 0 && hasta == resultado.size() ? resultado : new ArrayList<>(resultado.subList(desde, hasta));
+		}
+
+		private Collection<Object> candidatos(Document filtro) {
+			// Igual que el planificador de Mongo: una igualdad sobre un campo indexado evita recorrer la colección
+			Object id = igualdad(filtro, "_id");
+			if (id != SIN_IGUALDAD) {
+				return List.of(clave(id));
+			}
+			for (Map.Entry<String, Map<Object, Object>> indice : unicos.entrySet()) {
+				Object valor = igualdad(filtro, indice.getKey());
+				if (valor != SIN_IGUALDAD) {
+					Object encontrado = indice.getValue().get(clave(valor));
+					return encontrado == null ? List.of() : List.of(encontrado);
+				}
+			}
+			for (Map.Entry<String, Map<Object, Set<Object>>> indice : secundarios.entrySet()) {
+				Object valor = igualdad(filtro, indice.getKey());
+				if (valor != SIN_IGUALDAD) {
+					Set<Object> ids = indice.getValue().get(clave(valor));
+					return ids == null ? List.of() : new ArrayList<>(ids);
+				}
+			}
+			return new ArrayList<>(documentos.keySet());
+		}
+
+		private void validarUnicos(String nombre, Document documento, Object idPropio) {
+			for (Map.Entry<String, Map<Object, Object>> indice : unicos.entrySet()) {
+				Object valor = clave(documento.get(indice.getKey()));
+				Object existente = indice.getValue().get(valor);
+				if (existente != null && !existente.equals(idPropio)) {
+					throw duplicado(nombre, indice.getKey(), valor);
+				}
+			}
+		}
+
+		private void agregar(Document documento) {
+			Object id = clave(documento.get("_id"));
+			documentos.put(id, documento);
+			for (Map.Entry<String, Map<Object, Object>> indice : unicos.entrySet()) {
+				indice.getValue().put(clave(documento.get(indice.getKey())), id);
+			}
+			for (Map.Entry<String, Map<Object, Set<Object>>> indice : secundarios.entrySet()) {
+				indice.getValue().computeIfAbsent(clave(documento.get(indice.getKey())), k -> new LinkedHashSet<>()).add(id);
+			}
+		}
+
+		private void quitar(Document documento) {
+			Object id = clave(documento.get("_id"));
+			documentos.remove(id);
+			for (Map.Entry<String, Map<Object, Object>> indice : unicos.entrySet()) {
+				indice.getValue().remove(clave(documento.get(indice.getKey())), id);
+			}
+			for (Map.Entry<String, Map<Object, Set<Object>>> indice : secundarios.entrySet()) {
+				Set<Object> ids = indice.getValue().get(clave(documento.get(indice.getKey())));
+				if (ids != null) {
+					ids.remove(id);
+				}
+			}
+		}
+
+		private void reemplazar(String nombre, Document actual, Document nuevo) {
+			Object id = clave(actual.get("_id"));
+			validarUnicos(nombre, nuevo, id);
+			quitar(actual);
+			agregar(nuevo);
+		}
+
+		private static Comparator<Document> comparador(Document orden) {
+			Comparator<Document> comparador = null;
+			for (Map.Entry<String, Object> campo : orden.entrySet()) {
+				String nombre = campo.getKey();
+				boolean descendente = ((Number) campo.getValue()).intValue() < 0;
+				Comparator<Document> porCampo = (a, b) -> comparar(valorCampo(a, nombre), valorCampo(b, nombre));
+				if (descendente) {
+					porCampo = porCampo.reversed();
+				}
+				comparador = comparador == null ? porCampo : comparador.thenComparing(porCampo);
+			}
+			return comparador;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.banco.banquito.general.carga;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.banco.banquito.general.repository.CuentaBancariaReactivaRepository;
+import com.banco.banquito.general.repository.CuentaBancariaRepository;
+import com.banco.banquito.general.repository.EstadisticasCuentaRepository;
+import com.banco.banquito.general.repository.MovimientoCuentaReactivaRepository;
+import com.banco.banquito.general.repository.MovimientoCuentaRepository;
+import com.banco.banquito.general.repository.SaldoDiarioRepository;
+
+/**
+ * Beans de Mongo en memoria que reemplazan a los de la autoconfiguración. Se registra como fuente explícita en
+ * {@link PruebaCarga}; no lleva @Configuration para que el escaneo de componentes de la aplicación no la
+ * recoja si src/carga está en el classpath de otras pruebas.
+ */
+class MongoEnMemoriaConfig {
+
+	@Bean
+	MongoEnMemoria mongoEnMemoria(ObjectProvider<MongoCustomConversions> conversionesAplicacion,
+								  @Value("${carga.latencia-mongo-us:0}") long latenciaMicros) {
+		MongoCustomConversions conversiones = conversionesAplicacion.getIfAvailable(() -> new MongoCustomConversions(List.of()));
+		MongoMappingContext contexto = new MongoMappingContext();
+		contexto.setSimpleTypeHolder(conversiones.getSimpleTypeHolder());
+		contexto.afterPropertiesSet();
+
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+		converter.setCustomConversions(conversiones);
+		converter.afterPropertiesSet();
+		return new MongoEnMemoria(converter, Duration.ofNanos(latenciaMicros * 1_000L));
+	}
+
+	@Bean
+	MongoTemplate mongoTemplate(MongoEnMemoria mongo) {
+		return new MongoTemplateEnMemoria(mongo);
+	}
+
+	@Bean
+	ReactiveMongoTemplate reactiveMongoTemplate(MongoEnMemoria mongo) {
+		return new ReactiveMongoTemplateEnMemoria(mongo);
+	}
+
+	@Bean
+	CuentaBancariaRepository cuentaBancariaRepository(MongoTemplate mongoTemplate) {
+		return RepositorioEnMemoria.crear(CuentaBancariaRepository.class, mongoTemplate, null);
+	}
+
+	@Bean
+	MovimientoCuentaRepository movimientoCuentaRepository(MongoTemplate mongoTemplate) {
+		return RepositorioEnMemoria.crear(MovimientoCuentaRepository.class, mongoTemplate, null);
+	}
+
+	@Bean
+	EstadisticasCuentaRepository estadisticasCuentaRepository(MongoTemplate mongoTemplate) {
+		return RepositorioEnMemoria.crear(EstadisticasCuentaRepository.class, mongoTemplate, null);
+	}
+
+	@Bean
+	SaldoDiarioRepository saldoDiarioRepository(MongoTemplate mongoTemplate) {
+		return RepositorioEnMemoria.crear(SaldoDiarioRepository.class, mongoTemplate, null);
+	}
+
+	@Bean
+	CuentaBancariaReactivaRepository cuentaBancariaReactivaRepository(ReactiveMongoTemplate reactiveMongoTemplate) {
+		return RepositorioEnMemoria.crear(CuentaBancariaReactivaRepository.class, null, reactiveMongoTemplate);
+	}
+
+	@Bean
+	MovimientoCuentaReactivaRepository movimientoCuentaReactivaRepository(ReactiveMongoTemplate reactiveMongoTemplate) {
+		return RepositorioEnMemoria.crear(MovimientoCuentaReactivaRepository.class, null, reactiveMongoTemplate);
+	}
+}
@@ -0,0 +1,236 @@
+package com.banco.banquito.general.carga;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * MongoTemplate que resuelve sobre {@link MongoEnMemoria}. Cada llamada es un viaje a la base: cuenta una
+ * operación y espera la latencia configurada en el hilo que la invoca, igual que el driver síncrono.
+ * Agregaciones, bulkOps y change streams no están disponibles.
+ */
+class MongoTemplateEnMemoria extends MongoTemplate {
+
+	private final MongoEnMemoria mongo;
+
+	MongoTemplateEnMemoria(MongoEnMemoria mongo) {
+		super(fabricaSinConexion(), mongo.getConverter());
+		this.mongo = mongo;
+	}
+
+	private static MongoDatabaseFactory fabricaSinConexion() {
+		MongoDatabaseFactory fabrica = mock(MongoDatabaseFactory.class);
+		when(fabrica.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		return fabrica;
+	}
+
+	@Override
+	public <T> List<T> find(Query query, Class<T> entityClass) {
+		return find(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> List<T> find(Query query, Class<T> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.buscar(query, entityClass, collectionName);
+	}
+
+	@Override
+	public <T> T findOne(Query query, Class<T> entityClass) {
+		return findOne(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.buscarUno(query, entityClass, collectionName);
+	}
+
+	@Override
+	public <T> T findById(Object id, Class<T> entityClass) {
+		return findById(id, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.buscarPorId(id, entityClass, collectionName);
+	}
+
+	@Override
+	public boolean exists(Query query, Class<?> entityClass) {
+		return exists(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public boolean exists(Query query, String collectionName) {
+		return exists(query, null, collectionName);
+	}
+
+	@Override
+	public boolean exists(Query query, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.existe(query, entityClass, collectionName);
+	}
+
+	@Override
+	public long count(Query query, Class<?> entityClass) {
+		return count(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public long count(Query query, String collectionName) {
+		return count(query, null, collectionName);
+	}
+
+	@Override
+	public long count(Query query, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.contar(query, entityClass, collectionName);
+	}
+
+	@Override
+	public <T> Stream<T> stream(Query query, Class<T> entityType) {
+		return stream(query, entityType, getCollectionName(entityType));
+	}
+
+	@Override
+	public <T> Stream<T> stream(Query query, Class<T> entityType, String collectionName) {
+		// El cursor real trae lotes bajo demanda; aquí se cuenta un solo viaje para la apertura
+		mongo.esperar();
+		return mongo.buscar(query, entityType, collectionName).stream();
+	}
+
+	@Override
+	public <T> T insert(T objectToSave) {
+		return insert(objectToSave, getCollectionName(objectToSave.getClass()));
+	}
+
+	@Override
+	public <T> T insert(T objectToSave, String collectionName) {
+		mongo.esperar();
+		return mongo.insertar(objectToSave, collectionName);
+	}
+
+	@Override
+	public <T> T save(T objectToSave) {
+		return save(objectToSave, getCollectionName(objectToSave.getClass()));
+	}
+
+	@Override
+	public <T> T save(T objectToSave, String collectionName) {
+		mongo.esperar();
+		return mongo.guardar(objectToSave, collectionName);
+	}
+
+	@Override
+	public UpdateResult upsert(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return upsert(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public UpdateResult upsert(Query query, UpdateDefinition update, String collectionName) {
+		return upsert(query, update, null, collectionName);
+	}
+
+	@Override
+	public UpdateResult upsert(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.actualizar(query, update, entityClass, collectionName, true, false);
+	}
+
+	@Override
+	public UpdateResult updateFirst(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return updateFirst(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public UpdateResult updateFirst(Query query, UpdateDefinition update, String collectionName) {
+		return updateFirst(query, update, null, collectionName);
+	}
+
+	@Override
+	public UpdateResult updateFirst(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.actualizar(query, update, entityClass, collectionName, false, false);
+	}
+
+	@Override
+	public UpdateResult updateMulti(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return updateMulti(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public UpdateResult updateMulti(Query query, UpdateDefinition update, String collectionName) {
+		return updateMulti(query, update, null, collectionName);
+	}
+
+	@Override
+	public UpdateResult updateMulti(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.actualizar(query, update, entityClass, collectionName, false, true);
+	}
+
+	@Override
+	public <T> T findAndModify(Query query, UpdateDefinition update, Class<T> entityClass) {
+		return findAndModify(query, update, new FindAndModifyOptions(), entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> T findAndModify(Query query, UpdateDefinition update, Class<T> entityClass, String collectionName) {
+		return findAndModify(query, update, new FindAndModifyOptions(), entityClass, collectionName);
+	}
+
+	@Override
+	public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass) {
+		return findAndModify(query, update, options, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass,
+							   String collectionName) {
+		mongo.esperar();
+		return mongo.buscarYModificar(query, update, options, entityClass, collectionName);
+	}
+
+	@Override
+	public DeleteResult remove(Object object) {
+		return remove(object, getCollectionName(object.getClass()));
+	}
+
+	@Override
+	public DeleteResult remove(Object object, String collectionName) {
+		Object id = getConverter().getMappingContext().getRequiredPersistentEntity(object.getClass())
+				.getIdentifierAccessor(object).getRequiredIdentifier();
+		return remove(new Query(Criteria.where("_id").is(id)), object.getClass(), collectionName);
+	}
+
+	@Override
+	public DeleteResult remove(Query query, Class<?> entityClass) {
+		return remove(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public DeleteResult remove(Query query, String collectionName) {
+		return remove(query, null, collectionName);
+	}
+
+	@Override
+	public DeleteResult remove(Query query, Class<?> entityClass, String collectionName) {
+		mongo.esperar();
+		return mongo.eliminar(query, entityClass, collectionName);
+	}
+}
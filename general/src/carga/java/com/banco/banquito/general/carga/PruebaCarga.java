@@ -0,0 +1,371 @@
+package com.banco.banquito.general.carga;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.banco.banquito.general.GeneralApplication;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.TipoCuenta;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la aplicación completa en un puerto libre con Mongo en memoria
+ * ({@link MongoEnMemoriaConfig}) y la ejercita por HTTP con la mezcla de registrar movimiento, consultar saldo y
+ * listar movimientos de una cuenta. Las cuentas se eligen con distribución de Zipf para reproducir cuentas
+ * calientes.
+ *
+ * <p>Con {@code carga.clientes=0} el modelo es abierto: las peticiones llegan como un proceso de Poisson a
+ * {@code carga.tasa} por segundo independientemente de lo que tarde el servidor, y la latencia se mide desde el
+ * instante en que la petición debía salir (sin omisión coordinada). Con {@code carga.clientes=N} el modelo es
+ * cerrado: N clientes en hilos virtuales envían una petición tras otra, que es la forma de comparar hilos
+ * virtuales, de plataforma y la variante reactiva con miles de peticiones simultáneas.
+ *
+ * <p>Se ejecuta con el perfil Maven {@code carga}; ver pom.xml.
+ */
+public final class PruebaCarga {
+
+	private static final long BASE_NUMERO_CUENTA = 100_000_000L;
+	private static final Dinero SALDO_INICIAL = Dinero.de("1000000000.00");
+	private static final int MINIMO_EN_VUELO_PARA_MEMORIA = 100;
+	private static final Duration TIEMPO_MAXIMO_PETICION = Duration.ofSeconds(30);
+
+	private enum Operacion {
+		MOVIMIENTO("POST /v1/movimientos"),
+		SALDO("GET  /v1/cuentas/numero/{n}/saldo"),
+		MOVIMIENTOS_CUENTA("GET  /v1/movimientos/cuenta/{n}");
+
+		private final String descripcion;
+
+		Operacion(String descripcion) {
+			this.descripcion = descripcion;
+		}
+	}
+
+	private record Parametros(double tasa, int clientes, int calentamiento, int duracion, int cuentas, double zipf,
+							  int[] mezcla, int maximoEnVuelo, List<String> argumentosAplicacion) {
+
+		static Parametros desdeSistema() {
+			int[] mezcla = Arrays.stream(System.getProperty("carga.mezcla", "50,35,15").split(","))
+					.map(String::trim).mapToInt(Integer::parseInt).toArray();
+			if (mezcla.length != Operacion.values().length) {
+				throw new IllegalArgumentException("carga.mezcla debe tener " + Operacion.values().length + " porcentajes");
+			}
+			List<String> argumentos = new ArrayList<>();
+			for (String propiedad : System.getProperty("carga.app", "").trim().split("\\s+")) {
+				if (!propiedad.isEmpty()) {
+					argumentos.add("--" + propiedad);
+				}
+			}
+			return new Parametros(
+					Double.parseDouble(System.getProperty("carga.tasa", "500")),
+					Integer.getInteger("carga.clientes", 0),
+					Integer.getInteger("carga.calentamiento", 15),
+					Integer.getInteger("carga.duracion", 60),
+					Integer.getInteger("carga.cuentas", 10_000),
+					Double.parseDouble(System.getProperty("carga.zipf", "1.0")),
+					mezcla,
+					Integer.getInteger("carga.max-en-vuelo", 20_000),
+					argumentos);
+		}
+	}
+
+	private final Parametros parametros;
+	private final HttpClient cliente;
+	private final String base;
+	private final DistribucionZipf cuentas;
+	private final Map<Operacion, Recorder> latencias = new EnumMap<>(Operacion.class);
+	private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+	private final Map<Integer, LongAdder> estados = new ConcurrentHashMap<>();
+	private final AtomicLong enVuelo = new AtomicLong();
+	private final AtomicLong comprobantes = new AtomicLong();
+	private final LongAdder descartadas = new LongAdder();
+	private volatile long inicioMedicion;
+	private volatile long finMedicion;
+
+	private PruebaCarga(Parametros parametros, HttpClient cliente, int puerto) {
+		this.parametros = parametros;
+		this.cliente = cliente;
+		this.base = "http://localhost:" + puerto;
+		this.cuentas = new DistribucionZipf(parametros.cuentas(), parametros.zipf());
+		for (Operacion operacion : Operacion.values()) {
+			latencias.put(operacion, new Recorder(3));
+			errores.put(operacion, new LongAdder());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Parametros parametros = Parametros.desdeSistema();
+		// El log por petición distorsiona la medición; se puede volver a activar con -Dcarga.app
+		System.setProperty("logging.level.com.banco.banquito", System.getProperty("logging.level.com.banco.banquito", "WARN"));
+		System.setProperty("logging.level.org.springframework.data.mongodb",
+				System.getProperty("logging.level.org.springframework.data.mongodb", "WARN"));
+
+		List<String> argumentos = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--management.health.mongo.enabled=false",
+				"--spring.autoconfigure.exclude="
+						+ "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration"));
+		argumentos.addAll(parametros.argumentosAplicacion());
+
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GeneralApplication.class, MongoEnMemoriaConfig.class)
+				.run(argumentos.toArray(String[]::new));
+		int codigoSalida = 0;
+		try (ExecutorService hilosCliente = Executors.newVirtualThreadPerTaskExecutor()) {
+			MongoEnMemoria mongo = contexto.getBean(MongoEnMemoria.class);
+			crearCuentas(mongo, parametros.cuentas());
+
+			HttpClient cliente = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(10))
+					.executor(hilosCliente)
+					.build();
+			int puerto = Integer.parseInt(contexto.getEnvironment().getRequiredProperty("local.server.port"));
+			new PruebaCarga(parametros, cliente, puerto).ejecutar(mongo, hilosCliente);
+		} catch (Exception e) {
+			e.printStackTrace();
+			codigoSalida = 1;
+		} finally {
+			contexto.close();
+		}
+		System.exit(codigoSalida);
+	}
+
+	private static void crearCuentas(MongoEnMemoria mongo, int cantidad) {
+		// Carga directa en el almacén: no cuenta como viaje a Mongo ni paga latencia
+		String coleccion = mongo.nombreColeccion(CuentaBancaria.class);
+		for (int i = 0; i < cantidad; i++) {
+			CuentaBancaria cuenta = new CuentaBancaria(numeroCuenta(i), String.valueOf(1_700_000_000L + i), "Cliente " + i, TipoCuenta.AHORROS);
+			cuenta.setSaldoDisponible(SALDO_INICIAL);
+			cuenta.setSaldoContable(SALDO_INICIAL);
+			mongo.insertar(cuenta, coleccion);
+		}
+	}
+
+	private static String numeroCuenta(int indice) {
+		return String.valueOf(BASE_NUMERO_CUENTA + indice);
+	}
+
+	private void ejecutar(MongoEnMemoria mongo, ExecutorService hilos) throws InterruptedException {
+		long inicio = System.nanoTime();
+		inicioMedicion = inicio + TimeUnit.SECONDS.toNanos(parametros.calentamiento());
+		finMedicion = inicioMedicion + TimeUnit.SECONDS.toNanos(parametros.duracion());
+		System.out.printf("%nCarga %s durante %ds (+%ds de calentamiento) sobre %d cuentas, zipf=%.2f, mezcla=%s, latencia Mongo=%s%n",
+				parametros.clientes() > 0 ? parametros.clientes() + " clientes" : String.format("abierta a %.0f peticiones/s", parametros.tasa()),
+				parametros.duracion(), parametros.calentamiento(), parametros.cuentas(), parametros.zipf(),
+				Arrays.toString(parametros.mezcla()), mongo.getLatencia());
+
+		Thread generador = parametros.clientes() > 0
+				? Thread.ofPlatform().name("carga-clientes").start(() -> modeloCerrado(hilos))
+				: Thread.ofPlatform().name("carga-llegadas").start(() -> modeloAbierto(hilos));
+		// Los viajes a Mongo se cuentan solo dentro de la ventana de medición
+		esperarHasta(inicioMedicion);
+		long operacionesAntes = mongo.operaciones();
+		esperarHasta(finMedicion);
+		long operacionesMongo = mongo.operaciones() - operacionesAntes;
+		Memoria memoria = Memoria.medir(enVuelo.get());
+
+		generador.join();
+		long limiteDrenado = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (enVuelo.get() > 0 && System.nanoTime() < limiteDrenado) {
+			Thread.sleep(50);
+		}
+		memoria = memoria.conOciosa();
+		informar(operacionesMongo, memoria);
+	}
+
+	private void modeloAbierto(ExecutorService hilos) {
+		// Llegadas de Poisson: intervalos exponenciales con media 1/tasa
+		double intervaloMedioNanos = TimeUnit.SECONDS.toNanos(1) / parametros.tasa();
+		long programada = System.nanoTime();
+		while (programada < finMedicion) {
+			programada += (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * intervaloMedioNanos);
+			esperarHasta(programada);
+			if (enVuelo.get() >= parametros.maximoEnVuelo()) {
+				if (programada >= inicioMedicion) {
+					descartadas.increment();
+				}
+				continue;
+			}
+			long salida = programada;
+			enVuelo.incrementAndGet();
+			hilos.execute(() -> {
+				try {
+					enviar(elegirOperacion(), salida);
+				} finally {
+					enVuelo.decrementAndGet();
+				}
+			});
+		}
+	}
+
+	private void modeloCerrado(ExecutorService hilos) {
+		List<Future<?>> clientes = new ArrayList<>(parametros.clientes());
+		for (int i = 0; i < parametros.clientes(); i++) {
+			clientes.add(hilos.submit(() -> {
+				while (System.nanoTime() < finMedicion) {
+					enVuelo.incrementAndGet();
+					try {
+						enviar(elegirOperacion(), System.nanoTime());
+					} finally {
+						enVuelo.decrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> clienteCerrado : clientes) {
+			try {
+				clienteCerrado.get();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private Operacion elegirOperacion() {
+		int sorteo = ThreadLocalRandom.current().nextInt(Arrays.stream(parametros.mezcla()).sum());
+		Operacion[] operaciones = Operacion.values();
+		for (int i = 0; i < operaciones.length; i++) {
+			sorteo -= parametros.mezcla()[i];
+			if (sorteo < 0) {
+				return operaciones[i];
+			}
+		}
+		return operaciones[operaciones.length - 1];
+	}
+
+	private void enviar(Operacion operacion, long salida) {
+		String numeroCuenta = numeroCuenta(cuentas.siguiente());
+		HttpRequest peticion = switch (operacion) {
+			case MOVIMIENTO -> HttpRequest.newBuilder(URI.create(base + "/v1/movimientos"))
+					.header("Content-Type", "application/json")
+					.timeout(TIEMPO_MAXIMO_PETICION)
+					.POST(HttpRequest.BodyPublishers.ofString(cuerpoMovimiento(numeroCuenta)))
+					.build();
+			case SALDO -> HttpRequest.newBuilder(URI.create(base + "/v1/cuentas/numero/" + numeroCuenta + "/saldo"))
+					.timeout(TIEMPO_MAXIMO_PETICION)
+					.GET().build();
+			case MOVIMIENTOS_CUENTA -> HttpRequest.newBuilder(URI.create(base + "/v1/movimientos/cuenta/" + numeroCuenta + "?cursor=&size=20"))
+					.header("Accept", "application/json")
+					.timeout(TIEMPO_MAXIMO_PETICION)
+					.GET().build();
+		};
+
+		int estado;
+		try {
+			estado = cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+		} catch (Exception e) {
+			estado = -1;
+		}
+		long fin = System.nanoTime();
+		if (salida < inicioMedicion || salida >= finMedicion) {
+			return;
+		}
+		estados.computeIfAbsent(estado, clave -> new LongAdder()).increment();
+		if (estado < 200 || estado >= 300) {
+			errores.get(operacion).increment();
+			return;
+		}
+		latencias.get(operacion).recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(fin - salida)));
+	}
+
+	private String cuerpoMovimiento(String numeroCuenta) {
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		String tipo = aleatorio.nextBoolean() ? "DEBITO" : "CREDITO";
+		BigDecimal monto = BigDecimal.valueOf(aleatorio.nextLong(100, 10_000), 2);
+		return "{\"numeroCuenta\":\"" + numeroCuenta + "\","
+				+ "\"numeroComprobante\":\"" + String.format("CARGA%012d", comprobantes.incrementAndGet()) + "\","
+				+ "\"tipoMovimiento\":\"" + tipo + "\","
+				+ "\"monto\":" + monto.toPlainString() + ","
+				+ "\"concepto\":\"PRUEBA DE CARGA\"}";
+	}
+
+	private void informar(long operacionesMongo, Memoria memoria) {
+		double segundos = parametros.duracion();
+		long totalPeticiones = 0;
+		System.out.printf("%n%-36s %9s %9s %9s %9s %9s %9s %9s %8s%n",
+				"Endpoint (latencia en ms)", "peticiones", "por seg", "p50", "p90", "p99", "p99.9", "max", "errores");
+		for (Operacion operacion : Operacion.values()) {
+			Histogram histograma = latencias.get(operacion).getIntervalHistogram();
+			long total = histograma.getTotalCount();
+			totalPeticiones += total + errores.get(operacion).sum();
+			System.out.printf("%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n",
+					operacion.descripcion, total, total / segundos,
+					milisegundos(histograma.getValueAtPercentile(50)), milisegundos(histograma.getValueAtPercentile(90)),
+					milisegundos(histograma.getValueAtPercentile(99)), milisegundos(histograma.getValueAtPercentile(99.9)),
+					milisegundos(histograma.getMaxValue()), errores.get(operacion).sum());
+		}
+
+		System.out.printf("%nCódigos de estado: %s%n", estados);
+		System.out.printf("Viajes a Mongo por petición: %.2f%n", totalPeticiones == 0 ? 0.0 : (double) operacionesMongo / totalPeticiones);
+		if (parametros.clientes() == 0) {
+			System.out.printf("Llegadas descartadas por superar %d en vuelo: %d%n", parametros.maximoEnVuelo(), descartadas.sum());
+		}
+		System.out.printf("Hilos de plataforma con carga: %d; peticiones en vuelo: %d%n", memoria.hilosPlataforma(), memoria.enVuelo());
+		if (memoria.enVuelo() >= MINIMO_EN_VUELO_PARA_MEMORIA) {
+			System.out.printf("Heap por petición en vuelo (servidor y cliente): %.1f KiB (%.1f MiB con carga, %.1f MiB en reposo)%n",
+					(memoria.heapConCarga() - memoria.heapEnReposo()) / 1024.0 / memoria.enVuelo(),
+					memoria.heapConCarga() / 1048576.0, memoria.heapEnReposo() / 1048576.0);
+		}
+	}
+
+	private static double milisegundos(long micros) {
+		return micros / 1000.0;
+	}
+
+	private static void esperarHasta(long instante) {
+		long restante;
+		while ((restante = instante - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(restante);
+		}
+	}
+
+	/**
+	 * Heap ocupado tras un GC completo con las peticiones en vuelo y después de drenarlas; la diferencia entre
+	 * ambos dividida por las peticiones en vuelo aproxima la memoria que retiene cada una.
+	 */
+	private record Memoria(long enVuelo, int hilosPlataforma, long heapConCarga, long heapEnReposo) {
+
+		static Memoria medir(long enVuelo) {
+			int hilos = ManagementFactory.getThreadMXBean().getThreadCount();
+			return new Memoria(enVuelo, hilos, heapTrasGc(), 0);
+		}
+
+		Memoria conOciosa() {
+			return new Memoria(enVuelo, hilosPlataforma, heapConCarga, heapTrasGc());
+		}
+
+		private static long heapTrasGc() {
+			System.gc();
+			return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package com.banco.banquito.general.carga;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveMongoTemplate sobre {@link MongoEnMemoria}. La latencia se simula con un retardo del scheduler y no
+ * bloquea el event loop, como el driver reactivo; la operación se aplica al suscribirse.
+ */
+class ReactiveMongoTemplateEnMemoria extends ReactiveMongoTemplate {
+
+	private final MongoEnMemoria mongo;
+
+	ReactiveMongoTemplateEnMemoria(MongoEnMemoria mongo) {
+		super(fabricaSinConexion(), mongo.getConverter());
+		this.mongo = mongo;
+	}
+
+	private static ReactiveMongoDatabaseFactory fabricaSinConexion() {
+		ReactiveMongoDatabaseFactory fabrica = mock(ReactiveMongoDatabaseFactory.class);
+		when(fabrica.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		return fabrica;
+	}
+
+	private <T> Mono<T> viaje(Callable<T> operacion) {
+		Mono<T> resultado = Mono.defer(() -> {
+			mongo.registrarOperacion();
+			return Mono.fromCallable(operacion);
+		});
+		return mongo.getLatencia().isZero() ? resultado : Mono.delay(mongo.getLatencia()).then(resultado);
+	}
+
+	@Override
+	public <T> Flux<T> find(Query query, Class<T> entityClass) {
+		return find(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> Flux<T> find(Query query, Class<T> entityClass, String collectionName) {
+		return viaje(() -> mongo.buscar(query, entityClass, collectionName)).flatMapIterable(resultado -> resultado);
+	}
+
+	@Override
+	public <T> Mono<T> findOne(Query query, Class<T> entityClass) {
+		return findOne(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> findOne(Query query, Class<T> entityClass, String collectionName) {
+		return viaje(() -> mongo.buscarUno(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass) {
+		return findById(id, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass, String collectionName) {
+		return viaje(() -> mongo.buscarPorId(id, entityClass, collectionName));
+	}
+
+	@Override
+	public Mono<Boolean> exists(Query query, Class<?> entityClass) {
+		return exists(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<Boolean> exists(Query query, String collectionName) {
+		return exists(query, null, collectionName);
+	}
+
+	@Override
+	public Mono<Boolean> exists(Query query, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.existe(query, entityClass, collectionName));
+	}
+
+	@Override
+	public Mono<Long> count(Query query, Class<?> entityClass) {
+		return count(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<Long> count(Query query, String collectionName) {
+		return count(query, null, collectionName);
+	}
+
+	@Override
+	public Mono<Long> count(Query query, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.contar(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> Mono<T> insert(T objectToSave) {
+		return insert(objectToSave, getCollectionName(objectToSave.getClass()));
+	}
+
+	@Override
+	public <T> Mono<T> insert(T objectToSave, String collectionName) {
+		return viaje(() -> mongo.insertar(objectToSave, collectionName));
+	}
+
+	@Override
+	public <T> Mono<T> save(T objectToSave) {
+		return save(objectToSave, getCollectionName(objectToSave.getClass()));
+	}
+
+	@Override
+	public <T> Mono<T> save(T objectToSave, String collectionName) {
+		return viaje(() -> mongo.guardar(objectToSave, collectionName));
+	}
+
+	@Override
+	public Mono<UpdateResult> upsert(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return upsert(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<UpdateResult> upsert(Query query, UpdateDefinition update, String collectionName) {
+		return upsert(query, update, null, collectionName);
+	}
+
+	@Override
+	public Mono<UpdateResult> upsert(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.actualizar(query, update, entityClass, collectionName, true, false));
+	}
+
+	@Override
+	public Mono<UpdateResult> updateFirst(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return updateFirst(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<UpdateResult> updateFirst(Query query, UpdateDefinition update, String collectionName) {
+		return updateFirst(query, update, null, collectionName);
+	}
+
+	@Override
+	public Mono<UpdateResult> updateFirst(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.actualizar(query, update, entityClass, collectionName, false, false));
+	}
+
+	@Override
+	public Mono<UpdateResult> updateMulti(Query query, UpdateDefinition update, Class<?> entityClass) {
+		return updateMulti(query, update, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<UpdateResult> updateMulti(Query query, UpdateDefinition update, String collectionName) {
+		return updateMulti(query, update, null, collectionName);
+	}
+
+	@Override
+	public Mono<UpdateResult> updateMulti(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.actualizar(query, update, entityClass, collectionName, false, true));
+	}
+
+	@Override
+	public <T> Mono<T> findAndModify(Query query, UpdateDefinition update, Class<T> entityClass) {
+		return findAndModify(query, update, new FindAndModifyOptions(), entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> findAndModify(Query query, UpdateDefinition update, Class<T> entityClass, String collectionName) {
+		return findAndModify(query, update, new FindAndModifyOptions(), entityClass, collectionName);
+	}
+
+	@Override
+	public <T> Mono<T> findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass) {
+		return findAndModify(query, update, options, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass,
+									 String collectionName) {
+		return viaje(() -> mongo.buscarYModificar(query, update, options, entityClass, collectionName));
+	}
+
+	@Override
+	public Mono<DeleteResult> remove(Object object) {
+		return remove(object, getCollectionName(object.getClass()));
+	}
+
+	@Override
+	public Mono<DeleteResult> remove(Object object, String collectionName) {
+		Object id = getConverter().getMappingContext().getRequiredPersistentEntity(object.getClass())
+				.getIdentifierAccessor(object).getRequiredIdentifier();
+		return remove(new Query(Criteria.where("_id").is(id)), object.getClass(), collectionName);
+	}
+
+	@Override
+	public Mono<DeleteResult> remove(Query query, Class<?> entityClass) {
+		return remove(query, entityClass, getCollectionName(entityClass));
+	}
+
+	@Override
+	public Mono<DeleteResult> remove(Query query, String collectionName) {
+		return remove(query, null, collectionName);
+	}
+
+	@Override
+	public Mono<DeleteResult> remove(Query query, Class<?> entityClass, String collectionName) {
+		return viaje(() -> mongo.eliminar(query, entityClass, collectionName));
+	}
+}
@@ -0,0 +1,341 @@
+package com.banco.banquito.general.carga;
+
+import java.beans.Introspector;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación por proxy de los repositorios de la aplicación sobre las plantillas en memoria. Cubre los
+ * métodos CRUD y las consultas derivadas que declaran los repositorios (igualdad, Between, GreaterThan,
+ * LessThan, In, Containing, Top/First, OrderBy, Pageable y Sort), traducidas a la misma Query que generaría
+ * Spring Data; la latencia y el conteo de viajes los aplica la plantilla.
+ */
+final class RepositorioEnMemoria implements InvocationHandler {
+
+	private static final Pattern METODO_DERIVADO =
+			Pattern.compile("^(find|read|get|query|stream|exists|count)(?:All)?(?:(?:Top|First)(\\d*))?By(.*)$");
+	private static final Pattern ORDEN = Pattern.compile("([A-Z][A-Za-z0-9]*?)(Asc|Desc)");
+	private static final String[] SUFIJOS = {"IsNotNull", "IsNull", "NotIn", "In", "Between", "GreaterThanEqual",
+			"GreaterThan", "LessThanEqual", "LessThan", "ContainingIgnoreCase", "Containing", "Not"};
+
+	private final Class<?> interfaz;
+	private final Class<?> tipo;
+	private final MongoTemplate template;
+	private final ReactiveMongoTemplate templateReactivo;
+
+	private RepositorioEnMemoria(Class<?> interfaz, MongoTemplate template, ReactiveMongoTemplate templateReactivo) {
+		this.interfaz = interfaz;
+		this.tipo = ResolvableType.forClass(interfaz).as(Repository.class).getGeneric(0).resolve();
+		this.template = template;
+		this.templateReactivo = templateReactivo;
+	}
+
+	static <R> R crear(Class<R> interfaz, MongoTemplate template, ReactiveMongoTemplate templateReactivo) {
+		boolean reactivo = ReactiveCrudRepository.class.isAssignableFrom(interfaz);
+		RepositorioEnMemoria manejador = new RepositorioEnMemoria(interfaz, reactivo ? null : template,
+				reactivo ? templateReactivo : null);
+		return interfaz.cast(Proxy.newProxyInstance(interfaz.getClassLoader(), new Class<?>[] {interfaz}, manejador));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method metodo, Object[] argumentos) {
+		Object[] args = argumentos == null ? new Object[0] : argumentos;
+		switch (metodo.getName()) {
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return interfaz.getSimpleName() + " en memoria";
+			default:
+				break;
+		}
+
+		Matcher derivado = METODO_DERIVADO.matcher(metodo.getName());
+		if (derivado.matches()) {
+			Query query = consultaDerivada(derivado, metodo, args);
+			return template != null ? ejecutar(derivado.group(1), metodo, query, args)
+					: ejecutarReactivo(derivado.group(1), metodo, query);
+		}
+		return template != null ? crud(metodo, args) : crudReactivo(metodo, args);
+	}
+
+	private Query consultaDerivada(Matcher derivado, Method metodo, Object[] args) {
+		String predicado = derivado.group(3);
+		String orden = null;
+		int indiceOrden = predicado.indexOf("OrderBy");
+		if (indiceOrden >= 0) {
+			orden = predicado.substring(indiceOrden + "OrderBy".length());
+			predicado = predicado.substring(0, indiceOrden);
+		}
+
+		Query query = new Query();
+		int argumento = 0;
+		if (!predicado.isEmpty()) {
+			if (predicado.contains("Or")) {
+				throw new UnsupportedOperationException("Consulta derivada con Or no soportada en memoria: " + metodo.getName());
+			}
+			for (String parte : predicado.split("And")) {
+				String sufijo = "";
+				for (String candidato : SUFIJOS) {
+					if (parte.endsWith(candidato) && parte.length() > candidato.length()) {
+						sufijo = candidato;
+						break;
+					}
+				}
+				String propiedad = Introspector.decapitalize(parte.substring(0, parte.length() - sufijo.length()));
+				Criteria criterio = Criteria.where(propiedad);
+				switch (sufijo) {
+					case "IsNotNull" -> criterio.ne(null);
+					case "IsNull" -> criterio.is(null);
+					case "NotIn" -> criterio.nin((Collection<?>) args[argumento++]);
+					case "In" -> criterio.in((Collection<?>) args[argumento++]);
+					case "Between" -> criterio.gt(args[argumento++]).lt(args[argumento++]);
+					case "GreaterThanEqual" -> criterio.gte(args[argumento++]);
+					case "GreaterThan" -> criterio.gt(args[argumento++]);
+					case "LessThanEqual" -> criterio.lte(args[argumento++]);
+					case "LessThan" -> criterio.lt(args[argumento++]);
+					case "ContainingIgnoreCase" -> criterio.regex(Pattern.compile(
+							Pattern.quote((String) args[argumento++]), Pattern.CASE_INSENSITIVE));
+					case "Containing" -> criterio.regex(Pattern.compile(Pattern.quote((String) args[argumento++])));
+					case "Not" -> criterio.ne(args[argumento++]);
+					default -> criterio.is(args[argumento++]);
+				}
+				query.addCriteria(criterio);
+			}
+		}
+
+		if (orden != null) {
+			Matcher campos = ORDEN.matcher(orden);
+			while (campos.find()) {
+				Sort.Direction direccion = "Desc".equals(campos.group(2)) ? Sort.Direction.DESC : Sort.Direction.ASC;
+				query.with(Sort.by(direccion, Introspector.decapitalize(campos.group(1))));
+			}
+		}
+		if (derivado.group(2) != null) {
+			query.limit(derivado.group(2).isEmpty() ? 1 : Integer.parseInt(derivado.group(2)));
+		}
+		for (int i = argumento; i < args.length; i++) {
+			if (args[i] instanceof Pageable pagina) {
+				query.with(pagina);
+			} else if (args[i] instanceof Sort sort) {
+				query.with(sort);
+			}
+		}
+		return query;
+	}
+
+	private Object ejecutar(String prefijo, Method metodo, Query query, Object[] args) {
+		if ("exists".equals(prefijo)) {
+			return template.exists(query, tipo);
+		}
+		if ("count".equals(prefijo)) {
+			return template.count(query, tipo);
+		}
+
+		Class<?> retorno = metodo.getReturnType();
+		if (Page.class.isAssignableFrom(retorno)) {
+			Pageable pagina = paginacion(args);
+			List<?> contenido = template.find(query, tipo);
+			return PageableExecutionUtils.getPage(contenido, pagina,
+					() -> template.count(Query.of(query).skip(0).limit(0), tipo));
+		}
+		if (Slice.class.isAssignableFrom(retorno)) {
+			Pageable pagina = paginacion(args);
+			List<?> contenido = template.find(Query.of(query).limit(pagina.getPageSize() + 1), tipo);
+			boolean hayMas = contenido.size() > pagina.getPageSize();
+			return new SliceImpl<>(hayMas ? contenido.subList(0, pagina.getPageSize()) : contenido, pagina, hayMas);
+		}
+		if (Optional.class.equals(retorno)) {
+			return Optional.ofNullable(template.findOne(query, tipo));
+		}
+		if (Stream.class.equals(retorno)) {
+			return template.stream(query, tipo);
+		}
+		if (Iterable.class.isAssignableFrom(retorno)) {
+			return template.find(query, tipo);
+		}
+		return template.findOne(query, tipo);
+	}
+
+	private Object ejecutarReactivo(String prefijo, Method metodo, Query query) {
+		if ("exists".equals(prefijo)) {
+			return templateReactivo.exists(query, tipo);
+		}
+		if ("count".equals(prefijo)) {
+			return templateReactivo.count(query, tipo);
+		}
+		return Mono.class.equals(metodo.getReturnType()) ? templateReactivo.findOne(query, tipo)
+				: templateReactivo.find(query, tipo);
+	}
+
+	private Object crud(Method metodo, Object[] args) {
+		return switch (metodo.getName()) {
+			case "save", "insert" -> {
+				if (args[0] instanceof Iterable<?> entidades) {
+					List<Object> guardadas = new ArrayList<>();
+					entidades.forEach(entidad -> guardadas.add(guardar(entidad, metodo.getName())));
+					yield guardadas;
+				}
+				yield guardar(args[0], metodo.getName());
+			}
+			case "saveAll" -> {
+				List<Object> guardadas = new ArrayList<>();
+				((Iterable<?>) args[0]).forEach(entidad -> guardadas.add(guardar(entidad, "save")));
+				yield guardadas;
+			}
+			case "findById" -> Optional.ofNullable(template.findById(args[0], tipo));
+			case "existsById" -> template.exists(porId(args[0]), tipo);
+			case "findAllById" -> template.find(new Query(Criteria.where("_id").in(lista(args[0]))), tipo);
+			case "findAll" -> {
+				if (args.length == 0) {
+					yield template.find(new Query(), tipo);
+				}
+				if (args[0] instanceof Sort sort) {
+					yield template.find(new Query().with(sort), tipo);
+				}
+				if (args[0] instanceof Pageable pagina) {
+					yield PageableExecutionUtils.getPage(template.find(new Query().with(pagina), tipo), pagina,
+							() -> template.count(new Query(), tipo));
+				}
+				throw noSoportado(metodo);
+			}
+			case "count" -> {
+				if (args.length > 0) {
+					throw noSoportado(metodo);
+				}
+				yield template.count(new Query(), tipo);
+			}
+			case "deleteById" -> {
+				template.remove(porId(args[0]), tipo);
+				yield null;
+			}
+			case "delete" -> {
+				template.remove(args[0]);
+				yield null;
+			}
+			case "deleteAll" -> {
+				if (args.length == 0) {
+					template.remove(new Query(), tipo);
+				} else {
+					((Iterable<?>) args[0]).forEach(template::remove);
+				}
+				yield null;
+			}
+			case "deleteAllById" -> {
+				template.remove(new Query(Criteria.where("_id").in(lista(args[0]))), tipo);
+				yield null;
+			}
+			default -> throw noSoportado(metodo);
+		};
+	}
+
+	private Object crudReactivo(Method metodo, Object[] args) {
+		return switch (metodo.getName()) {
+			case "save", "insert" -> args[0] instanceof Iterable<?> entidades
+					? Flux.fromIterable(entidades).concatMap(entidad -> guardarReactivo(entidad, metodo.getName()))
+					: guardarReactivo(args[0], metodo.getName());
+			case "saveAll" -> {
+				if (!(args[0] instanceof Iterable<?> entidades)) {
+					throw noSoportado(metodo);
+				}
+				yield Flux.fromIterable(entidades).concatMap(entidad -> guardarReactivo(entidad, "save"));
+			}
+			case "findById" -> templateReactivo.findById(identificador(metodo, args[0]), tipo);
+			case "existsById" -> templateReactivo.exists(porId(identificador(metodo, args[0])), tipo);
+			case "findAllById" -> templateReactivo.find(new Query(Criteria.where("_id").in(lista(args[0]))), tipo);
+			case "findAll" -> {
+				if (args.length == 0) {
+					yield templateReactivo.find(new Query(), tipo);
+				}
+				if (args[0] instanceof Sort sort) {
+					yield templateReactivo.find(new Query().with(sort), tipo);
+				}
+				throw noSoportado(metodo);
+			}
+			case "count" -> {
+				if (args.length > 0) {
+					throw noSoportado(metodo);
+				}
+				yield templateReactivo.count(new Query(), tipo);
+			}
+			case "deleteById" -> templateReactivo.remove(porId(identificador(metodo, args[0])), tipo).then();
+			case "delete" -> templateReactivo.remove(args[0]).then();
+			case "deleteAll" -> args.length == 0 ? templateReactivo.remove(new Query(), tipo).then()
+					: Flux.fromIterable((Iterable<?>) args[0]).concatMap(templateReactivo::remove).then();
+			default -> throw noSoportado(metodo);
+		};
+	}
+
+	private Object guardar(Object entidad, String operacion) {
+		// SimpleMongoRepository inserta las entidades nuevas y reemplaza por _id las existentes
+		return "insert".equals(operacion) || esNueva(entidad) ? template.insert(entidad) : template.save(entidad);
+	}
+
+	private Mono<?> guardarReactivo(Object entidad, String operacion) {
+		return "insert".equals(operacion) || esNueva(entidad) ? templateReactivo.insert(entidad)
+				: templateReactivo.save(entidad);
+	}
+
+	private boolean esNueva(Object entidad) {
+		MongoPersistentEntity<?> persistente = (template != null ? template.getConverter() : templateReactivo.getConverter())
+				.getMappingContext().getRequiredPersistentEntity(entidad.getClass());
+		return persistente.isNew(entidad);
+	}
+
+	private Pageable paginacion(Object[] args) {
+		for (Object argumento : args) {
+			if (argumento instanceof Pageable pagina) {
+				return pagina;
+			}
+		}
+		return Pageable.unpaged();
+	}
+
+	private static Query porId(Object id) {
+		return new Query(Criteria.where("_id").is(id));
+	}
+
+	private static List<Object> lista(Object iterable) {
+		List<Object> elementos = new ArrayList<>();
+		((Iterable<?>) iterable).forEach(elementos::add);
+		return elementos;
+	}
+
+	private static Object identificador(Method metodo, Object id) {
+		if (id instanceof org.reactivestreams.Publisher<?>) {
+			throw noSoportado(metodo);
+		}
+		return id;
+	}
+
+	private static UnsupportedOperationException noSoportado(Method metodo) {
+		return new UnsupportedOperationException("No disponible en memoria: " + metodo);
+	}
+}
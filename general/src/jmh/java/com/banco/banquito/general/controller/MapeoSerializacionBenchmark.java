@@ -0,0 +1,117 @@
+package com.banco.banquito.general.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.banco.banquito.general.controller.dto.CuentaBancariaDTO;
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.controller.mapper.CuentaBancariaMapper;
+import com.banco.banquito.general.controller.mapper.MovimientoCuentaMapper;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Conversión modelo → DTO con los mappers de MapStruct y serialización JSON de listas de movimientos, tal como
+ * la hacen los controladores para una página de resultados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapeoSerializacionBenchmark {
+
+	@Param({"1", "20", "100", "1000"})
+	private int movimientos;
+
+	private CuentaBancariaMapper cuentaMapper;
+	private MovimientoCuentaMapper movimientoMapper;
+	private ObjectMapper objectMapper;
+
+	private CuentaBancaria cuenta;
+	private List<MovimientoCuenta> modelos;
+	private List<MovimientoCuentaDTO> dtos;
+
+	@Setup
+	public void preparar() {
+		cuentaMapper = Mappers.getMapper(CuentaBancariaMapper.class);
+		movimientoMapper = Mappers.getMapper(MovimientoCuentaMapper.class);
+		// Misma configuración que aplica Spring Boot al ObjectMapper de los controladores
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+
+		cuenta = new CuentaBancaria("100000001", "1712345678", "Cliente Benchmark", TipoCuenta.AHORROS);
+		cuenta.setId("6650c0f1a2b3c4d5e6f70001");
+		cuenta.setSaldoDisponible(Dinero.de("1500.00"));
+		cuenta.setSaldoContable(Dinero.de("1500.00"));
+		cuenta.setSucursal("MATRIZ");
+		cuenta.setEjecutivo("EJE-001");
+
+		modelos = new ArrayList<>(movimientos);
+		Dinero saldo = Dinero.de("1500.00");
+		for (int i = 0; i < movimientos; i++) {
+			boolean esDebito = i % 2 == 0;
+			Dinero monto = Dinero.deCentavos(1234 + i * 100L);
+			MovimientoCuenta movimiento = new MovimientoCuenta("100000001", String.format("COMP-2026-%010d", i),
+					esDebito ? TipoMovimiento.DEBITO : TipoMovimiento.CREDITO, monto, saldo, esDebito ? "RETIRO CAJERO" : "DEPOSITO VENTANILLA");
+			movimiento.setId(String.format("6650c0f1a2b3c4d5e6%06x", i));
+			movimiento.setCanalTransaccion("CAJERO");
+			movimiento.setSucursal("MATRIZ");
+			movimiento.procesar();
+			saldo = movimiento.getSaldoPosterior();
+			modelos.add(movimiento);
+		}
+		dtos = aDTOs();
+	}
+
+	@Benchmark
+	public CuentaBancariaDTO cuentaToDTO() {
+		return cuentaMapper.toDTO(cuenta);
+	}
+
+	@Benchmark
+	public List<MovimientoCuentaDTO> movimientosToDTO() {
+		return aDTOs();
+	}
+
+	@Benchmark
+	public byte[] serializarMovimientos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(dtos);
+	}
+
+	@Benchmark
+	public byte[] mapearYSerializarMovimientos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(aDTOs());
+	}
+
+	private List<MovimientoCuentaDTO> aDTOs() {
+		List<MovimientoCuentaDTO> resultado = new ArrayList<>(modelos.size());
+		for (MovimientoCuenta movimiento : modelos) {
+			resultado.add(movimientoMapper.toDTO(movimiento));
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,87 @@
+package com.banco.banquito.general.model;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.Decimal128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Camino de un débito en memoria con BigDecimal (la representación anterior) frente a Dinero: validar saldo más
+ * sobregiro, descontar disponible y contable, calcular saldo anterior/posterior del movimiento y preparar el
+ * valor que va a Mongo (Decimal128 frente a long). Cada operación es un débito y el crédito que lo deshace, así
+ * el saldo no deriva. Con -Djmh.perfilador=gc (el valor por defecto del perfil) gc.alloc.rate.norm da los
+ * bytes asignados por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class DineroBenchmark {
+
+	private BigDecimal saldoDisponibleDecimal;
+	private BigDecimal saldoContableDecimal;
+	private BigDecimal limiteDecimal;
+	private BigDecimal montoDecimal;
+
+	private Dinero saldoDisponible;
+	private Dinero saldoContable;
+	private Dinero limite;
+	private Dinero monto;
+
+	@Setup
+	public void preparar() {
+		saldoDisponibleDecimal = new BigDecimal("1500.00");
+		saldoContableDecimal = new BigDecimal("1500.00");
+		limiteDecimal = new BigDecimal("500.00");
+		montoDecimal = new BigDecimal("250.75");
+
+		saldoDisponible = Dinero.de("1500.00");
+		saldoContable = Dinero.de("1500.00");
+		limite = Dinero.de("500.00");
+		monto = Dinero.de("250.75");
+	}
+
+	@Benchmark
+	public Object debitoBigDecimal() {
+		if (saldoDisponibleDecimal.add(limiteDecimal).compareTo(montoDecimal) < 0) {
+			throw new IllegalStateException();
+		}
+		saldoDisponibleDecimal = saldoDisponibleDecimal.subtract(montoDecimal);
+		saldoContableDecimal = saldoContableDecimal.subtract(montoDecimal);
+		BigDecimal saldoAnterior = saldoDisponibleDecimal.add(montoDecimal);
+		BigDecimal saldoPosterior = saldoAnterior.subtract(montoDecimal);
+		Decimal128 persistido = new Decimal128(saldoPosterior);
+
+		saldoDisponibleDecimal = saldoDisponibleDecimal.add(montoDecimal);
+		saldoContableDecimal = saldoContableDecimal.add(montoDecimal);
+		return persistido;
+	}
+
+	@Benchmark
+	public long debitoDinero() {
+		if (!saldoDisponible.sumar(limite).esMayorOIgualQue(monto)) {
+			throw new IllegalStateException();
+		}
+		saldoDisponible = saldoDisponible.restar(monto);
+		saldoContable = saldoContable.restar(monto);
+		Dinero saldoAnterior = saldoDisponible.sumar(monto);
+		Dinero saldoPosterior = saldoAnterior.restar(monto);
+		long persistido = saldoPosterior.getCentavos();
+
+		saldoDisponible = saldoDisponible.sumar(monto);
+		saldoContable = saldoContable.sumar(monto);
+		return persistido;
+	}
+}
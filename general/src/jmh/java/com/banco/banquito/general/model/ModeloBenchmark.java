@@ -0,0 +1,79 @@
+package com.banco.banquito.general.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validación y aplicación de saldos de CuentaBancaria y construcción de MovimientoCuenta: lo que se ejecuta
+ * en memoria por cada movimiento registrado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class ModeloBenchmark {
+
+	private CuentaBancaria cuenta;
+	private Dinero montoCubierto;
+	private Dinero montoConSobregiro;
+	private Dinero montoExcedido;
+	private Dinero saldoAnterior;
+	private boolean esDebito;
+
+	@Setup
+	public void preparar() {
+		cuenta = new CuentaBancaria("100000001", "1712345678", "Cliente Benchmark", TipoCuenta.AHORROS);
+		cuenta.setSaldoDisponible(Dinero.de("1500.00"));
+		cuenta.setSaldoContable(Dinero.de("1500.00"));
+		cuenta.setLimiteSobregiro(Dinero.de("500.00"));
+		montoCubierto = Dinero.de("250.75");
+		montoConSobregiro = Dinero.de("1800.00");
+		montoExcedido = Dinero.de("2500.01");
+		saldoAnterior = Dinero.de("1500.00");
+	}
+
+	@Benchmark
+	public boolean puedeRealizarDebitoCubierto() {
+		return cuenta.puedeRealizarDebito(montoCubierto);
+	}
+
+	@Benchmark
+	public boolean puedeRealizarDebitoConSobregiro() {
+		return cuenta.puedeRealizarDebito(montoConSobregiro);
+	}
+
+	@Benchmark
+	public boolean puedeRealizarDebitoExcedido() {
+		return cuenta.puedeRealizarDebito(montoExcedido);
+	}
+
+	@Benchmark
+	public CuentaBancaria actualizarSaldos() {
+		// Débito y crédito alternados para que el saldo no derive entre iteraciones
+		esDebito = !esDebito;
+		cuenta.actualizarSaldos(montoCubierto, esDebito);
+		return cuenta;
+	}
+
+	@Benchmark
+	public MovimientoCuenta nuevoMovimientoDebito() {
+		return new MovimientoCuenta("100000001", "COMP-2026-0000000001", TipoMovimiento.DEBITO, montoCubierto, saldoAnterior, "RETIRO");
+	}
+
+	@Benchmark
+	public MovimientoCuenta nuevoMovimientoCredito() {
+		return new MovimientoCuenta("100000001", "COMP-2026-0000000001", TipoMovimiento.CREDITO, montoCubierto, saldoAnterior, "DEPOSITO");
+	}
+}
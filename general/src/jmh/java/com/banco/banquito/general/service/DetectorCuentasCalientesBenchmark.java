@@ -0,0 +1,107 @@
+package com.banco.banquito.general.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Costo por movimiento del detector de cuentas calientes en el camino de procesarMovimiento. Las cuentas se
+ * eligen con sesgo tipo Zipf ({@code sesgo} = exponente) para que unas pocas concentren el tráfico y choquen
+ * en las mismas celdas del sketch. El objetivo es quedar muy por debajo de 1 µs por registro también con
+ * varios hilos; {@code deshabilitado} da la línea base del salto por la bandera.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DetectorCuentasCalientesBenchmark {
+
+	private static final int MUESTRAS = 1 << 16;
+
+	@Param({"100000"})
+	private int cuentas;
+
+	@Param({"0.0", "1.1"})
+	private double sesgo;
+
+	private DetectorCuentasCalientes detector;
+	private DetectorCuentasCalientes deshabilitado;
+	private String[] numerosCuenta;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		detector = new DetectorCuentasCalientes(new SimpleMeterRegistry(), true, 10, 2048, 10_000);
+		deshabilitado = new DetectorCuentasCalientes(new SimpleMeterRegistry(), false, 10, 2048, 10_000);
+
+		// Muestreo por inversión de la CDF; los números y su hashCode se calculan aquí para no medir su construcción
+		double[] acumulada = new double[cuentas];
+		double suma = 0;
+		for (int i = 0; i < cuentas; i++) {
+			suma += 1.0 / Math.pow(i + 1, sesgo);
+			acumulada[i] = suma;
+		}
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		numerosCuenta = new String[MUESTRAS];
+		for (int i = 0; i < MUESTRAS; i++) {
+			int posicion = Arrays.binarySearch(acumulada, aleatorio.nextDouble() * suma);
+			int cuenta = Math.min(posicion < 0 ? -posicion - 1 : posicion, cuentas - 1);
+			numerosCuenta[i] = String.format("22%08d", cuenta);
+			numerosCuenta[i].hashCode();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int siguiente;
+
+		@Setup(Level.Trial)
+		public void preparar() {
+			siguiente = (int) (Thread.currentThread().threadId() * 7919);
+		}
+
+		private int avanzar() {
+			return siguiente++ & (MUESTRAS - 1);
+		}
+	}
+
+	@Benchmark
+	public void registrarMovimiento(Cursor cursor) {
+		detector.registrarMovimientos(numerosCuenta[cursor.avanzar()], 1);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void registrarMovimientoOchoHilos(Cursor cursor) {
+		detector.registrarMovimientos(numerosCuenta[cursor.avanzar()], 1);
+	}
+
+	@Benchmark
+	public void registrarDeshabilitado(Cursor cursor) {
+		deshabilitado.registrarMovimientos(numerosCuenta[cursor.avanzar()], 1);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void registrarConflictoOchoHilos(Cursor cursor) {
+		detector.registrarConflicto(numerosCuenta[cursor.avanzar()]);
+	}
+}
@@ -0,0 +1,336 @@
+package com.banco.banquito.general.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.model.ContadorSecuencia;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.repository.MovimientoCuentaRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sustitutos en memoria de Mongo para medir los servicios sin red ni base de datos. Las operaciones que en
+ * producción son un viaje a Mongo se cuentan y, si se indica una latencia, esperan ese tiempo para simularlo.
+ * Las cuentas y los movimientos se guardan en mapas concurrentes con la misma semántica que los índices únicos
+ * y los updates condicionales reales.
+ */
+final class EntornoEnMemoria {
+
+	private static final long BASE_NUMERO_CUENTA = 100_000_000L;
+
+	private final long latenciaNanos;
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final MetricasMovimientos metricas = new MetricasMovimientos(meterRegistry);
+	private final DetectorCuentasCalientes detector = new DetectorCuentasCalientes(meterRegistry, true, 10, 2048, 10_000);
+	private final Map<String, CuentaBancaria> cuentas = new ConcurrentHashMap<>();
+	private final Map<String, MovimientoCuenta> movimientos = new ConcurrentHashMap<>();
+	private final AtomicLong contadorSecuencias = new AtomicLong();
+	private final AtomicLong viajesMongo = new AtomicLong();
+	private final MongoTemplate mongoTemplate;
+
+	EntornoEnMemoria(long latenciaMicros) {
+		this.latenciaNanos = latenciaMicros * 1_000L;
+		this.mongoTemplate = mongoTemplateSimulado();
+	}
+
+	void crearCuentas(int cantidad, Dinero saldoInicial) {
+		for (int i = 0; i < cantidad; i++) {
+			CuentaBancaria cuenta = new CuentaBancaria(numeroCuenta(i), "17" + (10_000_000 + i), "Cliente " + i, TipoCuenta.AHORROS);
+			cuenta.setId(new ObjectId().toHexString());
+			cuenta.setSaldoDisponible(saldoInicial);
+			cuenta.setSaldoContable(saldoInicial);
+			cuentas.put(cuenta.getNumeroCuenta(), cuenta);
+		}
+	}
+
+	String numeroCuenta(int indice) {
+		return String.valueOf(BASE_NUMERO_CUENTA + indice);
+	}
+
+	void registrarComprobantes(int cantidad, String formato) {
+		for (int i = 0; i < cantidad; i++) {
+			MovimientoCuenta movimiento = new MovimientoCuenta(numeroCuenta(0), String.format(formato, i), TipoMovimiento.CREDITO,
+					Dinero.deCentavos(100), Dinero.CERO, "CARGA INICIAL");
+			movimiento.setId(new ObjectId().toHexString());
+			movimientos.put(movimiento.getNumeroComprobante(), movimiento);
+		}
+	}
+
+	void limpiarMovimientos() {
+		movimientos.clear();
+	}
+
+	long viajesMongo() {
+		return viajesMongo.get();
+	}
+
+	MovimientoCuentaService movimientoService(boolean filtroHabilitado, boolean secuenciadorHabilitado) {
+		return new MovimientoCuentaService(repositorioMovimientos(), new CuentasEnMemoria(),
+				new SecuenciadorCuentas(secuenciadorHabilitado, 64, meterRegistry, detector), new EstadisticasEnMemoria(),
+				secuenciaBloques(1000), filtroComprobantes(filtroHabilitado), mongoTemplate, null, metricas, detector, 1000);
+	}
+
+	FiltroComprobantes filtroComprobantes(boolean habilitado) {
+		FiltroComprobantes filtro = new FiltroComprobantes(mongoTemplate, meterRegistry, habilitado, 1_000_000L, 0.01, 1000);
+		if (habilitado) {
+			// Carga inicial síncrona desde los comprobantes ya registrados
+			filtro.reconstruir();
+		}
+		return filtro;
+	}
+
+	SecuenciaBloques secuenciaBloques(long tamanoBloque) {
+		return new SecuenciaBloques(mongoTemplate, tamanoBloque, meterRegistry);
+	}
+
+	MovimientoCuentaRepository repositorioMovimientos() {
+		InvocationHandler manejador = (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+			case "save" -> guardar((MovimientoCuenta) argumentos[0]);
+			case "existsByNumeroComprobante" -> {
+				esperarMongo();
+				yield movimientos.containsKey((String) argumentos[0]);
+			}
+			case "findByNumeroComprobante" -> {
+				esperarMongo();
+				yield Optional.ofNullable(movimientos.get((String) argumentos[0]));
+			}
+			case "findByNumeroComprobanteIn" -> {
+				esperarMongo();
+				List<MovimientoCuenta> existentes = new ArrayList<>();
+				for (Object comprobante : (Collection<?>) argumentos[0]) {
+					MovimientoCuenta existente = movimientos.get((String) comprobante);
+					if (existente != null) {
+						existentes.add(existente);
+					}
+				}
+				yield existentes;
+			}
+			case "hashCode" -> System.identityHashCode(proxy);
+			case "equals" -> proxy == argumentos[0];
+			case "toString" -> "MovimientoCuentaRepository en memoria";
+			default -> throw new UnsupportedOperationException("No disponible en memoria: " + metodo.getName());
+		};
+		return (MovimientoCuentaRepository) Proxy.newProxyInstance(MovimientoCuentaRepository.class.getClassLoader(),
+				new Class<?>[] {MovimientoCuentaRepository.class}, manejador);
+	}
+
+	private MovimientoCuenta guardar(MovimientoCuenta movimiento) {
+		esperarMongo();
+		if (movimiento.getId() == null) {
+			movimiento.setId(new ObjectId().toHexString());
+		}
+		if (movimientos.putIfAbsent(movimiento.getNumeroComprobante(), movimiento) != null) {
+			throw new DuplicateKeyException("E11000 duplicate key error collection: movimientos_cuenta index: numeroComprobante");
+		}
+		return movimiento;
+	}
+
+	/**
+	 * Inserción masiva del lote: un solo viaje para todos los movimientos, como el bulkOps UNORDERED real.
+	 */
+	private BulkOperations insercionMasiva() {
+		List<MovimientoCuenta> pendientes = new ArrayList<>();
+		InvocationHandler manejador = (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+			case "insert" -> {
+				if (argumentos[0] instanceof List<?> lista) {
+					lista.forEach(movimiento -> pendientes.add((MovimientoCuenta) movimiento));
+				} else {
+					pendientes.add((MovimientoCuenta) argumentos[0]);
+				}
+				yield proxy;
+			}
+			case "execute" -> {
+				esperarMongo();
+				for (MovimientoCuenta movimiento : pendientes) {
+					movimientos.putIfAbsent(movimiento.getNumeroComprobante(), movimiento);
+				}
+				yield null;
+			}
+			case "hashCode" -> System.identityHashCode(proxy);
+			case "equals" -> proxy == argumentos[0];
+			case "toString" -> "BulkOperations en memoria";
+			default -> throw new UnsupportedOperationException("No disponible en memoria: " + metodo.getName());
+		};
+		return (BulkOperations) Proxy.newProxyInstance(BulkOperations.class.getClassLoader(),
+				new Class<?>[] {BulkOperations.class}, manejador);
+	}
+
+	private MongoTemplate mongoTemplateSimulado() {
+		// Se simulan la carga del filtro de comprobantes, la reserva de bloques de secuencia y la inserción del lote
+		MongoTemplate simulado = mock(MongoTemplate.class);
+		when(simulado.bulkOps(any(BulkOperations.BulkMode.class), eq(MovimientoCuenta.class)))
+				.thenAnswer(invocacion -> insercionMasiva());
+		when(simulado.getCollectionName(MovimientoCuenta.class)).thenReturn("movimientos_cuenta");
+		when(simulado.stream(any(Query.class), eq(Document.class), any()))
+				.thenAnswer(invocacion -> movimientos.keySet().stream()
+						.map(comprobante -> new Document("numeroComprobante", comprobante)));
+		when(simulado.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ContadorSecuencia.class)))
+				.thenAnswer(invocacion -> {
+					esperarMongo();
+					Update update = invocacion.getArgument(1);
+					long incremento = ((Number) update.getUpdateObject().get("$inc", Document.class).get("valor")).longValue();
+					ContadorSecuencia contador = new ContadorSecuencia("secuencia");
+					contador.setValor(contadorSecuencias.addAndGet(incremento));
+					return contador;
+				});
+		return simulado;
+	}
+
+	private void esperarMongo() {
+		viajesMongo.incrementAndGet();
+		if (latenciaNanos > 0) {
+			LockSupport.parkNanos(latenciaNanos);
+		}
+	}
+
+	/**
+	 * Mismo contrato que el findAndModify condicional: la validación de estado y sobregiro y la variación del
+	 * saldo son atómicas por cuenta, y se devuelve una copia con el saldo resultante.
+	 */
+	private final class CuentasEnMemoria extends CuentaBancariaService {
+
+		private CuentasEnMemoria() {
+			super(null, null, null, metricas, 1000);
+		}
+
+		@Override
+		public CuentaBancaria actualizarSaldos(String numeroCuenta, Dinero monto, boolean esDebito) {
+			esperarMongo();
+			CuentaBancaria cuenta = cuentas.get(numeroCuenta);
+			if (cuenta == null) {
+				throw new CuentaNotFoundException(numeroCuenta);
+			}
+			synchronized (cuenta) {
+				boolean permitido = esDebito ? cuenta.puedeRealizarDebito(monto) : cuenta.puedeRealizarCredito();
+				if (!permitido) {
+					throw rechazoActualizacion(cuenta, monto, esDebito);
+				}
+				cuenta.actualizarSaldos(monto, esDebito);
+				return copia(cuenta);
+			}
+		}
+
+		@Override
+		public List<CuentaBancaria> findByNumeroCuentaIn(Collection<String> numerosCuenta) {
+			esperarMongo();
+			List<CuentaBancaria> encontradas = new ArrayList<>(numerosCuenta.size());
+			for (String numeroCuenta : numerosCuenta) {
+				CuentaBancaria cuenta = cuentas.get(numeroCuenta);
+				if (cuenta != null) {
+					synchronized (cuenta) {
+						encontradas.add(copia(cuenta));
+					}
+				}
+			}
+			return encontradas;
+		}
+
+		@Override
+		public Optional<CuentaBancaria> buscarPorNumeroCuenta(String numeroCuenta) {
+			esperarMongo();
+			CuentaBancaria cuenta = cuentas.get(numeroCuenta);
+			if (cuenta == null) {
+				return Optional.empty();
+			}
+			synchronized (cuenta) {
+				return Optional.of(copia(cuenta));
+			}
+		}
+
+		@Override
+		public CuentaBancaria aplicarVariacionNeta(String numeroCuenta, Dinero saldoEsperado, Dinero variacion) {
+			esperarMongo();
+			CuentaBancaria cuenta = cuentas.get(numeroCuenta);
+			synchronized (cuenta) {
+				if (cuenta.getEstadoCuenta() != EstadoCuenta.ACTIVA || !cuenta.getSaldoDisponible().equals(saldoEsperado)) {
+					return null;
+				}
+				cuenta.actualizarSaldos(variacion.absoluto(), variacion.signo() < 0);
+				return copia(cuenta);
+			}
+		}
+
+		@Override
+		public void compensarSaldos(String numeroCuenta, Dinero monto, boolean esDebitoOriginal) {
+			esperarMongo();
+			CuentaBancaria cuenta = cuentas.get(numeroCuenta);
+			synchronized (cuenta) {
+				cuenta.actualizarSaldos(monto, !esDebitoOriginal);
+			}
+		}
+
+		private CuentaBancaria copia(CuentaBancaria cuenta) {
+			CuentaBancaria resultado = new CuentaBancaria(cuenta.getId());
+			resultado.setNumeroCuenta(cuenta.getNumeroCuenta());
+			resultado.setEstadoCuenta(cuenta.getEstadoCuenta());
+			resultado.setSaldoDisponible(cuenta.getSaldoDisponible());
+			resultado.setSaldoContable(cuenta.getSaldoContable());
+			resultado.setLimiteSobregiro(cuenta.getLimiteSobregiro());
+			resultado.setPermiteDebito(cuenta.getPermiteDebito());
+			resultado.setPermiteCredito(cuenta.getPermiteCredito());
+			resultado.setFechaUltimaActualizacion(cuenta.getFechaUltimaActualizacion());
+			return resultado;
+		}
+	}
+
+	/**
+	 * Construye el mismo update acumulado que se envía a Mongo, sin aplicarlo.
+	 */
+	private final class EstadisticasEnMemoria extends EstadisticasCuentaService {
+
+		private volatile Update ultimaActualizacion;
+
+		private EstadisticasEnMemoria() {
+			super(null, null, null);
+		}
+
+		@Override
+		public void registrarMovimiento(MovimientoCuenta movimiento) {
+			esperarMongo();
+			ultimaActualizacion = acumular(List.of(movimiento));
+		}
+
+		@Override
+		public void registrarMovimientos(List<MovimientoCuenta> movimientos) {
+			esperarMongo();
+			Map<String, List<MovimientoCuenta>> movimientosPorCuenta = new HashMap<>();
+			for (MovimientoCuenta movimiento : movimientos) {
+				movimientosPorCuenta.computeIfAbsent(movimiento.getNumeroCuenta(), k -> new ArrayList<>()).add(movimiento);
+			}
+			for (List<MovimientoCuenta> grupo : movimientosPorCuenta.values()) {
+				ultimaActualizacion = acumular(grupo);
+			}
+		}
+	}
+}
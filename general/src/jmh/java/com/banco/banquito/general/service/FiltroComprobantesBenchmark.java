@@ -0,0 +1,80 @@
+package com.banco.banquito.general.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verificación de comprobante existente con el pre-filtro de Bloom frente a la consulta directa
+ * existsByNumeroComprobante. La latencia simula el viaje a Mongo que el filtro evita en el caso negativo;
+ * {@code viajesMongo} se publica junto al throughput para ver cuántas consultas llegan a la base.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FiltroComprobantesBenchmark {
+
+	private static final String FORMATO_EXISTENTE = "COMP-2025-%010d";
+
+	@Param({"true", "false"})
+	private boolean filtro;
+
+	@Param({"0", "250"})
+	private long latenciaMongoMicros;
+
+	@Param({"100000"})
+	private int existentes;
+
+	private EntornoEnMemoria entorno;
+	private MovimientoCuentaService movimientoService;
+	private final AtomicLong nuevos = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		entorno = new EntornoEnMemoria(latenciaMongoMicros);
+		entorno.registrarComprobantes(existentes, FORMATO_EXISTENTE);
+		movimientoService = entorno.movimientoService(filtro, false);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Contadores {
+
+		public long viajesMongo;
+		private long secuencia;
+	}
+
+	@Benchmark
+	public boolean comprobanteNuevo(Contadores contadores) {
+		// El caso habitual: el comprobante todavía no existe
+		long antes = entorno.viajesMongo();
+		boolean existe = movimientoService.existeNumeroComprobante("COMP-2026-" + nuevos.incrementAndGet());
+		contadores.viajesMongo += entorno.viajesMongo() - antes;
+		return existe;
+	}
+
+	@Benchmark
+	public boolean comprobanteExistente(Contadores contadores) {
+		long antes = entorno.viajesMongo();
+		boolean existe = movimientoService.existeNumeroComprobante(
+				String.format(FORMATO_EXISTENTE, contadores.secuencia++ % existentes));
+		contadores.viajesMongo += entorno.viajesMongo() - antes;
+		return existe;
+	}
+}
@@ -0,0 +1,78 @@
+package com.banco.banquito.general.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generación de comprobantes con secuencias por bloques frente al esquema anterior (6 dígitos aleatorios del
+ * año y reintento mientras existsByNumeroComprobante encuentre el valor). {@code existentes} representa los
+ * comprobantes ya emitidos en el año: con el esquema anterior la probabilidad de reintento crece con ellos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GeneradorComprobantesBenchmark {
+
+	@Param({"0", "250"})
+	private long latenciaMongoMicros;
+
+	@Param({"0", "500000", "900000"})
+	private int existentes;
+
+	private EntornoEnMemoria entorno;
+	private MovimientoCuentaService movimientoService;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		int anio = LocalDateTime.now().getYear();
+		entorno = new EntornoEnMemoria(latenciaMongoMicros);
+		entorno.registrarComprobantes(existentes, "COMP-" + anio + "-%06d");
+		// El esquema anterior no tenía pre-filtro: cada intento consultaba Mongo
+		movimientoService = entorno.movimientoService(false, false);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Contadores {
+
+		public long viajesMongo;
+	}
+
+	@Benchmark
+	public String secuenciaPorBloques(Contadores contadores) {
+		long antes = entorno.viajesMongo();
+		String comprobante = movimientoService.generarNumeroComprobante();
+		contadores.viajesMongo += entorno.viajesMongo() - antes;
+		return comprobante;
+	}
+
+	@Benchmark
+	public String aleatorioConReintentos(Contadores contadores) {
+		long antes = entorno.viajesMongo();
+		String comprobante;
+		do {
+			comprobante = "COMP-" + LocalDateTime.now().getYear() + "-"
+					+ String.format("%06d", Math.abs(UUID.randomUUID().hashCode() % 1000000));
+		} while (movimientoService.existeNumeroComprobante(comprobante));
+		contadores.viajesMongo += entorno.viajesMongo() - antes;
+		return comprobante;
+	}
+}
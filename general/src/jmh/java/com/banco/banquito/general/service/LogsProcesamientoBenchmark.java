@@ -0,0 +1,156 @@
+package com.banco.banquito.general.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Throughput de procesarMovimiento según cómo se registra. {@code salida}: "sincrona-texto" es el appender de
+ * consola de siempre (el hilo de la petición formatea y escribe), "asincrona-json" es el modo de docker (JSON
+ * por línea detrás de un AsyncAppender con cola acotada que no bloquea). {@code nivel} DEBUG reproduce la
+ * cantidad de líneas por movimiento que antes salían a INFO; INFO es el nivel actual. Se escribe a un archivo
+ * temporal para incluir el costo de E/S sin depender de la terminal. El JsonEncoder de logback reemplaza aquí
+ * al encoder ECS de Spring Boot, que necesita el Environment; el costo por evento es comparable.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LogsProcesamientoBenchmark {
+
+	private static final Dinero MONTO = Dinero.de("10.00");
+	private static final int CUENTAS = 1000;
+
+	@Param({"sincrona-texto", "asincrona-json"})
+	private String salida;
+
+	@Param({"DEBUG", "INFO"})
+	private String nivel;
+
+	private EntornoEnMemoria entorno;
+	private MovimientoCuentaService movimientoService;
+	private Appender<ILoggingEvent> appender;
+	private File archivo;
+	private final AtomicLong comprobantes = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+		LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+		archivo = File.createTempFile("banquito-logs-", ".log");
+		archivo.deleteOnExit();
+
+		FileAppender<ILoggingEvent> destino = new FileAppender<>();
+		destino.setContext(contexto);
+		destino.setName("ARCHIVO");
+		destino.setFile(archivo.getAbsolutePath());
+		destino.setEncoder(encoder(contexto));
+		destino.start();
+
+		if ("asincrona-json".equals(salida)) {
+			AsyncAppender asincrono = new AsyncAppender();
+			asincrono.setContext(contexto);
+			asincrono.setName("ASINCRONO");
+			asincrono.setQueueSize(8192);
+			asincrono.setNeverBlock(true);
+			asincrono.setIncludeCallerData(false);
+			asincrono.addAppender(destino);
+			asincrono.start();
+			appender = asincrono;
+		} else {
+			appender = destino;
+		}
+
+		ch.qos.logback.classic.Logger banquito = contexto.getLogger("com.banco.banquito");
+		banquito.setLevel(ch.qos.logback.classic.Level.toLevel(nivel));
+		banquito.setAdditive(false);
+		banquito.addAppender(appender);
+
+		entorno = new EntornoEnMemoria(0);
+		entorno.crearCuentas(CUENTAS, Dinero.de("1000000.00"));
+		movimientoService = entorno.movimientoService(true, false);
+	}
+
+	private Encoder<ILoggingEvent> encoder(LoggerContext contexto) {
+		if ("asincrona-json".equals(salida)) {
+			JsonEncoder json = new JsonEncoder();
+			json.setContext(contexto);
+			json.start();
+			return json;
+		}
+		PatternLayoutEncoder texto = new PatternLayoutEncoder();
+		texto.setContext(contexto);
+		texto.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+		texto.start();
+		return texto;
+	}
+
+	@Setup(Level.Iteration)
+	public void limpiar() {
+		entorno.limpiarMovimientos();
+	}
+
+	@TearDown(Level.Trial)
+	public void cerrar() {
+		// Detener el AsyncAppender vacía la cola antes de cerrar el archivo
+		appender.stop();
+		archivo.delete();
+	}
+
+	@State(Scope.Thread)
+	public static class Solicitud {
+
+		private final MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+		private long secuencia;
+
+		@Setup(Level.Trial)
+		public void preparar() {
+			movimiento.setMonto(MONTO);
+			movimiento.setConcepto("BENCHMARK");
+			movimiento.setCanalTransaccion("CAJERO");
+			secuencia = Thread.currentThread().threadId() * 7919;
+		}
+	}
+
+	@Benchmark
+	public MovimientoCuenta procesarMovimiento(Solicitud solicitud) {
+		long secuencia = solicitud.secuencia++;
+		MovimientoCuentaDTO movimiento = solicitud.movimiento;
+		movimiento.setNumeroCuenta(entorno.numeroCuenta((int) (secuencia % CUENTAS)));
+		movimiento.setNumeroComprobante("COMP-LOGS-" + comprobantes.incrementAndGet());
+		movimiento.setTipoMovimiento((secuencia / CUENTAS) % 2 == 0 ? "DEBITO" : "CREDITO");
+		return movimientoService.procesarMovimiento(movimiento);
+	}
+}
@@ -0,0 +1,96 @@
+package com.banco.banquito.general.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.model.Dinero;
+
+/**
+ * procesarLote (lo que atiende POST /v1/movimientos/lote) frente a procesarMovimiento llamado una vez por
+ * movimiento, con los mismos N movimientos repartidos entre las cuentas. Con latenciaMicros > 0 cada viaje a
+ * Mongo espera ese tiempo, que es donde el lote gana: una consulta de cuentas, un update neto por cuenta, un
+ * bulk insert y un bulk de estadísticas, frente a tres viajes por movimiento (saldo, inserción y estadísticas;
+ * con el filtro de comprobantes ninguna de las dos variantes consulta la existencia del comprobante).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LoteMovimientosBenchmark {
+
+	private static final Dinero MONTO = Dinero.de("10.00");
+
+	@Param({"10", "100"})
+	private int movimientosPorLote;
+
+	@Param({"1", "10"})
+	private int cuentas;
+
+	@Param({"0", "200"})
+	private long latenciaMicros;
+
+	private EntornoEnMemoria entorno;
+	private MovimientoCuentaService movimientoService;
+	private final List<MovimientoCuentaDTO> lote = new ArrayList<>();
+	private long comprobantes;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		entorno = new EntornoEnMemoria(latenciaMicros);
+		entorno.crearCuentas(cuentas, Dinero.de("1000000.00"));
+		movimientoService = entorno.movimientoService(true, false);
+		for (int i = 0; i < movimientosPorLote; i++) {
+			MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+			movimiento.setNumeroCuenta(entorno.numeroCuenta(i % cuentas));
+			// Débitos y créditos del mismo monto alternados por cuenta: el saldo no deriva entre operaciones
+			movimiento.setTipoMovimiento((i / cuentas) % 2 == 0 ? "DEBITO" : "CREDITO");
+			movimiento.setMonto(MONTO);
+			movimiento.setConcepto("BENCHMARK LOTE");
+			movimiento.setCanalTransaccion("CAJERO");
+			lote.add(movimiento);
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void limpiar() {
+		entorno.limpiarMovimientos();
+	}
+
+	@Setup(Level.Invocation)
+	public void asignarComprobantes() {
+		// Comprobantes nuevos en cada operación; Level.Invocation es aceptable con operaciones de N movimientos
+		for (MovimientoCuentaDTO movimiento : lote) {
+			movimiento.setNumeroComprobante("COMP-LOTE-" + comprobantes++);
+		}
+	}
+
+	@Benchmark
+	public List<ResultadoMovimiento> procesarLote() {
+		return movimientoService.procesarLote(lote);
+	}
+
+	@Benchmark
+	public void procesarIndividual(Blackhole blackhole) {
+		for (MovimientoCuentaDTO movimiento : lote) {
+			blackhole.consume(movimientoService.procesarMovimiento(movimiento));
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.banco.banquito.general.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+/**
+ * Costo de CPU de procesarMovimiento con Mongo sustituido en memoria (sin latencia): validación del
+ * comprobante, update condicional del saldo, armado del movimiento y acumulado de estadísticas. Débitos y
+ * créditos del mismo monto se alternan para que el saldo no se agote. Con {@code -t N} se mide la contención
+ * de varios hilos sobre las mismas cuentas.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(1)
+@State(Scope.Benchmark)
+public class ProcesamientoMovimientoBenchmark {
+
+	private static final Dinero MONTO = Dinero.de("10.00");
+
+	@Param({"1", "1000"})
+	private int cuentas;
+
+	@Param({"true", "false"})
+	private boolean filtroComprobantes;
+
+	@Param({"false", "true"})
+	private boolean secuenciador;
+
+	private EntornoEnMemoria entorno;
+	private MovimientoCuentaService movimientoService;
+	private final AtomicLong comprobantes = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		entorno = new EntornoEnMemoria(0);
+		entorno.crearCuentas(cuentas, Dinero.de("1000000.00"));
+		movimientoService = entorno.movimientoService(filtroComprobantes, secuenciador);
+	}
+
+	@Setup(Level.Iteration)
+	public void limpiar() {
+		// Sin esto el mapa de movimientos crece durante toda la corrida y termina midiendo al GC
+		entorno.limpiarMovimientos();
+	}
+
+	@State(Scope.Thread)
+	public static class Solicitud {
+
+		private final MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+		private long secuencia;
+
+		@Setup(Level.Trial)
+		public void preparar() {
+			movimiento.setMonto(MONTO);
+			movimiento.setConcepto("BENCHMARK");
+			movimiento.setCanalTransaccion("CAJERO");
+		}
+	}
+
+	@Benchmark
+	public MovimientoCuenta procesarMovimiento(Solicitud solicitud) {
+		long secuencia = solicitud.secuencia++;
+		MovimientoCuentaDTO movimiento = solicitud.movimiento;
+		movimiento.setNumeroCuenta(entorno.numeroCuenta((int) (secuencia % cuentas)));
+		movimiento.setNumeroComprobante("COMP-BENCH-" + comprobantes.incrementAndGet());
+		// Cada hilo recorre todas las cuentas alternando débitos y créditos por vuelta
+		movimiento.setTipoMovimiento((secuencia / cuentas) % 2 == 0 ? "DEBITO" : "CREDITO");
+		return movimientoService.procesarMovimiento(movimiento);
+	}
+}
@@ -0,0 +1,35 @@
+package com.banco.banquito.general.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CACHE_CUENTAS = "cuentas";
+
+    // Solo para varias réplicas con la cache activa; requiere MongoDB en replica set. El contenedor se inicia y
+    // detiene con el contexto de Spring
+    @Bean
+    @ConditionalOnProperty(name = {"banquito.cache.enabled", "banquito.cache.invalidacion.change-stream"}, havingValue = "true")
+    public MessageListenerContainer messageListenerContainer(MongoTemplate mongoTemplate) {
+        return new DefaultMessageListenerContainer(mongoTemplate);
+    }
+
+    // Con banquito.cache.enabled=true se usa la cache de Caffeine (spring.cache.*). En una sola instancia los
+    // @CacheEvict de las escrituras bastan; con varias réplicas hace falta además el change stream, o una réplica
+    // serviría hasta expireAfterWrite el saldo que otra ya modificó
+    @Bean
+    @ConditionalOnProperty(name = "banquito.cache.enabled", havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager() {
+        return new NoOpCacheManager();
+    }
+}
@@ -0,0 +1,71 @@
+package com.banco.banquito.general.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.banco.banquito.general.model.CodigoPersistente;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+
+/**
+ * Conversores de Mongo para las enumeraciones con {@link CodigoPersistente}: se escriben como su código corto y
+ * se leen desde el código o desde el nombre completo, el formato anterior a la migración. El QueryMapper usa el
+ * mismo conversor de escritura, así que las consultas derivadas que reciben la enumeración filtran por código.
+ */
+final class ConversionesCodigos {
+
+    private static final Map<Class<?>, Function<String, ?>> LECTORES = Map.of(
+            EstadoCuenta.class, EstadoCuenta::deCodigo,
+            TipoCuenta.class, TipoCuenta::deCodigo,
+            TipoMovimiento.class, TipoMovimiento::deCodigo);
+
+    private ConversionesCodigos() {
+    }
+
+    static List<GenericConverter> todas() {
+        return List.of(EnumeracionACodigo.INSTANCIA, CodigoAEnumeracion.INSTANCIA);
+    }
+
+    @WritingConverter
+    enum EnumeracionACodigo implements GenericConverter {
+        INSTANCIA;
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return LECTORES.keySet().stream()
+                    .map(tipo -> new ConvertiblePair(tipo, String.class))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        @Override
+        public Object convert(Object fuente, TypeDescriptor tipoFuente, TypeDescriptor tipoDestino) {
+            return fuente == null ? null : ((CodigoPersistente) fuente).getCodigo();
+        }
+    }
+
+    @ReadingConverter
+    enum CodigoAEnumeracion implements GenericConverter {
+        INSTANCIA;
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return LECTORES.keySet().stream()
+                    .map(tipo -> new ConvertiblePair(String.class, tipo))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        @Override
+        public Object convert(Object fuente, TypeDescriptor tipoFuente, TypeDescriptor tipoDestino) {
+            return fuente == null ? null : LECTORES.get(tipoDestino.getType()).apply((String) fuente);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.banco.banquito.general.config;
+
+import java.math.RoundingMode;
+import java.util.List;
+
+import org.bson.types.Decimal128;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.banco.banquito.general.model.Dinero;
+
+/**
+ * Conversores de Mongo para {@link Dinero}: se escribe como Int64 de centavos y se lee desde Int64, Int32 (lo
+ * que deja un $sum sin documentos) o Decimal128 en unidades, el formato anterior a la migración.
+ */
+final class ConversionesDinero {
+
+    private ConversionesDinero() {
+    }
+
+    static List<Converter<?, ?>> todas() {
+        return List.of(DineroALong.INSTANCIA, LongADinero.INSTANCIA, IntegerADinero.INSTANCIA, Decimal128ADinero.INSTANCIA);
+    }
+
+    @WritingConverter
+    enum DineroALong implements Converter<Dinero, Long> {
+        INSTANCIA;
+
+        @Override
+        public Long convert(Dinero dinero) {
+            return dinero.getCentavos();
+        }
+    }
+
+    @ReadingConverter
+    enum LongADinero implements Converter<Long, Dinero> {
+        INSTANCIA;
+
+        @Override
+        public Dinero convert(Long centavos) {
+            return Dinero.deCentavos(centavos);
+        }
+    }
+
+    @ReadingConverter
+    enum IntegerADinero implements Converter<Integer, Dinero> {
+        INSTANCIA;
+
+        @Override
+        public Dinero convert(Integer centavos) {
+            return Dinero.deCentavos(centavos);
+        }
+    }
+
+    // Documentos aún no migrados; los montos con más de dos decimales que aceptaba la API anterior se redondean
+    @ReadingConverter
+    enum Decimal128ADinero implements Converter<Decimal128, Dinero> {
+        INSTANCIA;
+
+        @Override
+        public Dinero convert(Decimal128 decimal) {
+            return Dinero.de(decimal.bigDecimalValue().setScale(Dinero.ESCALA, RoundingMode.HALF_EVEN));
+        }
+    }
+}
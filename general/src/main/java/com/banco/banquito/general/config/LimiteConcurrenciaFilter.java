@@ -0,0 +1,94 @@
+package com.banco.banquito.general.config;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Con hilos virtuales Tomcat ya no limita las peticiones simultáneas: sin este filtro miles de hilos
+ * esperarían en la cola del pool de Mongo. Se admiten tantas peticiones como conexiones tiene el pool y
+ * el resto espera un tiempo acotado antes de recibir 503.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteConcurrenciaFilter.class);
+
+    private final Semaphore permisos;
+    private final long esperaMaxima;
+    private final Timer espera;
+    private final Counter rechazos;
+
+    public LimiteConcurrenciaFilter(
+            @Value("${banquito.concurrencia.permisos:${banquito.mongo.pool.tamano-maximo:50}}") int numeroPermisos,
+            @Value("${banquito.concurrencia.espera-maxima-ms:2000}") long esperaMaxima,
+            MeterRegistry meterRegistry) {
+        this.permisos = new Semaphore(numeroPermisos, true);
+        this.esperaMaxima = esperaMaxima;
+        this.espera = Timer.builder("banquito.concurrencia.espera")
+                .description("Tiempo de espera para obtener un permiso de ejecución")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("banquito.concurrencia.rechazos")
+                .description("Peticiones rechazadas por falta de permisos")
+                .register(meterRegistry);
+        Gauge.builder("banquito.concurrencia.disponibles", permisos, Semaphore::availablePermits)
+                .description("Permisos de ejecución disponibles")
+                .register(meterRegistry);
+        Gauge.builder("banquito.concurrencia.cola", permisos, Semaphore::getQueueLength)
+                .description("Peticiones esperando un permiso de ejecución")
+                .register(meterRegistry);
+        logger.info("Límite de concurrencia con hilos virtuales: {} permisos", numeroPermisos);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        boolean adquirido;
+        try {
+            adquirido = permisos.tryAcquire(esperaMaxima, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirido = false;
+        }
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (!adquirido) {
+            rechazos.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permisos.release();
+        }
+    }
+}
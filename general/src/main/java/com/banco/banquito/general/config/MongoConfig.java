@@ -0,0 +1,45 @@
+package com.banco.banquito.general.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConfig {
+
+    // El tamaño del pool también es el límite de peticiones concurrentes en modo de hilos virtuales.
+    // Spring Boot no expone los timeouts del driver como propiedades: se aplican aquí, por defecto los del driver
+    @Bean
+    public MongoClientSettingsBuilderCustomizer poolConexionesMongo(
+            @Value("${banquito.mongo.pool.tamano-maximo:50}") int tamanoMaximo,
+            @Value("${banquito.mongo.pool.tamano-minimo:5}") int tamanoMinimo,
+            @Value("${banquito.mongo.pool.espera-maxima-ms:2000}") long esperaMaxima,
+            @Value("${banquito.mongo.timeout.conexion-ms:10000}") int timeoutConexion,
+            @Value("${banquito.mongo.timeout.lectura-ms:0}") int timeoutLectura,
+            @Value("${banquito.mongo.timeout.seleccion-servidor-ms:30000}") long timeoutSeleccionServidor) {
+        return settings -> settings
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(tamanoMaximo)
+                        .minSize(tamanoMinimo)
+                        .maxWaitTime(esperaMaxima, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(timeoutConexion, TimeUnit.MILLISECONDS)
+                        .readTimeout(timeoutLectura, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(timeoutSeleccionServidor, TimeUnit.MILLISECONDS));
+    }
+
+    // Reemplaza las conversiones por defecto de Spring Boot; las usan tanto MongoTemplate como ReactiveMongoTemplate
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        List<Object> conversores = new ArrayList<>(ConversionesDinero.todas());
+        conversores.addAll(ConversionesCodigos.todas());
+        return new MongoCustomConversions(conversores);
+    }
+}
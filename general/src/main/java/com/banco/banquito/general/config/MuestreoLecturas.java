@@ -0,0 +1,32 @@
+package com.banco.banquito.general.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Muestreo de los logs de consultas de lectura: a INFO se registra una de cada N, a DEBUG todas. La decisión
+ * se toma antes de armar los argumentos del log, así las consultas no muestreadas no formatean ni asignan nada.
+ * Se usa un aleatorio por hilo y no un contador compartido para no agregar contención en los endpoints.
+ */
+@Component
+public class MuestreoLecturas {
+
+    private final int cadaN;
+
+    public MuestreoLecturas(@Value("${banquito.logging.muestreo-lecturas:100}") int cadaN) {
+        if (cadaN <= 0) {
+            throw new IllegalArgumentException("El muestreo de lecturas debe ser mayor a cero");
+        }
+        this.cadaN = cadaN;
+    }
+
+    public boolean registrar(Logger logger) {
+        if (logger.isDebugEnabled()) {
+            return true;
+        }
+        return logger.isInfoEnabled() && (cadaN == 1 || ThreadLocalRandom.current().nextInt(cadaN) == 0);
+    }
+}
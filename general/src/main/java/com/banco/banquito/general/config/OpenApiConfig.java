@@ -1,17 +1,26 @@
 package com.banco.banquito.general.config;
 
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.banco.banquito.general.model.Dinero;
+
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.media.NumberSchema;
 import io.swagger.v3.oas.models.servers.Server;
 
 @Configuration
 public class OpenApiConfig {
 
+    static {
+        // Dinero se serializa como número decimal; sin esto el esquema mostraría sus propiedades internas
+        SpringDocUtils.getConfig().replaceWithSchema(Dinero.class, new NumberSchema());
+    }
+
     @Bean
     public OpenAPI customOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,18 @@
+package com.banco.banquito.general.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+@Configuration
+public class TransaccionesConfig {
+
+    // Las transacciones de MongoDB requieren replica set; en un servidor standalone los reversos usan compensación
+    @Bean
+    @ConditionalOnProperty(name = "banquito.transacciones.habilitadas", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
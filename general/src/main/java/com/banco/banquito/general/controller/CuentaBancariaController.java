@@ -1,10 +1,16 @@
 package com.banco.banquito.general.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +18,11 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.banco.banquito.general.controller.dto.ConsultaSaldoDTO;
 import com.banco.banquito.general.controller.dto.CrearCuentaDTO;
@@ -24,7 +32,11 @@ import com.banco.banquito.general.exception.CuentaInactivaException;
 import com.banco.banquito.general.exception.CuentaNotFoundException;
 import com.banco.banquito.general.exception.SaldoInsuficienteException;
 import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.SaldoDiario;
+import com.banco.banquito.general.model.TipoCuenta;
 import com.banco.banquito.general.service.CuentaBancariaService;
+import com.banco.banquito.general.service.SaldoHistoricoService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,15 +47,21 @@ import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/v1/cuentas")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Cuentas Bancarias", description = "Operaciones de gestión de cuentas bancarias")
 public class CuentaBancariaController {
 
     private final CuentaBancariaService service;
+    private final SaldoHistoricoService saldoHistoricoService;
     private final CuentaBancariaMapper mapper;
+    private final EscritorExportacion escritorExportacion;
 
-    public CuentaBancariaController(CuentaBancariaService service, CuentaBancariaMapper mapper) {
+    public CuentaBancariaController(CuentaBancariaService service, SaldoHistoricoService saldoHistoricoService,
+                                    CuentaBancariaMapper mapper, EscritorExportacion escritorExportacion) {
         this.service = service;
+        this.saldoHistoricoService = saldoHistoricoService;
         this.mapper = mapper;
+        this.escritorExportacion = escritorExportacion;
     }
 
     @GetMapping
@@ -51,20 +69,16 @@ public class CuentaBancariaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de cuentas obtenida exitosamente")
     })
-    public ResponseEntity<List<CuentaBancariaDTO>> getAllCuentas(
+    public ResponseEntity<?> getAllCuentas(
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaCreacion") String sortBy,
             @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
         
-        if (page < 0 || size <= 0) {
-            List<CuentaBancaria> cuentas = service.findAll();
-            List<CuentaBancariaDTO> dtos = new ArrayList<>(cuentas.size());
-            
-            for (CuentaBancaria cuenta : cuentas) {
-                dtos.add(mapper.toDTO(cuenta));
-            }
-            return ResponseEntity.ok(dtos);
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(CuentaBancariaDTO.class,
+                    consumidor -> service.exportarTodas(cuenta -> consumidor.accept(mapper.toDTO(cuenta))));
         }
         
         Page<CuentaBancaria> cuentasPage = service.findAll(page, size, sortBy, sortDirection);
@@ -77,6 +91,23 @@ public class CuentaBancariaController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping(produces = {EscritorExportacion.NDJSON, EscritorExportacion.CSV})
+    @Operation(summary = "Exportar todas las cuentas bancarias", description = "Exporta en streaming (NDJSON o CSV según Accept) todas las cuentas sin cargarlas en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarCuentas(
+            @Parameter(description = "Formato solicitado (application/x-ndjson o text/csv)") @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        
+        String formato = escritorExportacion.formatoSolicitado(accept);
+        StreamingResponseBody cuerpo = escritorExportacion.escribir(CuentaBancariaDTO.class, formato,
+                consumidor -> service.exportarTodas(cuenta -> consumidor.accept(mapper.toDTO(cuenta))));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato))
+                .body(cuerpo);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener cuenta por ID", description = "Retorna una cuenta bancaria por su ID")
     @ApiResponses(value = {
@@ -140,21 +171,17 @@ public class CuentaBancariaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Cuentas encontradas exitosamente")
     })
-    public ResponseEntity<List<CuentaBancariaDTO>> getCuentasByEstado(
-            @Parameter(description = "Estado de la cuenta (ACTIVA, INACTIVA, BLOQUEADA, CERRADA)") @PathVariable String estadoCuenta,
+    public ResponseEntity<?> getCuentasByEstado(
+            @Parameter(description = "Estado de la cuenta (ACTIVA, INACTIVA, BLOQUEADA, CERRADA)") @PathVariable EstadoCuenta estadoCuenta,
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaCreacion") String sortBy,
             @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
         
-        if (page < 0 || size <= 0) {
-            List<CuentaBancaria> cuentas = service.findByEstadoCuenta(estadoCuenta);
-            List<CuentaBancariaDTO> dtos = new ArrayList<>(cuentas.size());
-            
-            for (CuentaBancaria cuenta : cuentas) {
-                dtos.add(mapper.toDTO(cuenta));
-            }
-            return ResponseEntity.ok(dtos);
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(CuentaBancariaDTO.class,
+                    consumidor -> service.exportarPorEstado(estadoCuenta, cuenta -> consumidor.accept(mapper.toDTO(cuenta))));
         }
         
         Page<CuentaBancaria> cuentasPage = service.findByEstadoCuenta(estadoCuenta, page, size, sortBy, sortDirection);
@@ -173,7 +200,7 @@ public class CuentaBancariaController {
         @ApiResponse(responseCode = "200", description = "Cuentas encontradas exitosamente")
     })
     public ResponseEntity<List<CuentaBancariaDTO>> getCuentasByTipo(
-            @Parameter(description = "Tipo de cuenta (AHORROS, CORRIENTE, PLAZO_FIJO, VISTA)") @PathVariable String tipoCuenta) {
+            @Parameter(description = "Tipo de cuenta (AHORROS, CORRIENTE, PLAZO_FIJO, VISTA)") @PathVariable TipoCuenta tipoCuenta) {
         
         List<CuentaBancaria> cuentas = service.findByTipoCuenta(tipoCuenta);
         List<CuentaBancariaDTO> dtos = new ArrayList<>(cuentas.size());
@@ -192,28 +219,50 @@ public class CuentaBancariaController {
         @ApiResponse(responseCode = "404", description = "Cuenta no encontrada")
     })
     public ResponseEntity<ConsultaSaldoDTO> consultarSaldo(
-            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Fecha para consultar el saldo histórico; si se omite retorna el saldo actual")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fecha) {
         
         CuentaBancaria cuenta = service.findByNumeroCuenta(numeroCuenta);
         
         ConsultaSaldoDTO consultaSaldo = new ConsultaSaldoDTO();
         consultaSaldo.setNumeroCuenta(cuenta.getNumeroCuenta());
         consultaSaldo.setClienteNombre(cuenta.getClienteNombre());
-        consultaSaldo.setTipoCuenta(cuenta.getTipoCuenta());
-        consultaSaldo.setEstadoCuenta(cuenta.getEstadoCuenta());
-        consultaSaldo.setSaldoDisponible(cuenta.getSaldoDisponible());
-        consultaSaldo.setSaldoContable(cuenta.getSaldoContable());
+        consultaSaldo.setTipoCuenta(cuenta.getTipoCuenta().name());
+        consultaSaldo.setEstadoCuenta(cuenta.getEstadoCuenta().name());
         consultaSaldo.setLimiteSobregiro(cuenta.getLimiteSobregiro());
-        consultaSaldo.setSaldoDisponibleTotal(cuenta.getSaldoDisponible().add(cuenta.getLimiteSobregiro()));
         consultaSaldo.setMoneda(cuenta.getMoneda());
         consultaSaldo.setFechaUltimaActualizacion(cuenta.getFechaUltimaActualizacion());
         consultaSaldo.setDiasInactividad(cuenta.getDiasInactividad());
         consultaSaldo.setPermiteDebito(cuenta.getPermiteDebito());
         consultaSaldo.setPermiteCredito(cuenta.getPermiteCredito());
         
+        if (fecha == null) {
+            consultaSaldo.setSaldoDisponible(cuenta.getSaldoDisponible());
+            consultaSaldo.setSaldoContable(cuenta.getSaldoContable());
+        } else {
+            SaldoDiario saldoHistorico = saldoHistoricoService.consultarSaldoAl(numeroCuenta, fecha);
+            consultaSaldo.setSaldoDisponible(saldoHistorico.getSaldoDisponible());
+            consultaSaldo.setSaldoContable(saldoHistorico.getSaldoContable());
+            consultaSaldo.setFechaSaldo(fecha);
+        }
+        consultaSaldo.setSaldoDisponibleTotal(consultaSaldo.getSaldoDisponible().sumar(cuenta.getLimiteSobregiro()));
+        
         return ResponseEntity.ok(consultaSaldo);
     }
 
+    @PostMapping("/saldos-diarios/cierre")
+    @Operation(summary = "Generar cierre de saldos", description = "Genera o regenera el saldo de cierre de todas las cuentas para un día")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cierre generado exitosamente, retorna el número de cuentas procesadas")
+    })
+    public ResponseEntity<Long> generarCierreSaldos(
+            @Parameter(description = "Día del cierre") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        
+        long cuentasProcesadas = saldoHistoricoService.generarCierre(fecha);
+        return ResponseEntity.ok(cuentasProcesadas);
+    }
+
     @PostMapping
     @Operation(summary = "Crear nueva cuenta", description = "Crea una nueva cuenta bancaria")
     @ApiResponses(value = {
@@ -0,0 +1,302 @@
+package com.banco.banquito.general.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banco.banquito.general.controller.dto.ConsultaSaldoDTO;
+import com.banco.banquito.general.controller.dto.CrearCuentaDTO;
+import com.banco.banquito.general.controller.dto.CuentaBancariaDTO;
+import com.banco.banquito.general.controller.mapper.CuentaBancariaMapper;
+import com.banco.banquito.general.exception.CuentaInactivaException;
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.service.CuentaBancariaReactivoService;
+import com.banco.banquito.general.service.CuentaBancariaService;
+import com.banco.banquito.general.service.SaldoHistoricoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Equivalente WebFlux de {@link CuentaBancariaController} (perfil "reactivo"). Las consultas van por el
+ * driver reactivo; las operaciones administrativas de bajo volumen reutilizan el servicio bloqueante en
+ * el scheduler elástico para conservar exactamente su comportamiento.
+ */
+@RestController
+@RequestMapping("/v1/cuentas")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Cuentas Bancarias", description = "Operaciones de gestión de cuentas bancarias")
+public class CuentaBancariaReactivoController {
+
+    private final CuentaBancariaReactivoService service;
+    private final CuentaBancariaService servicioBloqueante;
+    private final SaldoHistoricoService saldoHistoricoService;
+    private final CuentaBancariaMapper mapper;
+    private final EscritorExportacion escritorExportacion;
+
+    public CuentaBancariaReactivoController(CuentaBancariaReactivoService service, CuentaBancariaService servicioBloqueante,
+                                            SaldoHistoricoService saldoHistoricoService, CuentaBancariaMapper mapper,
+                                            EscritorExportacion escritorExportacion) {
+        this.service = service;
+        this.servicioBloqueante = servicioBloqueante;
+        this.saldoHistoricoService = saldoHistoricoService;
+        this.mapper = mapper;
+        this.escritorExportacion = escritorExportacion;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener todas las cuentas bancarias", description = "Retorna una lista paginada de todas las cuentas bancarias")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de cuentas obtenida exitosamente")
+    })
+    public Flux<CuentaBancariaDTO> getAllCuentas(
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        if (page < 0 || size <= 0) {
+            return service.findAll().map(mapper::toDTO);
+        }
+        return service.findAll(page, size, sortBy, sortDirection).map(mapper::toDTO);
+    }
+
+    @GetMapping(produces = EscritorExportacion.NDJSON)
+    @Operation(summary = "Exportar todas las cuentas bancarias (NDJSON)", description = "Exporta en streaming todas las cuentas; Mongo entrega el siguiente lote solo cuando el cliente consumió el anterior")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<CuentaBancariaDTO> exportarCuentas() {
+        return service.exportarTodas().map(mapper::toDTO);
+    }
+
+    @GetMapping(produces = EscritorExportacion.CSV)
+    @Operation(summary = "Exportar todas las cuentas bancarias (CSV)", description = "Exporta en streaming todas las cuentas en CSV con cabecera")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<String> exportarCuentasCsv() {
+        return escritorExportacion.filasCsv(CuentaBancariaDTO.class, service.exportarTodas().map(mapper::toDTO));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener cuenta por ID", description = "Retorna una cuenta bancaria por su ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuenta encontrada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Cuenta no encontrada")
+    })
+    public Mono<CuentaBancariaDTO> getCuentaById(
+            @Parameter(description = "ID de la cuenta") @PathVariable String id) {
+        
+        return service.findById(id).map(mapper::toDTO);
+    }
+
+    @GetMapping("/numero/{numeroCuenta}")
+    @Operation(summary = "Obtener cuenta por número", description = "Retorna una cuenta bancaria por su número")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuenta encontrada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Cuenta no encontrada")
+    })
+    public Mono<CuentaBancariaDTO> getCuentaByNumero(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return service.findByNumeroCuenta(numeroCuenta).map(mapper::toDTO);
+    }
+
+    @GetMapping("/cliente/{clienteIdentificacion}")
+    @Operation(summary = "Obtener cuentas por cliente", description = "Retorna todas las cuentas de un cliente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuentas encontradas exitosamente")
+    })
+    public Flux<CuentaBancariaDTO> getCuentasByCliente(
+            @Parameter(description = "Identificación del cliente") @PathVariable String clienteIdentificacion,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        if (page < 0 || size <= 0) {
+            return service.findByClienteIdentificacion(clienteIdentificacion).map(mapper::toDTO);
+        }
+        return service.findByClienteIdentificacion(clienteIdentificacion, page, size, sortBy, sortDirection).map(mapper::toDTO);
+    }
+
+    @GetMapping("/estado/{estadoCuenta}")
+    @Operation(summary = "Obtener cuentas por estado", description = "Retorna todas las cuentas con un estado específico")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuentas encontradas exitosamente")
+    })
+    public Flux<CuentaBancariaDTO> getCuentasByEstado(
+            @Parameter(description = "Estado de la cuenta (ACTIVA, INACTIVA, BLOQUEADA, CERRADA)") @PathVariable EstadoCuenta estadoCuenta,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        if (page < 0 || size <= 0) {
+            return service.findByEstadoCuenta(estadoCuenta).map(mapper::toDTO);
+        }
+        return service.findByEstadoCuenta(estadoCuenta, page, size, sortBy, sortDirection).map(mapper::toDTO);
+    }
+
+    @GetMapping("/tipo/{tipoCuenta}")
+    @Operation(summary = "Obtener cuentas por tipo", description = "Retorna todas las cuentas de un tipo específico")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuentas encontradas exitosamente")
+    })
+    public Flux<CuentaBancariaDTO> getCuentasByTipo(
+            @Parameter(description = "Tipo de cuenta (AHORROS, CORRIENTE, PLAZO_FIJO, VISTA)") @PathVariable TipoCuenta tipoCuenta) {
+        
+        return service.findByTipoCuenta(tipoCuenta).map(mapper::toDTO);
+    }
+
+    @GetMapping("/numero/{numeroCuenta}/saldo")
+    @Operation(summary = "Consultar saldo de cuenta", description = "Retorna el saldo y información básica de una cuenta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saldo consultado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Cuenta no encontrada")
+    })
+    public Mono<ConsultaSaldoDTO> consultarSaldo(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Fecha para consultar el saldo histórico; si se omite retorna el saldo actual")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fecha) {
+        
+        return service.findByNumeroCuenta(numeroCuenta).flatMap(cuenta -> {
+            ConsultaSaldoDTO consultaSaldo = new ConsultaSaldoDTO();
+            consultaSaldo.setNumeroCuenta(cuenta.getNumeroCuenta());
+            consultaSaldo.setClienteNombre(cuenta.getClienteNombre());
+            consultaSaldo.setTipoCuenta(cuenta.getTipoCuenta().name());
+            consultaSaldo.setEstadoCuenta(cuenta.getEstadoCuenta().name());
+            consultaSaldo.setLimiteSobregiro(cuenta.getLimiteSobregiro());
+            consultaSaldo.setMoneda(cuenta.getMoneda());
+            consultaSaldo.setFechaUltimaActualizacion(cuenta.getFechaUltimaActualizacion());
+            consultaSaldo.setDiasInactividad(cuenta.getDiasInactividad());
+            consultaSaldo.setPermiteDebito(cuenta.getPermiteDebito());
+            consultaSaldo.setPermiteCredito(cuenta.getPermiteCredito());
+            
+            if (fecha == null) {
+                consultaSaldo.setSaldoDisponible(cuenta.getSaldoDisponible());
+                consultaSaldo.setSaldoContable(cuenta.getSaldoContable());
+                consultaSaldo.setSaldoDisponibleTotal(consultaSaldo.getSaldoDisponible().sumar(cuenta.getLimiteSobregiro()));
+                return Mono.just(consultaSaldo);
+            }
+            
+            // El saldo histórico combina cierres y agregaciones: se reutiliza el cálculo bloqueante
+            return bloqueante(() -> saldoHistoricoService.consultarSaldoAl(numeroCuenta, fecha)).map(saldoHistorico -> {
+                consultaSaldo.setSaldoDisponible(saldoHistorico.getSaldoDisponible());
+                consultaSaldo.setSaldoContable(saldoHistorico.getSaldoContable());
+                consultaSaldo.setFechaSaldo(fecha);
+                consultaSaldo.setSaldoDisponibleTotal(consultaSaldo.getSaldoDisponible().sumar(cuenta.getLimiteSobregiro()));
+                return consultaSaldo;
+            });
+        });
+    }
+
+    @PostMapping("/saldos-diarios/cierre")
+    @Operation(summary = "Generar cierre de saldos", description = "Genera o regenera el saldo de cierre de todas las cuentas para un día")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cierre generado exitosamente, retorna el número de cuentas procesadas")
+    })
+    public Mono<Long> generarCierreSaldos(
+            @Parameter(description = "Día del cierre") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        
+        return bloqueante(() -> saldoHistoricoService.generarCierre(fecha));
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear nueva cuenta", description = "Crea una nueva cuenta bancaria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Cuenta creada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "409", description = "Conflicto - cuenta ya existe")
+    })
+    public Mono<ResponseEntity<CuentaBancariaDTO>> crearCuenta(
+            @Parameter(description = "Datos de la cuenta a crear") @Valid @RequestBody CrearCuentaDTO crearCuentaDTO) {
+        
+        return bloqueante(() -> servicioBloqueante.crearCuenta(crearCuentaDTO))
+                .map(cuenta -> ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(cuenta)));
+    }
+
+    @PatchMapping("/numero/{numeroCuenta}/bloquear")
+    @Operation(summary = "Bloquear cuenta", description = "Bloquea una cuenta bancaria activa")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuenta bloqueada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Cuenta no encontrada"),
+        @ApiResponse(responseCode = "400", description = "La cuenta no puede ser bloqueada")
+    })
+    public Mono<CuentaBancariaDTO> bloquearCuenta(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return bloqueante(() -> servicioBloqueante.bloquearCuenta(numeroCuenta)).map(mapper::toDTO);
+    }
+
+    @PatchMapping("/numero/{numeroCuenta}/desbloquear")
+    @Operation(summary = "Desbloquear cuenta", description = "Desbloquea una cuenta bancaria bloqueada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuenta desbloqueada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Cuenta no encontrada"),
+        @ApiResponse(responseCode = "400", description = "La cuenta no puede ser desbloqueada")
+    })
+    public Mono<CuentaBancariaDTO> desbloquearCuenta(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return bloqueante(() -> servicioBloqueante.desbloquearCuenta(numeroCuenta)).map(mapper::toDTO);
+    }
+
+    @GetMapping("/generar-numero")
+    @Operation(summary = "Generar número de cuenta", description = "Genera un nuevo número de cuenta único")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Número de cuenta generado exitosamente")
+    })
+    public Mono<String> generarNumeroCuenta() {
+        return bloqueante(servicioBloqueante::generarNumeroCuenta);
+    }
+
+    @ExceptionHandler({CuentaNotFoundException.class})
+    public ResponseEntity<Void> handleCuentaNotFound(CuentaNotFoundException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler({CuentaInactivaException.class})
+    public ResponseEntity<String> handleCuentaInactiva(CuentaInactivaException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler({SaldoInsuficienteException.class})
+    public ResponseEntity<String> handleSaldoInsuficiente(SaldoInsuficienteException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler({RuntimeException.class})
+    public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private static <T> Mono<T> bloqueante(Callable<T> operacion) {
+        return Mono.fromCallable(operacion).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,34 @@
+package com.banco.banquito.general.controller;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.controller.dto.CuentasCalientesDTO;
+import com.banco.banquito.general.service.DetectorCuentasCalientes;
+
+/**
+ * /actuator/cuentascalientes: ranking de cuentas por movimientos y por conflictos de escritura. Expone números
+ * de cuenta, por eso se consulta aquí y no va como etiqueta de las métricas.
+ */
+@Component
+@Endpoint(id = "cuentascalientes")
+public class CuentasCalientesEndpoint {
+
+    private final DetectorCuentasCalientes detector;
+
+    public CuentasCalientesEndpoint(DetectorCuentasCalientes detector) {
+        this.detector = detector;
+    }
+
+    @ReadOperation
+    public CuentasCalientesDTO cuentasCalientes() {
+        CuentasCalientesDTO respuesta = new CuentasCalientesDTO();
+        respuesta.setVentanaMillis(detector.getVentanaMillis());
+        respuesta.setMovimientosPorSegundo(detector.movimientosPorSegundo());
+        respuesta.setConflictosPorSegundo(detector.conflictosPorSegundo());
+        respuesta.setPorMovimientos(detector.topMovimientos());
+        respuesta.setPorConflictos(detector.topConflictos());
+        return respuesta;
+    }
+}
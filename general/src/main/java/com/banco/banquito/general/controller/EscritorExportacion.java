@@ -0,0 +1,131 @@
+package com.banco.banquito.general.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import reactor.core.publisher.Flux;
+
+@Component
+public class EscritorExportacion {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final int filasPorEnvio;
+
+    public EscritorExportacion(ObjectMapper objectMapper,
+                               @Value("${banquito.exportacion.filas-por-envio:1000}") int filasPorEnvio) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.filasPorEnvio = filasPorEnvio;
+    }
+
+    public static boolean sinPaginacion(int page, int size) {
+        return page < 0 || size <= 0;
+    }
+
+    public String formatoSolicitado(String accept) {
+        return accept != null && accept.contains(CSV) ? CSV : NDJSON;
+    }
+
+    /**
+     * Escribe fila por fila lo que entrega la fuente; nada se acumula en memoria salvo el buffer de salida,
+     * que se envía al cliente cada {@code filasPorEnvio} filas.
+     */
+    public <T> StreamingResponseBody escribir(Class<T> tipo, String formato, Consumer<Consumer<T>> fuente) {
+        return salida -> {
+            OutputStream buffer = new BufferedOutputStream(salida, TAMANO_BUFFER);
+            long[] filas = {0};
+            try (SequenceWriter escritor = escritorPara(tipo, formato).writeValues(buffer)) {
+                fuente.accept(porFilas(escritor, filas));
+            }
+            if (NDJSON.equals(formato) && filas[0] > 0) {
+                buffer.write('\n');
+            }
+            buffer.flush();
+        };
+    }
+
+    /**
+     * Listado sin paginar: el mismo arreglo JSON que antes se armaba como lista completa, escrito elemento por
+     * elemento desde el cursor.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> arregloJson(Class<T> tipo, Consumer<Consumer<T>> fuente) {
+        StreamingResponseBody cuerpo = salida -> {
+            OutputStream buffer = new BufferedOutputStream(salida, TAMANO_BUFFER);
+            try (SequenceWriter escritor = objectMapper.writerFor(tipo)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValuesAsArray(buffer)) {
+                fuente.accept(porFilas(escritor, new long[] {0}));
+            }
+            buffer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cuerpo);
+    }
+
+    private <T> Consumer<T> porFilas(SequenceWriter escritor, long[] filas) {
+        return elemento -> {
+            try {
+                escritor.write(elemento);
+                if (++filas[0] % filasPorEnvio == 0) {
+                    escritor.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Variante reactiva del CSV: cada elemento se convierte en su línea al ser pedido por el cliente, con la
+     * cabecera delante de la primera fila.
+     */
+    public <T> Flux<String> filasCsv(Class<T> tipo, Flux<T> elementos) {
+        ObjectWriter conCabecera = escritorPara(tipo, CSV);
+        ObjectWriter sinCabecera = csvMapper.writer(csvMapper.schemaFor(tipo));
+        return elementos.index().map(fila -> {
+            try {
+                return (fila.getT1() == 0 ? conCabecera : sinCabecera).writeValueAsString(fila.getT2());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ObjectWriter escritorPara(Class<?> tipo, String formato) {
+        if (CSV.equals(formato)) {
+            return csvMapper.writer(csvMapper.schemaFor(tipo).withHeader())
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return objectMapper.writerFor(tipo)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -1,34 +1,63 @@
 package com.banco.banquito.general.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.banco.banquito.general.config.MuestreoLecturas;
+import com.banco.banquito.general.controller.dto.LoteMovimientosDTO;
 import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.controller.dto.ResultadoLoteDTO;
+import com.banco.banquito.general.controller.dto.ResultadoMovimientoDTO;
+import com.banco.banquito.general.controller.dto.ReversoLoteDTO;
+import com.banco.banquito.general.controller.dto.VerificacionEstadisticasDTO;
 import com.banco.banquito.general.controller.mapper.MovimientoCuentaMapper;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
 import com.banco.banquito.general.exception.CuentaInactivaException;
 import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.CursorInvalidoException;
+import com.banco.banquito.general.exception.OperacionEnCursoException;
 import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadisticasCuenta;
 import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.service.CursorMovimientos;
+import com.banco.banquito.general.service.EstadisticasCuentaService;
+import com.banco.banquito.general.service.IdempotenciaService;
+import com.banco.banquito.general.service.ImportacionMovimientosService;
 import com.banco.banquito.general.service.MovimientoCuentaService;
+import com.banco.banquito.general.service.RespuestaIdempotente;
+import com.banco.banquito.general.service.ResultadoMovimiento;
+import com.banco.banquito.general.service.ResultadoReversoLote;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,17 +70,39 @@ import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/v1/movimientos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Movimientos de Cuenta", description = "Operaciones de gestión de movimientos de cuentas bancarias")
 public class MovimientoCuentaController {
 
     private static final Logger logger = LoggerFactory.getLogger(MovimientoCuentaController.class);
 
+    private static final String CABECERA_SIGUIENTE_CURSOR = "X-Next-Cursor";
+    private static final String CABECERA_IDEMPOTENCIA = "Idempotency-Key";
+    private static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANO_CURSOR_DEFECTO = 10;
+    private static final int TAMANO_CURSOR_MAXIMO = 500;
+
     private final MovimientoCuentaService service;
+    private final ImportacionMovimientosService importacionService;
+    private final EstadisticasCuentaService estadisticasService;
+    private final IdempotenciaService idempotenciaService;
     private final MovimientoCuentaMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final EscritorExportacion escritorExportacion;
+    private final MuestreoLecturas muestreo;
 
-    public MovimientoCuentaController(MovimientoCuentaService service, MovimientoCuentaMapper mapper) {
+    public MovimientoCuentaController(MovimientoCuentaService service, ImportacionMovimientosService importacionService,
+                                      EstadisticasCuentaService estadisticasService, MovimientoCuentaMapper mapper,
+                                      IdempotenciaService idempotenciaService, ObjectMapper objectMapper,
+                                      EscritorExportacion escritorExportacion, MuestreoLecturas muestreo) {
         this.service = service;
+        this.importacionService = importacionService;
+        this.estadisticasService = estadisticasService;
+        this.idempotenciaService = idempotenciaService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.escritorExportacion = escritorExportacion;
+        this.muestreo = muestreo;
     }
 
     @GetMapping
@@ -59,22 +110,20 @@ public class MovimientoCuentaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de movimientos obtenida exitosamente")
     })
-    public ResponseEntity<List<MovimientoCuentaDTO>> getAllMovimientos(
+    public ResponseEntity<?> getAllMovimientos(
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
             @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
         
-        logger.info("Consultando todos los movimientos - página: {}, tamaño: {}", page, size);
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando todos los movimientos - página: {}, tamaño: {}", page, size);
+        }
         
-        if (page < 0 || size <= 0) {
-            List<MovimientoCuenta> movimientos = service.findAll();
-            List<MovimientoCuentaDTO> dtos = new ArrayList<>(movimientos.size());
-            
-            for (MovimientoCuenta movimiento : movimientos) {
-                dtos.add(mapper.toDTO(movimiento));
-            }
-            return ResponseEntity.ok(dtos);
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(MovimientoCuentaDTO.class,
+                    consumidor -> service.exportarTodos(movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
         }
         
         Page<MovimientoCuenta> movimientosPage = service.findAll(page, size, sortBy, sortDirection);
@@ -87,6 +136,23 @@ public class MovimientoCuentaController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping(produces = {EscritorExportacion.NDJSON, EscritorExportacion.CSV})
+    @Operation(summary = "Exportar todos los movimientos", description = "Exporta en streaming (NDJSON o CSV según Accept) todos los movimientos sin cargarlos en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarMovimientos(
+            @Parameter(description = "Formato solicitado (application/x-ndjson o text/csv)") @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        
+        String formato = escritorExportacion.formatoSolicitado(accept);
+        StreamingResponseBody cuerpo = escritorExportacion.escribir(MovimientoCuentaDTO.class, formato,
+                consumidor -> service.exportarTodos(movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato))
+                .body(cuerpo);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener movimiento por ID", description = "Retorna un movimiento por su ID")
     @ApiResponses(value = {
@@ -126,23 +192,26 @@ public class MovimientoCuentaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
     })
-    public ResponseEntity<List<MovimientoCuentaDTO>> getMovimientosByCuenta(
+    public ResponseEntity<?> getMovimientosByCuenta(
             @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "Cursor de paginación; vacío para la primera página. Si se envía, se ignoran page y sort y el siguiente cursor llega en la cabecera " + CABECERA_SIGUIENTE_CURSOR) @RequestParam(required = false) String cursor) {
         
-        logger.info("Consultando movimientos de cuenta: {}", numeroCuenta);
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {}", numeroCuenta);
+        }
         
-        if (page < 0 || size <= 0) {
-            List<MovimientoCuenta> movimientos = service.findByNumeroCuenta(numeroCuenta);
-            List<MovimientoCuentaDTO> dtos = new ArrayList<>(movimientos.size());
-            
-            for (MovimientoCuenta movimiento : movimientos) {
-                dtos.add(mapper.toDTO(movimiento));
-            }
-            return ResponseEntity.ok(dtos);
+        if (cursor != null) {
+            return respuestaConCursor(service.findByNumeroCuentaConCursor(numeroCuenta, null, null, cursor, tamanoCursor(size)));
+        }
+        
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(MovimientoCuentaDTO.class,
+                    consumidor -> service.exportarPorCuenta(numeroCuenta, movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
         }
         
         Page<MovimientoCuenta> movimientosPage = service.findByNumeroCuenta(numeroCuenta, page, size, sortBy, sortDirection);
@@ -155,29 +224,45 @@ public class MovimientoCuentaController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping(value = "/cuenta/{numeroCuenta}", produces = {EscritorExportacion.NDJSON, EscritorExportacion.CSV})
+    @Operation(summary = "Exportar movimientos por cuenta", description = "Exporta en streaming (NDJSON o CSV según Accept) todos los movimientos de una cuenta, del más reciente al más antiguo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarMovimientosByCuenta(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Formato solicitado (application/x-ndjson o text/csv)") @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        
+        String formato = escritorExportacion.formatoSolicitado(accept);
+        StreamingResponseBody cuerpo = escritorExportacion.escribir(MovimientoCuentaDTO.class, formato,
+                consumidor -> service.exportarPorCuenta(numeroCuenta, movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato))
+                .body(cuerpo);
+    }
+
     @GetMapping("/cuenta/{numeroCuenta}/tipo/{tipoMovimiento}")
     @Operation(summary = "Obtener movimientos por cuenta y tipo", description = "Retorna movimientos filtrados por cuenta y tipo")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
     })
-    public ResponseEntity<List<MovimientoCuentaDTO>> getMovimientosByCuentaYTipo(
+    public ResponseEntity<?> getMovimientosByCuentaYTipo(
             @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
-            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @PathVariable String tipoMovimiento,
+            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @PathVariable TipoMovimiento tipoMovimiento,
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
             @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
         
-        logger.info("Consultando movimientos de cuenta: {} tipo: {}", numeroCuenta, tipoMovimiento);
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {} tipo: {}", numeroCuenta, tipoMovimiento);
+        }
         
-        if (page < 0 || size <= 0) {
-            List<MovimientoCuenta> movimientos = service.findByTipoMovimiento(numeroCuenta, tipoMovimiento);
-            List<MovimientoCuentaDTO> dtos = new ArrayList<>(movimientos.size());
-            
-            for (MovimientoCuenta movimiento : movimientos) {
-                dtos.add(mapper.toDTO(movimiento));
-            }
-            return ResponseEntity.ok(dtos);
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(MovimientoCuentaDTO.class,
+                    consumidor -> service.exportarPorTipo(numeroCuenta, tipoMovimiento, movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
         }
         
         Page<MovimientoCuenta> movimientosPage = service.findByTipoMovimiento(numeroCuenta, tipoMovimiento, page, size, sortBy, sortDirection);
@@ -195,31 +280,30 @@ public class MovimientoCuentaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
     })
-    public ResponseEntity<List<MovimientoCuentaDTO>> getMovimientosByFechas(
+    public ResponseEntity<?> getMovimientosByFechas(
             @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
             @Parameter(description = "Fecha inicial") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
             @Parameter(description = "Fecha final") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin,
-            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @RequestParam(required = false) String tipoMovimiento,
+            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @RequestParam(required = false) TipoMovimiento tipoMovimiento,
             @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "Cursor de paginación; vacío para la primera página. Si se envía, se ignoran page y sort y el siguiente cursor llega en la cabecera " + CABECERA_SIGUIENTE_CURSOR) @RequestParam(required = false) String cursor) {
         
-        logger.info("Consultando movimientos de cuenta: {} entre {} y {}", numeroCuenta, fechaInicio, fechaFin);
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {} entre {} y {}", numeroCuenta, fechaInicio, fechaFin);
+        }
         
-        if (page < 0 || size <= 0) {
-            List<MovimientoCuenta> movimientos;
-            if (tipoMovimiento != null) {
-                movimientos = service.findByRangoFechas(numeroCuenta, fechaInicio, fechaFin);
-            } else {
-                movimientos = service.findByRangoFechas(numeroCuenta, fechaInicio, fechaFin);
-            }
-            
-            List<MovimientoCuentaDTO> dtos = new ArrayList<>(movimientos.size());
-            for (MovimientoCuenta movimiento : movimientos) {
-                dtos.add(mapper.toDTO(movimiento));
-            }
-            return ResponseEntity.ok(dtos);
+        if (cursor != null) {
+            return respuestaConCursor(service.findByNumeroCuentaConCursor(numeroCuenta, fechaInicio, fechaFin, cursor, tamanoCursor(size)));
+        }
+        
+        if (EscritorExportacion.sinPaginacion(page, size)) {
+            // Sin paginación se mantiene la respuesta completa, pero en streaming desde el cursor
+            return escritorExportacion.arregloJson(MovimientoCuentaDTO.class,
+                    consumidor -> service.exportarPorRangoFechas(numeroCuenta, fechaInicio, fechaFin,
+                            movimiento -> consumidor.accept(mapper.toDTO(movimiento))));
         }
         
         Page<MovimientoCuenta> movimientosPage = service.findByRangoFechas(numeroCuenta, fechaInicio, fechaFin, page, size, sortBy, sortDirection);
@@ -237,18 +321,117 @@ public class MovimientoCuentaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Movimiento procesado exitosamente"),
         @ApiResponse(responseCode = "400", description = "Datos inválidos"),
-        @ApiResponse(responseCode = "409", description = "Conflicto - movimiento ya existe")
+        @ApiResponse(responseCode = "409", description = "Movimiento con la misma clave de idempotencia todavía en curso"),
+        @ApiResponse(responseCode = "422", description = "Clave de idempotencia ya usada con otra solicitud")
     })
     public ResponseEntity<MovimientoCuentaDTO> procesarMovimiento(
+            @Parameter(description = "Clave de idempotencia (opcional)") @RequestHeader(value = CABECERA_IDEMPOTENCIA, required = false) String claveIdempotencia,
             @Parameter(description = "Datos del movimiento a procesar") @Valid @RequestBody MovimientoCuentaDTO movimientoDTO) {
         
+        // Un reintento del canal recibe el movimiento original sin volver a procesarlo
+        RespuestaIdempotente<MovimientoCuenta> respuesta;
         try {
-            MovimientoCuenta movimiento = service.procesarMovimiento(movimientoDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(movimiento));
+            respuesta = claveIdempotencia != null && !claveIdempotencia.isBlank()
+                    ? idempotenciaService.procesar(claveIdempotencia, movimientoDTO)
+                    : RespuestaIdempotente.nueva(service.procesarMovimiento(movimientoDTO));
+        } catch (ClaveIdempotenciaReutilizadaException | OperacionEnCursoException e) {
+            throw e;
         } catch (RuntimeException e) {
             logger.error("Error al procesar movimiento: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(CABECERA_REPETIDA, String.valueOf(respuesta.isRepetida()))
+                .body(mapper.toDTO(respuesta.getCuerpo()));
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Procesar lote de movimientos", description = "Procesa un lote de movimientos netando el efecto por cuenta y retorna el resultado de cada uno")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado, revisar el resultado de cada movimiento"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    public ResponseEntity<ResultadoLoteDTO> procesarLote(
+            @Parameter(description = "Lote de movimientos a procesar") @Valid @RequestBody LoteMovimientosDTO loteDTO) {
+        
+        List<ResultadoMovimiento> resultados = service.procesarLote(loteDTO.getMovimientos());
+        List<ResultadoMovimientoDTO> dtos = new ArrayList<>(resultados.size());
+        int aceptados = 0;
+        
+        for (ResultadoMovimiento resultado : resultados) {
+            dtos.add(mapper.toDTO(resultado));
+            if (resultado.isAceptado()) {
+                aceptados++;
+            }
+        }
+        
+        ResultadoLoteDTO resultadoLote = new ResultadoLoteDTO();
+        resultadoLote.setTotalRecibidos(resultados.size());
+        resultadoLote.setTotalAceptados(aceptados);
+        resultadoLote.setTotalRechazados(resultados.size() - aceptados);
+        resultadoLote.setResultados(dtos);
+        
+        return ResponseEntity.ok(resultadoLote);
+    }
+
+    @PostMapping(value = "/importacion", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    @Operation(summary = "Importar movimientos", description = "Importa un archivo NDJSON o CSV (con cabecera) de movimientos de cualquier tamaño y retorna en streaming el resultado de cada línea")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación en curso, cada línea de la respuesta corresponde a una línea del archivo")
+    })
+    public ResponseEntity<StreamingResponseBody> importarMovimientos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "Archivo NDJSON o CSV con un movimiento por línea") InputStream entrada) {
+        
+        String formato = importacionService.formatoDe(contentType);
+        StreamingResponseBody cuerpo = salida -> importacionService.importar(entrada, formato, resultados -> {
+            try {
+                for (ResultadoMovimiento resultado : resultados) {
+                    salida.write(objectMapper.writeValueAsBytes(mapper.toDTO(resultado)));
+                    salida.write('\n');
+                }
+                salida.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(cuerpo);
+    }
+
+    @PostMapping("/reversar/lote")
+    @Operation(summary = "Reversar lote de movimientos", description = "Reversa los movimientos indicados por comprobante o por filtro (referencia externa o cuenta con rango de fechas), netando el efecto por cuenta; los reversos no entran en el filtro")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado, revisar el resultado de cada reverso"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    public ResponseEntity<ResultadoLoteDTO> reversarLote(
+            @Parameter(description = "Movimientos a reversar") @Valid @RequestBody ReversoLoteDTO reversoDTO) {
+        
+        ResultadoReversoLote reverso = service.reversarLote(reversoDTO.getNumerosComprobante(), reversoDTO.getReferenciaExterna(),
+                reversoDTO.getNumeroCuenta(), reversoDTO.getFechaInicio(), reversoDTO.getFechaFin(), reversoDTO.getMotivo());
+        List<ResultadoMovimiento> resultados = reverso.getResultados();
+        List<ResultadoMovimientoDTO> dtos = new ArrayList<>(resultados.size());
+        int aceptados = 0;
+        
+        for (ResultadoMovimiento resultado : resultados) {
+            dtos.add(mapper.toDTO(resultado));
+            if (resultado.isAceptado()) {
+                aceptados++;
+            }
+        }
+        
+        ResultadoLoteDTO resultadoLote = new ResultadoLoteDTO();
+        resultadoLote.setTotalRecibidos(resultados.size());
+        resultadoLote.setTotalAceptados(aceptados);
+        resultadoLote.setTotalRechazados(resultados.size() - aceptados);
+        resultadoLote.setResultados(dtos);
+        resultadoLote.setTruncado(reverso.isTruncado());
+        
+        return ResponseEntity.ok(resultadoLote);
     }
 
     @PostMapping("/reversar/{numeroComprobante}")
@@ -291,15 +474,19 @@ public class MovimientoCuentaController {
     public ResponseEntity<EstadisticasMovimientosDTO> getEstadisticasMovimientos(
             @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
         
-        logger.info("Consultando estadísticas de movimientos para cuenta: {}", numeroCuenta);
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando estadísticas de movimientos para cuenta: {}", numeroCuenta);
+        }
         
         try {
-            long totalMovimientos = service.contarMovimientos(numeroCuenta);
-            long totalDebitos = service.contarMovimientosPorTipo(numeroCuenta, "DEBITO");
-            long totalCreditos = service.contarMovimientosPorTipo(numeroCuenta, "CREDITO");
+            // Lectura puntual del documento acumulado, independiente del tamaño del historial
+            EstadisticasCuenta acumuladas = estadisticasService.obtenerEstadisticas(numeroCuenta);
             
             EstadisticasMovimientosDTO estadisticas = new EstadisticasMovimientosDTO(
-                numeroCuenta, totalMovimientos, totalDebitos, totalCreditos);
+                numeroCuenta, valor(acumuladas.getTotalMovimientos()), valor(acumuladas.getTotalDebitos()),
+                valor(acumuladas.getTotalCreditos()), acumuladas.getSumaDebitos(), acumuladas.getSumaCreditos(),
+                acumuladas.getMontoMinimo(), acumuladas.getMontoMaximo(),
+                acumuladas.getFechaPrimerMovimiento(), acumuladas.getFechaUltimoMovimiento());
             
             return ResponseEntity.ok(estadisticas);
         } catch (RuntimeException e) {
@@ -308,6 +495,34 @@ public class MovimientoCuentaController {
         }
     }
 
+    @GetMapping("/cuenta/{numeroCuenta}/estadisticas/verificacion")
+    @Operation(summary = "Verificar estadísticas de movimientos", description = "Compara las estadísticas acumuladas de una cuenta con las calculadas desde sus movimientos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Verificación realizada exitosamente")
+    })
+    public ResponseEntity<VerificacionEstadisticasDTO> verificarEstadisticas(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        List<String> diferencias = estadisticasService.verificar(numeroCuenta);
+        
+        VerificacionEstadisticasDTO verificacion = new VerificacionEstadisticasDTO();
+        verificacion.setNumeroCuenta(numeroCuenta);
+        verificacion.setConsistente(diferencias.isEmpty());
+        verificacion.setDiferencias(diferencias);
+        
+        return ResponseEntity.ok(verificacion);
+    }
+
+    @PostMapping("/estadisticas/reconstruccion")
+    @Operation(summary = "Reconstruir estadísticas", description = "Recalcula desde cero las estadísticas acumuladas de todas las cuentas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Estadísticas reconstruidas exitosamente")
+    })
+    public ResponseEntity<Void> reconstruirEstadisticas() {
+        estadisticasService.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/cuenta/{numeroCuenta}/ultimo")
     @Operation(summary = "Obtener último movimiento", description = "Retorna el último movimiento de una cuenta")
     @ApiResponses(value = {
@@ -340,23 +555,76 @@ public class MovimientoCuentaController {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
 
+    @ExceptionHandler({ClaveIdempotenciaReutilizadaException.class})
+    public ResponseEntity<String> handleClaveIdempotenciaReutilizada(ClaveIdempotenciaReutilizadaException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+    }
+
+    @ExceptionHandler({OperacionEnCursoException.class})
+    public ResponseEntity<String> handleOperacionEnCurso(OperacionEnCursoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler({CursorInvalidoException.class})
+    public ResponseEntity<String> handleCursorInvalido(CursorInvalidoException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     @ExceptionHandler({RuntimeException.class})
     public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
 
+    private ResponseEntity<List<MovimientoCuentaDTO>> respuestaConCursor(Slice<MovimientoCuenta> movimientosSlice) {
+        List<MovimientoCuentaDTO> dtos = new ArrayList<>(movimientosSlice.getContent().size());
+        
+        for (MovimientoCuenta movimiento : movimientosSlice.getContent()) {
+            dtos.add(mapper.toDTO(movimiento));
+        }
+        
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (movimientosSlice.hasNext()) {
+            MovimientoCuenta ultimo = movimientosSlice.getContent().get(movimientosSlice.getContent().size() - 1);
+            respuesta.header(CABECERA_SIGUIENTE_CURSOR, CursorMovimientos.desde(ultimo).codificar());
+        }
+        return respuesta.body(dtos);
+    }
+
+    private static int tamanoCursor(int size) {
+        return size <= 0 ? TAMANO_CURSOR_DEFECTO : Math.min(size, TAMANO_CURSOR_MAXIMO);
+    }
+
+    private static long valor(Long contador) {
+        return contador == null ? 0 : contador;
+    }
+
     // Clase interna para las estadísticas
     public static class EstadisticasMovimientosDTO {
         public final String numeroCuenta;
         public final long totalMovimientos;
         public final long totalDebitos;
         public final long totalCreditos;
+        public final Dinero sumaDebitos;
+        public final Dinero sumaCreditos;
+        public final Dinero montoMinimo;
+        public final Dinero montoMaximo;
+        public final LocalDateTime fechaPrimerMovimiento;
+        public final LocalDateTime fechaUltimoMovimiento;
 
-        public EstadisticasMovimientosDTO(String numeroCuenta, long totalMovimientos, long totalDebitos, long totalCreditos) {
+        public EstadisticasMovimientosDTO(String numeroCuenta, long totalMovimientos, long totalDebitos, long totalCreditos,
+                                          Dinero sumaDebitos, Dinero sumaCreditos, Dinero montoMinimo,
+                                          Dinero montoMaximo, LocalDateTime fechaPrimerMovimiento,
+                                          LocalDateTime fechaUltimoMovimiento) {
             this.numeroCuenta = numeroCuenta;
             this.totalMovimientos = totalMovimientos;
             this.totalDebitos = totalDebitos;
             this.totalCreditos = totalCreditos;
+            this.sumaDebitos = sumaDebitos;
+            this.sumaCreditos = sumaCreditos;
+            this.montoMinimo = montoMinimo;
+            this.montoMaximo = montoMaximo;
+            this.fechaPrimerMovimiento = fechaPrimerMovimiento;
+            this.fechaUltimoMovimiento = fechaUltimoMovimiento;
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,545 @@
+package com.banco.banquito.general.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banco.banquito.general.config.MuestreoLecturas;
+import com.banco.banquito.general.controller.MovimientoCuentaController.EstadisticasMovimientosDTO;
+import com.banco.banquito.general.controller.dto.LoteMovimientosDTO;
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.controller.dto.ResultadoLoteDTO;
+import com.banco.banquito.general.controller.dto.ResultadoMovimientoDTO;
+import com.banco.banquito.general.controller.dto.ReversoLoteDTO;
+import com.banco.banquito.general.controller.dto.VerificacionEstadisticasDTO;
+import com.banco.banquito.general.controller.mapper.MovimientoCuentaMapper;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
+import com.banco.banquito.general.exception.CuentaInactivaException;
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.CursorInvalidoException;
+import com.banco.banquito.general.exception.OperacionEnCursoException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.EstadisticasCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.service.CursorMovimientos;
+import com.banco.banquito.general.service.EstadisticasCuentaService;
+import com.banco.banquito.general.service.IdempotenciaReactivaService;
+import com.banco.banquito.general.service.ImportacionMovimientosService;
+import com.banco.banquito.general.service.MovimientoCuentaReactivoService;
+import com.banco.banquito.general.service.MovimientoCuentaService;
+import com.banco.banquito.general.service.RespuestaIdempotente;
+import com.banco.banquito.general.service.ResultadoMovimiento;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Equivalente WebFlux de {@link MovimientoCuentaController} (perfil "reactivo"). El registro de movimientos,
+ * las consultas y las exportaciones van por el driver reactivo; lotes, reversos y tareas administrativas
+ * reutilizan el servicio bloqueante en el scheduler elástico para conservar exactamente su comportamiento.
+ */
+@RestController
+@RequestMapping("/v1/movimientos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Movimientos de Cuenta", description = "Operaciones de gestión de movimientos de cuentas bancarias")
+public class MovimientoCuentaReactivoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoCuentaReactivoController.class);
+
+    private static final String CABECERA_SIGUIENTE_CURSOR = "X-Next-Cursor";
+    private static final String CABECERA_IDEMPOTENCIA = "Idempotency-Key";
+    private static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANO_CURSOR_DEFECTO = 10;
+    private static final int TAMANO_CURSOR_MAXIMO = 500;
+
+    private final MovimientoCuentaReactivoService service;
+    private final MovimientoCuentaService servicioBloqueante;
+    private final ImportacionMovimientosService importacionService;
+    private final EstadisticasCuentaService estadisticasService;
+    private final IdempotenciaReactivaService idempotenciaService;
+    private final MovimientoCuentaMapper mapper;
+    private final EscritorExportacion escritorExportacion;
+    private final MuestreoLecturas muestreo;
+    private final int tamanoBloqueImportacion;
+
+    public MovimientoCuentaReactivoController(MovimientoCuentaReactivoService service, MovimientoCuentaService servicioBloqueante,
+                                              ImportacionMovimientosService importacionService,
+                                              EstadisticasCuentaService estadisticasService,
+                                              IdempotenciaReactivaService idempotenciaService, MovimientoCuentaMapper mapper,
+                                              EscritorExportacion escritorExportacion, MuestreoLecturas muestreo,
+                                              @Value("${banquito.importacion.tamano-bloque:500}") int tamanoBloqueImportacion) {
+        this.service = service;
+        this.servicioBloqueante = servicioBloqueante;
+        this.importacionService = importacionService;
+        this.estadisticasService = estadisticasService;
+        this.idempotenciaService = idempotenciaService;
+        this.mapper = mapper;
+        this.escritorExportacion = escritorExportacion;
+        this.muestreo = muestreo;
+        this.tamanoBloqueImportacion = tamanoBloqueImportacion;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener todos los movimientos", description = "Retorna una lista paginada de todos los movimientos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de movimientos obtenida exitosamente")
+    })
+    public Flux<MovimientoCuentaDTO> getAllMovimientos(
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando todos los movimientos - página: {}, tamaño: {}", page, size);
+        }
+        
+        if (page < 0 || size <= 0) {
+            return service.findAll().map(mapper::toDTO);
+        }
+        return service.findAll(page, size, sortBy, sortDirection).map(mapper::toDTO);
+    }
+
+    @GetMapping(produces = EscritorExportacion.NDJSON)
+    @Operation(summary = "Exportar todos los movimientos (NDJSON)", description = "Exporta en streaming todos los movimientos; Mongo entrega el siguiente lote solo cuando el cliente consumió el anterior")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<MovimientoCuentaDTO> exportarMovimientos() {
+        return service.exportarTodos().map(mapper::toDTO);
+    }
+
+    @GetMapping(produces = EscritorExportacion.CSV)
+    @Operation(summary = "Exportar todos los movimientos (CSV)", description = "Exporta en streaming todos los movimientos en CSV con cabecera")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<String> exportarMovimientosCsv() {
+        return escritorExportacion.filasCsv(MovimientoCuentaDTO.class, service.exportarTodos().map(mapper::toDTO));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener movimiento por ID", description = "Retorna un movimiento por su ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimiento encontrado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Movimiento no encontrado")
+    })
+    public Mono<MovimientoCuentaDTO> getMovimientoById(
+            @Parameter(description = "ID del movimiento") @PathVariable String id) {
+        
+        return service.findById(id).map(mapper::toDTO);
+    }
+
+    @GetMapping("/comprobante/{numeroComprobante}")
+    @Operation(summary = "Obtener movimiento por comprobante", description = "Retorna un movimiento por su número de comprobante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimiento encontrado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Movimiento no encontrado")
+    })
+    public Mono<MovimientoCuentaDTO> getMovimientoByComprobante(
+            @Parameter(description = "Número de comprobante") @PathVariable String numeroComprobante) {
+        
+        return service.findByNumeroComprobante(numeroComprobante).map(mapper::toDTO);
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}")
+    @Operation(summary = "Obtener movimientos por cuenta", description = "Retorna todos los movimientos de una cuenta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
+    })
+    public Mono<ResponseEntity<Flux<MovimientoCuentaDTO>>> getMovimientosByCuenta(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "Cursor de paginación; vacío para la primera página. Si se envía, se ignoran page y sort y el siguiente cursor llega en la cabecera " + CABECERA_SIGUIENTE_CURSOR) @RequestParam(required = false) String cursor) {
+        
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {}", numeroCuenta);
+        }
+        
+        if (cursor != null) {
+            return service.findByNumeroCuentaConCursor(numeroCuenta, null, null, cursor, tamanoCursor(size)).map(this::respuestaConCursor);
+        }
+        
+        Flux<MovimientoCuenta> movimientos = page < 0 || size <= 0
+                ? service.findByNumeroCuenta(numeroCuenta)
+                : service.findByNumeroCuenta(numeroCuenta, page, size, sortBy, sortDirection);
+        return Mono.just(ResponseEntity.ok(movimientos.map(mapper::toDTO)));
+    }
+
+    @GetMapping(value = "/cuenta/{numeroCuenta}", produces = EscritorExportacion.NDJSON)
+    @Operation(summary = "Exportar movimientos por cuenta (NDJSON)", description = "Exporta en streaming todos los movimientos de una cuenta, del más reciente al más antiguo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<MovimientoCuentaDTO> exportarMovimientosByCuenta(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return service.exportarPorCuenta(numeroCuenta).map(mapper::toDTO);
+    }
+
+    @GetMapping(value = "/cuenta/{numeroCuenta}", produces = EscritorExportacion.CSV)
+    @Operation(summary = "Exportar movimientos por cuenta (CSV)", description = "Exporta en streaming y en CSV todos los movimientos de una cuenta, del más reciente al más antiguo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso")
+    })
+    public Flux<String> exportarMovimientosByCuentaCsv(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return escritorExportacion.filasCsv(MovimientoCuentaDTO.class, service.exportarPorCuenta(numeroCuenta).map(mapper::toDTO));
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}/tipo/{tipoMovimiento}")
+    @Operation(summary = "Obtener movimientos por cuenta y tipo", description = "Retorna movimientos filtrados por cuenta y tipo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
+    })
+    public Flux<MovimientoCuentaDTO> getMovimientosByCuentaYTipo(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @PathVariable TipoMovimiento tipoMovimiento,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {} tipo: {}", numeroCuenta, tipoMovimiento);
+        }
+        
+        if (page < 0 || size <= 0) {
+            return service.findByTipoMovimiento(numeroCuenta, tipoMovimiento).map(mapper::toDTO);
+        }
+        return service.findByTipoMovimiento(numeroCuenta, tipoMovimiento, page, size, sortBy, sortDirection).map(mapper::toDTO);
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}/fechas")
+    @Operation(summary = "Obtener movimientos por rango de fechas", description = "Retorna movimientos filtrados por cuenta y rango de fechas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimientos encontrados exitosamente")
+    })
+    public Mono<ResponseEntity<Flux<MovimientoCuentaDTO>>> getMovimientosByFechas(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta,
+            @Parameter(description = "Fecha inicial") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @Parameter(description = "Fecha final") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin,
+            @Parameter(description = "Tipo de movimiento (DEBITO, CREDITO)") @RequestParam(required = false) TipoMovimiento tipoMovimiento,
+            @Parameter(description = "Número de página") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "fechaMovimiento") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "Cursor de paginación; vacío para la primera página. Si se envía, se ignoran page y sort y el siguiente cursor llega en la cabecera " + CABECERA_SIGUIENTE_CURSOR) @RequestParam(required = false) String cursor) {
+        
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando movimientos de cuenta: {} entre {} y {}", numeroCuenta, fechaInicio, fechaFin);
+        }
+        
+        if (cursor != null) {
+            return service.findByNumeroCuentaConCursor(numeroCuenta, fechaInicio, fechaFin, cursor, tamanoCursor(size)).map(this::respuestaConCursor);
+        }
+        
+        Flux<MovimientoCuenta> movimientos = page < 0 || size <= 0
+                ? service.findByRangoFechas(numeroCuenta, fechaInicio, fechaFin)
+                : service.findByRangoFechas(numeroCuenta, fechaInicio, fechaFin, page, size, sortBy, sortDirection);
+        return Mono.just(ResponseEntity.ok(movimientos.map(mapper::toDTO)));
+    }
+
+    @PostMapping
+    @Operation(summary = "Procesar nuevo movimiento", description = "Procesa un nuevo movimiento de cuenta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Movimiento procesado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "409", description = "Movimiento con la misma clave de idempotencia todavía en curso"),
+        @ApiResponse(responseCode = "422", description = "Clave de idempotencia ya usada con otra solicitud")
+    })
+    public Mono<ResponseEntity<MovimientoCuentaDTO>> procesarMovimiento(
+            @Parameter(description = "Clave de idempotencia (opcional)") @RequestHeader(value = CABECERA_IDEMPOTENCIA, required = false) String claveIdempotencia,
+            @Parameter(description = "Datos del movimiento a procesar") @Valid @RequestBody MovimientoCuentaDTO movimientoDTO) {
+        
+        Mono<RespuestaIdempotente<MovimientoCuenta>> procesado = claveIdempotencia != null && !claveIdempotencia.isBlank()
+                ? idempotenciaService.procesar(claveIdempotencia, movimientoDTO)
+                : service.procesarMovimiento(movimientoDTO).map(RespuestaIdempotente::nueva);
+        
+        return procesado
+                .map(respuesta -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(CABECERA_REPETIDA, String.valueOf(respuesta.isRepetida()))
+                        .body(mapper.toDTO(respuesta.getCuerpo())))
+                .onErrorResume(e -> !(e instanceof ClaveIdempotenciaReutilizadaException || e instanceof OperacionEnCursoException)
+                        && e instanceof RuntimeException, e -> {
+                    logger.error("Error al procesar movimiento: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().<MovimientoCuentaDTO>build());
+                });
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Procesar lote de movimientos", description = "Procesa un lote de movimientos netando el efecto por cuenta y retorna el resultado de cada uno")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado, revisar el resultado de cada movimiento"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    public Mono<ResultadoLoteDTO> procesarLote(
+            @Parameter(description = "Lote de movimientos a procesar") @Valid @RequestBody LoteMovimientosDTO loteDTO) {
+        
+        return bloqueante(() -> servicioBloqueante.procesarLote(loteDTO.getMovimientos())).map(this::resultadoLote);
+    }
+
+    @PostMapping(value = "/importacion", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    @Operation(summary = "Importar movimientos", description = "Importa un archivo NDJSON o CSV (con cabecera) de movimientos de cualquier tamaño y retorna en streaming el resultado de cada línea")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación en curso, cada línea de la respuesta corresponde a una línea del archivo")
+    })
+    public Flux<ResultadoMovimientoDTO> importarMovimientos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "Archivo NDJSON o CSV con un movimiento por línea") @RequestBody Flux<DataBuffer> entrada) {
+        
+        ImportacionMovimientosService.LectorImportacion lector = importacionService.lector(importacionService.formatoDe(contentType));
+        
+        // El decodificador acota en bytes la línea en memoria (hasta 4 bytes por carácter en UTF-8); las líneas
+        // dentro de ese margen pero sobre la longitud máxima se rechazan una a una al interpretarlas
+        StringDecoder decodificador = StringDecoder.allMimeTypes();
+        decodificador.setMaxInMemorySize(importacionService.getLongitudMaximaLinea() * 4);
+        AtomicLong lineasLeidas = new AtomicLong();
+        AtomicBoolean interrumpida = new AtomicBoolean();
+        Flux<String> lineas = decodificador.decode(entrada, ResolvableType.forClass(String.class), null, null)
+                .doOnNext(linea -> lineasLeidas.incrementAndGet())
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    interrumpida.set(true);
+                    return Flux.empty();
+                });
+        
+        // concatMap pide el siguiente bloque del cuerpo solo cuando el actual terminó y se entregó al cliente
+        return lineas.buffer(tamanoBloqueImportacion)
+                .index()
+                .concatMap(bloque -> bloqueante(() -> importacionService.importarBloque(lector, bloque.getT2(),
+                        (int) (bloque.getT1() * tamanoBloqueImportacion) + 1)))
+                .flatMapIterable(resultados -> resultados)
+                // Sin fin de línea no se puede saltar al siguiente registro: la línea excedida termina la importación
+                .concatWith(Mono.fromSupplier(() -> importacionService.rechazoLineaExcedida((int) lineasLeidas.get() + 1))
+                        .filter(rechazo -> interrumpida.get()))
+                .map(mapper::toDTO);
+    }
+
+    @PostMapping("/reversar/lote")
+    @Operation(summary = "Reversar lote de movimientos", description = "Reversa los movimientos indicados por comprobante o por filtro (referencia externa o cuenta con rango de fechas), netando el efecto por cuenta; los reversos no entran en el filtro")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado, revisar el resultado de cada reverso"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    public Mono<ResultadoLoteDTO> reversarLote(
+            @Parameter(description = "Movimientos a reversar") @Valid @RequestBody ReversoLoteDTO reversoDTO) {
+        
+        return bloqueante(() -> servicioBloqueante.reversarLote(reversoDTO.getNumerosComprobante(), reversoDTO.getReferenciaExterna(),
+                        reversoDTO.getNumeroCuenta(), reversoDTO.getFechaInicio(), reversoDTO.getFechaFin(), reversoDTO.getMotivo()))
+                .map(reverso -> {
+                    ResultadoLoteDTO resultadoLote = resultadoLote(reverso.getResultados());
+                    resultadoLote.setTruncado(reverso.isTruncado());
+                    return resultadoLote;
+                });
+    }
+
+    @PostMapping("/reversar/{numeroComprobante}")
+    @Operation(summary = "Reversar movimiento", description = "Reversa un movimiento existente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movimiento reversado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Movimiento no encontrado"),
+        @ApiResponse(responseCode = "400", description = "El movimiento no puede ser reversado")
+    })
+    public Mono<ResponseEntity<MovimientoCuentaDTO>> reversarMovimiento(
+            @Parameter(description = "Número de comprobante del movimiento a reversar") @PathVariable String numeroComprobante,
+            @Parameter(description = "Motivo del reverso") @RequestParam String motivo) {
+        
+        return bloqueante(() -> servicioBloqueante.reversarMovimiento(numeroComprobante, motivo))
+                .map(movimientoReverso -> ResponseEntity.ok(mapper.toDTO(movimientoReverso)))
+                .onErrorResume(CuentaNotFoundException.class, e -> Mono.just(ResponseEntity.notFound().build()))
+                .onErrorResume(RuntimeException.class, e -> {
+                    logger.error("Error al reversar movimiento: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @GetMapping("/generar-comprobante")
+    @Operation(summary = "Generar número de comprobante", description = "Genera un nuevo número de comprobante único")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Número de comprobante generado exitosamente")
+    })
+    public Mono<String> generarNumeroComprobante() {
+        return bloqueante(servicioBloqueante::generarNumeroComprobante);
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}/estadisticas")
+    @Operation(summary = "Obtener estadísticas de movimientos", description = "Retorna estadísticas de movimientos de una cuenta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    })
+    public Mono<ResponseEntity<EstadisticasMovimientosDTO>> getEstadisticasMovimientos(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        if (muestreo.registrar(logger)) {
+            logger.info("Consultando estadísticas de movimientos para cuenta: {}", numeroCuenta);
+        }
+        
+        return bloqueante(() -> estadisticasService.obtenerEstadisticas(numeroCuenta))
+                .map(acumuladas -> ResponseEntity.ok(estadisticas(numeroCuenta, acumuladas)))
+                .onErrorResume(RuntimeException.class, e -> {
+                    logger.error("Error al obtener estadísticas: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}/estadisticas/verificacion")
+    @Operation(summary = "Verificar estadísticas de movimientos", description = "Compara las estadísticas acumuladas de una cuenta con las calculadas desde sus movimientos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Verificación realizada exitosamente")
+    })
+    public Mono<VerificacionEstadisticasDTO> verificarEstadisticas(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return bloqueante(() -> estadisticasService.verificar(numeroCuenta)).map(diferencias -> {
+            VerificacionEstadisticasDTO verificacion = new VerificacionEstadisticasDTO();
+            verificacion.setNumeroCuenta(numeroCuenta);
+            verificacion.setConsistente(diferencias.isEmpty());
+            verificacion.setDiferencias(diferencias);
+            return verificacion;
+        });
+    }
+
+    @PostMapping("/estadisticas/reconstruccion")
+    @Operation(summary = "Reconstruir estadísticas", description = "Recalcula desde cero las estadísticas acumuladas de todas las cuentas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Estadísticas reconstruidas exitosamente")
+    })
+    public Mono<ResponseEntity<Void>> reconstruirEstadisticas() {
+        return Mono.fromRunnable(estadisticasService::reconstruir)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/cuenta/{numeroCuenta}/ultimo")
+    @Operation(summary = "Obtener último movimiento", description = "Retorna el último movimiento de una cuenta")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Último movimiento obtenido exitosamente"),
+        @ApiResponse(responseCode = "404", description = "No se encontraron movimientos")
+    })
+    public Mono<MovimientoCuentaDTO> getUltimoMovimiento(
+            @Parameter(description = "Número de cuenta") @PathVariable String numeroCuenta) {
+        
+        return service.obtenerUltimoMovimiento(numeroCuenta).map(mapper::toDTO);
+    }
+
+    @ExceptionHandler({CuentaNotFoundException.class})
+    public ResponseEntity<String> handleCuentaNotFound(CuentaNotFoundException e) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler({CuentaInactivaException.class})
+    public ResponseEntity<String> handleCuentaInactiva(CuentaInactivaException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler({SaldoInsuficienteException.class})
+    public ResponseEntity<String> handleSaldoInsuficiente(SaldoInsuficienteException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler({ClaveIdempotenciaReutilizadaException.class})
+    public ResponseEntity<String> handleClaveIdempotenciaReutilizada(ClaveIdempotenciaReutilizadaException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+    }
+
+    @ExceptionHandler({OperacionEnCursoException.class})
+    public ResponseEntity<String> handleOperacionEnCurso(OperacionEnCursoException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler({CursorInvalidoException.class})
+    public ResponseEntity<String> handleCursorInvalido(CursorInvalidoException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler({RuntimeException.class})
+    public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private ResponseEntity<Flux<MovimientoCuentaDTO>> respuestaConCursor(Slice<MovimientoCuenta> movimientosSlice) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (movimientosSlice.hasNext()) {
+            MovimientoCuenta ultimo = movimientosSlice.getContent().get(movimientosSlice.getContent().size() - 1);
+            respuesta.header(CABECERA_SIGUIENTE_CURSOR, CursorMovimientos.desde(ultimo).codificar());
+        }
+        return respuesta.body(Flux.fromIterable(movimientosSlice.getContent()).map(mapper::toDTO));
+    }
+
+    private ResultadoLoteDTO resultadoLote(List<ResultadoMovimiento> resultados) {
+        List<ResultadoMovimientoDTO> dtos = new ArrayList<>(resultados.size());
+        int aceptados = 0;
+        
+        for (ResultadoMovimiento resultado : resultados) {
+            dtos.add(mapper.toDTO(resultado));
+            if (resultado.isAceptado()) {
+                aceptados++;
+            }
+        }
+        
+        ResultadoLoteDTO resultadoLote = new ResultadoLoteDTO();
+        resultadoLote.setTotalRecibidos(resultados.size());
+        resultadoLote.setTotalAceptados(aceptados);
+        resultadoLote.setTotalRechazados(resultados.size() - aceptados);
+        resultadoLote.setResultados(dtos);
+        return resultadoLote;
+    }
+
+    private static EstadisticasMovimientosDTO estadisticas(String numeroCuenta, EstadisticasCuenta acumuladas) {
+        return new EstadisticasMovimientosDTO(
+                numeroCuenta, valor(acumuladas.getTotalMovimientos()), valor(acumuladas.getTotalDebitos()),
+                valor(acumuladas.getTotalCreditos()), acumuladas.getSumaDebitos(), acumuladas.getSumaCreditos(),
+                acumuladas.getMontoMinimo(), acumuladas.getMontoMaximo(),
+                acumuladas.getFechaPrimerMovimiento(), acumuladas.getFechaUltimoMovimiento());
+    }
+
+    private static <T> Mono<T> bloqueante(Callable<T> operacion) {
+        return Mono.fromCallable(operacion).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static int tamanoCursor(int size) {
+        return size <= 0 ? TAMANO_CURSOR_DEFECTO : Math.min(size, TAMANO_CURSOR_MAXIMO);
+    }
+
+    private static long valor(Long contador) {
+        return contador == null ? 0 : contador;
+    }
+}
@@ -1,8 +1,9 @@
 package com.banco.banquito.general.controller.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.banco.banquito.general.model.Dinero;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,16 +26,16 @@ public class ConsultaSaldoDTO {
     private String estadoCuenta;
 
     @Schema(description = "Saldo disponible para transacciones", example = "1500.50")
-    private BigDecimal saldoDisponible;
+    private Dinero saldoDisponible;
 
     @Schema(description = "Saldo contable de la cuenta", example = "1500.50")
-    private BigDecimal saldoContable;
+    private Dinero saldoContable;
 
     @Schema(description = "Límite de sobregiro autorizado", example = "500.00")
-    private BigDecimal limiteSobregiro;
+    private Dinero limiteSobregiro;
 
     @Schema(description = "Saldo disponible total (incluye sobregiro)", example = "2000.50")
-    private BigDecimal saldoDisponibleTotal;
+    private Dinero saldoDisponibleTotal;
 
     @Schema(description = "Moneda de la cuenta", example = "USD")
     private String moneda;
@@ -42,6 +43,9 @@ public class ConsultaSaldoDTO {
     @Schema(description = "Fecha de última actualización", example = "2024-01-15T10:30:00")
     private LocalDateTime fechaUltimaActualizacion;
 
+    @Schema(description = "Fecha a la que corresponde el saldo cuando es una consulta histórica", example = "2024-01-10T23:59:59")
+    private LocalDateTime fechaSaldo;
+
     @Schema(description = "Días de inactividad", example = "0")
     private Integer diasInactividad;
 
@@ -1,9 +1,8 @@
 package com.banco.banquito.general.controller.dto;
 
-import java.math.BigDecimal;
+import com.banco.banquito.general.model.Dinero;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -16,10 +15,9 @@ import lombok.NoArgsConstructor;
 @Schema(description = "DTO para crear una nueva cuenta bancaria")
 public class CrearCuentaDTO {
 
-    @NotBlank(message = "El número de cuenta es requerido")
     @Size(min = 10, max = 20, message = "El número de cuenta debe tener entre 10 y 20 caracteres")
     @Pattern(regexp = "^[0-9]+$", message = "El número de cuenta solo puede contener números")
-    @Schema(description = "Número único de la cuenta", example = "1234567890")
+    @Schema(description = "Número único de la cuenta; si se omite se asigna uno de la secuencia", example = "1234567890")
     private String numeroCuenta;
 
     @NotBlank(message = "La identificación del cliente es requerida")
@@ -37,13 +35,13 @@ public class CrearCuentaDTO {
     @Schema(description = "Tipo de cuenta bancaria", example = "AHORROS")
     private String tipoCuenta;
 
-    @DecimalMin(value = "0.00", message = "El saldo inicial no puede ser negativo")
+    @MontoMinimo(value = "0.00", message = "El saldo inicial no puede ser negativo")
     @Schema(description = "Saldo inicial de la cuenta", example = "100.00")
-    private BigDecimal saldoInicial;
+    private Dinero saldoInicial;
 
-    @DecimalMin(value = "0.00", message = "El límite de sobregiro no puede ser negativo")
+    @MontoMinimo(value = "0.00", message = "El límite de sobregiro no puede ser negativo")
     @Schema(description = "Límite de sobregiro autorizado", example = "500.00")
-    private BigDecimal limiteSobregiro;
+    private Dinero limiteSobregiro;
 
     @Pattern(regexp = "USD|EUR|COP", message = "La moneda debe ser USD, EUR o COP")
     @Schema(description = "Moneda de la cuenta", example = "USD", defaultValue = "USD")
@@ -1,10 +1,10 @@
 package com.banco.banquito.general.controller.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.banco.banquito.general.model.Dinero;
+
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -47,18 +47,18 @@ public class CuentaBancariaDTO {
     private String estadoCuenta;
 
     @NotNull(message = "El saldo disponible es requerido")
-    @DecimalMin(value = "0.00", message = "El saldo disponible no puede ser negativo")
+    @MontoMinimo(value = "0.00", message = "El saldo disponible no puede ser negativo")
     @Schema(description = "Saldo disponible para transacciones", example = "1500.50")
-    private BigDecimal saldoDisponible;
+    private Dinero saldoDisponible;
 
     @NotNull(message = "El saldo contable es requerido")
-    @DecimalMin(value = "0.00", message = "El saldo contable no puede ser negativo")
+    @MontoMinimo(value = "0.00", message = "El saldo contable no puede ser negativo")
     @Schema(description = "Saldo contable de la cuenta", example = "1500.50")
-    private BigDecimal saldoContable;
+    private Dinero saldoContable;
 
-    @DecimalMin(value = "0.00", message = "El límite de sobregiro no puede ser negativo")
+    @MontoMinimo(value = "0.00", message = "El límite de sobregiro no puede ser negativo")
     @Schema(description = "Límite de sobregiro autorizado", example = "500.00")
-    private BigDecimal limiteSobregiro;
+    private Dinero limiteSobregiro;
 
     @Schema(description = "Fecha de creación de la cuenta", example = "2024-01-15T10:30:00")
     private LocalDateTime fechaCreacion;
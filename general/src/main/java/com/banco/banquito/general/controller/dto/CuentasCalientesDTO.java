@@ -0,0 +1,19 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.util.List;
+
+import com.banco.banquito.general.service.CuentaCaliente;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class CuentasCalientesDTO {
+
+    private long ventanaMillis;
+    private double movimientosPorSegundo;
+    private double conflictosPorSegundo;
+    private List<CuentaCaliente> porMovimientos;
+    private List<CuentaCaliente> porConflictos;
+}
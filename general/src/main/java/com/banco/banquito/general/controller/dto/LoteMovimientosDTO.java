@@ -0,0 +1,21 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO para el procesamiento de un lote de movimientos")
+public class LoteMovimientosDTO {
+
+    @NotEmpty(message = "El lote debe contener al menos un movimiento")
+    @Size(max = 10000, message = "El lote no puede exceder 10000 movimientos")
+    @Schema(description = "Movimientos a procesar")
+    private List<@Valid MovimientoCuentaDTO> movimientos;
+}
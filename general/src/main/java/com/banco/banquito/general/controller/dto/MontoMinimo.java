@@ -0,0 +1,29 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * Equivalente de @DecimalMin para montos {@link com.banco.banquito.general.model.Dinero}; el valor mínimo se
+ * escribe en unidades ("0.01") y es inclusivo. Un null es válido, igual que en las anotaciones estándar.
+ */
+@Documented
+@Constraint(validatedBy = MontoMinimoValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MontoMinimo {
+
+    String value();
+
+    String message() default "El monto es menor al mínimo permitido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,21 @@
+package com.banco.banquito.general.controller.dto;
+
+import com.banco.banquito.general.model.Dinero;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class MontoMinimoValidator implements ConstraintValidator<MontoMinimo, Dinero> {
+
+    private Dinero minimo;
+
+    @Override
+    public void initialize(MontoMinimo anotacion) {
+        this.minimo = Dinero.de(anotacion.value());
+    }
+
+    @Override
+    public boolean isValid(Dinero monto, ConstraintValidatorContext contexto) {
+        return monto == null || monto.esMayorOIgualQue(minimo);
+    }
+}
@@ -1,10 +1,10 @@
 package com.banco.banquito.general.controller.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.banco.banquito.general.model.Dinero;
+
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -35,15 +35,15 @@ public class MovimientoCuentaDTO {
     private String tipoMovimiento;
 
     @NotNull(message = "El monto es requerido")
-    @DecimalMin(value = "0.01", message = "El monto debe ser mayor a cero")
+    @MontoMinimo(value = "0.01", message = "El monto debe ser mayor a cero")
     @Schema(description = "Monto del movimiento", example = "150.75")
-    private BigDecimal monto;
+    private Dinero monto;
 
     @Schema(description = "Saldo anterior al movimiento", example = "1500.50")
-    private BigDecimal saldoAnterior;
+    private Dinero saldoAnterior;
 
     @Schema(description = "Saldo posterior al movimiento", example = "1349.75")
-    private BigDecimal saldoPosterior;
+    private Dinero saldoPosterior;
 
     @NotBlank(message = "El concepto es requerido")
     @Size(min = 3, max = 50, message = "El concepto debe tener entre 3 y 50 caracteres")
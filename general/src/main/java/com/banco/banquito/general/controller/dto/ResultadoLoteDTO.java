@@ -0,0 +1,28 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO con el resultado del procesamiento de un lote de movimientos")
+public class ResultadoLoteDTO {
+
+    @Schema(description = "Movimientos recibidos en el lote", example = "1000")
+    private int totalRecibidos;
+
+    @Schema(description = "Movimientos aceptados", example = "998")
+    private int totalAceptados;
+
+    @Schema(description = "Movimientos rechazados", example = "2")
+    private int totalRechazados;
+
+    @Schema(description = "Resultado por movimiento, en el mismo orden del lote")
+    private List<ResultadoMovimientoDTO> resultados;
+
+    @Schema(description = "Solo en reversos por filtro: quedaron movimientos sin reversar por el límite del lote; repetir la solicitud continúa con ellos", example = "false")
+    private boolean truncado;
+}
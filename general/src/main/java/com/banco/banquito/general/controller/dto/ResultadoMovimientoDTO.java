@@ -0,0 +1,30 @@
+package com.banco.banquito.general.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO con el resultado de un movimiento dentro de un lote")
+public class ResultadoMovimientoDTO {
+
+    @Schema(description = "Posición del movimiento en el lote o número de línea en una importación", example = "0")
+    private int indice;
+
+    @Schema(description = "Número de cuenta asociada", example = "1234567890")
+    private String numeroCuenta;
+
+    @Schema(description = "Número de comprobante del movimiento", example = "COMP-2024-001")
+    private String numeroComprobante;
+
+    @Schema(description = "Resultado del movimiento", example = "ACEPTADO",
+            allowableValues = {"ACEPTADO", "COMPROBANTE_DUPLICADO", "SALDO_INSUFICIENTE", "CUENTA_INACTIVA", "OPERACION_NO_PERMITIDA", "CUENTA_NO_ENCONTRADA", "RECHAZADO"})
+    private String estado;
+
+    @Schema(description = "Motivo del rechazo", example = "Saldo insuficiente en cuenta 1234567890")
+    private String mensaje;
+
+    @Schema(description = "Movimiento registrado cuando el resultado es ACEPTADO")
+    private MovimientoCuentaDTO movimiento;
+}
@@ -0,0 +1,46 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO para el reverso de un lote de movimientos, por comprobantes o por filtro")
+public class ReversoLoteDTO {
+
+    @Size(max = 10000, message = "El lote no puede exceder 10000 comprobantes")
+    @Schema(description = "Comprobantes de los movimientos a reversar", example = "[\"COMP-2024-0000000001\"]")
+    private List<String> numerosComprobante;
+
+    @Schema(description = "Referencia externa de los movimientos a reversar (si no se envían comprobantes)", example = "LOTE-20240115")
+    private String referenciaExterna;
+
+    @Schema(description = "Cuenta de los movimientos a reversar (si no se envían comprobantes); obligatoria si solo se filtra por fechas", example = "2200000001")
+    private String numeroCuenta;
+
+    @Schema(description = "Fecha inicial de los movimientos a reversar (si no se envían comprobantes)", example = "2024-01-15T00:00:00")
+    private LocalDateTime fechaInicio;
+
+    @Schema(description = "Fecha final de los movimientos a reversar (si no se envían comprobantes)", example = "2024-01-15T23:59:59")
+    private LocalDateTime fechaFin;
+
+    @NotBlank(message = "El motivo es requerido")
+    @Schema(description = "Motivo del reverso", example = "Archivo de lote procesado dos veces")
+    private String motivo;
+
+    @AssertTrue(message = "Se requieren comprobantes, una referencia externa o una cuenta con un rango de fechas completo")
+    @Schema(hidden = true)
+    public boolean isCriterioValido() {
+        // Un rango de fechas solo alcanzaría a todas las cuentas del banco
+        boolean conComprobantes = numerosComprobante != null && !numerosComprobante.isEmpty();
+        boolean conRango = fechaInicio != null && fechaFin != null;
+        return conComprobantes || referenciaExterna != null || (numeroCuenta != null && conRango);
+    }
+}
@@ -0,0 +1,22 @@
+package com.banco.banquito.general.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "DTO con el resultado de verificar las estadísticas acumuladas de una cuenta")
+public class VerificacionEstadisticasDTO {
+
+    @Schema(description = "Número de cuenta verificada", example = "1234567890")
+    private String numeroCuenta;
+
+    @Schema(description = "Indica si las estadísticas acumuladas coinciden con las calculadas", example = "true")
+    private boolean consistente;
+
+    @Schema(description = "Campos que no coinciden, con el valor almacenado y el calculado")
+    private List<String> diferencias;
+}
@@ -5,7 +5,9 @@ import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
 import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.controller.dto.ResultadoMovimientoDTO;
 import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.service.ResultadoMovimiento;
 
 @Mapper(
     componentModel = MappingConstants.ComponentModel.SPRING,
@@ -16,4 +18,6 @@ public interface MovimientoCuentaMapper {
     MovimientoCuentaDTO toDTO(MovimientoCuenta model);
     
     MovimientoCuenta toModel(MovimientoCuentaDTO dto);
+
+    ResultadoMovimientoDTO toDTO(ResultadoMovimiento resultado);
 } 
\ No newline at end of file
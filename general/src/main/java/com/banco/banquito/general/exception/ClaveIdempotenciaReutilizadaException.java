@@ -0,0 +1,16 @@
+package com.banco.banquito.general.exception;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    private final String claveIdempotencia;
+
+    public ClaveIdempotenciaReutilizadaException(String claveIdempotencia) {
+        super();
+        this.claveIdempotencia = claveIdempotencia;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("La clave de idempotencia %s ya se usó con una solicitud distinta", claveIdempotencia);
+    }
+}
@@ -0,0 +1,16 @@
+package com.banco.banquito.general.exception;
+
+public class ComprobanteDuplicadoException extends RuntimeException {
+
+    private final String numeroComprobante;
+
+    public ComprobanteDuplicadoException(String numeroComprobante) {
+        super();
+        this.numeroComprobante = numeroComprobante;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("Ya existe un movimiento con el número de comprobante: %s", numeroComprobante);
+    }
+}
@@ -1,11 +1,13 @@
 package com.banco.banquito.general.exception;
 
+import com.banco.banquito.general.model.EstadoCuenta;
+
 public class CuentaInactivaException extends RuntimeException {
 
     private final String numeroCuenta;
-    private final String estado;
+    private final EstadoCuenta estado;
 
-    public CuentaInactivaException(String numeroCuenta, String estado) {
+    public CuentaInactivaException(String numeroCuenta, EstadoCuenta estado) {
         super();
         this.numeroCuenta = numeroCuenta;
         this.estado = estado;
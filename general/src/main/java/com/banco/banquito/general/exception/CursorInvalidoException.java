@@ -0,0 +1,16 @@
+package com.banco.banquito.general.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+
+    private final String cursor;
+
+    public CursorInvalidoException(String cursor) {
+        super();
+        this.cursor = cursor;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("El cursor de paginación no es válido: %s", cursor);
+    }
+}
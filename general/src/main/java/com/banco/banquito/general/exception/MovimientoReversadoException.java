@@ -0,0 +1,16 @@
+package com.banco.banquito.general.exception;
+
+public class MovimientoReversadoException extends RuntimeException {
+
+    private final String numeroComprobante;
+
+    public MovimientoReversadoException(String numeroComprobante) {
+        super();
+        this.numeroComprobante = numeroComprobante;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("El movimiento ya está reversado: %s", numeroComprobante);
+    }
+}
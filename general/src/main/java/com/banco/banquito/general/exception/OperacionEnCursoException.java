@@ -0,0 +1,16 @@
+package com.banco.banquito.general.exception;
+
+public class OperacionEnCursoException extends RuntimeException {
+
+    private final String claveIdempotencia;
+
+    public OperacionEnCursoException(String claveIdempotencia) {
+        super();
+        this.claveIdempotencia = claveIdempotencia;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("Ya hay una operación en curso con la clave de idempotencia: %s", claveIdempotencia);
+    }
+}
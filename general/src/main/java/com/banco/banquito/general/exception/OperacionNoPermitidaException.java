@@ -0,0 +1,18 @@
+package com.banco.banquito.general.exception;
+
+public class OperacionNoPermitidaException extends RuntimeException {
+
+    private final String numeroCuenta;
+    private final boolean esDebito;
+
+    public OperacionNoPermitidaException(String numeroCuenta, boolean esDebito) {
+        super();
+        this.numeroCuenta = numeroCuenta;
+        this.esDebito = esDebito;
+    }
+
+    @Override
+    public String getMessage() {
+        return String.format("La cuenta %s no permite %s", numeroCuenta, esDebito ? "débitos" : "créditos");
+    }
+}
@@ -1,14 +1,14 @@
 package com.banco.banquito.general.exception;
 
-import java.math.BigDecimal;
+import com.banco.banquito.general.model.Dinero;
 
 public class SaldoInsuficienteException extends RuntimeException {
 
     private final String numeroCuenta;
-    private final BigDecimal saldoDisponible;
-    private final BigDecimal montoSolicitado;
+    private final Dinero saldoDisponible;
+    private final Dinero montoSolicitado;
 
-    public SaldoInsuficienteException(String numeroCuenta, BigDecimal saldoDisponible, BigDecimal montoSolicitado) {
+    public SaldoInsuficienteException(String numeroCuenta, Dinero saldoDisponible, Dinero montoSolicitado) {
         super();
         this.numeroCuenta = numeroCuenta;
         this.saldoDisponible = saldoDisponible;
@@ -17,7 +17,7 @@ public class SaldoInsuficienteException extends RuntimeException {
 
     @Override
     public String getMessage() {
-        return String.format("Saldo insuficiente en cuenta %s. Saldo disponible: $%.2f, Monto solicitado: $%.2f", 
+        return String.format("Saldo insuficiente en cuenta %s. Saldo disponible: $%s, Monto solicitado: $%s", 
                 numeroCuenta, saldoDisponible, montoSolicitado);
     }
 } 
\ No newline at end of file
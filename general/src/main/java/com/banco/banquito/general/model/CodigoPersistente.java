@@ -0,0 +1,10 @@
+package com.banco.banquito.general.model;
+
+/**
+ * Enumeración que se guarda en Mongo con un código corto en lugar de su nombre. El código va en cada documento y
+ * en cada entrada de índice, así que no debe cambiar una vez publicado; en la API se sigue usando el nombre.
+ */
+public interface CodigoPersistente {
+
+    String getCodigo();
+}
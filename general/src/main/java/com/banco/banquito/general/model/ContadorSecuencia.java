@@ -0,0 +1,41 @@
+package com.banco.banquito.general.model;
+
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Document(collection = "contadores")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ContadorSecuencia {
+
+    @Id
+    private String id;
+
+    private Long valor;
+
+    public ContadorSecuencia(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ContadorSecuencia that = (ContadorSecuencia) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
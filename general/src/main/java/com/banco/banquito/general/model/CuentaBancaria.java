@@ -1,6 +1,5 @@
 package com.banco.banquito.general.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -31,15 +30,18 @@ public class CuentaBancaria {
 
     private String clienteNombre;
 
-    private String tipoCuenta; 
+    private TipoCuenta tipoCuenta;
 
-    private String estadoCuenta; 
+    private EstadoCuenta estadoCuenta;
 
-    private BigDecimal saldoDisponible;
+    private Dinero saldoDisponible;
 
-    private BigDecimal saldoContable;
+    private Dinero saldoContable;
 
-    private BigDecimal limiteSobregiro;
+    // Saldo con el que se abrió la cuenta; base del cierre diario cuando aún no hay un cierre anterior
+    private Dinero saldoInicial;
+
+    private Dinero limiteSobregiro;
 
     private LocalDateTime fechaCreacion;
 
@@ -65,15 +67,16 @@ public class CuentaBancaria {
     }
 
     
-    public CuentaBancaria(String numeroCuenta, String clienteIdentificacion, String clienteNombre, String tipoCuenta) {
+    public CuentaBancaria(String numeroCuenta, String clienteIdentificacion, String clienteNombre, TipoCuenta tipoCuenta) {
         this.numeroCuenta = numeroCuenta;
         this.clienteIdentificacion = clienteIdentificacion;
         this.clienteNombre = clienteNombre;
         this.tipoCuenta = tipoCuenta;
-        this.estadoCuenta = "ACTIVA";
-        this.saldoDisponible = BigDecimal.ZERO;
-        this.saldoContable = BigDecimal.ZERO;
-        this.limiteSobregiro = BigDecimal.ZERO;
+        this.estadoCuenta = EstadoCuenta.ACTIVA;
+        this.saldoDisponible = Dinero.CERO;
+        this.saldoContable = Dinero.CERO;
+        this.saldoInicial = Dinero.CERO;
+        this.limiteSobregiro = Dinero.CERO;
         this.fechaCreacion = LocalDateTime.now();
         this.fechaUltimaActualizacion = LocalDateTime.now();
         this.moneda = "USD";
@@ -97,25 +100,25 @@ public class CuentaBancaria {
     }
 
     
-    public boolean puedeRealizarDebito(BigDecimal monto) {
-        if (!permiteDebito || !"ACTIVA".equals(estadoCuenta)) {
+    public boolean puedeRealizarDebito(Dinero monto) {
+        if (!permiteDebito || estadoCuenta != EstadoCuenta.ACTIVA) {
             return false;
         }
-        BigDecimal saldoDisponibleTotal = saldoDisponible.add(limiteSobregiro);
-        return saldoDisponibleTotal.compareTo(monto) >= 0;
+        Dinero saldoDisponibleTotal = saldoDisponible.sumar(limiteSobregiro);
+        return saldoDisponibleTotal.esMayorOIgualQue(monto);
     }
 
     public boolean puedeRealizarCredito() {
-        return permiteCredito && "ACTIVA".equals(estadoCuenta);
+        return permiteCredito && estadoCuenta == EstadoCuenta.ACTIVA;
     }
 
-    public void actualizarSaldos(BigDecimal monto, boolean esDebito) {
+    public void actualizarSaldos(Dinero monto, boolean esDebito) {
         if (esDebito) {
-            this.saldoDisponible = this.saldoDisponible.subtract(monto);
-            this.saldoContable = this.saldoContable.subtract(monto);
+            this.saldoDisponible = this.saldoDisponible.restar(monto);
+            this.saldoContable = this.saldoContable.restar(monto);
         } else {
-            this.saldoDisponible = this.saldoDisponible.add(monto);
-            this.saldoContable = this.saldoContable.add(monto);
+            this.saldoDisponible = this.saldoDisponible.sumar(monto);
+            this.saldoContable = this.saldoContable.sumar(monto);
         }
         this.fechaUltimaActualizacion = LocalDateTime.now();
         this.diasInactividad = 0;
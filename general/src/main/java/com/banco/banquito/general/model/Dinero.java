@@ -0,0 +1,179 @@
+package com.banco.banquito.general.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+/**
+ * Monto de dinero inmutable con escala fija de dos decimales, guardado como un long de centavos. Reemplaza a
+ * BigDecimal en saldos y montos: las operaciones del camino de débito/crédito son sumas de long con control de
+ * desbordamiento, sin asignar BigInteger ni normalizar escalas. En Mongo se persiste como Int64 (8 bytes frente
+ * a los 16 de Decimal128) y en JSON se sigue escribiendo como número decimal, así el contrato de la API no cambia.
+ *
+ * <p>Dinero no lleva moneda, y es una decisión de diseño: cada monto está en la moneda de la cuenta a la que
+ * pertenece (CuentaBancaria.moneda), y solo se combinan montos de una misma cuenta, sea en saldos, movimientos,
+ * cierres o estadísticas. Para que la escala fija sea correcta, la cuenta solo se puede abrir en una de
+ * {@link #MONEDAS}; la clase falla al cargarse si alguna de ellas no tiene {@link #ESCALA} decimales según
+ * ISO 4217. Operar entre cuentas de monedas distintas o admitir una moneda con otra escala exige añadir la
+ * moneda a este tipo.
+ */
+@JsonSerialize(using = Dinero.Serializador.class)
+@JsonDeserialize(using = Dinero.Deserializador.class)
+public final class Dinero implements Comparable<Dinero> {
+
+    public static final int ESCALA = 2;
+
+    public static final Dinero CERO = new Dinero(0L);
+
+    public static final Set<String> MONEDAS = Set.of("USD", "EUR", "COP");
+
+    static {
+        for (String moneda : MONEDAS) {
+            if (Currency.getInstance(moneda).getDefaultFractionDigits() != ESCALA) {
+                throw new IllegalStateException("La moneda " + moneda + " no usa " + ESCALA + " decimales");
+            }
+        }
+    }
+
+    private final long centavos;
+
+    private Dinero(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinero deCentavos(long centavos) {
+        return centavos == 0L ? CERO : new Dinero(centavos);
+    }
+
+    /**
+     * Convierte un BigDecimal exigiendo como máximo dos decimales; un monto con más precisión es un error del
+     * cliente y no se redondea en silencio.
+     */
+    public static Dinero de(BigDecimal monto) {
+        try {
+            return deCentavos(monto.setScale(ESCALA, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Monto fuera de rango o con más de " + ESCALA + " decimales: " + monto, e);
+        }
+    }
+
+    public static Dinero de(String monto) {
+        return de(new BigDecimal(monto));
+    }
+
+    public static String validarMoneda(String moneda) {
+        if (!MONEDAS.contains(moneda)) {
+            throw new IllegalArgumentException("Moneda no soportada: " + moneda + "; los montos usan " + ESCALA
+                    + " decimales y solo se admiten " + MONEDAS);
+        }
+        return moneda;
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public Dinero sumar(Dinero otro) {
+        return deCentavos(Math.addExact(centavos, otro.centavos));
+    }
+
+    public Dinero restar(Dinero otro) {
+        return deCentavos(Math.subtractExact(centavos, otro.centavos));
+    }
+
+    public Dinero negar() {
+        return deCentavos(Math.negateExact(centavos));
+    }
+
+    public Dinero absoluto() {
+        return centavos < 0 ? negar() : this;
+    }
+
+    public int signo() {
+        return Long.signum(centavos);
+    }
+
+    public boolean esMayorOIgualQue(Dinero otro) {
+        return centavos >= otro.centavos;
+    }
+
+    @Override
+    public int compareTo(Dinero otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Dinero that)) return false;
+        return centavos == that.centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    public static class Serializador extends StdScalarSerializer<Dinero> {
+
+        public Serializador() {
+            super(Dinero.class);
+        }
+
+        @Override
+        public void serialize(Dinero valor, JsonGenerator generador, SerializerProvider proveedor) throws IOException {
+            generador.writeNumber(valor.toBigDecimal());
+        }
+    }
+
+    public static class Deserializador extends StdScalarDeserializer<Dinero> {
+
+        public Deserializador() {
+            super(Dinero.class);
+        }
+
+        @Override
+        public Dinero deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+            JsonToken token = parser.currentToken();
+            BigDecimal monto;
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                monto = parser.getDecimalValue();
+            } else if (token == JsonToken.VALUE_STRING) {
+                String texto = parser.getText().trim();
+                try {
+                    monto = new BigDecimal(texto);
+                } catch (NumberFormatException e) {
+                    return (Dinero) contexto.handleWeirdStringValue(Dinero.class, texto, "no es un monto válido");
+                }
+            } else {
+                return (Dinero) contexto.handleUnexpectedToken(Dinero.class, parser);
+            }
+            try {
+                return de(monto);
+            } catch (IllegalArgumentException e) {
+                return (Dinero) contexto.handleWeirdNumberValue(Dinero.class, monto, "%s", e.getMessage());
+            }
+        }
+    }
+}
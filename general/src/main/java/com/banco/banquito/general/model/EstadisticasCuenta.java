@@ -0,0 +1,62 @@
+package com.banco.banquito.general.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Document(collection = "estadisticas_cuenta")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class EstadisticasCuenta {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String numeroCuenta;
+
+    private Long totalMovimientos;
+
+    private Long totalDebitos;
+
+    private Long totalCreditos;
+
+    private Dinero sumaDebitos;
+
+    private Dinero sumaCreditos;
+
+    private Dinero montoMinimo;
+
+    private Dinero montoMaximo;
+
+    private LocalDateTime fechaPrimerMovimiento;
+
+    private LocalDateTime fechaUltimoMovimiento;
+
+    public EstadisticasCuenta(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EstadisticasCuenta that = (EstadisticasCuenta) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,32 @@
+package com.banco.banquito.general.model;
+
+public enum EstadoCuenta implements CodigoPersistente {
+
+    ACTIVA("A"),
+    INACTIVA("I"),
+    BLOQUEADA("B"),
+    CERRADA("C");
+
+    private static final EstadoCuenta[] VALORES = values();
+
+    private final String codigo;
+
+    EstadoCuenta(String codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public String getCodigo() {
+        return codigo;
+    }
+
+    // También acepta el nombre completo que guardaban los documentos anteriores a la migración
+    public static EstadoCuenta deCodigo(String codigo) {
+        for (EstadoCuenta estado : VALORES) {
+            if (estado.codigo.equals(codigo)) {
+                return estado;
+            }
+        }
+        return valueOf(codigo);
+    }
+}
@@ -0,0 +1,42 @@
+package com.banco.banquito.general.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Document(collection = "migraciones_aplicadas")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class MigracionAplicada {
+
+    @Id
+    private String id;
+
+    private LocalDateTime fechaAplicacion;
+
+    public MigracionAplicada(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        MigracionAplicada that = (MigracionAplicada) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
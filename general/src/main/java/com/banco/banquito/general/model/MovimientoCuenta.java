@@ -1,10 +1,11 @@
 package com.banco.banquito.general.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -14,6 +15,10 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Document(collection = "movimientos_cuenta")
+@CompoundIndexes({
+    @CompoundIndex(name = "cuenta_fecha_id", def = "{'numeroCuenta': 1, 'fechaMovimiento': -1, '_id': -1}"),
+    @CompoundIndex(name = "cuenta_tipo_fecha", def = "{'numeroCuenta': 1, 'tipoMovimiento': 1, 'fechaMovimiento': -1}")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,16 +31,16 @@ public class MovimientoCuenta {
     @Indexed
     private String numeroCuenta;
 
-    @Indexed
+    @Indexed(unique = true)
     private String numeroComprobante;
 
-    private String tipoMovimiento; 
+    private TipoMovimiento tipoMovimiento;
 
-    private BigDecimal monto;
+    private Dinero monto;
 
-    private BigDecimal saldoAnterior;
+    private Dinero saldoAnterior;
 
-    private BigDecimal saldoPosterior;
+    private Dinero saldoPosterior;
 
     private String concepto;
 
@@ -61,14 +66,23 @@ public class MovimientoCuenta {
 
     private String movimientoReverso;
 
+    // Id del movimiento que este reversa; solo lo tienen los reversos
+    private String movimientoOriginal;
+
+    // Clave de idempotencia de la solicitud que lo creó, solo si llegó con Idempotency-Key; la reserva vive en reservas_idempotencia
+    private String claveIdempotencia;
+
+    // SHA-256 del cuerpo de esa solicitud, para rechazar la reutilización de la clave con otro cuerpo
+    private String huellaSolicitud;
+
     
     public MovimientoCuenta(String id) {
         this.id = id;
     }
 
     
-    public MovimientoCuenta(String numeroCuenta, String numeroComprobante, String tipoMovimiento, 
-                           BigDecimal monto, BigDecimal saldoAnterior, String concepto) {
+    public MovimientoCuenta(String numeroCuenta, String numeroComprobante, TipoMovimiento tipoMovimiento, 
+                           Dinero monto, Dinero saldoAnterior, String concepto) {
         this.numeroCuenta = numeroCuenta;
         this.numeroComprobante = numeroComprobante;
         this.tipoMovimiento = tipoMovimiento;
@@ -81,10 +95,10 @@ public class MovimientoCuenta {
         this.reversado = false;
         
       
-        if ("DEBITO".equals(tipoMovimiento)) {
-            this.saldoPosterior = saldoAnterior.subtract(monto);
+        if (tipoMovimiento == TipoMovimiento.DEBITO) {
+            this.saldoPosterior = saldoAnterior.restar(monto);
         } else {
-            this.saldoPosterior = saldoAnterior.add(monto);
+            this.saldoPosterior = saldoAnterior.sumar(monto);
         }
     }
 
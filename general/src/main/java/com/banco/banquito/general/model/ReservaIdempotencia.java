@@ -0,0 +1,54 @@
+package com.banco.banquito.general.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Document(collection = "reservas_idempotencia")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ReservaIdempotencia {
+
+    // La clave de idempotencia: el índice único de _id resuelve la carrera entre réplicas
+    @Id
+    private String id;
+
+    // SHA-256 del cuerpo de la solicitud que tomó la clave
+    private String huellaSolicitud;
+
+    // Comprobante del movimiento que la clave produce; con él se repite la respuesta
+    private String numeroComprobante;
+
+    // Fin del arriendo: pasado este instante sin movimiento, otra réplica puede retomar la clave
+    private LocalDateTime hasta;
+
+    @Indexed(name = "ttl_fecha_creacion", expireAfter = "24h")
+    private LocalDateTime fechaCreacion;
+
+    public ReservaIdempotencia(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ReservaIdempotencia that = (ReservaIdempotencia) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
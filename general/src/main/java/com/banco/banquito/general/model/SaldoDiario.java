@@ -0,0 +1,53 @@
+package com.banco.banquito.general.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Document(collection = "saldos_diarios")
+@CompoundIndex(name = "cuenta_fecha", def = "{'numeroCuenta': 1, 'fecha': -1}", unique = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class SaldoDiario {
+
+    @Id
+    private String id;
+
+    private String numeroCuenta;
+
+    private LocalDate fecha;
+
+    private Dinero saldoDisponible;
+
+    private Dinero saldoContable;
+
+    private LocalDateTime fechaGeneracion;
+
+    public SaldoDiario(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        SaldoDiario that = (SaldoDiario) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
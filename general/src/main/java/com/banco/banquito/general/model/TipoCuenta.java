@@ -0,0 +1,32 @@
+package com.banco.banquito.general.model;
+
+public enum TipoCuenta implements CodigoPersistente {
+
+    AHORROS("A"),
+    CORRIENTE("C"),
+    PLAZO_FIJO("P"),
+    VISTA("V");
+
+    private static final TipoCuenta[] VALORES = values();
+
+    private final String codigo;
+
+    TipoCuenta(String codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public String getCodigo() {
+        return codigo;
+    }
+
+    // También acepta el nombre completo que guardaban los documentos anteriores a la migración
+    public static TipoCuenta deCodigo(String codigo) {
+        for (TipoCuenta tipo : VALORES) {
+            if (tipo.codigo.equals(codigo)) {
+                return tipo;
+            }
+        }
+        return valueOf(codigo);
+    }
+}
@@ -0,0 +1,36 @@
+package com.banco.banquito.general.model;
+
+public enum TipoMovimiento implements CodigoPersistente {
+
+    DEBITO("D"),
+    CREDITO("C");
+
+    private final String codigo;
+
+    TipoMovimiento(String codigo) {
+        this.codigo = codigo;
+    }
+
+    @Override
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public boolean esDebito() {
+        return this == DEBITO;
+    }
+
+    /** Tipo del movimiento que reversa a uno de este tipo. */
+    public TipoMovimiento opuesto() {
+        return this == DEBITO ? CREDITO : DEBITO;
+    }
+
+    // También acepta el nombre completo que guardaban los documentos anteriores a la migración
+    public static TipoMovimiento deCodigo(String codigo) {
+        return switch (codigo) {
+            case "D" -> DEBITO;
+            case "C" -> CREDITO;
+            default -> valueOf(codigo);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.banco.banquito.general.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface CuentaBancariaReactivaRepository extends ReactiveMongoRepository<CuentaBancaria, String> {
+
+    Flux<CuentaBancaria> findAllBy(Pageable pageable);
+
+    Mono<CuentaBancaria> findByNumeroCuenta(String numeroCuenta);
+
+    Flux<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion);
+
+    Flux<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion, Pageable pageable);
+
+    Flux<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta);
+
+    Flux<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta, Pageable pageable);
+
+    Flux<CuentaBancaria> findByTipoCuenta(TipoCuenta tipoCuenta);
+}
@@ -1,6 +1,7 @@
 package com.banco.banquito.general.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,29 +11,33 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
 
 @Repository
 public interface CuentaBancariaRepository extends MongoRepository<CuentaBancaria, String> {
 
     Optional<CuentaBancaria> findByNumeroCuenta(String numeroCuenta);
 
+    List<CuentaBancaria> findByNumeroCuentaIn(Collection<String> numerosCuenta);
+
     List<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion);
 
     Page<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion, Pageable pageable);
 
-    List<CuentaBancaria> findByClienteIdentificacionAndEstadoCuenta(String clienteIdentificacion, String estadoCuenta);
+    List<CuentaBancaria> findByClienteIdentificacionAndEstadoCuenta(String clienteIdentificacion, EstadoCuenta estadoCuenta);
 
-    Page<CuentaBancaria> findByClienteIdentificacionAndEstadoCuenta(String clienteIdentificacion, String estadoCuenta, Pageable pageable);
+    Page<CuentaBancaria> findByClienteIdentificacionAndEstadoCuenta(String clienteIdentificacion, EstadoCuenta estadoCuenta, Pageable pageable);
 
-    List<CuentaBancaria> findByEstadoCuenta(String estadoCuenta);
+    List<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta);
 
-    Page<CuentaBancaria> findByEstadoCuenta(String estadoCuenta, Pageable pageable);
+    Page<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta, Pageable pageable);
 
-    List<CuentaBancaria> findByTipoCuenta(String tipoCuenta);
+    List<CuentaBancaria> findByTipoCuenta(TipoCuenta tipoCuenta);
 
-    Page<CuentaBancaria> findByTipoCuenta(String tipoCuenta, Pageable pageable);
+    Page<CuentaBancaria> findByTipoCuenta(TipoCuenta tipoCuenta, Pageable pageable);
 
-    List<CuentaBancaria> findByTipoCuentaAndEstadoCuenta(String tipoCuenta, String estadoCuenta);
+    List<CuentaBancaria> findByTipoCuentaAndEstadoCuenta(TipoCuenta tipoCuenta, EstadoCuenta estadoCuenta);
 
     List<CuentaBancaria> findBySucursal(String sucursal);
 
@@ -48,15 +53,15 @@ public interface CuentaBancariaRepository extends MongoRepository<CuentaBancaria
 
     List<CuentaBancaria> findByDiasInactividadGreaterThan(Integer dias);
 
-    List<CuentaBancaria> findByEstadoCuentaAndDiasInactividadGreaterThan(String estadoCuenta, Integer dias);
+    List<CuentaBancaria> findByEstadoCuentaAndDiasInactividadGreaterThan(EstadoCuenta estadoCuenta, Integer dias);
 
     boolean existsByNumeroCuenta(String numeroCuenta);
 
-    boolean existsByClienteIdentificacionAndTipoCuenta(String clienteIdentificacion, String tipoCuenta);
+    boolean existsByClienteIdentificacionAndTipoCuenta(String clienteIdentificacion, TipoCuenta tipoCuenta);
 
-    long countByEstadoCuenta(String estadoCuenta);
+    long countByEstadoCuenta(EstadoCuenta estadoCuenta);
 
-    long countByTipoCuenta(String tipoCuenta);
+    long countByTipoCuenta(TipoCuenta tipoCuenta);
 
     long countByClienteIdentificacion(String clienteIdentificacion);
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.banco.banquito.general.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.banco.banquito.general.model.EstadisticasCuenta;
+
+@Repository
+public interface EstadisticasCuentaRepository extends MongoRepository<EstadisticasCuenta, String> {
+
+    Optional<EstadisticasCuenta> findByNumeroCuenta(String numeroCuenta);
+}
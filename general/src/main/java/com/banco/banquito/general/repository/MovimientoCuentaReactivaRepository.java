@@ -0,0 +1,37 @@
+package com.banco.banquito.general.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface MovimientoCuentaReactivaRepository extends ReactiveMongoRepository<MovimientoCuenta, String> {
+
+    Flux<MovimientoCuenta> findAllBy(Pageable pageable);
+
+    Mono<MovimientoCuenta> findByNumeroComprobante(String numeroComprobante);
+
+    Flux<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta);
+
+    Flux<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta, Pageable pageable);
+
+    Flux<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento);
+
+    Flux<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento, Pageable pageable);
+
+    Flux<MovimientoCuenta> findByNumeroCuentaAndFechaMovimientoBetween(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin);
+
+    Flux<MovimientoCuenta> findByNumeroCuentaAndFechaMovimientoBetween(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin, Pageable pageable);
+
+    Mono<Boolean> existsByNumeroComprobante(String numeroComprobante);
+
+    Mono<MovimientoCuenta> findTopByNumeroCuentaOrderByFechaMovimientoDesc(String numeroCuenta);
+}
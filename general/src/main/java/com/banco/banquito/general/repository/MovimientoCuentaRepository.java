@@ -1,7 +1,7 @@
 package com.banco.banquito.general.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,32 +10,36 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import com.banco.banquito.general.model.Dinero;
 import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
 
 @Repository
 public interface MovimientoCuentaRepository extends MongoRepository<MovimientoCuenta, String> {
 
     Optional<MovimientoCuenta> findByNumeroComprobante(String numeroComprobante);
 
+    List<MovimientoCuenta> findByNumeroComprobanteIn(Collection<String> numerosComprobante);
+
     List<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta);
 
     Page<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta, Pageable pageable);
 
-    List<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, String tipoMovimiento);
+    List<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento);
 
-    Page<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, String tipoMovimiento, Pageable pageable);
+    Page<MovimientoCuenta> findByNumeroCuentaAndTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento, Pageable pageable);
 
     List<MovimientoCuenta> findByNumeroCuentaAndFechaMovimientoBetween(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
     Page<MovimientoCuenta> findByNumeroCuentaAndFechaMovimientoBetween(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin, Pageable pageable);
 
-    List<MovimientoCuenta> findByNumeroCuentaAndTipoMovimientoAndFechaMovimientoBetween(String numeroCuenta, String tipoMovimiento, LocalDateTime fechaInicio, LocalDateTime fechaFin);
+    List<MovimientoCuenta> findByNumeroCuentaAndTipoMovimientoAndFechaMovimientoBetween(String numeroCuenta, TipoMovimiento tipoMovimiento, LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
-    Page<MovimientoCuenta> findByNumeroCuentaAndTipoMovimientoAndFechaMovimientoBetween(String numeroCuenta, String tipoMovimiento, LocalDateTime fechaInicio, LocalDateTime fechaFin, Pageable pageable);
+    Page<MovimientoCuenta> findByNumeroCuentaAndTipoMovimientoAndFechaMovimientoBetween(String numeroCuenta, TipoMovimiento tipoMovimiento, LocalDateTime fechaInicio, LocalDateTime fechaFin, Pageable pageable);
 
-    List<MovimientoCuenta> findByNumeroCuentaAndMontoGreaterThan(String numeroCuenta, BigDecimal monto);
+    List<MovimientoCuenta> findByNumeroCuentaAndMontoGreaterThan(String numeroCuenta, Dinero monto);
 
-    List<MovimientoCuenta> findByNumeroCuentaAndMontoBetween(String numeroCuenta, BigDecimal montoMinimo, BigDecimal montoMaximo);
+    List<MovimientoCuenta> findByNumeroCuentaAndMontoBetween(String numeroCuenta, Dinero montoMinimo, Dinero montoMaximo);
 
     List<MovimientoCuenta> findByNumeroCuentaAndProcesado(String numeroCuenta, Boolean procesado);
 
@@ -67,7 +71,7 @@ public interface MovimientoCuentaRepository extends MongoRepository<MovimientoCu
 
     long countByNumeroCuenta(String numeroCuenta);
 
-    long countByNumeroCuentaAndTipoMovimiento(String numeroCuenta, String tipoMovimiento);
+    long countByNumeroCuentaAndTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento);
 
     long countByNumeroCuentaAndFechaMovimientoBetween(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
@@ -0,0 +1,15 @@
+package com.banco.banquito.general.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.banco.banquito.general.model.SaldoDiario;
+
+@Repository
+public interface SaldoDiarioRepository extends MongoRepository<SaldoDiario, String> {
+
+    Optional<SaldoDiario> findTopByNumeroCuentaAndFechaLessThanEqualOrderByFechaDesc(String numeroCuenta, LocalDate fecha);
+}
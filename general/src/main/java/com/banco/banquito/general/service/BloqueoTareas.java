@@ -0,0 +1,58 @@
+package com.banco.banquito.general.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.model.BloqueoTarea;
+
+/**
+ * Arriendo de tareas programadas entre réplicas sobre {@code bloqueos_tareas}: el upsert condicionado a que el
+ * arriendo anterior haya vencido lo consigue una sola réplica; las demás chocan con el _id y no ejecutan. Si la
+ * réplica cae sin liberar, el arriendo vence solo.
+ */
+@Component
+public class BloqueoTareas {
+
+    private static final Logger logger = LoggerFactory.getLogger(BloqueoTareas.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final String propietario;
+
+    public BloqueoTareas(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.propietario = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    public boolean adquirir(String tarea, Duration duracion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(tarea).and("hasta").lt(ahora));
+        Update update = new Update()
+                .set("propietario", propietario)
+                .set("hasta", ahora.plus(duracion))
+                .set("fechaAdquisicion", ahora);
+        try {
+            mongoTemplate.upsert(query, update, BloqueoTarea.class);
+            logger.info("Tarea {} adquirida por {} hasta {}", tarea, propietario, ahora.plus(duracion));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // El documento existe con un arriendo vigente: el upsert intentó insertar el mismo _id
+            logger.info("Tarea {} en ejecución en otra instancia", tarea);
+            return false;
+        }
+    }
+
+    public void liberar(String tarea) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(tarea).and("propietario").is(propietario)), BloqueoTarea.class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.banco.banquito.general.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.repository.CuentaBancariaReactivaRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CuentaBancariaReactivoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaBancariaReactivoService.class);
+
+    private final CuentaBancariaReactivaRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CuentaBancariaService cuentaService;
+    private final int tamanoLoteExportacion;
+
+    public CuentaBancariaReactivoService(CuentaBancariaReactivaRepository repository, ReactiveMongoTemplate mongoTemplate,
+                                         CuentaBancariaService cuentaService,
+                                         @Value("${banquito.exportacion.tamano-lote:1000}") int tamanoLoteExportacion) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.cuentaService = cuentaService;
+        this.tamanoLoteExportacion = tamanoLoteExportacion;
+    }
+
+    public Flux<CuentaBancaria> findAll() {
+        logger.debug("Consultando todas las cuentas bancarias");
+        return repository.findAll();
+    }
+
+    public Flux<CuentaBancaria> exportarTodas() {
+        logger.info("Exportando todas las cuentas bancarias");
+        // El cursor pide el siguiente lote a Mongo solo cuando el cliente consumió el anterior
+        return mongoTemplate.find(new Query().cursorBatchSize(tamanoLoteExportacion), CuentaBancaria.class);
+    }
+
+    public Flux<CuentaBancaria> findAll(int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Consultando cuentas bancarias con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
+                        page, size, sortBy, sortDirection);
+        }
+        return repository.findAllBy(paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Mono<CuentaBancaria> findById(String id) {
+        logger.debug("Buscando cuenta bancaria por ID: {}", id);
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException(id, "ID")));
+    }
+
+    public Mono<CuentaBancaria> findByNumeroCuenta(String numeroCuenta) {
+        logger.debug("Buscando cuenta bancaria por número: {}", numeroCuenta);
+        return repository.findByNumeroCuenta(numeroCuenta)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException(numeroCuenta, "Número de cuenta")));
+    }
+
+    public Flux<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion) {
+        logger.debug("Buscando cuentas bancarias por cliente: {}", clienteIdentificacion);
+        return repository.findByClienteIdentificacion(clienteIdentificacion);
+    }
+
+    public Flux<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando cuentas bancarias por cliente con paginación - cliente: {}, página: {}, tamaño: {}", 
+                        clienteIdentificacion, page, size);
+        }
+        return repository.findByClienteIdentificacion(clienteIdentificacion, paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Flux<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta) {
+        logger.debug("Buscando cuentas bancarias por estado: {}", estadoCuenta);
+        return repository.findByEstadoCuenta(estadoCuenta);
+    }
+
+    public Flux<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando cuentas bancarias por estado con paginación - estado: {}, página: {}, tamaño: {}", 
+                        estadoCuenta, page, size);
+        }
+        return repository.findByEstadoCuenta(estadoCuenta, paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Flux<CuentaBancaria> findByTipoCuenta(TipoCuenta tipoCuenta) {
+        logger.debug("Buscando cuentas bancarias por tipo: {}", tipoCuenta);
+        return repository.findByTipoCuenta(tipoCuenta);
+    }
+
+    public Mono<CuentaBancaria> actualizarSaldos(String numeroCuenta, Dinero monto, boolean esDebito) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Actualizando saldos de cuenta: {} - Monto: {} - Es débito: {}", numeroCuenta, monto, esDebito);
+        }
+        
+        // Misma condición y mismo update que la variante bloqueante
+        return mongoTemplate.findAndModify(
+                        CuentaBancariaService.condicionActualizacion(numeroCuenta, monto, esDebito),
+                        CuentaBancariaService.variacionSaldos(esDebito ? monto.negar() : monto),
+                        FindAndModifyOptions.options().returnNew(true), CuentaBancaria.class)
+                .switchIfEmpty(Mono.defer(() -> findByNumeroCuenta(numeroCuenta)
+                        .flatMap(cuenta -> Mono.<CuentaBancaria>error(CuentaBancariaService.rechazoActualizacion(cuenta, monto, esDebito)))))
+                .doOnNext(cuenta -> {
+                    // El cache de cuentas lo usan las operaciones que siguen delegando en el servicio bloqueante
+                    cuentaService.invalidarCache(numeroCuenta);
+                    logger.debug("Saldos actualizados exitosamente para cuenta: {}", numeroCuenta);
+                });
+    }
+
+    public Mono<Void> compensarSaldos(String numeroCuenta, Dinero monto, boolean esDebitoOriginal) {
+        logger.info("Compensando saldos de cuenta: {} - Monto: {} - Débito original: {}", numeroCuenta, monto, esDebitoOriginal);
+        
+        return mongoTemplate.updateFirst(new Query(Criteria.where("numeroCuenta").is(numeroCuenta)),
+                        CuentaBancariaService.compensacionSaldos(monto, esDebitoOriginal), CuentaBancaria.class)
+                .doOnNext(resultado -> cuentaService.invalidarCache(numeroCuenta))
+                .then();
+    }
+
+    private static Pageable paginacion(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
+    }
+}
@@ -1,23 +1,41 @@
 package com.banco.banquito.general.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.banco.banquito.general.config.CacheConfig;
 import com.banco.banquito.general.controller.dto.CrearCuentaDTO;
 import com.banco.banquito.general.exception.CuentaInactivaException;
 import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.OperacionNoPermitidaException;
 import com.banco.banquito.general.exception.SaldoInsuficienteException;
 import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
 import com.banco.banquito.general.repository.CuentaBancariaRepository;
 
 @Service
@@ -25,20 +43,54 @@ public class CuentaBancariaService {
 
     private static final Logger logger = LoggerFactory.getLogger(CuentaBancariaService.class);
 
+    private static final String SECUENCIA_CUENTAS = "cuentas";
+    private static final long BASE_NUMERO_CUENTA = 100_000_000L;
+    private static final long MAXIMO_NUMERO_CUENTA = 999_999_999L;
+    private static final int MAX_INTENTOS_NUMERO_CUENTA = 3;
+
     private final CuentaBancariaRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final SecuenciaBloques secuenciaBloques;
+    private final MetricasMovimientos metricas;
+    private final int tamanoLoteExportacion;
 
-    public CuentaBancariaService(CuentaBancariaRepository repository) {
+    public CuentaBancariaService(CuentaBancariaRepository repository, MongoTemplate mongoTemplate,
+                                 SecuenciaBloques secuenciaBloques, MetricasMovimientos metricas,
+                                 @Value("${banquito.exportacion.tamano-lote:1000}") int tamanoLoteExportacion) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.secuenciaBloques = secuenciaBloques;
+        this.metricas = metricas;
+        this.tamanoLoteExportacion = tamanoLoteExportacion;
     }
 
     public List<CuentaBancaria> findAll() {
-        logger.info("Consultando todas las cuentas bancarias");
+        logger.debug("Consultando todas las cuentas bancarias");
         return repository.findAll();
     }
 
+    public void exportarTodas(Consumer<CuentaBancaria> consumidor) {
+        logger.info("Exportando todas las cuentas bancarias");
+        exportar(new Query(), consumidor);
+    }
+
+    public void exportarPorEstado(EstadoCuenta estadoCuenta, Consumer<CuentaBancaria> consumidor) {
+        logger.info("Exportando cuentas bancarias por estado: {}", estadoCuenta);
+        exportar(new Query(Criteria.where("estadoCuenta").is(estadoCuenta)), consumidor);
+    }
+
+    private void exportar(Query query, Consumer<CuentaBancaria> consumidor) {
+        query.cursorBatchSize(tamanoLoteExportacion);
+        try (Stream<CuentaBancaria> cuentas = mongoTemplate.stream(query, CuentaBancaria.class)) {
+            cuentas.forEach(consumidor);
+        }
+    }
+
     public Page<CuentaBancaria> findAll(int page, int size, String sortBy, String sortDirection) {
-        logger.info("Consultando cuentas bancarias con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
-                    page, size, sortBy, sortDirection);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Consultando cuentas bancarias con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
+                        page, size, sortBy, sortDirection);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -47,25 +99,37 @@ public class CuentaBancariaService {
     }
 
     public CuentaBancaria findById(String id) {
-        logger.info("Buscando cuenta bancaria por ID: {}", id);
+        logger.debug("Buscando cuenta bancaria por ID: {}", id);
         return repository.findById(id)
                 .orElseThrow(() -> new CuentaNotFoundException(id, "ID"));
     }
 
+    @Cacheable(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
     public CuentaBancaria findByNumeroCuenta(String numeroCuenta) {
-        logger.info("Buscando cuenta bancaria por número: {}", numeroCuenta);
+        logger.debug("Buscando cuenta bancaria por número: {}", numeroCuenta);
         return repository.findByNumeroCuenta(numeroCuenta)
                 .orElseThrow(() -> new CuentaNotFoundException(numeroCuenta, "Número de cuenta"));
     }
 
+    public Optional<CuentaBancaria> buscarPorNumeroCuenta(String numeroCuenta) {
+        return repository.findByNumeroCuenta(numeroCuenta);
+    }
+
+    public List<CuentaBancaria> findByNumeroCuentaIn(Collection<String> numerosCuenta) {
+        logger.debug("Buscando {} cuentas bancarias por número", numerosCuenta.size());
+        return repository.findByNumeroCuentaIn(numerosCuenta);
+    }
+
     public List<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion) {
-        logger.info("Buscando cuentas bancarias por cliente: {}", clienteIdentificacion);
+        logger.debug("Buscando cuentas bancarias por cliente: {}", clienteIdentificacion);
         return repository.findByClienteIdentificacion(clienteIdentificacion);
     }
 
     public Page<CuentaBancaria> findByClienteIdentificacion(String clienteIdentificacion, int page, int size, String sortBy, String sortDirection) {
-        logger.info("Buscando cuentas bancarias por cliente con paginación - cliente: {}, página: {}, tamaño: {}", 
-                    clienteIdentificacion, page, size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando cuentas bancarias por cliente con paginación - cliente: {}, página: {}, tamaño: {}", 
+                        clienteIdentificacion, page, size);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -73,14 +137,16 @@ public class CuentaBancariaService {
         return repository.findByClienteIdentificacion(clienteIdentificacion, pageable);
     }
 
-    public List<CuentaBancaria> findByEstadoCuenta(String estadoCuenta) {
-        logger.info("Buscando cuentas bancarias por estado: {}", estadoCuenta);
+    public List<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta) {
+        logger.debug("Buscando cuentas bancarias por estado: {}", estadoCuenta);
         return repository.findByEstadoCuenta(estadoCuenta);
     }
 
-    public Page<CuentaBancaria> findByEstadoCuenta(String estadoCuenta, int page, int size, String sortBy, String sortDirection) {
-        logger.info("Buscando cuentas bancarias por estado con paginación - estado: {}, página: {}, tamaño: {}", 
-                    estadoCuenta, page, size);
+    public Page<CuentaBancaria> findByEstadoCuenta(EstadoCuenta estadoCuenta, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando cuentas bancarias por estado con paginación - estado: {}, página: {}, tamaño: {}", 
+                        estadoCuenta, page, size);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -88,16 +154,17 @@ public class CuentaBancariaService {
         return repository.findByEstadoCuenta(estadoCuenta, pageable);
     }
 
-    public List<CuentaBancaria> findByTipoCuenta(String tipoCuenta) {
-        logger.info("Buscando cuentas bancarias por tipo: {}", tipoCuenta);
+    public List<CuentaBancaria> findByTipoCuenta(TipoCuenta tipoCuenta) {
+        logger.debug("Buscando cuentas bancarias por tipo: {}", tipoCuenta);
         return repository.findByTipoCuenta(tipoCuenta);
     }
 
     public CuentaBancaria crearCuenta(CrearCuentaDTO crearCuentaDTO) {
         logger.info("Creando nueva cuenta bancaria para cliente: {}", crearCuentaDTO.getClienteIdentificacion());
         
-        
-        if (repository.existsByNumeroCuenta(crearCuentaDTO.getNumeroCuenta())) {
+        // Un número asignado por la secuencia no necesita verificarse; solo se valida el que envía el cliente
+        boolean numeroGenerado = crearCuentaDTO.getNumeroCuenta() == null || crearCuentaDTO.getNumeroCuenta().isBlank();
+        if (!numeroGenerado && repository.existsByNumeroCuenta(crearCuentaDTO.getNumeroCuenta())) {
             throw new RuntimeException("Ya existe una cuenta con el número: " + crearCuentaDTO.getNumeroCuenta());
         }
         
@@ -108,23 +175,25 @@ public class CuentaBancariaService {
         }
         
 
-        if ("PLAZO_FIJO".equals(crearCuentaDTO.getTipoCuenta())) {
-            if (repository.existsByClienteIdentificacionAndTipoCuenta(crearCuentaDTO.getClienteIdentificacion(), "PLAZO_FIJO")) {
+        TipoCuenta tipoCuenta = TipoCuenta.valueOf(crearCuentaDTO.getTipoCuenta());
+        if (tipoCuenta == TipoCuenta.PLAZO_FIJO) {
+            if (repository.existsByClienteIdentificacionAndTipoCuenta(crearCuentaDTO.getClienteIdentificacion(), TipoCuenta.PLAZO_FIJO)) {
                 throw new RuntimeException("El cliente ya tiene una cuenta de plazo fijo");
             }
         }
         
         CuentaBancaria cuenta = new CuentaBancaria(
-            crearCuentaDTO.getNumeroCuenta(),
+            numeroGenerado ? generarNumeroCuenta() : crearCuentaDTO.getNumeroCuenta(),
             crearCuentaDTO.getClienteIdentificacion(),
             crearCuentaDTO.getClienteNombre(),
-            crearCuentaDTO.getTipoCuenta()
+            tipoCuenta
         );
         
         
         if (crearCuentaDTO.getSaldoInicial() != null) {
             cuenta.setSaldoDisponible(crearCuentaDTO.getSaldoInicial());
             cuenta.setSaldoContable(crearCuentaDTO.getSaldoInicial());
+            cuenta.setSaldoInicial(crearCuentaDTO.getSaldoInicial());
         }
         
         if (crearCuentaDTO.getLimiteSobregiro() != null) {
@@ -132,7 +201,7 @@ public class CuentaBancariaService {
         }
         
         if (crearCuentaDTO.getMoneda() != null) {
-            cuenta.setMoneda(crearCuentaDTO.getMoneda());
+            cuenta.setMoneda(Dinero.validarMoneda(crearCuentaDTO.getMoneda()));
         }
         
         if (crearCuentaDTO.getSucursal() != null) {
@@ -143,47 +212,143 @@ public class CuentaBancariaService {
             cuenta.setEjecutivo(crearCuentaDTO.getEjecutivo());
         }
         
-        CuentaBancaria cuentaGuardada = repository.save(cuenta);
+        CuentaBancaria cuentaGuardada = numeroGenerado ? guardarConNumeroGenerado(cuenta) : repository.save(cuenta);
         logger.info("Cuenta bancaria creada exitosamente: {}", cuentaGuardada.getNumeroCuenta());
         
         return cuentaGuardada;
     }
 
-    public CuentaBancaria actualizarSaldos(String numeroCuenta, BigDecimal monto, boolean esDebito) {
-        logger.info("Actualizando saldos de cuenta: {} - Monto: {} - Es débito: {}", numeroCuenta, monto, esDebito);
+    private CuentaBancaria guardarConNumeroGenerado(CuentaBancaria cuenta) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return repository.save(cuenta);
+            } catch (DuplicateKeyException e) {
+                // Solo posible si alguien registró a mano un número del rango de la secuencia; el índice único lo detecta
+                if (intento == MAX_INTENTOS_NUMERO_CUENTA) {
+                    throw e;
+                }
+                logger.info("Número de cuenta {} ya registrado, se asigna el siguiente de la secuencia", cuenta.getNumeroCuenta());
+                metricas.registrarReintento(MetricasMovimientos.GENERADOR_CUENTA);
+                cuenta.setNumeroCuenta(generarNumeroCuenta());
+            }
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
+    public void invalidarCache(String numeroCuenta) {
+        logger.debug("Invalidando cache de cuenta: {}", numeroCuenta);
+    }
+
+    // Se invalida en lugar de guardar el resultado: dos movimientos concurrentes pueden terminar en orden
+    // distinto al de Mongo y guardar la imagen devuelta dejaría en cache la más vieja hasta que expire
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
+    public CuentaBancaria actualizarSaldos(String numeroCuenta, Dinero monto, boolean esDebito) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Actualizando saldos de cuenta: {} - Monto: {} - Es débito: {}", numeroCuenta, monto, esDebito);
+        }
         
-        CuentaBancaria cuenta = findByNumeroCuenta(numeroCuenta);
+        CuentaBancaria cuentaActualizada = mongoTemplate.findAndModify(
+                condicionActualizacion(numeroCuenta, monto, esDebito), variacionSaldos(esDebito ? monto.negar() : monto),
+                FindAndModifyOptions.options().returnNew(true), CuentaBancaria.class);
         
-        if (!"ACTIVA".equals(cuenta.getEstadoCuenta())) {
-            throw new CuentaInactivaException(numeroCuenta, cuenta.getEstadoCuenta());
+        if (cuentaActualizada == null) {
+            // Solo se llega aquí cuando la condición del update no se cumplió; se relee para informar el motivo
+            throw rechazoActualizacion(findByNumeroCuenta(numeroCuenta), monto, esDebito);
+        }
+        
+        logger.debug("Saldos actualizados exitosamente para cuenta: {}", numeroCuenta);
+        
+        return cuentaActualizada;
+    }
+
+    static Query condicionActualizacion(String numeroCuenta, Dinero monto, boolean esDebito) {
+        // Un solo findAndModify: las validaciones de estado y sobregiro viajan como condición
+        // del update, de modo que débitos concurrentes sobre la misma cuenta no se pisan entre sí
+        Criteria criterio = Criteria.where("numeroCuenta").is(numeroCuenta)
+                .and("estadoCuenta").is(EstadoCuenta.ACTIVA);
+        
+        if (esDebito) {
+            criterio.and("permiteDebito").is(true)
+                    .andOperator(Criteria.expr(ComparisonOperators.Gte
+                            .valueOf(ArithmeticOperators.Add.valueOf("saldoDisponible").add("limiteSobregiro"))
+                            .greaterThanEqualToValue(monto.getCentavos())));
+        } else {
+            criterio.and("permiteCredito").is(true);
         }
         
-        if (esDebito && !cuenta.puedeRealizarDebito(monto)) {
-            throw new SaldoInsuficienteException(numeroCuenta, cuenta.getSaldoDisponible(), monto);
+        return new Query(criterio);
+    }
+
+    static Update variacionSaldos(Dinero variacion) {
+        // $inc en centavos: sobre Int64 Mongo suma enteros, sin el costo ni el redondeo de Decimal128
+        return new Update()
+                .inc("saldoDisponible", variacion.getCentavos())
+                .inc("saldoContable", variacion.getCentavos())
+                .set("fechaUltimaActualizacion", LocalDateTime.now())
+                .set("diasInactividad", 0);
+    }
+
+    static RuntimeException rechazoActualizacion(CuentaBancaria cuenta, Dinero monto, boolean esDebito) {
+        if (cuenta.getEstadoCuenta() != EstadoCuenta.ACTIVA) {
+            return new CuentaInactivaException(cuenta.getNumeroCuenta(), cuenta.getEstadoCuenta());
         }
         
-        if (!esDebito && !cuenta.puedeRealizarCredito()) {
-            throw new CuentaInactivaException(numeroCuenta, cuenta.getEstadoCuenta());
+        // Mismo orden que la condición del update: primero el permiso de la operación, después el saldo
+        if (!permiteOperacion(cuenta, esDebito)) {
+            return new OperacionNoPermitidaException(cuenta.getNumeroCuenta(), esDebito);
         }
         
-        cuenta.actualizarSaldos(monto, esDebito);
+        if (esDebito) {
+            return new SaldoInsuficienteException(cuenta.getNumeroCuenta(), cuenta.getSaldoDisponible(), monto);
+        }
         
-        CuentaBancaria cuentaActualizada = repository.save(cuenta);
-        logger.info("Saldos actualizados exitosamente para cuenta: {}", numeroCuenta);
+        // Crédito en una cuenta activa que lo permite: solo llega aquí si cambió entre el update y la relectura
+        return new CuentaInactivaException(cuenta.getNumeroCuenta(), cuenta.getEstadoCuenta());
+    }
+
+    static boolean permiteOperacion(CuentaBancaria cuenta, boolean esDebito) {
+        return Boolean.TRUE.equals(esDebito ? cuenta.getPermiteDebito() : cuenta.getPermiteCredito());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
+    public CuentaBancaria aplicarVariacionNeta(String numeroCuenta, Dinero saldoEsperado, Dinero variacion) {
+        logger.debug("Aplicando variación neta a cuenta: {} - Variación: {}", numeroCuenta, variacion);
         
-        return cuentaActualizada;
+        // Compare-and-set sobre el saldo leído: si otra escritura lo cambió no se aplica y devuelve null
+        Query query = new Query(Criteria.where("numeroCuenta").is(numeroCuenta)
+                .and("estadoCuenta").is(EstadoCuenta.ACTIVA)
+                .and("saldoDisponible").is(saldoEsperado.getCentavos()));
+        
+        return mongoTemplate.findAndModify(query, variacionSaldos(variacion), FindAndModifyOptions.options().returnNew(true), CuentaBancaria.class);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
+    public void compensarSaldos(String numeroCuenta, Dinero monto, boolean esDebitoOriginal) {
+        logger.info("Compensando saldos de cuenta: {} - Monto: {} - Débito original: {}", numeroCuenta, monto, esDebitoOriginal);
+        
+        mongoTemplate.updateFirst(new Query(Criteria.where("numeroCuenta").is(numeroCuenta)),
+                compensacionSaldos(monto, esDebitoOriginal), CuentaBancaria.class);
+    }
+
+    static Update compensacionSaldos(Dinero monto, boolean esDebitoOriginal) {
+        Dinero variacion = esDebitoOriginal ? monto : monto.negar();
+        return new Update()
+                .inc("saldoDisponible", variacion.getCentavos())
+                .inc("saldoContable", variacion.getCentavos())
+                .set("fechaUltimaActualizacion", LocalDateTime.now());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
     public CuentaBancaria bloquearCuenta(String numeroCuenta) {
         logger.info("Bloqueando cuenta: {}", numeroCuenta);
         
         CuentaBancaria cuenta = findByNumeroCuenta(numeroCuenta);
         
-        if (!"ACTIVA".equals(cuenta.getEstadoCuenta())) {
+        if (cuenta.getEstadoCuenta() != EstadoCuenta.ACTIVA) {
             throw new RuntimeException("Solo se pueden bloquear cuentas activas");
         }
         
-        cuenta.setEstadoCuenta("BLOQUEADA");
+        cuenta.setEstadoCuenta(EstadoCuenta.BLOQUEADA);
         cuenta.setFechaUltimaActualizacion(LocalDateTime.now());
         
         CuentaBancaria cuentaActualizada = repository.save(cuenta);
@@ -192,16 +357,17 @@ public class CuentaBancariaService {
         return cuentaActualizada;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CACHE_CUENTAS, key = "#numeroCuenta")
     public CuentaBancaria desbloquearCuenta(String numeroCuenta) {
         logger.info("Desbloqueando cuenta: {}", numeroCuenta);
         
         CuentaBancaria cuenta = findByNumeroCuenta(numeroCuenta);
         
-        if (!"BLOQUEADA".equals(cuenta.getEstadoCuenta())) {
+        if (cuenta.getEstadoCuenta() != EstadoCuenta.BLOQUEADA) {
             throw new RuntimeException("Solo se pueden desbloquear cuentas bloqueadas");
         }
         
-        cuenta.setEstadoCuenta("ACTIVA");
+        cuenta.setEstadoCuenta(EstadoCuenta.ACTIVA);
         cuenta.setFechaUltimaActualizacion(LocalDateTime.now());
         
         CuentaBancaria cuentaActualizada = repository.save(cuenta);
@@ -211,17 +377,17 @@ public class CuentaBancariaService {
     }
 
     public void validarCuentaActiva(String numeroCuenta) {
-        logger.info("Validando que la cuenta esté activa: {}", numeroCuenta);
+        logger.debug("Validando que la cuenta esté activa: {}", numeroCuenta);
         
         CuentaBancaria cuenta = findByNumeroCuenta(numeroCuenta);
         
-        if (!"ACTIVA".equals(cuenta.getEstadoCuenta())) {
+        if (cuenta.getEstadoCuenta() != EstadoCuenta.ACTIVA) {
             throw new CuentaInactivaException(numeroCuenta, cuenta.getEstadoCuenta());
         }
     }
 
-    public BigDecimal consultarSaldoDisponible(String numeroCuenta) {
-        logger.info("Consultando saldo disponible para cuenta: {}", numeroCuenta);
+    public Dinero consultarSaldoDisponible(String numeroCuenta) {
+        logger.debug("Consultando saldo disponible para cuenta: {}", numeroCuenta);
         
         CuentaBancaria cuenta = findByNumeroCuenta(numeroCuenta);
         return cuenta.getSaldoDisponible();
@@ -232,12 +398,33 @@ public class CuentaBancariaService {
     }
 
     public String generarNumeroCuenta() {
-        String numeroCuenta;
-        do {
-            numeroCuenta = String.format("%010d", Math.abs(UUID.randomUUID().hashCode() % 1000000000));
-        } while (existeNumeroCuenta(numeroCuenta));
+        // Los números anteriores (%010d aleatorio menor a 10^9) siempre empiezan con 0; los de la secuencia nunca
+        long base = BASE_NUMERO_CUENTA + secuenciaBloques.siguiente(SECUENCIA_CUENTAS);
+        if (base > MAXIMO_NUMERO_CUENTA) {
+            throw new IllegalStateException("Se agotó el rango de números de cuenta");
+        }
         
+        String numeroCuenta = base + String.valueOf(digitoVerificador(String.valueOf(base)));
+        metricas.registrarGenerado(MetricasMovimientos.GENERADOR_CUENTA);
         logger.info("Número de cuenta generado: {}", numeroCuenta);
         return numeroCuenta;
     }
-} 
\ No newline at end of file
+
+    static int digitoVerificador(String base) {
+        // Luhn: se duplica cada segundo dígito desde la derecha (el dígito verificador irá al final)
+        int suma = 0;
+        boolean duplicar = true;
+        for (int i = base.length() - 1; i >= 0; i--) {
+            int digito = base.charAt(i) - '0';
+            if (duplicar) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+            duplicar = !duplicar;
+        }
+        return (10 - suma % 10) % 10;
+    }
+}
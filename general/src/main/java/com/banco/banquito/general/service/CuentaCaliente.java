@@ -0,0 +1,25 @@
+package com.banco.banquito.general.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class CuentaCaliente {
+
+    private final int posicion;
+    private final String numeroCuenta;
+    private final double movimientosPorSegundo;
+    private final double conflictosPorSegundo;
+
+    CuentaCaliente(int posicion, String numeroCuenta, double movimientosPorSegundo, double conflictosPorSegundo) {
+        this.posicion = posicion;
+        this.numeroCuenta = numeroCuenta;
+        this.movimientosPorSegundo = movimientosPorSegundo;
+        this.conflictosPorSegundo = conflictosPorSegundo;
+    }
+
+    public double getTasaConflicto() {
+        return movimientosPorSegundo > 0 ? conflictosPorSegundo / movimientosPorSegundo : 0;
+    }
+}
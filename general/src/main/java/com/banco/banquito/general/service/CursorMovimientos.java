@@ -0,0 +1,47 @@
+package com.banco.banquito.general.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+
+import com.banco.banquito.general.exception.CursorInvalidoException;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+import lombok.Getter;
+
+@Getter
+public class CursorMovimientos {
+
+    private static final char SEPARADOR = '|';
+
+    private final LocalDateTime fechaMovimiento;
+    private final ObjectId id;
+
+    private CursorMovimientos(LocalDateTime fechaMovimiento, ObjectId id) {
+        this.fechaMovimiento = fechaMovimiento;
+        this.id = id;
+    }
+
+    public static CursorMovimientos desde(MovimientoCuenta ultimo) {
+        return new CursorMovimientos(ultimo.getFechaMovimiento(), new ObjectId(ultimo.getId()));
+    }
+
+    public static CursorMovimientos decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            return new CursorMovimientos(LocalDateTime.parse(valor.substring(0, separador)),
+                    new ObjectId(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+
+    public String codificar() {
+        String valor = fechaMovimiento.toString() + SEPARADOR + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
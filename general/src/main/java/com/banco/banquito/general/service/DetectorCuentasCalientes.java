@@ -0,0 +1,222 @@
+package com.banco.banquito.general.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Detector de cuentas calientes: mantiene en memoria fija las K cuentas con más movimientos por segundo y con
+ * más conflictos de escritura por segundo (espera en la franja del secuenciador, reintentos de saldo en lote,
+ * carreras de comprobante). Las tasas se calculan sobre la última ventana completa más la ventana en curso.
+ * Registrar es libre de bloqueos; el ranking se arma solo al consultarlo o al rotar la ventana.
+ */
+@Component
+public class DetectorCuentasCalientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(DetectorCuentasCalientes.class);
+
+    private static final String SERIE_MOVIMIENTOS = "movimientos";
+    private static final String SERIE_CONFLICTOS = "conflictos";
+
+    private final boolean habilitado;
+    private final int k;
+    private final int ancho;
+    private final long ventanaNanos;
+
+    private final Serie movimientos = new Serie();
+    private final Serie conflictos = new Serie();
+    private volatile long inicioVentana = System.nanoTime();
+
+    // Ranking de la última ventana completa; lo leen los gauges sin recalcular
+    private volatile double[] tasasMovimientos;
+    private volatile double[] tasasConflictos;
+    private volatile double concentracionMovimientos;
+    private volatile double concentracionConflictos;
+
+    public DetectorCuentasCalientes(MeterRegistry meterRegistry,
+                                    @Value("${banquito.cuentas-calientes.habilitado:true}") boolean habilitado,
+                                    @Value("${banquito.cuentas-calientes.top:10}") int k,
+                                    @Value("${banquito.cuentas-calientes.ancho-sketch:2048}") int ancho,
+                                    @Value("${banquito.cuentas-calientes.ventana-ms:10000}") long ventanaMillis) {
+        if (k <= 0 || ancho <= 0 || ventanaMillis <= 0) {
+            throw new IllegalArgumentException("El detector de cuentas calientes requiere top, ancho y ventana mayores a cero");
+        }
+        this.habilitado = habilitado;
+        this.k = k;
+        this.ancho = ancho;
+        this.ventanaNanos = ventanaMillis * 1_000_000L;
+        this.tasasMovimientos = new double[k];
+        this.tasasConflictos = new double[k];
+        movimientos.actual = nuevoSketch();
+        conflictos.actual = nuevoSketch();
+
+        // Se etiqueta por posición en el ranking, nunca por número de cuenta: el número está en el endpoint
+        for (int i = 0; i < k; i++) {
+            int posicion = i;
+            Gauge.builder("banquito.cuentas.calientes.tasa", this, d -> d.tasasMovimientos[posicion])
+                    .description("Movimientos por segundo de la cuenta en esa posición del ranking")
+                    .tag("serie", SERIE_MOVIMIENTOS)
+                    .tag("posicion", String.valueOf(posicion + 1))
+                    .register(meterRegistry);
+            Gauge.builder("banquito.cuentas.calientes.tasa", this, d -> d.tasasConflictos[posicion])
+                    .description("Conflictos de escritura por segundo de la cuenta en esa posición del ranking")
+                    .tag("serie", SERIE_CONFLICTOS)
+                    .tag("posicion", String.valueOf(posicion + 1))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("banquito.cuentas.calientes.concentracion", this, d -> d.concentracionMovimientos)
+                .description("Fracción de los movimientos de la ventana que corresponde al top de cuentas")
+                .tag("serie", SERIE_MOVIMIENTOS)
+                .register(meterRegistry);
+        Gauge.builder("banquito.cuentas.calientes.concentracion", this, d -> d.concentracionConflictos)
+                .description("Fracción de los conflictos de la ventana que corresponde al top de cuentas")
+                .tag("serie", SERIE_CONFLICTOS)
+                .register(meterRegistry);
+        logger.info("Detector de cuentas calientes {} - top: {}, ancho: {}, ventana: {} ms",
+                habilitado ? "habilitado" : "deshabilitado", k, this.ancho, ventanaMillis);
+    }
+
+    public void registrarMovimientos(String numeroCuenta, int cantidad) {
+        if (habilitado) {
+            movimientos.actual.agregar(numeroCuenta, cantidad);
+        }
+    }
+
+    public void registrarConflicto(String numeroCuenta) {
+        if (habilitado) {
+            conflictos.actual.agregar(numeroCuenta, 1);
+        }
+    }
+
+    public List<CuentaCaliente> topMovimientos() {
+        return top(movimientos);
+    }
+
+    public List<CuentaCaliente> topConflictos() {
+        return top(conflictos);
+    }
+
+    public double movimientosPorSegundo() {
+        return movimientos.total() / segundosObservados(System.nanoTime());
+    }
+
+    public double conflictosPorSegundo() {
+        return conflictos.total() / segundosObservados(System.nanoTime());
+    }
+
+    public long getVentanaMillis() {
+        return ventanaNanos / 1_000_000L;
+    }
+
+    @Scheduled(fixedRateString = "${banquito.cuentas-calientes.ventana-ms:10000}",
+            initialDelayString = "${banquito.cuentas-calientes.ventana-ms:10000}")
+    public void rotar() {
+        // Quien registre contra el sketch saliente durante el cambio sigue contando: pasa a la ventana anterior
+        movimientos.rotar(nuevoSketch());
+        conflictos.rotar(nuevoSketch());
+        inicioVentana = System.nanoTime();
+
+        double segundos = ventanaNanos / 1e9;
+        tasasMovimientos = tasasVentana(movimientos.anterior, segundos);
+        tasasConflictos = tasasVentana(conflictos.anterior, segundos);
+        concentracionMovimientos = concentracion(movimientos.anterior, tasasMovimientos, segundos);
+        concentracionConflictos = concentracion(conflictos.anterior, tasasConflictos, segundos);
+    }
+
+    private List<CuentaCaliente> top(Serie serie) {
+        double segundos = segundosObservados(System.nanoTime());
+        ToDoubleFunction<CuentaCaliente> tasa = serie == movimientos
+                ? CuentaCaliente::getMovimientosPorSegundo : CuentaCaliente::getConflictosPorSegundo;
+        List<CuentaCaliente> ranking = new ArrayList<>();
+        for (String cuenta : serie.candidatos()) {
+            ranking.add(new CuentaCaliente(0, cuenta, movimientos.estimar(cuenta) / segundos, conflictos.estimar(cuenta) / segundos));
+        }
+        ranking.sort(Comparator.comparingDouble(tasa).reversed());
+
+        List<CuentaCaliente> resultado = new ArrayList<>(Math.min(k, ranking.size()));
+        for (CuentaCaliente cuenta : ranking) {
+            if (resultado.size() == k || tasa.applyAsDouble(cuenta) == 0) {
+                break;
+            }
+            resultado.add(new CuentaCaliente(resultado.size() + 1, cuenta.getNumeroCuenta(),
+                    cuenta.getMovimientosPorSegundo(), cuenta.getConflictosPorSegundo()));
+        }
+        return resultado;
+    }
+
+    private double segundosObservados(long ahora) {
+        double enCurso = Math.max(ahora - inicioVentana, 1_000_000L) / 1e9;
+        return movimientos.anterior != null ? enCurso + ventanaNanos / 1e9 : enCurso;
+    }
+
+    private double[] tasasVentana(SketchFrecuencias ventana, double segundos) {
+        double[] tasas = new double[k];
+        List<Long> conteos = new ArrayList<>();
+        for (String cuenta : ventana.candidatos()) {
+            conteos.add(ventana.estimar(cuenta));
+        }
+        conteos.sort(Comparator.reverseOrder());
+        for (int i = 0; i < k && i < conteos.size(); i++) {
+            tasas[i] = conteos.get(i) / segundos;
+        }
+        return tasas;
+    }
+
+    private static double concentracion(SketchFrecuencias ventana, double[] tasas, double segundos) {
+        long total = ventana.total();
+        if (total == 0) {
+            return 0;
+        }
+        double top = 0;
+        for (double tasa : tasas) {
+            top += tasa * segundos;
+        }
+        return Math.min(1.0, top / total);
+    }
+
+    private SketchFrecuencias nuevoSketch() {
+        // Ranuras de sobra para que una cuenta que sube no tenga que desplazar a otra del top para entrar
+        return new SketchFrecuencias(ancho, k * 8);
+    }
+
+    private static final class Serie {
+        private volatile SketchFrecuencias actual;
+        private volatile SketchFrecuencias anterior;
+
+        private void rotar(SketchFrecuencias nuevo) {
+            anterior = actual;
+            actual = nuevo;
+        }
+
+        private long estimar(String cuenta) {
+            SketchFrecuencias previa = anterior;
+            return actual.estimar(cuenta) + (previa != null ? previa.estimar(cuenta) : 0);
+        }
+
+        private long total() {
+            SketchFrecuencias previa = anterior;
+            return actual.total() + (previa != null ? previa.total() : 0);
+        }
+
+        private List<String> candidatos() {
+            Set<String> cuentas = new LinkedHashSet<>(actual.candidatos());
+            SketchFrecuencias previa = anterior;
+            if (previa != null) {
+                cuentas.addAll(previa.candidatos());
+            }
+            return new ArrayList<>(cuentas);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.banco.banquito.general.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadisticasCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.repository.EstadisticasCuentaRepository;
+
+@Service
+public class EstadisticasCuentaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasCuentaService.class);
+
+    private static final String COLECCION_ESTADISTICAS = "estadisticas_cuenta";
+
+    private final EstadisticasCuentaRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final AsyncTaskExecutor ejecutor;
+
+    public EstadisticasCuentaService(EstadisticasCuentaRepository repository, MongoTemplate mongoTemplate,
+                                     @Qualifier("applicationTaskExecutor") AsyncTaskExecutor ejecutor) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.ejecutor = ejecutor;
+    }
+
+    public EstadisticasCuenta obtenerEstadisticas(String numeroCuenta) {
+        logger.debug("Consultando estadísticas acumuladas de cuenta: {}", numeroCuenta);
+        return repository.findByNumeroCuenta(numeroCuenta)
+                .orElseGet(() -> estadisticasVacias(numeroCuenta));
+    }
+
+    public void registrarMovimiento(MovimientoCuenta movimiento) {
+        Query query = new Query(Criteria.where("numeroCuenta").is(movimiento.getNumeroCuenta()));
+        Update update = acumular(List.of(movimiento));
+        try {
+            mongoTemplate.upsert(query, update, EstadisticasCuenta.class);
+        } catch (DuplicateKeyException e) {
+            // Dos primeros movimientos concurrentes de la misma cuenta: el segundo upsert ya encuentra el documento
+            mongoTemplate.upsert(query, update, EstadisticasCuenta.class);
+        }
+    }
+
+    public void registrarMovimientos(List<MovimientoCuenta> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<MovimientoCuenta>> movimientosPorCuenta = new LinkedHashMap<>();
+        for (MovimientoCuenta movimiento : movimientos) {
+            movimientosPorCuenta.computeIfAbsent(movimiento.getNumeroCuenta(), k -> new ArrayList<>()).add(movimiento);
+        }
+
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EstadisticasCuenta.class);
+        for (Map.Entry<String, List<MovimientoCuenta>> grupo : movimientosPorCuenta.entrySet()) {
+            operaciones.upsert(new Query(Criteria.where("numeroCuenta").is(grupo.getKey())), acumular(grupo.getValue()));
+        }
+        operaciones.execute();
+    }
+
+    public void reconstruir() {
+        logger.info("Reconstruyendo estadísticas de todas las cuentas desde movimientos_cuenta");
+        long inicio = System.currentTimeMillis();
+
+        MergeOperation merge = Aggregation.merge()
+                .intoCollection(COLECCION_ESTADISTICAS)
+                .on("numeroCuenta")
+                .whenDocumentsMatch(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                agrupacion(),
+                Aggregation.project(camposEstadisticas()).and("numeroCuenta").previousOperation(),
+                merge);
+        mongoTemplate.aggregate(aggregation, MovimientoCuenta.class, EstadisticasCuenta.class);
+
+        logger.info("Estadísticas reconstruidas en {} ms", System.currentTimeMillis() - inicio);
+    }
+
+    public List<String> verificar(String numeroCuenta) {
+        logger.info("Verificando estadísticas acumuladas de cuenta: {}", numeroCuenta);
+
+        List<AggregationOperation> operaciones = List.of(
+                Aggregation.match(Criteria.where("numeroCuenta").is(numeroCuenta)),
+                agrupacion(),
+                Aggregation.project(camposEstadisticas()).and("numeroCuenta").previousOperation());
+
+        // La agregación y la lectura del acumulado son independientes: se lanzan en paralelo
+        CompletableFuture<EstadisticasCuenta> calculo = ejecutor.submitCompletable(() -> mongoTemplate
+                .aggregate(Aggregation.newAggregation(operaciones), MovimientoCuenta.class, EstadisticasCuenta.class)
+                .getUniqueMappedResult());
+        EstadisticasCuenta almacenadas = obtenerEstadisticas(numeroCuenta);
+        EstadisticasCuenta calculadas = calculo.join();
+
+        if (calculadas == null) {
+            calculadas = estadisticasVacias(numeroCuenta);
+        }
+
+        List<String> diferencias = new ArrayList<>();
+        comparar(diferencias, "totalMovimientos", almacenadas.getTotalMovimientos(), calculadas.getTotalMovimientos());
+        comparar(diferencias, "totalDebitos", almacenadas.getTotalDebitos(), calculadas.getTotalDebitos());
+        comparar(diferencias, "totalCreditos", almacenadas.getTotalCreditos(), calculadas.getTotalCreditos());
+        compararMonto(diferencias, "sumaDebitos", almacenadas.getSumaDebitos(), calculadas.getSumaDebitos());
+        compararMonto(diferencias, "sumaCreditos", almacenadas.getSumaCreditos(), calculadas.getSumaCreditos());
+        compararMonto(diferencias, "montoMinimo", almacenadas.getMontoMinimo(), calculadas.getMontoMinimo());
+        compararMonto(diferencias, "montoMaximo", almacenadas.getMontoMaximo(), calculadas.getMontoMaximo());
+        comparar(diferencias, "fechaPrimerMovimiento", almacenadas.getFechaPrimerMovimiento(), calculadas.getFechaPrimerMovimiento());
+        comparar(diferencias, "fechaUltimoMovimiento", almacenadas.getFechaUltimoMovimiento(), calculadas.getFechaUltimoMovimiento());
+
+        if (!diferencias.isEmpty()) {
+            logger.info("Estadísticas inconsistentes para cuenta: {} - diferencias: {}", numeroCuenta, diferencias);
+        }
+        return diferencias;
+    }
+
+    static Update acumular(List<MovimientoCuenta> movimientos) {
+        long debitos = 0;
+        long creditos = 0;
+        long sumaDebitos = 0;
+        long sumaCreditos = 0;
+        long montoMinimo = Long.MAX_VALUE;
+        long montoMaximo = Long.MIN_VALUE;
+        LocalDateTime fechaPrimero = null;
+        LocalDateTime fechaUltimo = null;
+
+        for (MovimientoCuenta movimiento : movimientos) {
+            long monto = movimiento.getMonto().getCentavos();
+            if (movimiento.getTipoMovimiento().esDebito()) {
+                debitos++;
+                sumaDebitos = Math.addExact(sumaDebitos, monto);
+            } else {
+                creditos++;
+                sumaCreditos = Math.addExact(sumaCreditos, monto);
+            }
+            montoMinimo = Math.min(montoMinimo, monto);
+            montoMaximo = Math.max(montoMaximo, monto);
+
+            LocalDateTime fecha = movimiento.getFechaMovimiento();
+            fechaPrimero = fechaPrimero == null || fecha.isBefore(fechaPrimero) ? fecha : fechaPrimero;
+            fechaUltimo = fechaUltimo == null || fecha.isAfter(fechaUltimo) ? fecha : fechaUltimo;
+        }
+
+        return new Update()
+                .inc("totalMovimientos", (long) movimientos.size())
+                .inc("totalDebitos", debitos)
+                .inc("totalCreditos", creditos)
+                .inc("sumaDebitos", sumaDebitos)
+                .inc("sumaCreditos", sumaCreditos)
+                .min("montoMinimo", montoMinimo)
+                .max("montoMaximo", montoMaximo)
+                .min("fechaPrimerMovimiento", fechaPrimero)
+                .max("fechaUltimoMovimiento", fechaUltimo);
+    }
+
+    // Los operadores de agregación no pasan por los conversores de escritura: se compara con el código persistido
+    private GroupOperation agrupacion() {
+        Criteria esDebito = Criteria.where("tipoMovimiento").is(TipoMovimiento.DEBITO.getCodigo());
+        return Aggregation.group("numeroCuenta")
+                .count().as("totalMovimientos")
+                .sum(ConditionalOperators.when(esDebito).then(1L).otherwise(0L)).as("totalDebitos")
+                .sum(ConditionalOperators.when(esDebito).then(0L).otherwise(1L)).as("totalCreditos")
+                .sum(ConditionalOperators.when(esDebito).thenValueOf("monto").otherwise(0L)).as("sumaDebitos")
+                .sum(ConditionalOperators.when(esDebito).then(0L).otherwiseValueOf("monto")).as("sumaCreditos")
+                .min("monto").as("montoMinimo")
+                .max("monto").as("montoMaximo")
+                .min("fechaMovimiento").as("fechaPrimerMovimiento")
+                .max("fechaMovimiento").as("fechaUltimoMovimiento");
+    }
+
+    private String[] camposEstadisticas() {
+        return new String[] {"totalMovimientos", "totalDebitos", "totalCreditos", "sumaDebitos", "sumaCreditos",
+                "montoMinimo", "montoMaximo", "fechaPrimerMovimiento", "fechaUltimoMovimiento"};
+    }
+
+    private EstadisticasCuenta estadisticasVacias(String numeroCuenta) {
+        EstadisticasCuenta estadisticas = new EstadisticasCuenta();
+        estadisticas.setNumeroCuenta(numeroCuenta);
+        estadisticas.setTotalMovimientos(0L);
+        estadisticas.setTotalDebitos(0L);
+        estadisticas.setTotalCreditos(0L);
+        estadisticas.setSumaDebitos(Dinero.CERO);
+        estadisticas.setSumaCreditos(Dinero.CERO);
+        return estadisticas;
+    }
+
+    private void comparar(List<String> diferencias, String campo, Object almacenado, Object calculado) {
+        if (!Objects.equals(almacenado, calculado)) {
+            diferencias.add(campo + ": almacenado=" + almacenado + ", calculado=" + calculado);
+        }
+    }
+
+    private void compararMonto(List<String> diferencias, String campo, Dinero almacenado, Dinero calculado) {
+        Dinero valorAlmacenado = almacenado == null ? Dinero.CERO : almacenado;
+        Dinero valorCalculado = calculado == null ? Dinero.CERO : calculado;
+        if (!valorAlmacenado.equals(valorCalculado)) {
+            diferencias.add(campo + ": almacenado=" + almacenado + ", calculado=" + calculado);
+        }
+    }
+}
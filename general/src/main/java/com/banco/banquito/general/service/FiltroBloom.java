@@ -0,0 +1,138 @@
+package com.banco.banquito.general.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalable: cuando una capa alcanza su capacidad se agrega otra del doble de tamaño y con
+ * la mitad de probabilidad de falso positivo, de modo que la probabilidad total queda acotada. Seguro para
+ * inserciones y consultas concurrentes; nunca da falsos negativos.
+ */
+class FiltroBloom {
+
+    private static final double RAZON_AJUSTE = 0.5;
+
+    private final List<Capa> capas = new CopyOnWriteArrayList<>();
+    private final AtomicLong elementos = new AtomicLong();
+
+    FiltroBloom(long capacidadInicial, double probabilidadFalsoPositivo) {
+        capas.add(new Capa(capacidadInicial, probabilidadFalsoPositivo));
+    }
+
+    void agregar(String valor) {
+        long h1 = mezclar(hash(valor));
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L);
+
+        Capa actual = capas.get(capas.size() - 1);
+        if (actual.contiene(h1, h2)) {
+            return;
+        }
+        if (actual.elementos.get() >= actual.capacidad) {
+            synchronized (capas) {
+                actual = capas.get(capas.size() - 1);
+                if (actual.elementos.get() >= actual.capacidad) {
+                    actual = new Capa(actual.capacidad * 2, actual.probabilidad * RAZON_AJUSTE);
+                    capas.add(actual);
+                }
+            }
+        }
+        actual.agregar(h1, h2);
+        elementos.incrementAndGet();
+    }
+
+    boolean puedeContener(String valor) {
+        long h1 = mezclar(hash(valor));
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L);
+        for (Capa capa : capas) {
+            if (capa.contiene(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long elementos() {
+        return elementos.get();
+    }
+
+    long bytes() {
+        long bytes = 0;
+        for (Capa capa : capas) {
+            bytes += (long) capa.bits.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    double probabilidadFalsoPositivo() {
+        // 1 - Π(1 - p_i), con p_i estimada por la ocupación real de cada capa
+        double ningunaCapa = 1.0;
+        for (Capa capa : capas) {
+            double ocupacion = 1 - Math.exp(-(double) capa.funciones * capa.elementos.get() / capa.numeroBits);
+            ningunaCapa *= 1 - Math.pow(ocupacion, capa.funciones);
+        }
+        return 1 - ningunaCapa;
+    }
+
+    private static long hash(String valor) {
+        // FNV-1a de 64 bits sobre los caracteres
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mezclar(long hash) {
+        // Finalizador de MurmurHash3 para repartir los bits antes del doble hashing
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Capa {
+        private final long capacidad;
+        private final double probabilidad;
+        private final long numeroBits;
+        private final int funciones;
+        private final AtomicLongArray bits;
+        private final AtomicLong elementos = new AtomicLong();
+
+        private Capa(long capacidad, double probabilidad) {
+            this.capacidad = capacidad;
+            this.probabilidad = probabilidad;
+            long bitsOptimos = (long) Math.ceil(-capacidad * Math.log(probabilidad) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.max(1, (bitsOptimos + 63) / 64));
+            this.numeroBits = (long) bits.length() * 64;
+            this.funciones = Math.max(1, (int) Math.round((double) numeroBits / capacidad * Math.log(2)));
+        }
+
+        private void agregar(long h1, long h2) {
+            for (int i = 0; i < funciones; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                int palabra = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long actual;
+                do {
+                    actual = bits.get(palabra);
+                } while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara));
+            }
+            elementos.incrementAndGet();
+        }
+
+        private boolean contiene(long h1, long h2) {
+            for (int i = 0; i < funciones; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.banco.banquito.general.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pre-filtro por réplica de los números de comprobante registrados. Solo sirve para saltarse la consulta
+ * existsBy: un "quizá" se confirma con la consulta y un "no" la omite. Los comprobantes insertados por otras
+ * réplicas no llegan a este filtro, así que con varias réplicas un "no" puede ser falso; el índice único de
+ * numeroComprobante rechaza entonces el insert y el saldo se compensa, pero entre tanto el saldo refleja el
+ * duplicado. Por eso viene deshabilitado y solo conviene en despliegues de una réplica.
+ */
+@Component
+public class FiltroComprobantes {
+
+    private static final Logger logger = LoggerFactory.getLogger(FiltroComprobantes.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean habilitado;
+    private final long capacidadInicial;
+    private final double probabilidadFalsoPositivo;
+    private final int tamanoLote;
+
+    private volatile FiltroBloom filtro;
+    private volatile boolean listo;
+
+    private final Timer reconstruccion;
+    private final Counter negativos;
+    private final Counter positivos;
+    private final Counter falsosPositivos;
+
+    public FiltroComprobantes(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                              @Value("${banquito.comprobantes.filtro.habilitado:false}") boolean habilitado,
+                              @Value("${banquito.comprobantes.filtro.capacidad-inicial:1000000}") long capacidadInicial,
+                              @Value("${banquito.comprobantes.filtro.probabilidad-falso-positivo:0.01}") double probabilidadFalsoPositivo,
+                              @Value("${banquito.exportacion.tamano-lote:1000}") int tamanoLote) {
+        this.mongoTemplate = mongoTemplate;
+        this.habilitado = habilitado;
+        this.capacidadInicial = capacidadInicial;
+        this.probabilidadFalsoPositivo = probabilidadFalsoPositivo;
+        this.tamanoLote = tamanoLote;
+        this.filtro = new FiltroBloom(capacidadInicial, probabilidadFalsoPositivo);
+
+        this.reconstruccion = Timer.builder("banquito.comprobantes.filtro.reconstruccion")
+                .description("Tiempo de carga del filtro de comprobantes desde movimientos_cuenta")
+                .register(meterRegistry);
+        this.negativos = Counter.builder("banquito.comprobantes.filtro.consultas")
+                .description("Consultas al filtro de comprobantes")
+                .tag("resultado", "negativo")
+                .register(meterRegistry);
+        this.positivos = Counter.builder("banquito.comprobantes.filtro.consultas")
+                .description("Consultas al filtro de comprobantes")
+                .tag("resultado", "posible")
+                .register(meterRegistry);
+        this.falsosPositivos = Counter.builder("banquito.comprobantes.filtro.consultas")
+                .description("Consultas al filtro de comprobantes")
+                .tag("resultado", "falso_positivo")
+                .register(meterRegistry);
+        Gauge.builder("banquito.comprobantes.filtro.bytes", this, f -> f.filtro.bytes())
+                .description("Memoria ocupada por el filtro de comprobantes")
+                .register(meterRegistry);
+        Gauge.builder("banquito.comprobantes.filtro.elementos", this, f -> f.filtro.elementos())
+                .description("Comprobantes cargados en el filtro")
+                .register(meterRegistry);
+        Gauge.builder("banquito.comprobantes.filtro.probabilidad.falso.positivo", this, f -> f.filtro.probabilidadFalsoPositivo())
+                .description("Probabilidad estimada de falso positivo según la ocupación del filtro")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitado) {
+            // La carga recorre toda la colección; mientras tanto todas las consultas caen a Mongo
+            Thread.ofPlatform().name("filtro-comprobantes").daemon().start(this::reconstruir);
+        }
+    }
+
+    public void reconstruir() {
+        logger.info("Reconstruyendo filtro de comprobantes desde movimientos_cuenta");
+        long inicio = System.nanoTime();
+
+        // El filtro nuevo se publica antes de recorrer la colección para que reciba lo que se registre durante la carga
+        FiltroBloom nuevo = new FiltroBloom(capacidadInicial, probabilidadFalsoPositivo);
+        listo = false;
+        filtro = nuevo;
+
+        Query query = new Query().cursorBatchSize(tamanoLote);
+        query.fields().include("numeroComprobante").exclude("_id");
+        try (Stream<Document> comprobantes = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(MovimientoCuenta.class))) {
+            comprobantes.forEach(documento -> nuevo.agregar(documento.getString("numeroComprobante")));
+            listo = true;
+        } catch (RuntimeException e) {
+            // Sin carga completa el filtro no se consulta: todo sigue yendo a Mongo
+            logger.error("No se pudo cargar el filtro de comprobantes: {}", e.getMessage());
+            return;
+        }
+
+        long duracion = System.nanoTime() - inicio;
+        reconstruccion.record(duracion, TimeUnit.NANOSECONDS);
+        logger.info("Filtro de comprobantes cargado con {} elementos ({} bytes) en {} ms",
+                nuevo.elementos(), nuevo.bytes(), TimeUnit.NANOSECONDS.toMillis(duracion));
+    }
+
+    public boolean puedeExistir(String numeroComprobante) {
+        if (!habilitado || !listo) {
+            return true;
+        }
+        if (filtro.puedeContener(numeroComprobante)) {
+            positivos.increment();
+            return true;
+        }
+        negativos.increment();
+        return false;
+    }
+
+    public void registrar(String numeroComprobante) {
+        if (habilitado) {
+            filtro.agregar(numeroComprobante);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+    }
+}
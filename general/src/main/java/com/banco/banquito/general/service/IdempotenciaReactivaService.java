@@ -0,0 +1,126 @@
+package com.banco.banquito.general.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
+import com.banco.banquito.general.exception.OperacionEnCursoException;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.ReservaIdempotencia;
+import com.banco.banquito.general.repository.MovimientoCuentaReactivaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante no bloqueante de {@link IdempotenciaService}: misma reserva en {@code reservas_idempotencia} antes de
+ * tocar el saldo, de modo que réplicas MVC y reactivas pueden atender reintentos de la misma clave.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class IdempotenciaReactivaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaReactivaService.class);
+
+    private final MovimientoCuentaReactivoService movimientoService;
+    private final MovimientoCuentaReactivaRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration bloqueo;
+    private final Cache<String, MovimientoCuenta> completadas;
+    private final Counter repeticionesMemoria;
+    private final Counter repeticionesMongo;
+
+    public IdempotenciaReactivaService(MovimientoCuentaReactivoService movimientoService, MovimientoCuentaReactivaRepository repository,
+                                       ReactiveMongoTemplate mongoTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                       @Value("${banquito.idempotencia.cache.tamano-maximo:100000}") long tamanoMaximo,
+                                       @Value("${banquito.idempotencia.cache.expiracion:10m}") Duration expiracion,
+                                       @Value("${banquito.idempotencia.bloqueo:30s}") Duration bloqueo) {
+        this.movimientoService = movimientoService;
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.bloqueo = bloqueo;
+        this.completadas = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(expiracion)
+                .build();
+        this.repeticionesMemoria = Counter.builder("banquito.idempotencia.repeticiones")
+                .description("Respuestas repetidas por clave de idempotencia")
+                .tag("origen", "memoria")
+                .register(meterRegistry);
+        this.repeticionesMongo = Counter.builder("banquito.idempotencia.repeticiones")
+                .description("Respuestas repetidas por clave de idempotencia")
+                .tag("origen", "mongo")
+                .register(meterRegistry);
+    }
+
+    public Mono<RespuestaIdempotente<MovimientoCuenta>> procesar(String clave, MovimientoCuentaDTO solicitud) {
+        return Mono.defer(() -> {
+            String huella = IdempotenciaService.huella(objectMapper, solicitud);
+            MovimientoCuenta completado = completadas.getIfPresent(clave);
+            if (completado != null) {
+                repeticionesMemoria.increment();
+                logger.info("Repitiendo respuesta desde memoria para clave de idempotencia: {}", clave);
+                return Mono.fromCallable(() -> IdempotenciaService.repetir(clave, huella, completado));
+            }
+
+            LocalDateTime hasta = IdempotenciaService.finArriendo(bloqueo);
+            return mongoTemplate.insert(IdempotenciaService.nuevaReserva(clave, huella, solicitud.getNumeroComprobante(), hasta))
+                    .map(reserva -> true)
+                    .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false))
+                    .flatMap(reservada -> reservada
+                            ? procesarReservada(clave, huella, solicitud, hasta)
+                            : reservaExistente(clave, huella, solicitud, hasta));
+        });
+    }
+
+    private Mono<RespuestaIdempotente<MovimientoCuenta>> reservaExistente(String clave, String huella, MovimientoCuentaDTO solicitud,
+                                                                         LocalDateTime hasta) {
+        return mongoTemplate.findById(clave, ReservaIdempotencia.class)
+                .switchIfEmpty(Mono.error(() -> new OperacionEnCursoException(clave)))
+                .flatMap(reserva -> {
+                    if (!huella.equals(reserva.getHuellaSolicitud())) {
+                        return Mono.error(new ClaveIdempotenciaReutilizadaException(clave));
+                    }
+                    Mono<RespuestaIdempotente<MovimientoCuenta>> retomar = mongoTemplate
+                            .findAndModify(IdempotenciaService.consultaReservaVencida(clave), new Update().set("hasta", hasta), ReservaIdempotencia.class)
+                            .switchIfEmpty(Mono.error(() -> new OperacionEnCursoException(clave)))
+                            .then(procesarReservada(clave, huella, solicitud, hasta));
+                    return repository.findByNumeroComprobante(reserva.getNumeroComprobante())
+                            .filter(movimiento -> clave.equals(movimiento.getClaveIdempotencia()))
+                            .map(existente -> {
+                                completadas.put(clave, existente);
+                                repeticionesMongo.increment();
+                                logger.info("Repitiendo respuesta almacenada para clave de idempotencia: {}", clave);
+                                return RespuestaIdempotente.repetida(existente);
+                            })
+                            .switchIfEmpty(retomar);
+                });
+    }
+
+    private Mono<RespuestaIdempotente<MovimientoCuenta>> procesarReservada(String clave, String huella, MovimientoCuentaDTO solicitud,
+                                                                         LocalDateTime hasta) {
+        // Un rechazo libera la clave y el reintento se vuelve a evaluar
+        return movimientoService.procesarMovimiento(solicitud, clave, huella)
+                .doOnNext(movimiento -> completadas.put(clave, movimiento))
+                .map(RespuestaIdempotente::nueva)
+                .onErrorResume(RuntimeException.class, e -> mongoTemplate
+                        .remove(IdempotenciaService.consultaReservaPropia(clave, hasta), ReservaIdempotencia.class)
+                        .then(Mono.error(e)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.banco.banquito.general.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
+import com.banco.banquito.general.exception.OperacionEnCursoException;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.ReservaIdempotencia;
+import com.banco.banquito.general.repository.MovimientoCuentaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Idempotencia de POST /v1/movimientos con cabecera Idempotency-Key. La clave se reserva en
+ * {@code reservas_idempotencia} antes de tocar el saldo, así que un reintento choca con la reserva y nunca aplica el
+ * monto dos veces. Las reservas vencen a las 24 h (índice TTL); pasado ese plazo un reintento con el mismo cuerpo
+ * lo rechaza el índice único del comprobante.
+ */
+@Service
+public class IdempotenciaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaService.class);
+
+    private final MovimientoCuentaService movimientoService;
+    private final MovimientoCuentaRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration bloqueo;
+    private final Cache<String, MovimientoCuenta> completadas;
+    private final Counter repeticionesMemoria;
+    private final Counter repeticionesMongo;
+
+    public IdempotenciaService(MovimientoCuentaService movimientoService, MovimientoCuentaRepository repository,
+                               MongoTemplate mongoTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${banquito.idempotencia.cache.tamano-maximo:100000}") long tamanoMaximo,
+                               @Value("${banquito.idempotencia.cache.expiracion:10m}") Duration expiracion,
+                               @Value("${banquito.idempotencia.bloqueo:30s}") Duration bloqueo) {
+        this.movimientoService = movimientoService;
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.bloqueo = bloqueo;
+        this.completadas = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(expiracion)
+                .build();
+        this.repeticionesMemoria = Counter.builder("banquito.idempotencia.repeticiones")
+                .description("Respuestas repetidas por clave de idempotencia")
+                .tag("origen", "memoria")
+                .register(meterRegistry);
+        this.repeticionesMongo = Counter.builder("banquito.idempotencia.repeticiones")
+                .description("Respuestas repetidas por clave de idempotencia")
+                .tag("origen", "mongo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Procesa el movimiento una sola vez por clave. Un reintento recibe el movimiento original, la misma clave con
+     * otro cuerpo se rechaza y una clave cuyo movimiento aún no termina responde operación en curso.
+     */
+    public RespuestaIdempotente<MovimientoCuenta> procesar(String clave, MovimientoCuentaDTO solicitud) {
+        String huella = huella(objectMapper, solicitud);
+        MovimientoCuenta completado = completadas.getIfPresent(clave);
+        if (completado != null) {
+            repeticionesMemoria.increment();
+            logger.info("Repitiendo respuesta desde memoria para clave de idempotencia: {}", clave);
+            return repetir(clave, huella, completado);
+        }
+
+        LocalDateTime hasta = finArriendo(bloqueo);
+        if (!reservar(clave, huella, solicitud.getNumeroComprobante(), hasta)) {
+            ReservaIdempotencia reserva = mongoTemplate.findById(clave, ReservaIdempotencia.class);
+            if (reserva == null) {
+                // Venció entre el insert y la lectura: el siguiente reintento la vuelve a tomar
+                throw new OperacionEnCursoException(clave);
+            }
+            if (!huella.equals(reserva.getHuellaSolicitud())) {
+                throw new ClaveIdempotenciaReutilizadaException(clave);
+            }
+            Optional<MovimientoCuenta> existente = repository.findByNumeroComprobante(reserva.getNumeroComprobante())
+                    .filter(movimiento -> clave.equals(movimiento.getClaveIdempotencia()));
+            if (existente.isPresent()) {
+                completadas.put(clave, existente.get());
+                repeticionesMongo.increment();
+                logger.info("Repitiendo respuesta almacenada para clave de idempotencia: {}", clave);
+                return RespuestaIdempotente.repetida(existente.get());
+            }
+            if (!tomarReservaVencida(clave, hasta)) {
+                throw new OperacionEnCursoException(clave);
+            }
+        }
+
+        MovimientoCuenta movimiento;
+        try {
+            movimiento = movimientoService.procesarMovimiento(solicitud, clave, huella);
+        } catch (RuntimeException e) {
+            // Un rechazo (p. ej. saldo insuficiente) libera la clave y el reintento se vuelve a evaluar
+            liberar(clave, hasta);
+            throw e;
+        }
+        completadas.put(clave, movimiento);
+        return RespuestaIdempotente.nueva(movimiento);
+    }
+
+    private boolean reservar(String clave, String huella, String numeroComprobante, LocalDateTime hasta) {
+        try {
+            mongoTemplate.insert(nuevaReserva(clave, huella, numeroComprobante, hasta));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean tomarReservaVencida(String clave, LocalDateTime hasta) {
+        // Una réplica que cayó a mitad del movimiento deja la reserva sin movimiento; pasado el arriendo otra la retoma
+        return mongoTemplate.findAndModify(consultaReservaVencida(clave), new Update().set("hasta", hasta),
+                ReservaIdempotencia.class) != null;
+    }
+
+    private void liberar(String clave, LocalDateTime hasta) {
+        mongoTemplate.remove(consultaReservaPropia(clave, hasta), ReservaIdempotencia.class);
+    }
+
+    static ReservaIdempotencia nuevaReserva(String clave, String huella, String numeroComprobante, LocalDateTime hasta) {
+        ReservaIdempotencia reserva = new ReservaIdempotencia(clave);
+        reserva.setHuellaSolicitud(huella);
+        reserva.setNumeroComprobante(numeroComprobante);
+        reserva.setHasta(hasta);
+        reserva.setFechaCreacion(LocalDateTime.now());
+        return reserva;
+    }
+
+    static LocalDateTime finArriendo(Duration bloqueo) {
+        // Mongo guarda milisegundos: truncado, el mismo valor sirve para reconocer la reserva propia al liberarla
+        return LocalDateTime.now().plus(bloqueo).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    static Query consultaReservaVencida(String clave) {
+        return new Query(Criteria.where("_id").is(clave).and("hasta").lt(LocalDateTime.now()));
+    }
+
+    static Query consultaReservaPropia(String clave, LocalDateTime hasta) {
+        // Solo se borra si nadie la retomó: la réplica que la retomó cambió "hasta"
+        return new Query(Criteria.where("_id").is(clave).and("hasta").is(hasta));
+    }
+
+    static RespuestaIdempotente<MovimientoCuenta> repetir(String clave, String huella, MovimientoCuenta existente) {
+        if (!huella.equals(existente.getHuellaSolicitud())) {
+            throw new ClaveIdempotenciaReutilizadaException(clave);
+        }
+        return RespuestaIdempotente.repetida(existente);
+    }
+
+    static String huella(ObjectMapper objectMapper, MovimientoCuentaDTO solicitud) {
+        try {
+            byte[] cuerpo = objectMapper.writeValueAsBytes(solicitud);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+    }
+}
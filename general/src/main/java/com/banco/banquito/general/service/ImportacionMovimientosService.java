@@ -0,0 +1,301 @@
+package com.banco.banquito.general.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ImportacionMovimientosService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionMovimientosService.class);
+
+    private final MovimientoCuentaService movimientoService;
+    private final ObjectReader lectorMovimientos;
+    private final CsvMapper csvMapper;
+    private final Validator validator;
+    private final int tamanoBloque;
+    private final int longitudMaximaLinea;
+
+    public ImportacionMovimientosService(MovimientoCuentaService movimientoService, ObjectMapper objectMapper,
+                                         Validator validator,
+                                         @Value("${banquito.importacion.tamano-bloque:500}") int tamanoBloque,
+                                         @Value("${banquito.importacion.longitud-maxima-linea:65536}") int longitudMaximaLinea) {
+        this.movimientoService = movimientoService;
+        this.lectorMovimientos = objectMapper.readerFor(MovimientoCuentaDTO.class);
+        // Mismas columnas que la exportación CSV, así un archivo exportado se puede volver a importar
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.validator = validator;
+        this.tamanoBloque = tamanoBloque;
+        this.longitudMaximaLinea = longitudMaximaLinea;
+    }
+
+    public String formatoDe(String contentType) {
+        return contentType != null && contentType.contains(CSV) ? CSV : NDJSON;
+    }
+
+    public int getLongitudMaximaLinea() {
+        return longitudMaximaLinea;
+    }
+
+    /**
+     * Lector de una importación concreta: en CSV recuerda la cabecera leída en la primera línea.
+     */
+    public LectorImportacion lector(String formato) {
+        return new LectorImportacion(CSV.equals(formato));
+    }
+
+    public long importar(InputStream entrada, String formato, Consumer<List<ResultadoMovimiento>> receptor) throws IOException {
+        logger.info("Iniciando importación de movimientos {} en bloques de {}", formato, tamanoBloque);
+
+        LectorImportacion lector = lector(formato);
+        LineasAcotadas lineas = new LineasAcotadas(new InputStreamReader(entrada, StandardCharsets.UTF_8), longitudMaximaLinea);
+        List<MovimientoCuentaDTO> bloque = new ArrayList<>(tamanoBloque);
+        List<Integer> lineasBloque = new ArrayList<>(tamanoBloque);
+        List<ResultadoMovimiento> rechazados = new ArrayList<>();
+
+        long totalLineas = 0;
+        long totalAceptados = 0;
+        int numeroLinea = 0;
+        String linea;
+
+        // Solo se mantiene en memoria el bloque en curso: el siguiente no se lee hasta entregar los resultados del actual
+        while ((linea = lineas.siguiente()) != null) {
+            numeroLinea++;
+            ResultadoMovimiento rechazo;
+            if (lineas.excedida()) {
+                rechazo = rechazoLineaExcedida(numeroLinea);
+            } else if (linea.isBlank() || lector.consumirCabecera(linea)) {
+                continue;
+            } else {
+                rechazo = lector.leer(numeroLinea, linea, bloque, lineasBloque);
+            }
+            totalLineas++;
+
+            if (rechazo != null) {
+                rechazados.add(rechazo);
+            }
+
+            if (bloque.size() + rechazados.size() >= tamanoBloque) {
+                totalAceptados += entregarBloque(bloque, lineasBloque, rechazados, receptor);
+                logger.info("Importación en curso - líneas leídas: {}, aceptadas: {}", totalLineas, totalAceptados);
+            }
+        }
+
+        totalAceptados += entregarBloque(bloque, lineasBloque, rechazados, receptor);
+        logger.info("Importación finalizada - líneas leídas: {}, aceptadas: {}, rechazadas: {}",
+                    totalLineas, totalAceptados, totalLineas - totalAceptados);
+
+        return totalLineas;
+    }
+
+    public List<ResultadoMovimiento> importarBloque(LectorImportacion lector, List<String> lineas, int primeraLinea) {
+        List<MovimientoCuentaDTO> bloque = new ArrayList<>(lineas.size());
+        List<Integer> lineasBloque = new ArrayList<>(lineas.size());
+        List<ResultadoMovimiento> rechazados = new ArrayList<>();
+
+        // Mismo tratamiento por línea que importar(); quien llama decide el tamaño del bloque
+        for (int i = 0; i < lineas.size(); i++) {
+            String linea = lineas.get(i);
+            ResultadoMovimiento rechazo;
+            if (linea.length() > longitudMaximaLinea) {
+                rechazo = rechazoLineaExcedida(primeraLinea + i);
+            } else if (linea.isBlank() || lector.consumirCabecera(linea)) {
+                continue;
+            } else {
+                rechazo = lector.leer(primeraLinea + i, linea, bloque, lineasBloque);
+            }
+            if (rechazo != null) {
+                rechazados.add(rechazo);
+            }
+        }
+
+        List<ResultadoMovimiento> resultados = new ArrayList<>(lineas.size());
+        entregarBloque(bloque, lineasBloque, rechazados, resultados::addAll);
+        return resultados;
+    }
+
+    public ResultadoMovimiento rechazoLineaExcedida(int numeroLinea) {
+        return ResultadoMovimiento.rechazado(numeroLinea, null, null, ResultadoMovimiento.RECHAZADO,
+                "Línea de más de " + longitudMaximaLinea + " caracteres");
+    }
+
+    private long entregarBloque(List<MovimientoCuentaDTO> bloque, List<Integer> lineasBloque,
+                                List<ResultadoMovimiento> rechazados, Consumer<List<ResultadoMovimiento>> receptor) {
+        if (bloque.isEmpty() && rechazados.isEmpty()) {
+            return 0;
+        }
+
+        List<ResultadoMovimiento> resultados = new ArrayList<>(bloque.size() + rechazados.size());
+        long aceptados = 0;
+
+        if (!bloque.isEmpty()) {
+            for (ResultadoMovimiento resultado : movimientoService.procesarLote(bloque)) {
+                resultados.add(resultado.conIndice(lineasBloque.get(resultado.getIndice())));
+                if (resultado.isAceptado()) {
+                    aceptados++;
+                }
+            }
+        }
+        resultados.addAll(rechazados);
+        resultados.sort(Comparator.comparingInt(ResultadoMovimiento::getIndice));
+
+        receptor.accept(resultados);
+
+        bloque.clear();
+        lineasBloque.clear();
+        rechazados.clear();
+        return aceptados;
+    }
+
+    /**
+     * Interpreta las líneas de una importación. En CSV la primera línea no vacía es la cabecera con los nombres
+     * de las propiedades de MovimientoCuentaDTO; cada registro ocupa una línea (no se admiten saltos de línea
+     * dentro de campos entrecomillados).
+     */
+    public final class LectorImportacion {
+
+        private final boolean csv;
+        private ObjectReader lectorCsv;
+
+        private LectorImportacion(boolean csv) {
+            this.csv = csv;
+        }
+
+        boolean consumirCabecera(String linea) {
+            if (!csv || lectorCsv != null) {
+                return false;
+            }
+            CsvSchema.Builder esquema = CsvSchema.builder();
+            try {
+                for (String columna : csvMapper.readerFor(String[].class).with(CsvParser.Feature.WRAP_AS_ARRAY)
+                        .<String[]>readValue(linea)) {
+                    esquema.addColumn(columna.trim());
+                }
+            } catch (JsonProcessingException e) {
+                // Sin cabecera válida ninguna línea se puede interpretar; se rechazan todas por formato
+                logger.warn("Cabecera CSV inválida en importación: {}", e.getOriginalMessage());
+            }
+            lectorCsv = csvMapper.readerFor(MovimientoCuentaDTO.class).with(esquema.build());
+            return true;
+        }
+
+        ResultadoMovimiento leer(int numeroLinea, String linea, List<MovimientoCuentaDTO> bloque, List<Integer> lineasBloque) {
+            MovimientoCuentaDTO movimientoDTO;
+            try {
+                movimientoDTO = (csv ? lectorCsv : lectorMovimientos).readValue(linea);
+            } catch (JsonProcessingException e) {
+                return ResultadoMovimiento.rechazado(numeroLinea, null, null, ResultadoMovimiento.RECHAZADO,
+                        "Línea con formato inválido: " + e.getOriginalMessage());
+            }
+
+            Set<ConstraintViolation<MovimientoCuentaDTO>> violaciones = validator.validate(movimientoDTO);
+            if (!violaciones.isEmpty()) {
+                String mensaje = violaciones.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return ResultadoMovimiento.rechazado(numeroLinea, movimientoDTO, ResultadoMovimiento.RECHAZADO, mensaje);
+            }
+
+            bloque.add(movimientoDTO);
+            lineasBloque.add(numeroLinea);
+            return null;
+        }
+    }
+
+    /**
+     * Lectura por líneas con longitud máxima: a diferencia de BufferedReader.readLine, una línea sin salto de
+     * línea de varios GB no se acumula en memoria; se descarta hasta el siguiente salto y se marca como excedida.
+     */
+    static final class LineasAcotadas {
+
+        private final Reader lector;
+        private final int longitudMaxima;
+        private final StringBuilder linea = new StringBuilder();
+        private final char[] buffer = new char[8192];
+        private int posicion;
+        private int disponibles;
+        private boolean excedida;
+
+        LineasAcotadas(Reader lector, int longitudMaxima) {
+            this.lector = lector;
+            this.longitudMaxima = longitudMaxima;
+        }
+
+        String siguiente() throws IOException {
+            linea.setLength(0);
+            excedida = false;
+            boolean leyoAlgo = false;
+            while (true) {
+                if (posicion == disponibles) {
+                    disponibles = lector.read(buffer);
+                    posicion = 0;
+                    if (disponibles <= 0) {
+                        disponibles = 0;
+                        return leyoAlgo ? terminar() : null;
+                    }
+                }
+                leyoAlgo = true;
+                char caracter = buffer[posicion++];
+                if (caracter == '\n') {
+                    return terminar();
+                }
+                if (excedida) {
+                    continue;
+                }
+                if (linea.length() == longitudMaxima) {
+                    // Se deja de acumular; solo se busca el fin de la línea
+                    excedida = true;
+                    linea.setLength(0);
+                    continue;
+                }
+                linea.append(caracter);
+            }
+        }
+
+        boolean excedida() {
+            return excedida;
+        }
+
+        private String terminar() {
+            int longitud = linea.length();
+            if (longitud > 0 && linea.charAt(longitud - 1) == '\r') {
+                linea.setLength(longitud - 1);
+            }
+            return linea.toString();
+        }
+    }
+}
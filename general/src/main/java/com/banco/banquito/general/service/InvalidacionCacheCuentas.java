@@ -0,0 +1,157 @@
+package com.banco.banquito.general.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.config.CacheConfig;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+@Component
+@ConditionalOnProperty(name = {"banquito.cache.enabled", "banquito.cache.invalidacion.change-stream"}, havingValue = "true")
+public class InvalidacionCacheCuentas implements MessageListener<ChangeStreamDocument<Document>, Document> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidacionCacheCuentas.class);
+
+    private static final String COLECCION_CUENTAS = "cuentas_bancarias";
+    // ChangeStreamHistoryLost y ChangeStreamFatalError: el token ya no sirve para reanudar
+    private static final int HISTORIA_PERDIDA = 286;
+    private static final int ERROR_FATAL = 280;
+
+    private final CacheManager cacheManager;
+    private final MessageListenerContainer container;
+    private final Timer retraso;
+    private final Counter invalidaciones;
+    private final Counter reinicios;
+    private volatile BsonValue ultimoToken;
+    private volatile Subscription suscripcion;
+
+    public InvalidacionCacheCuentas(CacheManager cacheManager, MessageListenerContainer container, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.container = container;
+        this.retraso = Timer.builder("banquito.cache.invalidacion.retraso")
+                .description("Tiempo entre la escritura en cuentas_bancarias y la invalidación local")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.invalidaciones = Counter.builder("banquito.cache.invalidaciones")
+                .description("Entradas de cuentas invalidadas por el change stream")
+                .register(meterRegistry);
+        this.reinicios = Counter.builder("banquito.cache.invalidacion.reinicios")
+                .description("Suscripciones al change stream de cuentas reiniciadas tras un error")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registrar() {
+        suscribir(null);
+        logger.info("Invalidación de cache de cuentas suscrita al change stream de {}", COLECCION_CUENTAS);
+    }
+
+    /**
+     * El contenedor no reintenta: ante un error del cursor (cambio de primario, red) la suscripción queda
+     * inactiva para siempre. Se vuelve a suscribir desde el último token recibido y se vacía la cache, porque
+     * los cambios entre el error y la nueva suscripción no se van a recibir si el token ya no es válido.
+     */
+    @Scheduled(fixedDelayString = "${banquito.cache.invalidacion.reintento-ms:5000}")
+    public void vigilar() {
+        Subscription actual = suscripcion;
+        if (actual == null || actual.isActive()) {
+            return;
+        }
+        container.remove(actual);
+        suscribir(ultimoToken);
+        // Después de suscribir: lo que cambie desde aquí llega por el stream, lo anterior ya no está en cache
+        limpiar(CacheConfig.CACHE_CUENTAS);
+        reinicios.increment();
+        logger.warn("Change stream de {} reiniciado {}", COLECCION_CUENTAS,
+                ultimoToken == null ? "desde el momento actual" : "desde el último token recibido");
+    }
+
+    private void suscribir(BsonValue token) {
+        // UPDATE_LOOKUP: los updates solo traen el _id y la cache está indexada por numeroCuenta
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Document> builder = ChangeStreamRequest.builder(this)
+                .collection(COLECCION_CUENTAS)
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        if (token != null) {
+            builder.resumeAfter(token);
+        }
+        suscripcion = container.register(builder.build(), Document.class, this::alFallar);
+    }
+
+    private void alFallar(Throwable error) {
+        logger.error("Change stream de {} detenido: {}", COLECCION_CUENTAS, error.getMessage());
+        if (error instanceof MongoException mongoException
+                && (mongoException.getCode() == HISTORIA_PERDIDA || mongoException.getCode() == ERROR_FATAL)) {
+            ultimoToken = null;
+        }
+    }
+
+    @Override
+    public void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> evento = message.getRaw();
+        Document cuenta = evento.getFullDocument();
+        if (evento.getResumeToken() != null) {
+            ultimoToken = evento.getResumeToken();
+        }
+        
+        if (cuenta == null || cuenta.getString("numeroCuenta") == null) {
+            // Borrados o documentos ya inexistentes al momento de la búsqueda: no se conoce la clave
+            limpiar(CacheConfig.CACHE_CUENTAS);
+        } else {
+            invalidar(CacheConfig.CACHE_CUENTAS, cuenta.getString("numeroCuenta"));
+        }
+        
+        invalidaciones.increment();
+        Instant fechaCambio = fechaCambio(evento);
+        if (fechaCambio != null) {
+            retraso.record(Duration.between(fechaCambio, Instant.now()));
+        }
+    }
+
+    private void invalidar(String nombreCache, String numeroCuenta) {
+        Cache cache = cacheManager.getCache(nombreCache);
+        if (cache != null) {
+            cache.evict(numeroCuenta);
+        }
+    }
+
+    private void limpiar(String nombreCache) {
+        Cache cache = cacheManager.getCache(nombreCache);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private Instant fechaCambio(ChangeStreamDocument<Document> evento) {
+        BsonDateTime wallTime = evento.getWallTime();
+        if (wallTime != null) {
+            return Instant.ofEpochMilli(wallTime.getValue());
+        }
+        if (evento.getClusterTime() != null) {
+            return Instant.ofEpochSecond(evento.getClusterTime().getTime());
+        }
+        return null;
+    }
+}
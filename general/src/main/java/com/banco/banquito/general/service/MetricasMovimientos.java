@@ -0,0 +1,126 @@
+package com.banco.banquito.general.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Métricas de dominio del registro y reverso de movimientos. Todas las etiquetas salen de conjuntos cerrados
+ * (operación, etapa, estado de {@link ResultadoMovimiento}, generador): nunca se etiqueta por cuenta ni por
+ * comprobante, así el número de series no crece con los datos.
+ */
+@Component
+public class MetricasMovimientos {
+
+    public static final String PROCESAR = "procesar";
+    public static final String REVERSAR = "reversar";
+    public static final String LOTE = "lote";
+    public static final String REVERSO_LOTE = "reverso_lote";
+
+    public static final String ETAPA_VALIDACION = "validacion";
+    public static final String ETAPA_BUSQUEDA = "busqueda";
+    public static final String ETAPA_MARCA = "marca";
+    public static final String ETAPA_SALDO = "saldo";
+    public static final String ETAPA_INSERCION = "insercion";
+    public static final String ETAPA_ESTADISTICAS = "estadisticas";
+
+    public static final String GENERADOR_COMPROBANTE = "comprobante";
+    public static final String GENERADOR_CUENTA = "cuenta";
+
+    private static final List<String> ETAPAS_PROCESAR = List.of(ETAPA_VALIDACION, ETAPA_SALDO, ETAPA_INSERCION, ETAPA_ESTADISTICAS);
+    private static final List<String> ETAPAS_REVERSAR = List.of(ETAPA_BUSQUEDA, ETAPA_MARCA, ETAPA_SALDO, ETAPA_INSERCION, ETAPA_ESTADISTICAS);
+    private static final List<String> ESTADOS = List.of(ResultadoMovimiento.ACEPTADO, ResultadoMovimiento.COMPROBANTE_DUPLICADO,
+            ResultadoMovimiento.SALDO_INSUFICIENTE, ResultadoMovimiento.CUENTA_INACTIVA, ResultadoMovimiento.OPERACION_NO_PERMITIDA,
+            ResultadoMovimiento.CUENTA_NO_ENCONTRADA, ResultadoMovimiento.MOVIMIENTO_NO_ENCONTRADO, ResultadoMovimiento.YA_REVERSADO,
+            ResultadoMovimiento.RECHAZADO);
+
+    private final Map<String, Timer> etapas = new HashMap<>();
+    private final Map<String, Counter> resultados = new HashMap<>();
+    private final Map<String, Counter> generados = new HashMap<>();
+    private final Map<String, Counter> reintentos = new HashMap<>();
+
+    public MetricasMovimientos(MeterRegistry meterRegistry) {
+        // Todas las series se registran al arrancar: los mapas quedan de solo lectura y el tablero las muestra en cero
+        registrarEtapas(meterRegistry, PROCESAR, ETAPAS_PROCESAR);
+        registrarEtapas(meterRegistry, REVERSAR, ETAPAS_REVERSAR);
+        for (String operacion : List.of(PROCESAR, REVERSAR, LOTE, REVERSO_LOTE)) {
+            for (String estado : ESTADOS) {
+                resultados.put(operacion + estado, Counter.builder("banquito.movimientos.resultado")
+                        .description("Movimientos procesados por operación y resultado")
+                        .tag("operacion", operacion)
+                        .tag("resultado", estado)
+                        .register(meterRegistry));
+            }
+        }
+        for (String generador : List.of(GENERADOR_COMPROBANTE, GENERADOR_CUENTA)) {
+            generados.put(generador, Counter.builder("banquito.generadores.numeros")
+                    .description("Números de comprobante o de cuenta generados")
+                    .tag("generador", generador)
+                    .register(meterRegistry));
+            reintentos.put(generador, Counter.builder("banquito.generadores.reintentos")
+                    .description("Números generados descartados por colisión con uno existente")
+                    .tag("generador", generador)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void registrarEtapas(MeterRegistry meterRegistry, String operacion, List<String> nombres) {
+        for (String etapa : nombres) {
+            etapas.put(operacion + etapa, Timer.builder("banquito.movimientos.etapa")
+                    .description("Duración de cada etapa del registro y del reverso de un movimiento")
+                    .tag("operacion", operacion)
+                    .tag("etapa", etapa)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T medir(String operacion, String etapa, Supplier<T> paso) {
+        return etapas.get(operacion + etapa).record(paso);
+    }
+
+    public void medir(String operacion, String etapa, Runnable paso) {
+        etapas.get(operacion + etapa).record(paso);
+    }
+
+    // Variante reactiva: la etapa dura desde la suscripción hasta su señal final, incluida la cancelación
+    public <T> Mono<T> medirReactivo(String operacion, String etapa, Mono<T> paso) {
+        Timer timer = etapas.get(operacion + etapa);
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            return paso.doFinally(senal -> timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public void registrarAceptado(String operacion) {
+        resultados.get(operacion + ResultadoMovimiento.ACEPTADO).increment();
+    }
+
+    public void registrarRechazo(String operacion, RuntimeException e) {
+        resultados.get(operacion + ResultadoMovimiento.estadoDe(e)).increment();
+    }
+
+    public void registrarResultados(String operacion, List<ResultadoMovimiento> resultadosLote) {
+        for (ResultadoMovimiento resultado : resultadosLote) {
+            Counter contador = resultados.get(operacion + resultado.getEstado());
+            (contador != null ? contador : resultados.get(operacion + ResultadoMovimiento.RECHAZADO)).increment();
+        }
+    }
+
+    public void registrarGenerado(String generador) {
+        generados.get(generador).increment();
+    }
+
+    public void registrarReintento(String generador) {
+        reintentos.get(generador).increment();
+    }
+}
@@ -0,0 +1,123 @@
+package com.banco.banquito.general.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.model.CodigoPersistente;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.MigracionAplicada;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.mongodb.client.MongoCollection;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reescribe estadoCuenta, tipoCuenta y tipoMovimiento del nombre completo ("ACTIVA", "DEBITO") a su código
+ * corto. La lectura acepta ambos formatos, pero las consultas filtran por código y no verían los documentos sin
+ * migrar, así que corre antes de que arranque el servidor web; si está deshabilitada y quedan nombres completos,
+ * el arranque falla. Trabaja por lotes de _id para no mantener un único updateMany de millones de movimientos;
+ * es idempotente y se puede interrumpir y relanzar. Verificada la base, queda registrada en migraciones_aplicadas.
+ * Las colecciones creadas con un init-mongo.js anterior necesitan actualizar el enum de su validador (collMod)
+ * antes de migrar.
+ */
+@Component
+public class MigracionCodigosEnumeraciones {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracionCodigosEnumeraciones.class);
+
+    static final String MIGRACION = "codigos-enumeraciones";
+
+    private static final Map<Class<?>, Map<String, CodigoPersistente[]>> CAMPOS = Map.of(
+            CuentaBancaria.class, Map.of("estadoCuenta", EstadoCuenta.values(), "tipoCuenta", TipoCuenta.values()),
+            MovimientoCuenta.class, Map.of("tipoMovimiento", TipoMovimiento.values()));
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean habilitada;
+    private final int tamanoLote;
+
+    public MigracionCodigosEnumeraciones(MongoTemplate mongoTemplate,
+                                         @Value("${banquito.migracion.codigos.habilitada:false}") boolean habilitada,
+                                         @Value("${banquito.migracion.codigos.tamano-lote:1000}") int tamanoLote) {
+        this.mongoTemplate = mongoTemplate;
+        this.habilitada = habilitada;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @PostConstruct
+    public void migrar() {
+        if (mongoTemplate.exists(new Query(Criteria.where("_id").is(MIGRACION)), MigracionAplicada.class)) {
+            return;
+        }
+
+        List<String> pendientes = new ArrayList<>();
+        CAMPOS.forEach((entidad, campos) -> {
+            String nombreColeccion = mongoTemplate.getCollectionName(entidad);
+            MongoCollection<Document> coleccion = mongoTemplate.getCollection(nombreColeccion);
+            campos.forEach((campo, valores) -> {
+                if (habilitada) {
+                    for (CodigoPersistente valor : valores) {
+                        String nombre = ((Enum<?>) valor).name();
+                        long migrados = migrarValor(coleccion, campo, nombre, valor.getCodigo());
+                        if (migrados > 0) {
+                            logger.info("Migrados {} documentos de {}.{} de {} a {}",
+                                        migrados, nombreColeccion, campo, nombre, valor.getCodigo());
+                        }
+                    }
+                }
+                if (coleccion.find(filtroNombres(campo, valores)).projection(new Document("_id", 1)).first() != null) {
+                    pendientes.add(nombreColeccion + "." + campo);
+                }
+            });
+        });
+
+        if (!pendientes.isEmpty()) {
+            throw new IllegalStateException("Quedan estados o tipos con el nombre completo en " + pendientes
+                    + "; arranque una réplica con banquito.migracion.codigos.habilitada=true");
+        }
+        MigracionAplicada aplicada = new MigracionAplicada(MIGRACION);
+        aplicada.setFechaAplicacion(LocalDateTime.now());
+        mongoTemplate.save(aplicada);
+        logger.info("Estados y tipos verificados en código corto; migración {} registrada", MIGRACION);
+    }
+
+    static Document filtroNombres(String campo, CodigoPersistente[] valores) {
+        List<String> nombres = new ArrayList<>(valores.length);
+        for (CodigoPersistente valor : valores) {
+            nombres.add(((Enum<?>) valor).name());
+        }
+        return new Document(campo, new Document("$in", nombres));
+    }
+
+    // Cada lote sale del filtro por nombre, así que el siguiente find ya no ve los documentos migrados
+    long migrarValor(MongoCollection<Document> coleccion, String campo, String nombre, String codigo) {
+        Document filtro = new Document(campo, nombre);
+        Document actualizacion = new Document("$set", new Document(campo, codigo));
+        long migrados = 0;
+        while (true) {
+            List<Object> ids = coleccion.find(filtro)
+                    .projection(new Document("_id", 1))
+                    .limit(tamanoLote)
+                    .map(documento -> documento.get("_id"))
+                    .into(new ArrayList<>(tamanoLote));
+            if (ids.isEmpty()) {
+                return migrados;
+            }
+            Document lote = new Document("_id", new Document("$in", ids)).append(campo, nombre);
+            migrados += coleccion.updateMany(lote, actualizacion).getModifiedCount();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.banco.banquito.general.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.EstadisticasCuenta;
+import com.banco.banquito.general.model.MigracionAplicada;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.SaldoDiario;
+import com.mongodb.client.MongoCollection;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Migra los montos guardados en unidades a Int64 (centavos): Decimal128, que es lo que escribía BigDecimal, y
+ * también double o string, que dejan los documentos insertados a mano o por otras herramientas. Corre antes de
+ * que arranque el servidor web porque los incrementos y comparaciones en centavos sobre un campo todavía en
+ * unidades darían saldos incorrectos: si la migración está deshabilitada y quedan montos en cualquiera de esos
+ * tipos, el arranque falla. Trabaja por
+ * lotes de _id como {@link MigracionCodigosEnumeraciones}; es idempotente y varias réplicas pueden correrla a la
+ * vez porque cada lote vuelve a filtrar por tipo. Una vez verificada la base queda registrada en
+ * migraciones_aplicadas y los arranques siguientes no la recorren. Las colecciones creadas con un init-mongo.js
+ * anterior necesitan actualizar su validador (collMod) a bsonType 'long' antes de migrar.
+ */
+@Component
+public class MigracionMontosDinero {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracionMontosDinero.class);
+
+    static final String MIGRACION = "montos-centavos";
+
+    static final List<String> TIPOS_EN_UNIDADES = List.of("decimal", "double", "string");
+
+    private static final Map<Class<?>, List<String>> CAMPOS = Map.of(
+            CuentaBancaria.class, List.of("saldoDisponible", "saldoContable", "limiteSobregiro"),
+            MovimientoCuenta.class, List.of("monto", "saldoAnterior", "saldoPosterior"),
+            SaldoDiario.class, List.of("saldoDisponible", "saldoContable"),
+            EstadisticasCuenta.class, List.of("sumaDebitos", "sumaCreditos", "montoMinimo", "montoMaximo"));
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean habilitada;
+    private final int tamanoLote;
+
+    public MigracionMontosDinero(MongoTemplate mongoTemplate,
+                                 @Value("${banquito.migracion.montos.habilitada:false}") boolean habilitada,
+                                 @Value("${banquito.migracion.montos.tamano-lote:1000}") int tamanoLote) {
+        this.mongoTemplate = mongoTemplate;
+        this.habilitada = habilitada;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @PostConstruct
+    public void migrar() {
+        if (mongoTemplate.exists(new Query(Criteria.where("_id").is(MIGRACION)), MigracionAplicada.class)) {
+            return;
+        }
+
+        List<String> pendientes = new ArrayList<>();
+        CAMPOS.forEach((entidad, campos) -> {
+            String nombreColeccion = mongoTemplate.getCollectionName(entidad);
+            MongoCollection<Document> coleccion = mongoTemplate.getCollection(nombreColeccion);
+            if (habilitada) {
+                for (String campo : campos) {
+                    long migrados = migrarCampo(coleccion, campo);
+                    if (migrados > 0) {
+                        logger.info("Migrados {} documentos de {}.{} a centavos", migrados, nombreColeccion, campo);
+                    }
+                }
+            }
+            if (coleccion.find(filtroPendientes(campos)).projection(new Document("_id", 1)).first() != null) {
+                pendientes.add(nombreColeccion);
+            }
+        });
+
+        if (!pendientes.isEmpty()) {
+            throw new IllegalStateException("Quedan montos en unidades " + TIPOS_EN_UNIDADES + " sin migrar a centavos en " + pendientes
+                    + "; arranque una réplica con banquito.migracion.montos.habilitada=true");
+        }
+        MigracionAplicada aplicada = new MigracionAplicada(MIGRACION);
+        aplicada.setFechaAplicacion(LocalDateTime.now());
+        mongoTemplate.save(aplicada);
+        logger.info("Montos verificados en centavos; migración {} registrada", MIGRACION);
+    }
+
+    // Cada lote sale del filtro por tipo, así que el siguiente find ya no ve los documentos migrados
+    long migrarCampo(MongoCollection<Document> coleccion, String campo) {
+        Document filtro = filtroEnUnidades(campo);
+        List<Document> actualizacion = List.of(aCentavos(campo));
+        long migrados = 0;
+        while (true) {
+            List<Object> ids = coleccion.find(filtro)
+                    .projection(new Document("_id", 1))
+                    .limit(tamanoLote)
+                    .map(documento -> documento.get("_id"))
+                    .into(new ArrayList<>(tamanoLote));
+            if (ids.isEmpty()) {
+                return migrados;
+            }
+            Document lote = new Document("_id", new Document("$in", ids)).append(campo, new Document("$type", TIPOS_EN_UNIDADES));
+            migrados += coleccion.updateMany(lote, actualizacion).getModifiedCount();
+        }
+    }
+
+    static Document filtroEnUnidades(String campo) {
+        return new Document(campo, new Document("$type", TIPOS_EN_UNIDADES));
+    }
+
+    static Document filtroPendientes(List<String> campos) {
+        List<Document> condiciones = new ArrayList<>(campos.size());
+        for (String campo : campos) {
+            condiciones.add(filtroEnUnidades(campo));
+        }
+        return new Document("$or", condiciones);
+    }
+
+    // $toDecimal lleva los tres tipos a Decimal128 (un string que no es número hace fallar el lote en vez de
+    // perder el monto); $round antes de $toLong: con más de dos decimales $toLong truncaría en vez de redondear
+    static Document aCentavos(String campo) {
+        Document unidades = new Document("$toDecimal", "$" + campo);
+        Document centavos = new Document("$toLong", new Document("$round",
+                List.of(new Document("$multiply", List.of(unidades, 100)), 0)));
+        return new Document("$set", new Document(campo, centavos));
+    }
+}
@@ -0,0 +1,254 @@
+package com.banco.banquito.general.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ComprobanteDuplicadoException;
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadisticasCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.repository.MovimientoCuentaReactivaRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MovimientoCuentaReactivoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoCuentaReactivoService.class);
+
+    private final MovimientoCuentaReactivaRepository repository;
+    private final CuentaBancariaReactivoService cuentaService;
+    private final FiltroComprobantes filtroComprobantes;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MetricasMovimientos metricas;
+    private final DetectorCuentasCalientes detector;
+    private final SecuenciadorCuentas secuenciador;
+    private final int tamanoLoteExportacion;
+
+    public MovimientoCuentaReactivoService(MovimientoCuentaReactivaRepository repository, CuentaBancariaReactivoService cuentaService,
+                                           FiltroComprobantes filtroComprobantes, ReactiveMongoTemplate mongoTemplate,
+                                           MetricasMovimientos metricas, DetectorCuentasCalientes detector,
+                                           SecuenciadorCuentas secuenciador,
+                                           @Value("${banquito.exportacion.tamano-lote:1000}") int tamanoLoteExportacion) {
+        this.repository = repository;
+        this.cuentaService = cuentaService;
+        this.filtroComprobantes = filtroComprobantes;
+        this.mongoTemplate = mongoTemplate;
+        this.metricas = metricas;
+        this.detector = detector;
+        this.secuenciador = secuenciador;
+        this.tamanoLoteExportacion = tamanoLoteExportacion;
+    }
+
+    public Flux<MovimientoCuenta> findAll() {
+        logger.debug("Consultando todos los movimientos de cuenta");
+        return repository.findAll();
+    }
+
+    public Flux<MovimientoCuenta> findAll(int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Consultando movimientos de cuenta con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
+                        page, size, sortBy, sortDirection);
+        }
+        return repository.findAllBy(paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Mono<MovimientoCuenta> findById(String id) {
+        logger.debug("Buscando movimiento de cuenta por ID: {}", id);
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException(id, "ID de movimiento")));
+    }
+
+    public Mono<MovimientoCuenta> findByNumeroComprobante(String numeroComprobante) {
+        logger.debug("Buscando movimiento por número de comprobante: {}", numeroComprobante);
+        return repository.findByNumeroComprobante(numeroComprobante)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException(numeroComprobante, "Número de comprobante")));
+    }
+
+    public Flux<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta) {
+        logger.debug("Buscando movimientos por número de cuenta: {}", numeroCuenta);
+        return repository.findByNumeroCuenta(numeroCuenta);
+    }
+
+    public Flux<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por número de cuenta con paginación - cuenta: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, page, size);
+        }
+        return repository.findByNumeroCuenta(numeroCuenta, paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Flux<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento) {
+        logger.debug("Buscando movimientos por tipo - cuenta: {}, tipo: {}", numeroCuenta, tipoMovimiento);
+        return repository.findByNumeroCuentaAndTipoMovimiento(numeroCuenta, tipoMovimiento);
+    }
+
+    public Flux<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por tipo con paginación - cuenta: {}, tipo: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, tipoMovimiento, page, size);
+        }
+        return repository.findByNumeroCuentaAndTipoMovimiento(numeroCuenta, tipoMovimiento, paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Flux<MovimientoCuenta> findByRangoFechas(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por rango de fechas - cuenta: {}, desde: {}, hasta: {}", 
+                        numeroCuenta, fechaInicio, fechaFin);
+        }
+        return repository.findByNumeroCuentaAndFechaMovimientoBetween(numeroCuenta, fechaInicio, fechaFin);
+    }
+
+    public Flux<MovimientoCuenta> findByRangoFechas(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin, 
+                                                    int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por rango de fechas con paginación - cuenta: {}, desde: {}, hasta: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, fechaInicio, fechaFin, page, size);
+        }
+        return repository.findByNumeroCuentaAndFechaMovimientoBetween(numeroCuenta, fechaInicio, fechaFin,
+                paginacion(page, size, sortBy, sortDirection));
+    }
+
+    public Flux<MovimientoCuenta> exportarTodos() {
+        logger.info("Exportando todos los movimientos de cuenta");
+        return mongoTemplate.find(new Query().cursorBatchSize(tamanoLoteExportacion), MovimientoCuenta.class);
+    }
+
+    public Flux<MovimientoCuenta> exportarPorCuenta(String numeroCuenta) {
+        logger.info("Exportando movimientos de cuenta: {}", numeroCuenta);
+        Query query = new Query(Criteria.where("numeroCuenta").is(numeroCuenta))
+                .with(Sort.by(Sort.Order.desc("fechaMovimiento"), Sort.Order.desc("_id")))
+                .cursorBatchSize(tamanoLoteExportacion);
+        return mongoTemplate.find(query, MovimientoCuenta.class);
+    }
+
+    public Mono<Slice<MovimientoCuenta>> findByNumeroCuentaConCursor(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                                    String cursor, int size) {
+        logger.debug("Buscando movimientos por cursor - cuenta: {}, tamaño: {}", numeroCuenta, size);
+        return Mono.fromCallable(() -> MovimientoCuentaService.consultaCursor(numeroCuenta, fechaInicio, fechaFin, cursor, size))
+                .flatMap(query -> mongoTemplate.find(query, MovimientoCuenta.class).collectList())
+                .map(movimientos -> MovimientoCuentaService.sliceCursor(movimientos, size));
+    }
+
+    public Mono<MovimientoCuenta> procesarMovimiento(MovimientoCuentaDTO movimientoDTO) {
+        return procesarMovimiento(movimientoDTO, null, null);
+    }
+
+    public Mono<MovimientoCuenta> procesarMovimiento(MovimientoCuentaDTO movimientoDTO, String claveIdempotencia, String huellaSolicitud) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Procesando movimiento - cuenta: {}, tipo: {}, monto: {}", 
+                        movimientoDTO.getNumeroCuenta(), movimientoDTO.getTipoMovimiento(), movimientoDTO.getMonto());
+        }
+        
+        // Una vez iniciado, el registro termina aunque el cliente se desconecte: cancelarlo entre el update
+        // del saldo y el insert del movimiento dejaría el saldo aplicado sin su movimiento
+        return Mono.defer(() -> {
+            detector.registrarMovimientos(movimientoDTO.getNumeroCuenta(), 1);
+            return Mono.fromFuture(secuenciador.ejecutarReactivo(movimientoDTO.getNumeroCuenta(),
+                            () -> registrarMovimiento(movimientoDTO, claveIdempotencia, huellaSolicitud))
+                    .doOnSuccess(movimiento -> metricas.registrarAceptado(MetricasMovimientos.PROCESAR))
+                    .doOnError(RuntimeException.class, e -> metricas.registrarRechazo(MetricasMovimientos.PROCESAR, e))
+                    .toFuture(), true);
+        });
+    }
+
+    private Mono<MovimientoCuenta> registrarMovimiento(MovimientoCuentaDTO movimientoDTO, String claveIdempotencia, String huellaSolicitud) {
+        String numeroComprobante = movimientoDTO.getNumeroComprobante();
+        boolean esDebito = TipoMovimiento.valueOf(movimientoDTO.getTipoMovimiento()).esDebito();
+        
+        // Mismas etapas medidas que la variante bloqueante
+        return metricas.medirReactivo(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_VALIDACION, existeNumeroComprobante(numeroComprobante))
+                .flatMap(existe -> existe
+                        ? Mono.<CuentaBancaria>error(new ComprobanteDuplicadoException(numeroComprobante))
+                        : metricas.medirReactivo(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_SALDO,
+                                cuentaService.actualizarSaldos(movimientoDTO.getNumeroCuenta(), movimientoDTO.getMonto(), esDebito))
+                                .onErrorResume(SaldoInsuficienteException.class, e -> confirmarRechazo(numeroComprobante, e)))
+                .flatMap(cuenta -> {
+                    // Mismo cálculo de saldoAnterior y misma construcción del movimiento que la variante bloqueante
+                    Dinero saldoAnterior = esDebito
+                            ? cuenta.getSaldoDisponible().sumar(movimientoDTO.getMonto())
+                            : cuenta.getSaldoDisponible().restar(movimientoDTO.getMonto());
+                    MovimientoCuenta movimiento = MovimientoCuentaService.crearMovimiento(movimientoDTO, saldoAnterior);
+                    movimiento.setClaveIdempotencia(claveIdempotencia);
+                    movimiento.setHuellaSolicitud(huellaSolicitud);
+                    return metricas.medirReactivo(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_INSERCION, repository.insert(movimiento));
+                })
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    // Otra petición con el mismo comprobante ganó la carrera después de la validación: se deshace el saldo
+                    detector.registrarConflicto(movimientoDTO.getNumeroCuenta());
+                    filtroComprobantes.registrar(numeroComprobante);
+                    return cuentaService.compensarSaldos(movimientoDTO.getNumeroCuenta(), movimientoDTO.getMonto(), esDebito)
+                            .then(Mono.<MovimientoCuenta>error(new ComprobanteDuplicadoException(numeroComprobante)));
+                })
+                .flatMap(movimiento -> {
+                    filtroComprobantes.registrar(movimiento.getNumeroComprobante());
+                    return metricas.medirReactivo(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_ESTADISTICAS, registrarEstadisticas(movimiento))
+                            .thenReturn(movimiento);
+                })
+                .doOnNext(movimiento -> logger.info("Movimiento procesado exitosamente - ID: {}, Comprobante: {}", 
+                        movimiento.getId(), movimiento.getNumeroComprobante()));
+    }
+
+    private Mono<Void> registrarEstadisticas(MovimientoCuenta movimiento) {
+        Query query = new Query(Criteria.where("numeroCuenta").is(movimiento.getNumeroCuenta()));
+        Update update = EstadisticasCuentaService.acumular(List.of(movimiento));
+        
+        // Dos primeros movimientos concurrentes de la misma cuenta: el segundo upsert ya encuentra el documento
+        return mongoTemplate.upsert(query, update, EstadisticasCuenta.class)
+                .onErrorResume(DuplicateKeyException.class, e -> mongoTemplate.upsert(query, update, EstadisticasCuenta.class))
+                .then();
+    }
+
+    private Mono<CuentaBancaria> confirmarRechazo(String numeroComprobante, SaldoInsuficienteException e) {
+        // Con el filtro, un comprobante de otra réplica no se consultó: el rechazo correcto es el duplicado
+        if (!filtroComprobantes.isHabilitado()) {
+            return Mono.error(e);
+        }
+        return repository.existsByNumeroComprobante(numeroComprobante)
+                .flatMap(existe -> Mono.<CuentaBancaria>error(existe ? new ComprobanteDuplicadoException(numeroComprobante) : e));
+    }
+
+    public Mono<Boolean> existeNumeroComprobante(String numeroComprobante) {
+        if (!filtroComprobantes.puedeExistir(numeroComprobante)) {
+            return Mono.just(false);
+        }
+        
+        return repository.existsByNumeroComprobante(numeroComprobante)
+                .doOnNext(existe -> {
+                    if (!existe) {
+                        filtroComprobantes.registrarFalsoPositivo();
+                    }
+                });
+    }
+
+    public Mono<MovimientoCuenta> obtenerUltimoMovimiento(String numeroCuenta) {
+        return repository.findTopByNumeroCuentaOrderByFechaMovimientoDesc(numeroCuenta)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException(numeroCuenta, "Movimientos para la cuenta")));
+    }
+
+    private static Pageable paginacion(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDirection), sortBy));
+    }
+}
@@ -1,47 +1,105 @@
 package com.banco.banquito.general.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ComprobanteDuplicadoException;
 import com.banco.banquito.general.exception.CuentaInactivaException;
 import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.MovimientoReversadoException;
+import com.banco.banquito.general.exception.OperacionNoPermitidaException;
 import com.banco.banquito.general.exception.SaldoInsuficienteException;
 import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
 import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
 import com.banco.banquito.general.repository.MovimientoCuentaRepository;
+import com.mongodb.bulk.BulkWriteError;
 
 @Service
 public class MovimientoCuentaService {
 
     private static final Logger logger = LoggerFactory.getLogger(MovimientoCuentaService.class);
 
+    private static final int MAX_INTENTOS_LOTE = 3;
+    private static final int MAX_REVERSOS_LOTE = 10000;
+    private static final int CODIGO_CLAVE_DUPLICADA = 11000;
+    private static final String SECUENCIA_COMPROBANTES = "comprobantes-";
+
     private final MovimientoCuentaRepository repository;
     private final CuentaBancariaService cuentaService;
+    private final SecuenciadorCuentas secuenciador;
+    private final EstadisticasCuentaService estadisticasService;
+    private final SecuenciaBloques secuenciaBloques;
+    private final FiltroComprobantes filtroComprobantes;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<TransactionTemplate> transacciones;
+    private final MetricasMovimientos metricas;
+    private final DetectorCuentasCalientes detector;
+    private final int tamanoLoteExportacion;
 
-    public MovimientoCuentaService(MovimientoCuentaRepository repository, CuentaBancariaService cuentaService) {
+    public MovimientoCuentaService(MovimientoCuentaRepository repository, CuentaBancariaService cuentaService,
+                                   SecuenciadorCuentas secuenciador, EstadisticasCuentaService estadisticasService,
+                                   SecuenciaBloques secuenciaBloques, FiltroComprobantes filtroComprobantes,
+                                   MongoTemplate mongoTemplate, ObjectProvider<TransactionTemplate> transacciones,
+                                   MetricasMovimientos metricas, DetectorCuentasCalientes detector,
+                                   @Value("${banquito.exportacion.tamano-lote:1000}") int tamanoLoteExportacion) {
         this.repository = repository;
         this.cuentaService = cuentaService;
+        this.secuenciador = secuenciador;
+        this.estadisticasService = estadisticasService;
+        this.secuenciaBloques = secuenciaBloques;
+        this.filtroComprobantes = filtroComprobantes;
+        this.mongoTemplate = mongoTemplate;
+        this.transacciones = transacciones;
+        this.metricas = metricas;
+        this.detector = detector;
+        this.tamanoLoteExportacion = tamanoLoteExportacion;
     }
 
     public List<MovimientoCuenta> findAll() {
-        logger.info("Consultando todos los movimientos de cuenta");
+        logger.debug("Consultando todos los movimientos de cuenta");
         return repository.findAll();
     }
 
     public Page<MovimientoCuenta> findAll(int page, int size, String sortBy, String sortDirection) {
-        logger.info("Consultando movimientos de cuenta con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
-                    page, size, sortBy, sortDirection);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Consultando movimientos de cuenta con paginación - página: {}, tamaño: {}, ordenar por: {}, dirección: {}", 
+                        page, size, sortBy, sortDirection);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -50,25 +108,27 @@ public class MovimientoCuentaService {
     }
 
     public MovimientoCuenta findById(String id) {
-        logger.info("Buscando movimiento de cuenta por ID: {}", id);
+        logger.debug("Buscando movimiento de cuenta por ID: {}", id);
         return repository.findById(id)
                 .orElseThrow(() -> new CuentaNotFoundException(id, "ID de movimiento"));
     }
 
     public MovimientoCuenta findByNumeroComprobante(String numeroComprobante) {
-        logger.info("Buscando movimiento por número de comprobante: {}", numeroComprobante);
+        logger.debug("Buscando movimiento por número de comprobante: {}", numeroComprobante);
         return repository.findByNumeroComprobante(numeroComprobante)
                 .orElseThrow(() -> new CuentaNotFoundException(numeroComprobante, "Número de comprobante"));
     }
 
     public List<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta) {
-        logger.info("Buscando movimientos por número de cuenta: {}", numeroCuenta);
+        logger.debug("Buscando movimientos por número de cuenta: {}", numeroCuenta);
         return repository.findByNumeroCuenta(numeroCuenta);
     }
 
     public Page<MovimientoCuenta> findByNumeroCuenta(String numeroCuenta, int page, int size, String sortBy, String sortDirection) {
-        logger.info("Buscando movimientos por número de cuenta con paginación - cuenta: {}, página: {}, tamaño: {}", 
-                    numeroCuenta, page, size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por número de cuenta con paginación - cuenta: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, page, size);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -76,14 +136,16 @@ public class MovimientoCuentaService {
         return repository.findByNumeroCuenta(numeroCuenta, pageable);
     }
 
-    public List<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, String tipoMovimiento) {
-        logger.info("Buscando movimientos por tipo - cuenta: {}, tipo: {}", numeroCuenta, tipoMovimiento);
+    public List<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento) {
+        logger.debug("Buscando movimientos por tipo - cuenta: {}, tipo: {}", numeroCuenta, tipoMovimiento);
         return repository.findByNumeroCuentaAndTipoMovimiento(numeroCuenta, tipoMovimiento);
     }
 
-    public Page<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, String tipoMovimiento, int page, int size, String sortBy, String sortDirection) {
-        logger.info("Buscando movimientos por tipo con paginación - cuenta: {}, tipo: {}, página: {}, tamaño: {}", 
-                    numeroCuenta, tipoMovimiento, page, size);
+    public Page<MovimientoCuenta> findByTipoMovimiento(String numeroCuenta, TipoMovimiento tipoMovimiento, int page, int size, String sortBy, String sortDirection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por tipo con paginación - cuenta: {}, tipo: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, tipoMovimiento, page, size);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -92,15 +154,19 @@ public class MovimientoCuentaService {
     }
 
     public List<MovimientoCuenta> findByRangoFechas(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        logger.info("Buscando movimientos por rango de fechas - cuenta: {}, desde: {}, hasta: {}", 
-                    numeroCuenta, fechaInicio, fechaFin);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por rango de fechas - cuenta: {}, desde: {}, hasta: {}", 
+                        numeroCuenta, fechaInicio, fechaFin);
+        }
         return repository.findByNumeroCuentaAndFechaMovimientoBetween(numeroCuenta, fechaInicio, fechaFin);
     }
 
     public Page<MovimientoCuenta> findByRangoFechas(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin, 
                                                     int page, int size, String sortBy, String sortDirection) {
-        logger.info("Buscando movimientos por rango de fechas con paginación - cuenta: {}, desde: {}, hasta: {}, página: {}, tamaño: {}", 
-                    numeroCuenta, fechaInicio, fechaFin, page, size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Buscando movimientos por rango de fechas con paginación - cuenta: {}, desde: {}, hasta: {}, página: {}, tamaño: {}", 
+                        numeroCuenta, fechaInicio, fechaFin, page, size);
+        }
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -108,34 +174,160 @@ public class MovimientoCuentaService {
         return repository.findByNumeroCuentaAndFechaMovimientoBetween(numeroCuenta, fechaInicio, fechaFin, pageable);
     }
 
+    public void exportarTodos(Consumer<MovimientoCuenta> consumidor) {
+        logger.info("Exportando todos los movimientos de cuenta");
+        exportar(new Query(), consumidor);
+    }
+
+    public void exportarPorCuenta(String numeroCuenta, Consumer<MovimientoCuenta> consumidor) {
+        logger.info("Exportando movimientos de cuenta: {}", numeroCuenta);
+        Query query = new Query(Criteria.where("numeroCuenta").is(numeroCuenta))
+                .with(Sort.by(Sort.Order.desc("fechaMovimiento"), Sort.Order.desc("_id")));
+        exportar(query, consumidor);
+    }
+
+    public void exportarPorTipo(String numeroCuenta, TipoMovimiento tipoMovimiento, Consumer<MovimientoCuenta> consumidor) {
+        logger.info("Exportando movimientos de cuenta: {} tipo: {}", numeroCuenta, tipoMovimiento);
+        exportar(new Query(Criteria.where("numeroCuenta").is(numeroCuenta).and("tipoMovimiento").is(tipoMovimiento)), consumidor);
+    }
+
+    public void exportarPorRangoFechas(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                       Consumer<MovimientoCuenta> consumidor) {
+        logger.info("Exportando movimientos de cuenta: {} entre {} y {}", numeroCuenta, fechaInicio, fechaFin);
+        exportar(new Query(Criteria.where("numeroCuenta").is(numeroCuenta)
+                .and("fechaMovimiento").gte(fechaInicio).lte(fechaFin)), consumidor);
+    }
+
+    private void exportar(Query query, Consumer<MovimientoCuenta> consumidor) {
+        // Cursor de Mongo leído por lotes: la memoria depende del tamaño del lote, no del total exportado
+        query.cursorBatchSize(tamanoLoteExportacion);
+        try (Stream<MovimientoCuenta> movimientos = mongoTemplate.stream(query, MovimientoCuenta.class)) {
+            movimientos.forEach(consumidor);
+        }
+    }
+
+    public Slice<MovimientoCuenta> findByNumeroCuentaConCursor(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                              String cursor, int size) {
+        logger.debug("Buscando movimientos por cursor - cuenta: {}, tamaño: {}", numeroCuenta, size);
+        
+        List<MovimientoCuenta> movimientos = mongoTemplate.find(
+                consultaCursor(numeroCuenta, fechaInicio, fechaFin, cursor, size), MovimientoCuenta.class);
+        return sliceCursor(movimientos, size);
+    }
+
+    static Query consultaCursor(String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin, String cursor, int size) {
+        Criteria criterio = Criteria.where("numeroCuenta").is(numeroCuenta);
+        if (fechaInicio != null && fechaFin != null) {
+            criterio.and("fechaMovimiento").gte(fechaInicio).lte(fechaFin);
+        }
+        
+        // Keyset sobre (fechaMovimiento, _id) descendente: se continúa justo después del último elemento entregado
+        if (cursor != null && !cursor.isBlank()) {
+            CursorMovimientos posicion = CursorMovimientos.decodificar(cursor);
+            criterio.orOperator(
+                    Criteria.where("fechaMovimiento").lt(posicion.getFechaMovimiento()),
+                    Criteria.where("fechaMovimiento").is(posicion.getFechaMovimiento()).and("_id").lt(posicion.getId()));
+        }
+        
+        // Se pide un elemento extra para saber si hay más sin ejecutar un count
+        return new Query(criterio)
+                .with(Sort.by(Sort.Order.desc("fechaMovimiento"), Sort.Order.desc("_id")))
+                .limit(size + 1);
+    }
+
+    static Slice<MovimientoCuenta> sliceCursor(List<MovimientoCuenta> movimientos, int size) {
+        boolean hayMas = movimientos.size() > size;
+        if (hayMas) {
+            movimientos = movimientos.subList(0, size);
+        }
+        
+        return new SliceImpl<>(movimientos, PageRequest.ofSize(size), hayMas);
+    }
+
     public MovimientoCuenta procesarMovimiento(MovimientoCuentaDTO movimientoDTO) {
-        logger.info("Procesando movimiento - cuenta: {}, tipo: {}, monto: {}", 
-                    movimientoDTO.getNumeroCuenta(), movimientoDTO.getTipoMovimiento(), movimientoDTO.getMonto());
+        return procesarMovimiento(movimientoDTO, null, null);
+    }
+
+    /**
+     * Procesa el movimiento guardando en él la clave de idempotencia y la huella de la solicitud. La clave ya viene
+     * reservada por {@link IdempotenciaService}, así que un reintento no llega hasta aquí.
+     */
+    public MovimientoCuenta procesarMovimiento(MovimientoCuentaDTO movimientoDTO, String claveIdempotencia, String huellaSolicitud) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Procesando movimiento - cuenta: {}, tipo: {}, monto: {}", 
+                        movimientoDTO.getNumeroCuenta(), movimientoDTO.getTipoMovimiento(), movimientoDTO.getMonto());
+        }
         
+        detector.registrarMovimientos(movimientoDTO.getNumeroCuenta(), 1);
+        try {
+            MovimientoCuenta movimiento = secuenciador.ejecutar(movimientoDTO.getNumeroCuenta(),
+                    () -> registrarMovimiento(movimientoDTO, claveIdempotencia, huellaSolicitud));
+            metricas.registrarAceptado(MetricasMovimientos.PROCESAR);
+            return movimiento;
+        } catch (RuntimeException e) {
+            metricas.registrarRechazo(MetricasMovimientos.PROCESAR, e);
+            throw e;
+        }
+    }
+
+    private MovimientoCuenta registrarMovimiento(MovimientoCuentaDTO movimientoDTO, String claveIdempotencia, String huellaSolicitud) {
         // Validar que el número de comprobante no exista
-        if (repository.existsByNumeroComprobante(movimientoDTO.getNumeroComprobante())) {
-            throw new RuntimeException("Ya existe un movimiento con el número de comprobante: " + movimientoDTO.getNumeroComprobante());
+        if (metricas.medir(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_VALIDACION,
+                () -> existeNumeroComprobante(movimientoDTO.getNumeroComprobante()))) {
+            throw new ComprobanteDuplicadoException(movimientoDTO.getNumeroComprobante());
         }
         
-        // Validar que la cuenta exista y esté activa
-        CuentaBancaria cuenta = cuentaService.findByNumeroCuenta(movimientoDTO.getNumeroCuenta());
-        if (!"ACTIVA".equals(cuenta.getEstadoCuenta())) {
-            throw new CuentaInactivaException(movimientoDTO.getNumeroCuenta(), cuenta.getEstadoCuenta());
+        // Aplicar el débito/crédito de forma atómica; la validación de estado y saldo va en el mismo update
+        boolean esDebito = TipoMovimiento.valueOf(movimientoDTO.getTipoMovimiento()).esDebito();
+        CuentaBancaria cuenta;
+        try {
+            cuenta = metricas.medir(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_SALDO,
+                    () -> cuentaService.actualizarSaldos(movimientoDTO.getNumeroCuenta(), movimientoDTO.getMonto(), esDebito));
+        } catch (SaldoInsuficienteException e) {
+            // Con el filtro, un comprobante de otra réplica no se consultó: el rechazo correcto es el duplicado
+            if (filtroComprobantes.isHabilitado() && repository.existsByNumeroComprobante(movimientoDTO.getNumeroComprobante())) {
+                throw new ComprobanteDuplicadoException(movimientoDTO.getNumeroComprobante());
+            }
+            throw e;
         }
         
-        // Validar disponibilidad de saldo para débitos
-        boolean esDebito = "DEBITO".equals(movimientoDTO.getTipoMovimiento());
-        if (esDebito && !cuenta.puedeRealizarDebito(movimientoDTO.getMonto())) {
-            throw new SaldoInsuficienteException(movimientoDTO.getNumeroCuenta(), cuenta.getSaldoDisponible(), movimientoDTO.getMonto());
+        // Crear el movimiento a partir del saldo resultante para que saldoAnterior/saldoPosterior sean exactos
+        Dinero saldoAnterior = esDebito
+                ? cuenta.getSaldoDisponible().sumar(movimientoDTO.getMonto())
+                : cuenta.getSaldoDisponible().restar(movimientoDTO.getMonto());
+        
+        MovimientoCuenta movimiento = crearMovimiento(movimientoDTO, saldoAnterior);
+        movimiento.setClaveIdempotencia(claveIdempotencia);
+        movimiento.setHuellaSolicitud(huellaSolicitud);
+        
+        // Guardar el movimiento y acumularlo en las estadísticas de la cuenta
+        MovimientoCuenta movimientoGuardado;
+        try {
+            movimientoGuardado = metricas.medir(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_INSERCION,
+                    () -> repository.save(movimiento));
+            filtroComprobantes.registrar(movimientoGuardado.getNumeroComprobante());
+        } catch (DuplicateKeyException e) {
+            // Otra petición con el mismo comprobante ganó la carrera después de la validación: se deshace el saldo
+            detector.registrarConflicto(movimientoDTO.getNumeroCuenta());
+            cuentaService.compensarSaldos(movimientoDTO.getNumeroCuenta(), movimientoDTO.getMonto(), esDebito);
+            filtroComprobantes.registrar(movimientoDTO.getNumeroComprobante());
+            throw new ComprobanteDuplicadoException(movimientoDTO.getNumeroComprobante());
         }
+        metricas.medir(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_ESTADISTICAS,
+                () -> estadisticasService.registrarMovimiento(movimientoGuardado));
+        logger.info("Movimiento procesado exitosamente - ID: {}, Comprobante: {}", 
+                    movimientoGuardado.getId(), movimientoGuardado.getNumeroComprobante());
         
-        // Crear el movimiento
+        return movimientoGuardado;
+    }
+
+    static MovimientoCuenta crearMovimiento(MovimientoCuentaDTO movimientoDTO, Dinero saldoAnterior) {
         MovimientoCuenta movimiento = new MovimientoCuenta(
             movimientoDTO.getNumeroCuenta(),
             movimientoDTO.getNumeroComprobante(),
-            movimientoDTO.getTipoMovimiento(),
+            TipoMovimiento.valueOf(movimientoDTO.getTipoMovimiento()),
             movimientoDTO.getMonto(),
-            cuenta.getSaldoDisponible(),
+            saldoAnterior,
             movimientoDTO.getConcepto()
         );
         
@@ -167,76 +359,590 @@ public class MovimientoCuentaService {
         // Procesar el movimiento
         movimiento.procesar();
         
-        // Actualizar los saldos de la cuenta
-        cuentaService.actualizarSaldos(movimientoDTO.getNumeroCuenta(), movimientoDTO.getMonto(), esDebito);
+        return movimiento;
+    }
+
+    public List<ResultadoMovimiento> procesarLote(List<MovimientoCuentaDTO> movimientosDTO) {
+        logger.info("Procesando lote de {} movimientos", movimientosDTO.size());
         
-        // Guardar el movimiento
-        MovimientoCuenta movimientoGuardado = repository.save(movimiento);
-        logger.info("Movimiento procesado exitosamente - ID: {}, Comprobante: {}", 
-                    movimientoGuardado.getId(), movimientoGuardado.getNumeroComprobante());
+        ResultadoMovimiento[] resultados = new ResultadoMovimiento[movimientosDTO.size()];
         
-        return movimientoGuardado;
+        // Una sola consulta $in, solo con los comprobantes que el filtro no descarta
+        Set<String> comprobantes = new HashSet<>();
+        for (MovimientoCuentaDTO movimientoDTO : movimientosDTO) {
+            if (filtroComprobantes.puedeExistir(movimientoDTO.getNumeroComprobante())) {
+                comprobantes.add(movimientoDTO.getNumeroComprobante());
+            }
+        }
+        Set<String> comprobantesExistentes = new HashSet<>();
+        if (!comprobantes.isEmpty()) {
+            for (MovimientoCuenta existente : repository.findByNumeroComprobanteIn(comprobantes)) {
+                comprobantesExistentes.add(existente.getNumeroComprobante());
+            }
+        }
+        
+        // Agrupar por cuenta conservando el orden de llegada; los repetidos dentro del lote también son duplicados
+        Map<String, List<Integer>> indicesPorCuenta = new LinkedHashMap<>();
+        Set<String> comprobantesLote = new HashSet<>();
+        for (int i = 0; i < movimientosDTO.size(); i++) {
+            MovimientoCuentaDTO movimientoDTO = movimientosDTO.get(i);
+            String numeroComprobante = movimientoDTO.getNumeroComprobante();
+            if (comprobantesExistentes.contains(numeroComprobante) || !comprobantesLote.add(numeroComprobante)) {
+                resultados[i] = ResultadoMovimiento.rechazado(i, movimientoDTO, ResultadoMovimiento.COMPROBANTE_DUPLICADO,
+                        new ComprobanteDuplicadoException(numeroComprobante).getMessage());
+                continue;
+            }
+            indicesPorCuenta.computeIfAbsent(movimientoDTO.getNumeroCuenta(), k -> new ArrayList<>()).add(i);
+        }
+        
+        Map<String, CuentaBancaria> cuentas = new HashMap<>();
+        for (CuentaBancaria cuenta : cuentaService.findByNumeroCuentaIn(indicesPorCuenta.keySet())) {
+            cuentas.put(cuenta.getNumeroCuenta(), cuenta);
+        }
+        
+        List<Integer> pendientes = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> grupo : indicesPorCuenta.entrySet()) {
+            String numeroCuenta = grupo.getKey();
+            detector.registrarMovimientos(numeroCuenta, grupo.getValue().size());
+            pendientes.addAll(secuenciador.ejecutar(numeroCuenta,
+                    () -> aplicarGrupo(numeroCuenta, cuentas.get(numeroCuenta), grupo.getValue(), movimientosDTO, resultados)));
+        }
+        
+        insertarLote(pendientes, resultados);
+        
+        List<ResultadoMovimiento> resultadosLote = Arrays.asList(resultados);
+        metricas.registrarResultados(MetricasMovimientos.LOTE, resultadosLote);
+        logger.info("Lote procesado - recibidos: {}, insertados: {}", movimientosDTO.size(), pendientes.size());
+        return resultadosLote;
+    }
+
+    private List<Integer> aplicarGrupo(String numeroCuenta, CuentaBancaria cuenta, List<Integer> indices,
+                                       List<MovimientoCuentaDTO> movimientosDTO, ResultadoMovimiento[] resultados) {
+        for (int intento = 0; intento < MAX_INTENTOS_LOTE; intento++) {
+            if (cuenta == null) {
+                String mensaje = new CuentaNotFoundException(numeroCuenta).getMessage();
+                for (Integer indice : indices) {
+                    resultados[indice] = ResultadoMovimiento.rechazado(indice, movimientosDTO.get(indice),
+                            ResultadoMovimiento.CUENTA_NO_ENCONTRADA, mensaje);
+                }
+                return List.of();
+            }
+            
+            // Se simula la secuencia sobre la copia leída y se neta el efecto en una única variación
+            Dinero saldoEsperado = cuenta.getSaldoDisponible();
+            Dinero variacion = Dinero.CERO;
+            List<Integer> aceptados = new ArrayList<>();
+            
+            for (Integer indice : indices) {
+                MovimientoCuentaDTO movimientoDTO = movimientosDTO.get(indice);
+                boolean esDebito = TipoMovimiento.valueOf(movimientoDTO.getTipoMovimiento()).esDebito();
+                
+                if (cuenta.getEstadoCuenta() != EstadoCuenta.ACTIVA) {
+                    resultados[indice] = ResultadoMovimiento.rechazado(indice, movimientoDTO, ResultadoMovimiento.CUENTA_INACTIVA,
+                            new CuentaInactivaException(numeroCuenta, cuenta.getEstadoCuenta()).getMessage());
+                    continue;
+                }
+                
+                if (!CuentaBancariaService.permiteOperacion(cuenta, esDebito)) {
+                    resultados[indice] = ResultadoMovimiento.rechazado(indice, movimientoDTO, ResultadoMovimiento.OPERACION_NO_PERMITIDA,
+                            new OperacionNoPermitidaException(numeroCuenta, esDebito).getMessage());
+                    continue;
+                }
+                
+                if (esDebito && !cuenta.puedeRealizarDebito(movimientoDTO.getMonto())) {
+                    resultados[indice] = ResultadoMovimiento.rechazado(indice, movimientoDTO, ResultadoMovimiento.SALDO_INSUFICIENTE,
+                            new SaldoInsuficienteException(numeroCuenta, cuenta.getSaldoDisponible(), movimientoDTO.getMonto()).getMessage());
+                    continue;
+                }
+                
+                Dinero saldoAnterior = cuenta.getSaldoDisponible();
+                cuenta.actualizarSaldos(movimientoDTO.getMonto(), esDebito);
+                variacion = esDebito ? variacion.restar(movimientoDTO.getMonto()) : variacion.sumar(movimientoDTO.getMonto());
+                
+                MovimientoCuenta movimiento = crearMovimiento(movimientoDTO, saldoAnterior);
+                movimiento.setId(new ObjectId().toHexString());
+                resultados[indice] = ResultadoMovimiento.aceptado(indice, movimiento);
+                aceptados.add(indice);
+            }
+            
+            if (aceptados.isEmpty() || cuentaService.aplicarVariacionNeta(numeroCuenta, saldoEsperado, variacion) != null) {
+                return aceptados;
+            }
+            
+            // Otra escritura cambió el saldo entre la lectura y el update: se recalcula el grupo con el saldo vigente
+            logger.info("Conflicto de saldo en lote para cuenta: {}, reintento: {}", numeroCuenta, intento + 1);
+            detector.registrarConflicto(numeroCuenta);
+            cuenta = cuentaService.buscarPorNumeroCuenta(numeroCuenta).orElse(null);
+        }
+        
+        // Cuenta muy disputada: se procesa el grupo movimiento a movimiento con el update condicional
+        for (Integer indice : indices) {
+            MovimientoCuentaDTO movimientoDTO = movimientosDTO.get(indice);
+            try {
+                resultados[indice] = ResultadoMovimiento.aceptado(indice, registrarMovimiento(movimientoDTO, null, null));
+            } catch (RuntimeException e) {
+                resultados[indice] = ResultadoMovimiento.rechazado(indice, movimientoDTO, e);
+            }
+        }
+        return List.of();
+    }
+
+    private void insertarLote(List<Integer> pendientes, ResultadoMovimiento[] resultados) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        
+        List<MovimientoCuenta> movimientos = new ArrayList<>(pendientes.size());
+        for (Integer indice : pendientes) {
+            movimientos.add(resultados[indice].getMovimiento());
+        }
+        
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovimientoCuenta.class)
+                    .insert(movimientos)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Los saldos ya se aplicaron: cada inserción fallida se compensa y se informa como rechazada
+            for (BulkWriteError error : e.getErrors()) {
+                int indice = pendientes.get(error.getIndex());
+                MovimientoCuenta fallido = resultados[indice].getMovimiento();
+                cuentaService.compensarSaldos(fallido.getNumeroCuenta(), fallido.getMonto(), fallido.getTipoMovimiento().esDebito());
+                
+                String estado = error.getCode() == CODIGO_CLAVE_DUPLICADA
+                        ? ResultadoMovimiento.COMPROBANTE_DUPLICADO : ResultadoMovimiento.RECHAZADO;
+                resultados[indice] = ResultadoMovimiento.rechazado(indice, fallido.getNumeroCuenta(),
+                        fallido.getNumeroComprobante(), estado, error.getMessage());
+            }
+        }
+        
+        List<MovimientoCuenta> insertados = new ArrayList<>(pendientes.size());
+        for (Integer indice : pendientes) {
+            if (resultados[indice].isAceptado()) {
+                insertados.add(resultados[indice].getMovimiento());
+                filtroComprobantes.registrar(resultados[indice].getMovimiento().getNumeroComprobante());
+            }
+        }
+        estadisticasService.registrarMovimientos(insertados);
     }
 
     public MovimientoCuenta reversarMovimiento(String numeroComprobante, String motivo) {
         logger.info("Reversando movimiento con comprobante: {}, motivo: {}", numeroComprobante, motivo);
         
-        MovimientoCuenta movimientoOriginal = findByNumeroComprobante(numeroComprobante);
+        try {
+            MovimientoCuenta movimiento = findByNumeroComprobante(numeroComprobante);
+            MovimientoCuenta reverso = secuenciador.ejecutar(movimiento.getNumeroCuenta(), () -> aplicarReverso(numeroComprobante, motivo));
+            metricas.registrarAceptado(MetricasMovimientos.REVERSAR);
+            return reverso;
+        } catch (RuntimeException e) {
+            metricas.registrarRechazo(MetricasMovimientos.REVERSAR, e);
+            throw e;
+        }
+    }
+
+    private MovimientoCuenta aplicarReverso(String numeroComprobante, String motivo) {
+        // Relectura dentro del secuenciador: el original pudo reversarse mientras se esperaba el turno
+        MovimientoCuenta movimientoOriginal = metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_BUSQUEDA,
+                () -> findByNumeroComprobante(numeroComprobante));
         
         if (movimientoOriginal.getReversado()) {
-            throw new RuntimeException("El movimiento ya está reversado");
+            throw new MovimientoReversadoException(numeroComprobante);
         }
         
-        // Crear el movimiento reverso
-        String tipoMovimientoReverso = "DEBITO".equals(movimientoOriginal.getTipoMovimiento()) ? "CREDITO" : "DEBITO";
-        String numeroComprobanteReverso = generarNumeroComprobante();
+        // Id y comprobante del reverso se asignan fuera de la transacción: la marca del original referencia el id
+        // desde el primer write y la reserva de bloques de la secuencia no debe deshacerse con un rollback
+        MovimientoCuenta movimientoReverso = new MovimientoCuenta(new ObjectId().toHexString());
+        movimientoReverso.setNumeroComprobante(generarNumeroComprobante());
+        TransactionTemplate transaccion = transacciones.getIfAvailable();
+        MovimientoCuenta movimientoReversoGuardado;
+        if (transaccion != null) {
+            try {
+                movimientoReversoGuardado = transaccion.execute(estado -> ejecutarReverso(movimientoOriginal, movimientoReverso, motivo));
+            } catch (RuntimeException e) {
+                // El rollback deshace el saldo en Mongo; se invalida por si la cache se recargó durante la transacción
+                cuentaService.invalidarCache(movimientoOriginal.getNumeroCuenta());
+                throw e;
+            }
+        } else {
+            movimientoReversoGuardado = reversarConCompensacion(movimientoOriginal, movimientoReverso, motivo);
+        }
+        
+        filtroComprobantes.registrar(movimientoReversoGuardado.getNumeroComprobante());
+        metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_ESTADISTICAS,
+                () -> estadisticasService.registrarMovimiento(movimientoReversoGuardado));
+        
+        logger.info("Movimiento reversado exitosamente - Original: {}, Reverso: {}", 
+                    numeroComprobante, movimientoReversoGuardado.getNumeroComprobante());
+        
+        return movimientoReversoGuardado;
+    }
+
+    private MovimientoCuenta ejecutarReverso(MovimientoCuenta movimientoOriginal, MovimientoCuenta movimientoReverso, String motivo) {
+        // La marca condicional es la guarda: de dos reversos simultáneos solo uno la consigue
+        marcarReversado(movimientoOriginal, movimientoReverso.getId());
+        
+        boolean esDebito = !movimientoOriginal.getTipoMovimiento().esDebito();
+        CuentaBancaria cuenta = actualizarSaldosReverso(movimientoOriginal, esDebito);
         
-        // Obtener saldo actual de la cuenta
-        BigDecimal saldoActual = cuentaService.consultarSaldoDisponible(movimientoOriginal.getNumeroCuenta());
+        return insertarReverso(construirReverso(movimientoOriginal, movimientoReverso, motivo,
+                saldoAnteriorReverso(cuenta, movimientoOriginal.getMonto(), esDebito)));
+    }
+
+    private MovimientoCuenta reversarConCompensacion(MovimientoCuenta movimientoOriginal, MovimientoCuenta movimientoReverso, String motivo) {
+        // Sin transacciones: mismos pasos en el mismo orden, deshaciendo los ya aplicados si uno falla
+        String idReverso = movimientoReverso.getId();
+        String observacionesOriginales = movimientoOriginal.getObservaciones();
+        marcarReversado(movimientoOriginal, idReverso);
+        
+        boolean esDebito = !movimientoOriginal.getTipoMovimiento().esDebito();
+        CuentaBancaria cuenta;
+        try {
+            cuenta = actualizarSaldosReverso(movimientoOriginal, esDebito);
+        } catch (RuntimeException e) {
+            desmarcarReversado(movimientoOriginal, idReverso, observacionesOriginales);
+            throw e;
+        }
+        
+        try {
+            return insertarReverso(construirReverso(movimientoOriginal, movimientoReverso, motivo,
+                    saldoAnteriorReverso(cuenta, movimientoOriginal.getMonto(), esDebito)));
+        } catch (RuntimeException e) {
+            logger.error("Error al registrar el reverso de {}, compensando: {}", movimientoOriginal.getNumeroComprobante(), e.getMessage());
+            cuentaService.compensarSaldos(movimientoOriginal.getNumeroCuenta(), movimientoOriginal.getMonto(), esDebito);
+            desmarcarReversado(movimientoOriginal, idReverso, observacionesOriginales);
+            throw e;
+        }
+    }
+
+    private CuentaBancaria actualizarSaldosReverso(MovimientoCuenta movimientoOriginal, boolean esDebito) {
+        return metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_SALDO,
+                () -> cuentaService.actualizarSaldos(movimientoOriginal.getNumeroCuenta(), movimientoOriginal.getMonto(), esDebito));
+    }
+
+    private MovimientoCuenta insertarReverso(MovimientoCuenta reverso) {
+        return metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_INSERCION, () -> mongoTemplate.insert(reverso));
+    }
+
+    private Dinero saldoAnteriorReverso(CuentaBancaria cuenta, Dinero monto, boolean esDebito) {
+        // Saldo anterior tomado de la imagen resultante del update de saldos
+        return esDebito ? cuenta.getSaldoDisponible().sumar(monto) : cuenta.getSaldoDisponible().restar(monto);
+    }
+
+    private void marcarReversado(MovimientoCuenta movimientoOriginal, String idReverso) {
+        movimientoOriginal.reversar(idReverso);
+        
+        Query query = new Query(Criteria.where("_id").is(movimientoOriginal.getId()).and("reversado").is(false));
+        Update update = new Update()
+                .set("reversado", movimientoOriginal.getReversado())
+                .set("movimientoReverso", movimientoOriginal.getMovimientoReverso())
+                .set("observaciones", movimientoOriginal.getObservaciones());
+        
+        long marcados = metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_MARCA,
+                () -> mongoTemplate.updateFirst(query, update, MovimientoCuenta.class).getModifiedCount());
+        if (marcados == 0) {
+            throw new MovimientoReversadoException(movimientoOriginal.getNumeroComprobante());
+        }
+    }
+
+    private void desmarcarReversado(MovimientoCuenta movimientoOriginal, String idReverso, String observacionesOriginales) {
+        Query query = new Query(Criteria.where("_id").is(movimientoOriginal.getId()).and("movimientoReverso").is(idReverso));
+        Update update = new Update()
+                .set("reversado", false)
+                .unset("movimientoReverso")
+                .set("observaciones", observacionesOriginales);
+        mongoTemplate.updateFirst(query, update, MovimientoCuenta.class);
+    }
+
+    private MovimientoCuenta construirReverso(MovimientoCuenta movimientoOriginal, MovimientoCuenta movimientoReverso,
+                                              String motivo, Dinero saldoAnterior) {
+        TipoMovimiento tipoMovimientoReverso = movimientoOriginal.getTipoMovimiento().opuesto();
         
-        MovimientoCuenta movimientoReverso = new MovimientoCuenta(
+        MovimientoCuenta reverso = new MovimientoCuenta(
             movimientoOriginal.getNumeroCuenta(),
-            numeroComprobanteReverso,
+            movimientoReverso.getNumeroComprobante(),
             tipoMovimientoReverso,
             movimientoOriginal.getMonto(),
-            saldoActual,
+            saldoAnterior,
             "REVERSO - " + movimientoOriginal.getConcepto()
         );
         
-        movimientoReverso.setDescripcion("Reverso del movimiento: " + numeroComprobante + " - " + motivo);
-        movimientoReverso.setReferenciaExterna(numeroComprobante);
-        movimientoReverso.setObservaciones("Reverso de movimiento original");
-        movimientoReverso.procesar();
+        reverso.setId(movimientoReverso.getId());
+        reverso.setDescripcion("Reverso del movimiento: " + movimientoOriginal.getNumeroComprobante() + " - " + motivo);
+        reverso.setReferenciaExterna(movimientoOriginal.getNumeroComprobante());
+        reverso.setMovimientoOriginal(movimientoOriginal.getId());
+        reverso.setObservaciones("Reverso de movimiento original");
+        reverso.procesar();
         
-        // Actualizar los saldos de la cuenta
-        boolean esDebito = "DEBITO".equals(tipoMovimientoReverso);
-        cuentaService.actualizarSaldos(movimientoOriginal.getNumeroCuenta(), movimientoOriginal.getMonto(), esDebito);
+        return reverso;
+    }
+
+    public ResultadoReversoLote reversarLote(List<String> numerosComprobante, String referenciaExterna, String numeroCuenta,
+                                             LocalDateTime fechaInicio, LocalDateTime fechaFin, String motivo) {
+        logger.info("Reversando lote - comprobantes: {}, referencia: {}, cuenta: {}, desde: {}, hasta: {}",
+                    numerosComprobante == null ? 0 : numerosComprobante.size(), referenciaExterna, numeroCuenta, fechaInicio, fechaFin);
+        
+        // Cada original guarda su posición en la lista de resultados
+        List<MovimientoCuenta> originales = new ArrayList<>();
+        List<ResultadoMovimiento> resultados = new ArrayList<>();
+        Map<String, Integer> indices = new HashMap<>();
+        boolean truncado = false;
+        
+        if (numerosComprobante != null && !numerosComprobante.isEmpty()) {
+            // Una sola consulta $in; el índice de cada resultado es la posición del comprobante en la solicitud
+            Map<String, MovimientoCuenta> encontrados = new HashMap<>();
+            for (MovimientoCuenta movimiento : repository.findByNumeroComprobanteIn(numerosComprobante)) {
+                encontrados.put(movimiento.getNumeroComprobante(), movimiento);
+            }
+            Set<String> solicitados = new HashSet<>();
+            for (int i = 0; i < numerosComprobante.size(); i++) {
+                String numeroComprobante = numerosComprobante.get(i);
+                MovimientoCuenta original = encontrados.get(numeroComprobante);
+                if (original == null) {
+                    resultados.add(ResultadoMovimiento.rechazado(i, null, numeroComprobante, ResultadoMovimiento.MOVIMIENTO_NO_ENCONTRADO,
+                            new CuentaNotFoundException(numeroComprobante, "Número de comprobante").getMessage()));
+                } else if (!solicitados.add(numeroComprobante)) {
+                    resultados.add(ResultadoMovimiento.rechazado(i, original.getNumeroCuenta(), numeroComprobante,
+                            ResultadoMovimiento.COMPROBANTE_DUPLICADO, "Comprobante repetido en la solicitud"));
+                } else {
+                    resultados.add(null);
+                    originales.add(original);
+                    indices.put(original.getId(), i);
+                }
+            }
+        } else {
+            // Se pide uno más que el límite solo para saber si el filtro dejó movimientos fuera
+            Query query = new Query(criterioReversoLote(referenciaExterna, numeroCuenta, fechaInicio, fechaFin))
+                    .with(Sort.by(Sort.Order.asc("fechaMovimiento"), Sort.Order.asc("_id")))
+                    .limit(MAX_REVERSOS_LOTE + 1);
+            List<MovimientoCuenta> encontrados = mongoTemplate.find(query, MovimientoCuenta.class);
+            if (encontrados.size() > MAX_REVERSOS_LOTE) {
+                truncado = true;
+                encontrados = encontrados.subList(0, MAX_REVERSOS_LOTE);
+            }
+            for (MovimientoCuenta original : encontrados) {
+                indices.put(original.getId(), resultados.size());
+                resultados.add(null);
+                originales.add(original);
+            }
+        }
         
-        // Guardar el movimiento reverso
-        MovimientoCuenta movimientoReversoGuardado = repository.save(movimientoReverso);
+        // La marca condicional de cada original es la guarda, igual que en el reverso individual
+        Map<String, MovimientoCuenta> reversos = new LinkedHashMap<>();
+        List<MovimientoCuenta> reclamados = marcarReversadosLote(originales, reversos, resultados, indices);
         
-        // Marcar el movimiento original como reversado
-        movimientoOriginal.reversar(movimientoReversoGuardado.getId());
-        repository.save(movimientoOriginal);
+        Map<String, List<MovimientoCuenta>> porCuenta = new LinkedHashMap<>();
+        for (MovimientoCuenta original : reclamados) {
+            porCuenta.computeIfAbsent(original.getNumeroCuenta(), k -> new ArrayList<>()).add(original);
+        }
         
-        logger.info("Movimiento reversado exitosamente - Original: {}, Reverso: {}", 
-                    numeroComprobante, numeroComprobanteReverso);
+        List<MovimientoCuenta> pendientes = new ArrayList<>();
+        for (Map.Entry<String, List<MovimientoCuenta>> grupo : porCuenta.entrySet()) {
+            pendientes.addAll(secuenciador.ejecutar(grupo.getKey(),
+                    () -> aplicarReversosCuenta(grupo.getKey(), grupo.getValue(), reversos, motivo, resultados, indices)));
+        }
         
-        return movimientoReversoGuardado;
+        insertarReversos(pendientes, reversos, resultados, indices);
+        
+        metricas.registrarResultados(MetricasMovimientos.REVERSO_LOTE, resultados);
+        logger.info("Lote de reversos procesado - solicitados: {}, reversados: {}, truncado: {}", resultados.size(), pendientes.size(), truncado);
+        return new ResultadoReversoLote(resultados, truncado);
+    }
+
+    static Criteria criterioReversoLote(String referenciaExterna, String numeroCuenta, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        // Los reversos también quedan con reversado=false: sin excluirlos, un rango de fechas reversaría reversos anteriores
+        Criteria criterio = Criteria.where("reversado").is(false).and("movimientoOriginal").exists(false);
+        if (referenciaExterna != null) {
+            criterio.and("referenciaExterna").is(referenciaExterna);
+        }
+        if (numeroCuenta != null) {
+            criterio.and("numeroCuenta").is(numeroCuenta);
+        }
+        if (fechaInicio != null && fechaFin != null) {
+            criterio.and("fechaMovimiento").gte(fechaInicio).lte(fechaFin);
+        }
+        return criterio;
+    }
+
+    private List<MovimientoCuenta> marcarReversadosLote(List<MovimientoCuenta> originales, Map<String, MovimientoCuenta> reversos,
+                                                        List<ResultadoMovimiento> resultados, Map<String, Integer> indices) {
+        List<MovimientoCuenta> candidatos = new ArrayList<>();
+        Map<String, String> observacionesOriginales = new HashMap<>();
+        BulkOperations marcas = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovimientoCuenta.class);
+        
+        for (MovimientoCuenta original : originales) {
+            if (original.getReversado()) {
+                resultados.set(indices.get(original.getId()), ResultadoMovimiento.rechazado(indices.get(original.getId()),
+                        original.getNumeroCuenta(), original.getNumeroComprobante(), new MovimientoReversadoException(original.getNumeroComprobante())));
+                continue;
+            }
+            
+            MovimientoCuenta reverso = new MovimientoCuenta(new ObjectId().toHexString());
+            reverso.setNumeroComprobante(generarNumeroComprobante());
+            reversos.put(original.getId(), reverso);
+            observacionesOriginales.put(original.getId(), original.getObservaciones());
+            
+            original.reversar(reverso.getId());
+            marcas.updateOne(new Query(Criteria.where("_id").is(original.getId()).and("reversado").is(false)),
+                    new Update()
+                            .set("reversado", original.getReversado())
+                            .set("movimientoReverso", original.getMovimientoReverso())
+                            .set("observaciones", original.getObservaciones()));
+            candidatos.add(original);
+        }
+        
+        if (candidatos.isEmpty()) {
+            return candidatos;
+        }
+        marcas.execute();
+        
+        // El resultado del bulk no dice qué updates aplicaron: se leen las marcas que quedaron con nuestros reversos
+        Set<String> idsReversos = new HashSet<>();
+        for (MovimientoCuenta reverso : reversos.values()) {
+            idsReversos.add(reverso.getId());
+        }
+        Query marcados = new Query(Criteria.where("movimientoReverso").in(idsReversos));
+        marcados.fields().include("_id");
+        Set<String> reclamados = new HashSet<>();
+        for (MovimientoCuenta marcado : mongoTemplate.find(marcados, MovimientoCuenta.class)) {
+            reclamados.add(marcado.getId());
+        }
+        
+        List<MovimientoCuenta> ganados = new ArrayList<>();
+        for (MovimientoCuenta original : candidatos) {
+            if (reclamados.contains(original.getId())) {
+                original.setObservaciones(observacionesOriginales.get(original.getId()));
+                ganados.add(original);
+            } else {
+                reversos.remove(original.getId());
+                int indice = indices.get(original.getId());
+                resultados.set(indice, ResultadoMovimiento.rechazado(indice, original.getNumeroCuenta(),
+                        original.getNumeroComprobante(), new MovimientoReversadoException(original.getNumeroComprobante())));
+            }
+        }
+        return ganados;
+    }
+
+    private List<MovimientoCuenta> aplicarReversosCuenta(String numeroCuenta, List<MovimientoCuenta> originales,
+                                                         Map<String, MovimientoCuenta> reversos, String motivo,
+                                                         List<ResultadoMovimiento> resultados, Map<String, Integer> indices) {
+        // Efecto neto de todos los reversos de la cuenta en un solo update condicional
+        Dinero variacion = Dinero.CERO;
+        for (MovimientoCuenta original : originales) {
+            variacion = original.getTipoMovimiento().esDebito()
+                    ? variacion.sumar(original.getMonto()) : variacion.restar(original.getMonto());
+        }
+        
+        CuentaBancaria cuenta;
+        try {
+            cuenta = cuentaService.actualizarSaldos(numeroCuenta, variacion.absoluto(), variacion.signo() < 0);
+        } catch (RuntimeException e) {
+            // El neto no se pudo aplicar (p. ej. saldo insuficiente): se aplican uno a uno para rechazar solo los que no caben
+            logger.info("Reverso neto rechazado para cuenta: {}, aplicando uno a uno: {}", numeroCuenta, e.getMessage());
+            return aplicarReversosUnoAUno(numeroCuenta, originales, reversos, motivo, resultados, indices);
+        }
+        
+        // Se reconstruye la secuencia de saldos desde el saldo previo al update neto
+        Dinero saldo = cuenta.getSaldoDisponible().restar(variacion);
+        List<MovimientoCuenta> construidos = new ArrayList<>(originales.size());
+        for (MovimientoCuenta original : originales) {
+            MovimientoCuenta reverso = construirReverso(original, reversos.get(original.getId()), motivo, saldo);
+            saldo = reverso.getSaldoPosterior();
+            reversos.put(original.getId(), reverso);
+            construidos.add(original);
+        }
+        return construidos;
+    }
+
+    private List<MovimientoCuenta> aplicarReversosUnoAUno(String numeroCuenta, List<MovimientoCuenta> originales,
+                                                          Map<String, MovimientoCuenta> reversos, String motivo,
+                                                          List<ResultadoMovimiento> resultados, Map<String, Integer> indices) {
+        // Primero los reversos que acreditan (originales débito): liberan saldo para los que debitan
+        List<MovimientoCuenta> ordenados = new ArrayList<>(originales);
+        ordenados.sort(Comparator.comparing((MovimientoCuenta original) -> !original.getTipoMovimiento().esDebito()));
+        
+        List<MovimientoCuenta> construidos = new ArrayList<>(originales.size());
+        for (MovimientoCuenta original : ordenados) {
+            boolean esDebito = !original.getTipoMovimiento().esDebito();
+            CuentaBancaria cuenta;
+            try {
+                cuenta = cuentaService.actualizarSaldos(numeroCuenta, original.getMonto(), esDebito);
+            } catch (RuntimeException e) {
+                MovimientoCuenta reverso = reversos.remove(original.getId());
+                desmarcarReversado(original, reverso.getId(), original.getObservaciones());
+                int indice = indices.get(original.getId());
+                resultados.set(indice, ResultadoMovimiento.rechazado(indice, numeroCuenta, original.getNumeroComprobante(), e));
+                continue;
+            }
+            reversos.put(original.getId(), construirReverso(original, reversos.get(original.getId()), motivo,
+                    saldoAnteriorReverso(cuenta, original.getMonto(), esDebito)));
+            construidos.add(original);
+        }
+        return construidos;
+    }
+
+    private void insertarReversos(List<MovimientoCuenta> originales, Map<String, MovimientoCuenta> reversos,
+                                  List<ResultadoMovimiento> resultados, Map<String, Integer> indices) {
+        if (originales.isEmpty()) {
+            return;
+        }
+        
+        List<MovimientoCuenta> movimientos = new ArrayList<>(originales.size());
+        for (MovimientoCuenta original : originales) {
+            movimientos.add(reversos.get(original.getId()));
+        }
+        
+        Set<Integer> fallidos = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovimientoCuenta.class)
+                    .insert(movimientos)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Igual que en el lote de movimientos: se compensa el saldo y se libera la marca del original
+            for (BulkWriteError error : e.getErrors()) {
+                MovimientoCuenta original = originales.get(error.getIndex());
+                MovimientoCuenta reverso = movimientos.get(error.getIndex());
+                cuentaService.compensarSaldos(reverso.getNumeroCuenta(), reverso.getMonto(), reverso.getTipoMovimiento().esDebito());
+                desmarcarReversado(original, reverso.getId(), original.getObservaciones());
+                
+                int indice = indices.get(original.getId());
+                resultados.set(indice, ResultadoMovimiento.rechazado(indice, original.getNumeroCuenta(),
+                        original.getNumeroComprobante(), ResultadoMovimiento.RECHAZADO, error.getMessage()));
+                fallidos.add(error.getIndex());
+            }
+        }
+        
+        List<MovimientoCuenta> insertados = new ArrayList<>(movimientos.size());
+        for (int i = 0; i < movimientos.size(); i++) {
+            if (fallidos.contains(i)) {
+                continue;
+            }
+            MovimientoCuenta reverso = movimientos.get(i);
+            int indice = indices.get(originales.get(i).getId());
+            resultados.set(indice, ResultadoMovimiento.aceptado(indice, reverso));
+            filtroComprobantes.registrar(reverso.getNumeroComprobante());
+            insertados.add(reverso);
+        }
+        estadisticasService.registrarMovimientos(insertados);
     }
 
     public boolean existeNumeroComprobante(String numeroComprobante) {
-        return repository.existsByNumeroComprobante(numeroComprobante);
+        if (!filtroComprobantes.puedeExistir(numeroComprobante)) {
+            return false;
+        }
+        
+        boolean existe = repository.existsByNumeroComprobante(numeroComprobante);
+        if (!existe) {
+            filtroComprobantes.registrarFalsoPositivo();
+        }
+        return existe;
     }
 
     public String generarNumeroComprobante() {
-        String numeroComprobante;
-        do {
-            numeroComprobante = "COMP-" + LocalDateTime.now().getYear() + "-" + 
-                               String.format("%06d", Math.abs(UUID.randomUUID().hashCode() % 1000000));
-        } while (existeNumeroComprobante(numeroComprobante));
+        // Secuencia por año reservada por bloques: única entre réplicas sin consultar movimientos_cuenta
+        int anio = LocalDateTime.now().getYear();
+        String numeroComprobante = String.format("COMP-%d-%010d", anio, secuenciaBloques.siguiente(SECUENCIA_COMPROBANTES + anio));
+        metricas.registrarGenerado(MetricasMovimientos.GENERADOR_COMPROBANTE);
         
-        logger.info("Número de comprobante generado: {}", numeroComprobante);
+        logger.debug("Número de comprobante generado: {}", numeroComprobante);
         return numeroComprobante;
     }
 
@@ -244,7 +950,7 @@ public class MovimientoCuentaService {
         return repository.countByNumeroCuenta(numeroCuenta);
     }
 
-    public long contarMovimientosPorTipo(String numeroCuenta, String tipoMovimiento) {
+    public long contarMovimientosPorTipo(String numeroCuenta, TipoMovimiento tipoMovimiento) {
         return repository.countByNumeroCuentaAndTipoMovimiento(numeroCuenta, tipoMovimiento);
     }
 
@@ -0,0 +1,25 @@
+package com.banco.banquito.general.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class RespuestaIdempotente<T> {
+
+    private final T cuerpo;
+    private final boolean repetida;
+
+    private RespuestaIdempotente(T cuerpo, boolean repetida) {
+        this.cuerpo = cuerpo;
+        this.repetida = repetida;
+    }
+
+    public static <T> RespuestaIdempotente<T> nueva(T cuerpo) {
+        return new RespuestaIdempotente<>(cuerpo, false);
+    }
+
+    public static <T> RespuestaIdempotente<T> repetida(T cuerpo) {
+        return new RespuestaIdempotente<>(cuerpo, true);
+    }
+}
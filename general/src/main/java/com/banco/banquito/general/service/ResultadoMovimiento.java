@@ -0,0 +1,97 @@
+package com.banco.banquito.general.service;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ComprobanteDuplicadoException;
+import com.banco.banquito.general.exception.CuentaInactivaException;
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.exception.MovimientoReversadoException;
+import com.banco.banquito.general.exception.OperacionNoPermitidaException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ResultadoMovimiento {
+
+    public static final String ACEPTADO = "ACEPTADO";
+    public static final String COMPROBANTE_DUPLICADO = "COMPROBANTE_DUPLICADO";
+    public static final String SALDO_INSUFICIENTE = "SALDO_INSUFICIENTE";
+    public static final String CUENTA_INACTIVA = "CUENTA_INACTIVA";
+    public static final String OPERACION_NO_PERMITIDA = "OPERACION_NO_PERMITIDA";
+    public static final String CUENTA_NO_ENCONTRADA = "CUENTA_NO_ENCONTRADA";
+    public static final String MOVIMIENTO_NO_ENCONTRADO = "MOVIMIENTO_NO_ENCONTRADO";
+    public static final String YA_REVERSADO = "YA_REVERSADO";
+    public static final String RECHAZADO = "RECHAZADO";
+
+    private final int indice;
+    private final String numeroCuenta;
+    private final String numeroComprobante;
+    private final String estado;
+    private final String mensaje;
+    private final MovimientoCuenta movimiento;
+
+    private ResultadoMovimiento(int indice, String numeroCuenta, String numeroComprobante, String estado,
+                                String mensaje, MovimientoCuenta movimiento) {
+        this.indice = indice;
+        this.numeroCuenta = numeroCuenta;
+        this.numeroComprobante = numeroComprobante;
+        this.estado = estado;
+        this.mensaje = mensaje;
+        this.movimiento = movimiento;
+    }
+
+    public static ResultadoMovimiento aceptado(int indice, MovimientoCuenta movimiento) {
+        return new ResultadoMovimiento(indice, movimiento.getNumeroCuenta(), movimiento.getNumeroComprobante(),
+                ACEPTADO, null, movimiento);
+    }
+
+    public static ResultadoMovimiento rechazado(int indice, String numeroCuenta, String numeroComprobante,
+                                                String estado, String mensaje) {
+        return new ResultadoMovimiento(indice, numeroCuenta, numeroComprobante, estado, mensaje, null);
+    }
+
+    public static ResultadoMovimiento rechazado(int indice, String numeroCuenta, String numeroComprobante, RuntimeException e) {
+        return rechazado(indice, numeroCuenta, numeroComprobante, estadoDe(e), e.getMessage());
+    }
+
+    public static ResultadoMovimiento rechazado(int indice, MovimientoCuentaDTO movimientoDTO, String estado, String mensaje) {
+        return rechazado(indice, movimientoDTO.getNumeroCuenta(), movimientoDTO.getNumeroComprobante(), estado, mensaje);
+    }
+
+    public static ResultadoMovimiento rechazado(int indice, MovimientoCuentaDTO movimientoDTO, RuntimeException e) {
+        return rechazado(indice, movimientoDTO, estadoDe(e), e.getMessage());
+    }
+
+    public ResultadoMovimiento conIndice(int nuevoIndice) {
+        return new ResultadoMovimiento(nuevoIndice, numeroCuenta, numeroComprobante, estado, mensaje, movimiento);
+    }
+
+    public boolean isAceptado() {
+        return ACEPTADO.equals(estado);
+    }
+
+    static String estadoDe(RuntimeException e) {
+        if (e instanceof ComprobanteDuplicadoException) {
+            return COMPROBANTE_DUPLICADO;
+        }
+        if (e instanceof MovimientoReversadoException) {
+            return YA_REVERSADO;
+        }
+        if (e instanceof SaldoInsuficienteException) {
+            return SALDO_INSUFICIENTE;
+        }
+        if (e instanceof CuentaInactivaException) {
+            return CUENTA_INACTIVA;
+        }
+        if (e instanceof OperacionNoPermitidaException) {
+            return OPERACION_NO_PERMITIDA;
+        }
+        if (e instanceof CuentaNotFoundException) {
+            return CUENTA_NO_ENCONTRADA;
+        }
+        return RECHAZADO;
+    }
+}
@@ -0,0 +1,24 @@
+package com.banco.banquito.general.service;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Resultado de un reverso por lote. En el modo por filtro, {@code truncado} indica que quedaron movimientos sin
+ * reversar por el límite del lote; como los reversados ya no cumplen el filtro, repetir la solicitud continúa
+ * con los siguientes.
+ */
+@Getter
+@ToString
+public class ResultadoReversoLote {
+
+    private final List<ResultadoMovimiento> resultados;
+    private final boolean truncado;
+
+    public ResultadoReversoLote(List<ResultadoMovimiento> resultados, boolean truncado) {
+        this.resultados = resultados;
+        this.truncado = truncado;
+    }
+}
@@ -0,0 +1,333 @@
+package com.banco.banquito.general.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.banco.banquito.general.exception.CuentaNotFoundException;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.SaldoDiario;
+import com.banco.banquito.general.model.TipoMovimiento;
+import com.banco.banquito.general.repository.SaldoDiarioRepository;
+
+/**
+ * Los cierres se calculan solo a partir de datos inmutables: el cierre del día anterior (o el saldo inicial de la
+ * cuenta) más los movimientos con fechaMovimiento anterior al corte. El saldo vivo no interviene, porque un
+ * movimiento aplica el $inc antes de insertarse y leerlo junto con la colección de movimientos no es consistente.
+ */
+@Service
+public class SaldoHistoricoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaldoHistoricoService.class);
+
+    private static final String TAREA_CIERRE = "cierre-saldos";
+
+    private final SaldoDiarioRepository repository;
+    private final CuentaBancariaService cuentaService;
+    private final MongoTemplate mongoTemplate;
+    private final BloqueoTareas bloqueos;
+    private final int tamanoLoteCierre;
+    private final Duration margenCierre;
+    private final Duration duracionBloqueo;
+
+    public SaldoHistoricoService(SaldoDiarioRepository repository, CuentaBancariaService cuentaService,
+                                 MongoTemplate mongoTemplate, BloqueoTareas bloqueos,
+                                 @Value("${banquito.saldos.cierre.tamano-lote:1000}") int tamanoLoteCierre,
+                                 @Value("${banquito.saldos.cierre.margen:2m}") Duration margenCierre,
+                                 @Value("${banquito.saldos.cierre.bloqueo:30m}") Duration duracionBloqueo) {
+        this.repository = repository;
+        this.cuentaService = cuentaService;
+        this.mongoTemplate = mongoTemplate;
+        this.bloqueos = bloqueos;
+        this.tamanoLoteCierre = tamanoLoteCierre;
+        this.margenCierre = margenCierre;
+        this.duracionBloqueo = duracionBloqueo;
+    }
+
+    public SaldoDiario consultarSaldoAl(String numeroCuenta, LocalDateTime fecha) {
+        logger.info("Consultando saldo histórico - cuenta: {}, fecha: {}", numeroCuenta, fecha);
+
+        CuentaBancaria cuenta = cuentaService.buscarPorNumeroCuenta(numeroCuenta)
+                .orElseThrow(() -> new CuentaNotFoundException(numeroCuenta, "Número de cuenta"));
+
+        // El cierre del día D cubre hasta el inicio de D+1, por eso se busca el último cierre anterior al día consultado
+        Optional<SaldoDiario> cierre = repository
+                .findTopByNumeroCuentaAndFechaLessThanEqualOrderByFechaDesc(numeroCuenta, fecha.toLocalDate().minusDays(1));
+
+        SaldoDiario saldo = new SaldoDiario();
+        saldo.setNumeroCuenta(numeroCuenta);
+        saldo.setFecha(fecha.toLocalDate());
+        saldo.setFechaGeneracion(LocalDateTime.now());
+
+        // Mongo guarda las fechas con precisión de milisegundos: hasta fecha + 1 ms (excluido) incluye la fecha consultada
+        LocalDateTime hasta = fecha.plus(1, ChronoUnit.MILLIS);
+        if (cierre.isPresent()) {
+            // Hacia adelante: cierre más cercano + movimientos desde el inicio del día siguiente hasta la fecha
+            LocalDateTime desde = cierre.get().getFecha().plusDays(1).atStartOfDay();
+            Dinero variacion = variacionesPorCuenta(List.of(numeroCuenta), desde, hasta).getOrDefault(numeroCuenta, Dinero.CERO);
+            saldo.setSaldoDisponible(cierre.get().getSaldoDisponible().sumar(variacion));
+            saldo.setSaldoContable(cierre.get().getSaldoContable().sumar(variacion));
+        } else {
+            // Sin cierres previos: saldo inicial + todos los movimientos hasta la fecha. Una cuenta anterior al
+            // campo saldoInicial lo deriva sin guardarlo; lo persiste el cierre diario
+            Dinero saldoInicial = saldoInicial(cuenta);
+            if (saldoInicial == null) {
+                throw new RuntimeException("Saldo histórico de la cuenta " + numeroCuenta
+                        + " no disponible mientras tenga movimientos en curso, intente nuevamente en unos minutos");
+            }
+            Dinero variacion = variacionesPorCuenta(List.of(numeroCuenta), null, hasta).getOrDefault(numeroCuenta, Dinero.CERO);
+            saldo.setSaldoDisponible(saldoInicial.sumar(variacion));
+            saldo.setSaldoContable(saldoInicial.sumar(variacion));
+        }
+
+        return saldo;
+    }
+
+    @Scheduled(cron = "${banquito.saldos.cierre.cron:0 5 0 * * *}")
+    public void generarCierreDiario() {
+        // Se ejecuta en todas las réplicas; solo la que consigue el arriendo genera el cierre
+        if (!bloqueos.adquirir(TAREA_CIERRE, duracionBloqueo)) {
+            return;
+        }
+        try {
+            cerrar(LocalDate.now().minusDays(1));
+        } finally {
+            bloqueos.liberar(TAREA_CIERRE);
+        }
+    }
+
+    public long generarCierre(LocalDate fecha) {
+        LocalDateTime disponibleDesde = fecha.plusDays(1).atStartOfDay().plus(margenCierre);
+        if (LocalDateTime.now().isBefore(disponibleDesde)) {
+            throw new RuntimeException("El cierre del día " + fecha + " se puede generar a partir de " + disponibleDesde);
+        }
+        if (!bloqueos.adquirir(TAREA_CIERRE, duracionBloqueo)) {
+            throw new RuntimeException("Ya hay un cierre de saldos en ejecución");
+        }
+        try {
+            return cerrar(fecha);
+        } finally {
+            bloqueos.liberar(TAREA_CIERRE);
+        }
+    }
+
+    private long cerrar(LocalDate fecha) {
+        logger.info("Generando cierre de saldos del día: {}", fecha);
+        long inicio = System.currentTimeMillis();
+
+        // Corte en el fin del día por fechaMovimiento: volver a generar el cierre da siempre el mismo resultado
+        LocalDateTime finDelDia = fecha.plusDays(1).atStartOfDay();
+        Map<String, Dinero> variacionesDelDia = variacionesPorCuenta(null, fecha.atStartOfDay(), finDelDia);
+
+        Query query = new Query();
+        query.fields().include("numeroCuenta", "saldoInicial", "saldoDisponible", "saldoContable", "fechaUltimaActualizacion");
+
+        long cuentasProcesadas = 0;
+        long cuentasOmitidas = 0;
+        List<CuentaBancaria> lote = new ArrayList<>(tamanoLoteCierre);
+
+        try (Stream<CuentaBancaria> cuentas = mongoTemplate.stream(query, CuentaBancaria.class)) {
+            for (CuentaBancaria cuenta : (Iterable<CuentaBancaria>) cuentas::iterator) {
+                lote.add(cuenta);
+                if (lote.size() == tamanoLoteCierre) {
+                    int cerradas = cerrarLote(lote, fecha, finDelDia, variacionesDelDia);
+                    cuentasProcesadas += cerradas;
+                    cuentasOmitidas += lote.size() - cerradas;
+                    lote.clear();
+                }
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            int cerradas = cerrarLote(lote, fecha, finDelDia, variacionesDelDia);
+            cuentasProcesadas += cerradas;
+            cuentasOmitidas += lote.size() - cerradas;
+        }
+
+        if (cuentasOmitidas > 0) {
+            logger.warn("Cierre del día {}: {} cuentas sin saldo inicial derivable todavía, se cerrarán en el próximo cierre",
+                        fecha, cuentasOmitidas);
+        }
+        logger.info("Cierre del día {} generado para {} cuentas en {} ms", fecha, cuentasProcesadas, System.currentTimeMillis() - inicio);
+        return cuentasProcesadas;
+    }
+
+    private int cerrarLote(List<CuentaBancaria> lote, LocalDate fecha, LocalDateTime finDelDia, Map<String, Dinero> variacionesDelDia) {
+        List<String> numerosCuenta = lote.stream().map(CuentaBancaria::getNumeroCuenta).toList();
+
+        Map<String, SaldoDiario> cierresAnteriores = new HashMap<>();
+        Query anteriores = new Query(Criteria.where("numeroCuenta").in(numerosCuenta).and("fecha").is(fecha.minusDays(1)));
+        for (SaldoDiario cierre : mongoTemplate.find(anteriores, SaldoDiario.class)) {
+            cierresAnteriores.put(cierre.getNumeroCuenta(), cierre);
+        }
+
+        // Cuentas sin cierre del día anterior (nuevas o primer cierre): saldo inicial + todos los movimientos hasta el corte
+        Map<String, Dinero> saldosIniciales = new HashMap<>();
+        for (CuentaBancaria cuenta : lote) {
+            if (!cierresAnteriores.containsKey(cuenta.getNumeroCuenta())) {
+                Dinero saldoInicial = saldoInicial(cuenta);
+                if (saldoInicial != null) {
+                    if (cuenta.getSaldoInicial() == null) {
+                        guardarSaldoInicial(cuenta.getNumeroCuenta(), saldoInicial);
+                    }
+                    saldosIniciales.put(cuenta.getNumeroCuenta(), saldoInicial);
+                }
+            }
+        }
+        Map<String, Dinero> variacionesHastaCorte = saldosIniciales.isEmpty()
+                ? Map.of() : variacionesPorCuenta(saldosIniciales.keySet(), null, finDelDia);
+
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SaldoDiario.class);
+        int cerradas = 0;
+        for (String numeroCuenta : numerosCuenta) {
+            Dinero saldoDisponible;
+            Dinero saldoContable;
+            SaldoDiario anterior = cierresAnteriores.get(numeroCuenta);
+            if (anterior != null) {
+                Dinero variacion = variacionesDelDia.getOrDefault(numeroCuenta, Dinero.CERO);
+                saldoDisponible = anterior.getSaldoDisponible().sumar(variacion);
+                saldoContable = anterior.getSaldoContable().sumar(variacion);
+            } else if (saldosIniciales.containsKey(numeroCuenta)) {
+                saldoDisponible = saldosIniciales.get(numeroCuenta).sumar(variacionesHastaCorte.getOrDefault(numeroCuenta, Dinero.CERO));
+                saldoContable = saldoDisponible;
+            } else {
+                continue;
+            }
+
+            Update update = new Update()
+                    .set("saldoDisponible", saldoDisponible)
+                    .set("saldoContable", saldoContable)
+                    .set("fechaGeneracion", LocalDateTime.now());
+            operaciones.upsert(new Query(Criteria.where("numeroCuenta").is(numeroCuenta).and("fecha").is(fecha)), update);
+            cerradas++;
+        }
+
+        if (cerradas > 0) {
+            operaciones.execute();
+        }
+        return cerradas;
+    }
+
+    /**
+     * Saldo con el que se abrió la cuenta. Las cuentas creadas antes de guardarlo lo derivan de un saldo conocido
+     * menos los movimientos que lo formaron. Si la cuenta no recibió escrituras durante el margen de cierre ni
+     * entre las dos lecturas, ese saldo es el vivo. Si está en uso, es el saldoPosterior del último movimiento
+     * anterior al corte (ahora menos el margen): antes del corte todos los $inc tienen su movimiento insertado, y
+     * saldoPosterior se tomó del mismo findAndModify que aplicó el $inc. Devuelve null si ese movimiento no
+     * encadena con el anterior (dos escrituras concurrentes en el mismo instante) o si la cuenta no tiene
+     * movimientos anteriores al corte; se vuelve a intentar en la siguiente consulta o cierre. No escribe nada.
+     */
+    private Dinero saldoInicial(CuentaBancaria cuenta) {
+        if (cuenta.getSaldoInicial() != null) {
+            return cuenta.getSaldoInicial();
+        }
+
+        String numeroCuenta = cuenta.getNumeroCuenta();
+        LocalDateTime corte = LocalDateTime.now().minus(margenCierre);
+        CuentaBancaria antes = leerSaldos(numeroCuenta);
+        if (antes == null) {
+            return null;
+        }
+
+        if (antes.getFechaUltimaActualizacion() == null || antes.getFechaUltimaActualizacion().isBefore(corte)) {
+            Dinero variacion = variacionesPorCuenta(List.of(numeroCuenta), null, null).getOrDefault(numeroCuenta, Dinero.CERO);
+            CuentaBancaria despues = leerSaldos(numeroCuenta);
+            if (despues != null && Objects.equals(antes.getFechaUltimaActualizacion(), despues.getFechaUltimaActualizacion())
+                    && antes.getSaldoDisponible().equals(despues.getSaldoDisponible())) {
+                Dinero saldoInicial = antes.getSaldoDisponible().restar(variacion);
+                logger.debug("Saldo inicial de la cuenta {} derivado del saldo actual: {}", numeroCuenta, saldoInicial);
+                return saldoInicial;
+            }
+        }
+
+        // Marca de agua: último movimiento anterior al corte y su predecesor para comprobar el encadenamiento
+        Query ultimos = new Query(Criteria.where("numeroCuenta").is(numeroCuenta).and("fechaMovimiento").lt(corte))
+                .with(Sort.by(Sort.Direction.DESC, "fechaMovimiento", "_id"))
+                .limit(2);
+        ultimos.fields().include("saldoAnterior", "saldoPosterior", "fechaMovimiento");
+        List<MovimientoCuenta> movimientos = mongoTemplate.find(ultimos, MovimientoCuenta.class);
+        if (movimientos.isEmpty()) {
+            return null;
+        }
+        MovimientoCuenta marca = movimientos.get(0);
+        if (movimientos.size() > 1 && !movimientos.get(1).getSaldoPosterior().equals(marca.getSaldoAnterior())) {
+            return null;
+        }
+
+        LocalDateTime hasta = marca.getFechaMovimiento().plus(1, ChronoUnit.MILLIS);
+        Dinero variacion = variacionesPorCuenta(List.of(numeroCuenta), null, hasta).getOrDefault(numeroCuenta, Dinero.CERO);
+        Dinero saldoInicial = marca.getSaldoPosterior().restar(variacion);
+        logger.debug("Saldo inicial de la cuenta {} derivado del movimiento {}: {}", numeroCuenta, marca.getId(), saldoInicial);
+        return saldoInicial;
+    }
+
+    private void guardarSaldoInicial(String numeroCuenta, Dinero saldoInicial) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("numeroCuenta").is(numeroCuenta).and("saldoInicial").exists(false)),
+                new Update().set("saldoInicial", saldoInicial), CuentaBancaria.class);
+    }
+
+    private CuentaBancaria leerSaldos(String numeroCuenta) {
+        Query query = new Query(Criteria.where("numeroCuenta").is(numeroCuenta));
+        query.fields().include("numeroCuenta", "saldoDisponible", "fechaUltimaActualizacion");
+        return mongoTemplate.findOne(query, CuentaBancaria.class);
+    }
+
+    // desde incluido y hasta excluido; null deja ese extremo abierto
+    private Map<String, Dinero> variacionesPorCuenta(Collection<String> numerosCuenta, LocalDateTime desde, LocalDateTime hasta) {
+        Criteria criterio = new Criteria();
+        if (numerosCuenta != null) {
+            criterio.and("numeroCuenta").in(numerosCuenta);
+        }
+        if (desde != null && hasta != null) {
+            criterio.and("fechaMovimiento").gte(desde).lt(hasta);
+        } else if (desde != null) {
+            criterio.and("fechaMovimiento").gte(desde);
+        } else if (hasta != null) {
+            criterio.and("fechaMovimiento").lt(hasta);
+        }
+
+        // Débitos restan y créditos suman; se netea en el servidor para no transferir los movimientos
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criterio),
+                Aggregation.group("numeroCuenta")
+                        .sum(ConditionalOperators.when(Criteria.where("tipoMovimiento").is(TipoMovimiento.DEBITO.getCodigo()))
+                                .thenValueOf(ArithmeticOperators.Multiply.valueOf("monto").multiplyBy(-1))
+                                .otherwiseValueOf("monto"))
+                        .as("variacion"));
+
+        Map<String, Dinero> variaciones = new HashMap<>();
+        for (Document resultado : mongoTemplate.aggregate(aggregation, MovimientoCuenta.class, Document.class)) {
+            Object variacion = resultado.get("variacion");
+            // $sum de Int64 devuelve Int64, o Int32 si todos los sumandos lo eran
+            variaciones.put(resultado.getString("_id"), Dinero.deCentavos(((Number) variacion).longValue()));
+        }
+        return variaciones;
+    }
+}
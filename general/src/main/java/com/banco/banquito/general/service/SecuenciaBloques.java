@@ -0,0 +1,101 @@
+package com.banco.banquito.general.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.banco.banquito.general.model.ContadorSecuencia;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Secuencias hi/lo: cada réplica reserva en {@code contadores} un bloque de valores con un solo $inc atómico
+ * y luego los entrega desde memoria. Los valores son únicos entre réplicas sin consultar la colección destino;
+ * un reinicio solo deja huecos con lo que quedaba del bloque.
+ */
+@Component
+public class SecuenciaBloques {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecuenciaBloques.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final long tamanoBloque;
+    private final Map<String, Secuencia> secuencias = new ConcurrentHashMap<>();
+    private final Counter reservas;
+
+    public SecuenciaBloques(MongoTemplate mongoTemplate,
+                            @Value("${banquito.secuencias.tamano-bloque:1000}") long tamanoBloque,
+                            MeterRegistry meterRegistry) {
+        if (tamanoBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque de las secuencias debe ser mayor a cero");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.tamanoBloque = tamanoBloque;
+        this.reservas = Counter.builder("banquito.secuencias.reservas")
+                .description("Bloques de secuencia reservados en la colección de contadores")
+                .register(meterRegistry);
+    }
+
+    public long siguiente(String nombre) {
+        Secuencia secuencia = secuencias.computeIfAbsent(nombre, k -> new Secuencia());
+        while (true) {
+            Bloque bloque = secuencia.bloque;
+            if (bloque != null) {
+                long valor = bloque.siguiente.getAndIncrement();
+                if (valor <= bloque.ultimo) {
+                    return valor;
+                }
+            }
+
+            // Bloque agotado: solo un hilo reserva el siguiente, el resto reintenta con el nuevo bloque
+            secuencia.lock.lock();
+            try {
+                if (secuencia.bloque == bloque) {
+                    secuencia.bloque = reservar(nombre);
+                }
+            } finally {
+                secuencia.lock.unlock();
+            }
+        }
+    }
+
+    private Bloque reservar(String nombre) {
+        ContadorSecuencia contador = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(nombre)),
+                new Update().inc("valor", tamanoBloque),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ContadorSecuencia.class);
+
+        long ultimo = contador.getValor();
+        reservas.increment();
+        logger.info("Bloque reservado para secuencia {}: {} - {}", nombre, ultimo - tamanoBloque + 1, ultimo);
+        return new Bloque(ultimo - tamanoBloque + 1, ultimo);
+    }
+
+    private static final class Secuencia {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Bloque bloque;
+    }
+
+    private static final class Bloque {
+        private final AtomicLong siguiente;
+        private final long ultimo;
+
+        private Bloque(long primero, long ultimo) {
+            this.siguiente = new AtomicLong(primero);
+            this.ultimo = ultimo;
+        }
+    }
+}
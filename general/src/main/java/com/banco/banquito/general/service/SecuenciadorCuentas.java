@@ -0,0 +1,124 @@
+package com.banco.banquito.general.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Component
+public class SecuenciadorCuentas {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecuenciadorCuentas.class);
+
+    private final boolean habilitado;
+    private final ReentrantLock[] franjas;
+    private final Timer[] esperas;
+    private final AtomicReferenceArray<Mono<Void>> turnos;
+    private final AtomicIntegerArray pendientes;
+    private final DetectorCuentasCalientes detector;
+
+    public SecuenciadorCuentas(
+            @Value("${banquito.secuenciador.habilitado:false}") boolean habilitado,
+            @Value("${banquito.secuenciador.franjas:64}") int numeroFranjas,
+            MeterRegistry meterRegistry, DetectorCuentasCalientes detector) {
+        if (numeroFranjas <= 0) {
+            throw new IllegalArgumentException("El número de franjas del secuenciador debe ser mayor a cero");
+        }
+        this.habilitado = habilitado;
+        this.franjas = new ReentrantLock[numeroFranjas];
+        this.esperas = new Timer[numeroFranjas];
+        this.turnos = new AtomicReferenceArray<>(numeroFranjas);
+        this.pendientes = new AtomicIntegerArray(numeroFranjas);
+        this.detector = detector;
+
+        // Las métricas se etiquetan por franja (cardinalidad acotada), nunca por número de cuenta
+        for (int i = 0; i < numeroFranjas; i++) {
+            ReentrantLock franja = new ReentrantLock(true);
+            String etiqueta = String.valueOf(i);
+            this.franjas[i] = franja;
+            this.turnos.set(i, Mono.empty());
+            this.esperas[i] = Timer.builder("banquito.secuenciador.espera")
+                    .description("Tiempo de espera para adquirir la franja de la cuenta")
+                    .tag("franja", etiqueta)
+                    .register(meterRegistry);
+            Gauge.builder("banquito.secuenciador.cola", franja, ReentrantLock::getQueueLength)
+                    .description("Operaciones esperando en la franja")
+                    .tag("franja", etiqueta)
+                    .register(meterRegistry);
+        }
+        logger.info("Secuenciador de cuentas {} con {} franjas", habilitado ? "habilitado" : "deshabilitado", numeroFranjas);
+    }
+
+    public <T> T ejecutar(String numeroCuenta, Supplier<T> operacion) {
+        if (!habilitado) {
+            return operacion.get();
+        }
+
+        int indice = indiceFranja(numeroCuenta);
+        ReentrantLock franja = franjas[indice];
+
+        // Franja ocupada = conflicto de escritura. Sin tryLock para no saltarse el orden justo; si la ocupa otra
+        // cuenta de la misma franja también se cuenta, pero en el ranking dominan igual las cuentas calientes
+        if (franja.isLocked()) {
+            detector.registrarConflicto(numeroCuenta);
+        }
+        long inicio = System.nanoTime();
+        franja.lock();
+        try {
+            esperas[indice].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return operacion.get();
+        } finally {
+            franja.unlock();
+        }
+    }
+
+    /**
+     * Variante no bloqueante para el perfil reactivo: en lugar del lock, cada operación de la franja se suscribe
+     * cuando termina la anterior, sin ocupar un hilo mientras espera. Las franjas y el temporizador de espera son
+     * los mismos; el gauge de cola solo refleja la variante bloqueante.
+     */
+    public <T> Mono<T> ejecutarReactivo(String numeroCuenta, Supplier<Mono<T>> operacion) {
+        if (!habilitado) {
+            return Mono.defer(operacion);
+        }
+
+        int indice = indiceFranja(numeroCuenta);
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> turno = Sinks.empty();
+            Mono<Void> anterior = turnos.getAndSet(indice, turno.asMono());
+            if (pendientes.getAndIncrement(indice) > 0) {
+                detector.registrarConflicto(numeroCuenta);
+            }
+            long inicio = System.nanoTime();
+            return anterior
+                    .then(Mono.defer(() -> {
+                        esperas[indice].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                        return operacion.get();
+                    }))
+                    .doFinally(senal -> {
+                        pendientes.decrementAndGet(indice);
+                        // Cancelada mientras esperaba, el turno pasa al siguiente cuando termine la anterior, no antes
+                        anterior.doFinally(fin -> turno.tryEmitEmpty()).subscribe();
+                    });
+        });
+    }
+
+    private int indiceFranja(String numeroCuenta) {
+        int hash = numeroCuenta.hashCode();
+        // Mezcla los bits altos para que números de cuenta consecutivos no caigan en franjas contiguas
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, franjas.length);
+    }
+}
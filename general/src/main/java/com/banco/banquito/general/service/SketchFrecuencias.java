@@ -0,0 +1,153 @@
+package com.banco.banquito.general.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch con una tabla acotada de candidatos a claves más frecuentes. El conteo de cada clave se
+ * sobreestima como mucho en (e / ancho) * total con probabilidad 1 - e^-filas; nunca se subestima. Memoria fija
+ * e independiente del número de claves distintas. Los registros son libres de bloqueos: incrementos atómicos
+ * en las celdas y CAS sobre la ranura del candidato.
+ */
+class SketchFrecuencias {
+
+    private static final int FILAS = 4;
+    private static final int SONDEOS = 4;
+
+    private final AtomicLongArray celdas;
+    private final int ancho;
+    private final int mascaraAncho;
+    private final AtomicReferenceArray<Candidato> candidatos;
+    private final int mascaraCandidatos;
+    private final LongAdder total = new LongAdder();
+
+    SketchFrecuencias(int ancho, int capacidadCandidatos) {
+        this.ancho = potenciaDeDos(ancho);
+        this.mascaraAncho = this.ancho - 1;
+        this.celdas = new AtomicLongArray(FILAS * this.ancho);
+        int ranuras = potenciaDeDos(Math.max(capacidadCandidatos, SONDEOS));
+        this.mascaraCandidatos = ranuras - 1;
+        this.candidatos = new AtomicReferenceArray<>(ranuras);
+    }
+
+    long agregar(String clave, long peso) {
+        long hash = mezclar(clave.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        long estimado = Long.MAX_VALUE;
+        for (int fila = 0; fila < FILAS; fila++) {
+            int indice = fila * ancho + ((h1 + fila * h2) & mascaraAncho);
+            estimado = Math.min(estimado, celdas.addAndGet(indice, peso));
+        }
+        total.add(peso);
+        proponer(clave, estimado, h2 >>> 1);
+        return estimado;
+    }
+
+    long estimar(String clave) {
+        long hash = mezclar(clave.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        long estimado = Long.MAX_VALUE;
+        for (int fila = 0; fila < FILAS; fila++) {
+            estimado = Math.min(estimado, celdas.get(fila * ancho + ((h1 + fila * h2) & mascaraAncho)));
+        }
+        return estimado;
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    /**
+     * Claves candidatas ordenadas por su conteo estimado, de mayor a menor. Una clave que ganó dos ranuras en una
+     * carrera aparece una sola vez.
+     */
+    List<String> candidatos() {
+        Map<String, Long> porClave = new HashMap<>();
+        for (int i = 0; i < candidatos.length(); i++) {
+            Candidato candidato = candidatos.get(i);
+            if (candidato != null) {
+                porClave.merge(candidato.clave, candidato.estimado, Math::max);
+            }
+        }
+        List<Map.Entry<String, Long>> ordenados = new ArrayList<>(porClave.entrySet());
+        ordenados.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<String> claves = new ArrayList<>(ordenados.size());
+        for (Map.Entry<String, Long> entrada : ordenados) {
+            claves.add(entrada.getKey());
+        }
+        return claves;
+    }
+
+    private void proponer(String clave, long estimado, int hash) {
+        // Sondeo lineal corto: si la clave ya está se sube su conteo; si no, desplaza al menor de la vecindad
+        int inicio = hash & mascaraCandidatos;
+        int menor = -1;
+        Candidato desplazado = null;
+        for (int s = 0; s < SONDEOS; s++) {
+            int ranura = (inicio + s) & mascaraCandidatos;
+            Candidato candidato = candidatos.get(ranura);
+            if (candidato == null) {
+                if (candidatos.compareAndSet(ranura, null, new Candidato(clave, estimado))) {
+                    return;
+                }
+                candidato = candidatos.get(ranura);
+            }
+            if (candidato.clave.equals(clave)) {
+                candidato.subir(estimado);
+                return;
+            }
+            if (desplazado == null || candidato.estimado < desplazado.estimado) {
+                desplazado = candidato;
+                menor = ranura;
+            }
+        }
+        if (estimado > desplazado.estimado) {
+            // Si otro hilo cambió la ranura entre medio se descarta: la clave vuelve a proponerse en su próximo registro
+            candidatos.compareAndSet(menor, desplazado, new Candidato(clave, estimado));
+        }
+    }
+
+    private static long mezclar(long hash) {
+        // Finalizador de MurmurHash3: el hashCode de String va en caché, solo se reparten sus bits
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int potenciaDeDos(int valor) {
+        if (valor <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(valor - 1) << 1;
+    }
+
+    private static final class Candidato {
+        private final String clave;
+        private volatile long estimado;
+
+        private Candidato(String clave, long estimado) {
+            this.clave = clave;
+            this.estimado = estimado;
+        }
+
+        private void subir(long nuevo) {
+            // Escritura sin CAS: dos hilos pueden pisarse con valores cercanos y el siguiente registro lo corrige
+            if (nuevo > estimado) {
+                estimado = nuevo;
+            }
+        }
+    }
+}
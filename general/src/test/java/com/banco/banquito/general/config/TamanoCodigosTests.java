@@ -0,0 +1,165 @@
+package com.banco.banquito.general.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+
+/**
+ * Mide sobre un conjunto generado cuánto ocupan los documentos y las claves de índice con los códigos cortos
+ * frente al nombre completo que se guardaba antes (lo que hace Spring con un enum sin conversor). Son tamaños
+ * BSON sin comprimir, los que ocupan en la caché de WiredTiger; en disco la compresión de prefijos de los
+ * índices y snappy reducen la diferencia, así que la cifra real sale de comparar indexSizes y avgObjSize de
+ * db.movimientos_cuenta.stats() antes y después de la migración.
+ */
+class TamanoCodigosTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(TamanoCodigosTests.class);
+
+	private static final int CUENTAS = 1_000;
+	private static final int MOVIMIENTOS_POR_CUENTA = 50;
+
+	private final MappingMongoConverter conCodigos = converter(new MongoConfig().mongoCustomConversions());
+	private final MappingMongoConverter conNombres = converter(new MongoCustomConversions(ConversionesDinero.todas()));
+
+	@Test
+	void reduceDocumentosYClavesDeIndice() {
+		long documentosAntes = 0, documentosDespues = 0, indiceEstadoAntes = 0, indiceEstadoDespues = 0;
+		long indiceTipoAntes = 0, indiceTipoDespues = 0, ahorroEsperado = 0;
+		LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+		for (int i = 0; i < CUENTAS; i++) {
+			CuentaBancaria cuenta = cuenta(i);
+			Document antes = escribir(conNombres, cuenta);
+			Document despues = escribir(conCodigos, cuenta);
+			documentosAntes += tamano(antes);
+			documentosDespues += tamano(despues);
+			indiceEstadoAntes += tamano(clave(antes, "estadoCuenta"));
+			indiceEstadoDespues += tamano(clave(despues, "estadoCuenta"));
+			ahorroEsperado += ahorro(cuenta.getEstadoCuenta()) + ahorro(cuenta.getTipoCuenta());
+
+			for (int j = 0; j < MOVIMIENTOS_POR_CUENTA; j++) {
+				MovimientoCuenta movimiento = movimiento(cuenta.getNumeroCuenta(), i * MOVIMIENTOS_POR_CUENTA + j, fecha.plusMinutes(j));
+				antes = escribir(conNombres, movimiento);
+				despues = escribir(conCodigos, movimiento);
+				documentosAntes += tamano(antes);
+				documentosDespues += tamano(despues);
+				indiceTipoAntes += tamano(clave(antes, "numeroCuenta", "tipoMovimiento", "fechaMovimiento"));
+				indiceTipoDespues += tamano(clave(despues, "numeroCuenta", "tipoMovimiento", "fechaMovimiento"));
+				ahorroEsperado += ahorro(movimiento.getTipoMovimiento());
+			}
+		}
+
+		logger.info("Documentos: {} -> {} bytes ({}); índice estadoCuenta: {} -> {} ({}); índice cuenta_tipo_fecha: {} -> {} ({})",
+				documentosAntes, documentosDespues, porcentaje(documentosAntes, documentosDespues),
+				indiceEstadoAntes, indiceEstadoDespues, porcentaje(indiceEstadoAntes, indiceEstadoDespues),
+				indiceTipoAntes, indiceTipoDespues, porcentaje(indiceTipoAntes, indiceTipoDespues));
+
+		// Cada valor pasa de nombre.length() a un byte; el resto del documento no cambia
+		assertEquals(ahorroEsperado, documentosAntes - documentosDespues);
+		assertEquals(CUENTAS * MOVIMIENTOS_POR_CUENTA * 5L + CUENTAS * MOVIMIENTOS_POR_CUENTA / 2,
+				indiceTipoAntes - indiceTipoDespues);
+	}
+
+	@Test
+	void leeDocumentosSinMigrar() {
+		CuentaBancaria cuenta = cuenta(7);
+		Document anterior = escribir(conNombres, cuenta);
+		assertEquals(cuenta.getEstadoCuenta().name(), anterior.getString("estadoCuenta"));
+
+		CuentaBancaria leida = conCodigos.read(CuentaBancaria.class, anterior);
+		assertEquals(cuenta.getEstadoCuenta(), leida.getEstadoCuenta());
+		assertEquals(cuenta.getTipoCuenta(), leida.getTipoCuenta());
+		assertEquals(cuenta.getTipoCuenta(), conCodigos.read(CuentaBancaria.class, escribir(conCodigos, cuenta)).getTipoCuenta());
+	}
+
+	@Test
+	void lasConsultasFiltranPorCodigo() {
+		QueryMapper mapper = new QueryMapper(conCodigos);
+		Document consulta = Criteria.where("numeroCuenta").is("2200000001")
+				.and("tipoMovimiento").is(TipoMovimiento.DEBITO).getCriteriaObject();
+
+		Document mapeada = mapper.getMappedObject(consulta, conCodigos.getMappingContext().getPersistentEntity(MovimientoCuenta.class));
+		assertEquals("D", mapeada.get("tipoMovimiento"));
+	}
+
+	private static MappingMongoConverter converter(MongoCustomConversions conversiones) {
+		MongoMappingContext contexto = new MongoMappingContext();
+		contexto.setSimpleTypeHolder(conversiones.getSimpleTypeHolder());
+		contexto.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+		converter.setCustomConversions(conversiones);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static CuentaBancaria cuenta(int indice) {
+		TipoCuenta[] tipos = TipoCuenta.values();
+		EstadoCuenta[] estados = EstadoCuenta.values();
+		CuentaBancaria cuenta = new CuentaBancaria(String.valueOf(2_200_000_000L + indice), String.valueOf(1_700_000_000L + indice),
+				"Cliente " + indice, tipos[indice % tipos.length]);
+		cuenta.setId(new ObjectId().toHexString());
+		// Mayoría de activas, como en producción
+		cuenta.setEstadoCuenta(indice % 10 == 0 ? estados[indice / 10 % estados.length] : EstadoCuenta.ACTIVA);
+		cuenta.setSaldoDisponible(Dinero.deCentavos(150_000L + indice));
+		cuenta.setSaldoContable(cuenta.getSaldoDisponible());
+		return cuenta;
+	}
+
+	private static MovimientoCuenta movimiento(String numeroCuenta, int secuencia, LocalDateTime fecha) {
+		TipoMovimiento tipo = secuencia % 2 == 0 ? TipoMovimiento.DEBITO : TipoMovimiento.CREDITO;
+		MovimientoCuenta movimiento = new MovimientoCuenta(numeroCuenta, String.format("COMP%012d", secuencia), tipo,
+				Dinero.deCentavos(1_000L + secuencia % 5_000), Dinero.deCentavos(150_000L), tipo.esDebito() ? "RETIRO" : "DEPOSITO");
+		movimiento.setId(new ObjectId().toHexString());
+		movimiento.setFechaMovimiento(fecha);
+		movimiento.setFechaValor(fecha);
+		return movimiento;
+	}
+
+	private static Document escribir(MappingMongoConverter converter, Object entidad) {
+		Document documento = new Document();
+		converter.write(entidad, documento);
+		return documento;
+	}
+
+	private static Document clave(Document documento, String... campos) {
+		Document clave = new Document();
+		for (String campo : List.of(campos)) {
+			clave.append(campo, documento.get(campo));
+		}
+		return clave;
+	}
+
+	private static int tamano(Document documento) {
+		return new RawBsonDocument(documento, new DocumentCodec()).getByteBuffer().remaining();
+	}
+
+	private static int ahorro(Enum<?> valor) {
+		return valor.name().length() - 1;
+	}
+
+	private static String porcentaje(long antes, long despues) {
+		return String.format("-%.1f%%", 100.0 * (antes - despues) / antes);
+	}
+}
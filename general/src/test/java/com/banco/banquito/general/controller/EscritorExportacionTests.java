@@ -0,0 +1,68 @@
+package com.banco.banquito.general.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.model.Dinero;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Exporta millones de filas sintéticas hacia una salida que solo cuenta líneas: si el escritor
+ * acumulara filas, la prueba agotaría el heap. Surefire la ejecuta en su propia JVM con -Xmx64m
+ * (ejecución exportacion-heap-acotado del pom).
+ */
+class EscritorExportacionTests {
+
+	private static final int FILAS = 2_000_000;
+
+	private final EscritorExportacion escritor = new EscritorExportacion(
+			new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+			1000);
+
+	@Test
+	void exportaNdjsonSinAcumularFilas() throws Exception {
+		ContadorLineas salida = new ContadorLineas();
+		escritor.escribir(MovimientoCuentaDTO.class, EscritorExportacion.NDJSON, this::generarFilas).writeTo(salida);
+		assertEquals(FILAS, salida.lineas);
+	}
+
+	@Test
+	void exportaCsvConCabecera() throws Exception {
+		ContadorLineas salida = new ContadorLineas();
+		escritor.escribir(MovimientoCuentaDTO.class, EscritorExportacion.CSV, this::generarFilas).writeTo(salida);
+		assertEquals(FILAS + 1, salida.lineas);
+	}
+
+	private void generarFilas(Consumer<MovimientoCuentaDTO> consumidor) {
+		LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+		for (int i = 0; i < FILAS; i++) {
+			MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+			movimiento.setNumeroCuenta("1234567890");
+			movimiento.setNumeroComprobante("COMP-" + i);
+			movimiento.setTipoMovimiento(i % 2 == 0 ? "DEBITO" : "CREDITO");
+			movimiento.setMonto(Dinero.deCentavos(i % 1000));
+			movimiento.setConcepto("PRUEBA EXPORTACION");
+			movimiento.setFechaMovimiento(fecha.plusSeconds(i));
+			consumidor.accept(movimiento);
+		}
+	}
+
+	private static class ContadorLineas extends OutputStream {
+		private long lineas;
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				lineas++;
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.banco.banquito.general.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class DineroTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@Test
+	void operaEnCentavosYControlaDesbordamiento() {
+		Dinero saldo = Dinero.de("1500.00");
+		Dinero monto = Dinero.de(new BigDecimal("250.75"));
+
+		assertEquals(124_925, saldo.restar(monto).getCentavos());
+		assertEquals(Dinero.de("1750.75"), saldo.sumar(monto));
+		assertEquals(Dinero.de("-250.75"), monto.negar());
+		assertEquals(monto, monto.negar().absoluto());
+		assertEquals(Dinero.de("10.5"), Dinero.deCentavos(1050));
+		assertEquals(new BigDecimal("10.50"), Dinero.deCentavos(1050).toBigDecimal());
+
+		assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MAX_VALUE).sumar(Dinero.deCentavos(1)));
+		assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MIN_VALUE).restar(Dinero.deCentavos(1)));
+	}
+
+	@Test
+	void rechazaMasDeDosDecimales() {
+		assertEquals(Dinero.de("10.01"), Dinero.de("10.0100"));
+		assertThrows(IllegalArgumentException.class, () -> Dinero.de("10.005"));
+		assertThrows(IllegalArgumentException.class, () -> Dinero.de("1e30"));
+	}
+
+	@Test
+	void soloSeAdmitenMonedasConLaEscalaFija() {
+		for (String moneda : Dinero.MONEDAS) {
+			assertEquals(Dinero.ESCALA, Currency.getInstance(moneda).getDefaultFractionDigits(), moneda);
+			assertEquals(moneda, Dinero.validarMoneda(moneda));
+		}
+		assertThrows(IllegalArgumentException.class, () -> Dinero.validarMoneda("JPY"));
+		assertThrows(IllegalArgumentException.class, () -> Dinero.validarMoneda("KWD"));
+	}
+
+	@Test
+	void seSerializaComoNumeroDecimal() throws Exception {
+		MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+		movimiento.setMonto(Dinero.de("150.70"));
+
+		String json = objectMapper.writeValueAsString(movimiento);
+		assertTrue(json.contains("\"monto\":150.70"), json);
+
+		assertEquals(Dinero.de("150.7"), objectMapper.readValue("{\"monto\":150.7}", MovimientoCuentaDTO.class).getMonto());
+		assertEquals(Dinero.de("25"), objectMapper.readValue("{\"monto\":\"25\"}", MovimientoCuentaDTO.class).getMonto());
+		assertThrows(InvalidFormatException.class,
+				() -> objectMapper.readValue("{\"monto\":1.001}", MovimientoCuentaDTO.class));
+	}
+}
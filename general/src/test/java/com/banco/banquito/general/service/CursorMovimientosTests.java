@@ -0,0 +1,94 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.banco.banquito.general.exception.CursorInvalidoException;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+class CursorMovimientosTests {
+
+	private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 15, 10, 0, 0, 123_456_789);
+
+	@Test
+	void codificarYDecodificarConservanFechaEId() {
+		MovimientoCuenta ultimo = movimiento(FECHA);
+
+		CursorMovimientos cursor = CursorMovimientos.decodificar(CursorMovimientos.desde(ultimo).codificar());
+
+		assertEquals(FECHA, cursor.getFechaMovimiento());
+		assertEquals(ultimo.getId(), cursor.getId().toHexString());
+	}
+
+	@Test
+	void laFechaEnPuntoTambienSeConserva() {
+		LocalDateTime enPunto = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+		assertEquals(enPunto, CursorMovimientos.decodificar(CursorMovimientos.desde(movimiento(enPunto)).codificar()).getFechaMovimiento());
+	}
+
+	@Test
+	void unCursorAlteradoSeRechaza() {
+		assertThrows(CursorInvalidoException.class, () -> CursorMovimientos.decodificar("no es un cursor"));
+		assertThrows(CursorInvalidoException.class, () -> CursorMovimientos.decodificar("MjAyNC0wMS0xNQ"));
+	}
+
+	@Test
+	void conFechaIgualContinuaPorIdDescendente() {
+		MovimientoCuenta ultimo = movimiento(FECHA);
+		String cursor = CursorMovimientos.desde(ultimo).codificar();
+
+		Query query = MovimientoCuentaService.consultaCursor("2200000001", null, null, cursor, 20);
+
+		@SuppressWarnings("unchecked")
+		List<Document> alternativas = (List<Document>) query.getQueryObject().get("$or");
+		assertEquals(new Document("fechaMovimiento", new Document("$lt", FECHA)), alternativas.get(0));
+		assertEquals(new Document("fechaMovimiento", FECHA).append("_id", new Document("$lt", new ObjectId(ultimo.getId()))),
+				alternativas.get(1));
+		assertEquals(new Document("fechaMovimiento", -1).append("_id", -1), query.getSortObject());
+		assertEquals(21, query.getLimit());
+	}
+
+	@Test
+	void sinCursorEmpiezaDesdeElMasReciente() {
+		Query query = MovimientoCuentaService.consultaCursor("2200000001", null, null, null, 20);
+
+		assertNull(query.getQueryObject().get("$or"));
+		assertEquals("2200000001", query.getQueryObject().get("numeroCuenta"));
+	}
+
+	@Test
+	void elElementoExtraSoloIndicaQueHayMas() {
+		List<MovimientoCuenta> leidos = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			leidos.add(movimiento(FECHA.minusMinutes(i)));
+		}
+
+		Slice<MovimientoCuenta> conMas = MovimientoCuentaService.sliceCursor(leidos, 2);
+		assertEquals(2, conMas.getContent().size());
+		assertTrue(conMas.hasNext());
+
+		Slice<MovimientoCuenta> ultima = MovimientoCuentaService.sliceCursor(leidos.subList(0, 2), 2);
+		assertEquals(2, ultima.getContent().size());
+		assertFalse(ultima.hasNext());
+	}
+
+	private static MovimientoCuenta movimiento(LocalDateTime fecha) {
+		MovimientoCuenta movimiento = new MovimientoCuenta(new ObjectId().toHexString());
+		movimiento.setFechaMovimiento(fecha);
+		return movimiento;
+	}
+}
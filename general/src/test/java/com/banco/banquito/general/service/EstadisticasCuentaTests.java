@@ -0,0 +1,58 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.TipoMovimiento;
+
+class EstadisticasCuentaTests {
+
+	private static final LocalDateTime DIA = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+	@Test
+	void acumulaContadoresSumasYExtremosEnUnSoloUpdate() {
+		Document update = EstadisticasCuentaService.acumular(List.of(
+				movimiento(TipoMovimiento.CREDITO, "150.00", DIA.plusHours(2)),
+				movimiento(TipoMovimiento.DEBITO, "0.01", DIA),
+				movimiento(TipoMovimiento.DEBITO, "400.00", DIA.plusHours(1)))).getUpdateObject();
+
+		Document inc = update.get("$inc", Document.class);
+		assertEquals(3L, inc.get("totalMovimientos"));
+		assertEquals(2L, inc.get("totalDebitos"));
+		assertEquals(1L, inc.get("totalCreditos"));
+		assertEquals(40001L, inc.get("sumaDebitos"));
+		assertEquals(15000L, inc.get("sumaCreditos"));
+
+		Document min = update.get("$min", Document.class);
+		assertEquals(1L, min.get("montoMinimo"));
+		assertEquals(DIA, min.get("fechaPrimerMovimiento"));
+
+		Document max = update.get("$max", Document.class);
+		assertEquals(40000L, max.get("montoMaximo"));
+		assertEquals(DIA.plusHours(2), max.get("fechaUltimoMovimiento"));
+	}
+
+	@Test
+	void unSoloMovimientoEsMinimoYMaximo() {
+		Document update = EstadisticasCuentaService.acumular(List.of(
+				movimiento(TipoMovimiento.CREDITO, "25.50", DIA))).getUpdateObject();
+
+		assertEquals(0L, update.get("$inc", Document.class).get("sumaDebitos"));
+		assertEquals(2550L, update.get("$min", Document.class).get("montoMinimo"));
+		assertEquals(2550L, update.get("$max", Document.class).get("montoMaximo"));
+		assertEquals(DIA, update.get("$max", Document.class).get("fechaUltimoMovimiento"));
+	}
+
+	private static MovimientoCuenta movimiento(TipoMovimiento tipo, String monto, LocalDateTime fecha) {
+		MovimientoCuenta movimiento = new MovimientoCuenta("2200000001", "C-" + monto, tipo, Dinero.de(monto), Dinero.CERO, "PRUEBA");
+		movimiento.setFechaMovimiento(fecha);
+		return movimiento;
+	}
+}
@@ -0,0 +1,33 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FiltroBloomTests {
+
+	private static final int CAPACIDAD_INICIAL = 10_000;
+	private static final int ELEMENTOS = 100_000;
+
+	@Test
+	void creceSinFalsosNegativosYConFalsosPositivosAcotados() {
+		FiltroBloom filtro = new FiltroBloom(CAPACIDAD_INICIAL, 0.01);
+		for (int i = 0; i < ELEMENTOS; i++) {
+			filtro.agregar("COMP-2024-" + i);
+		}
+
+		for (int i = 0; i < ELEMENTOS; i++) {
+			assertTrue(filtro.puedeContener("COMP-2024-" + i));
+		}
+
+		int falsosPositivos = 0;
+		for (int i = 0; i < ELEMENTOS; i++) {
+			if (filtro.puedeContener("COMP-2025-" + i)) {
+				falsosPositivos++;
+			}
+		}
+		// Capas de 1%, 0.5%, 0.25%...: la suma queda por debajo del 2%
+		assertTrue(falsosPositivos < ELEMENTOS * 0.02, "Falsos positivos: " + falsosPositivos);
+		assertTrue(filtro.probabilidadFalsoPositivo() < 0.02);
+	}
+}
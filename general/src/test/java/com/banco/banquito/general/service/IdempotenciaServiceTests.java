@@ -0,0 +1,190 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
+import com.banco.banquito.general.exception.OperacionEnCursoException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+import com.banco.banquito.general.model.ReservaIdempotencia;
+import com.banco.banquito.general.repository.MovimientoCuentaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotenciaServiceTests {
+
+	private final MovimientoCuentaService movimientoService = mock(MovimientoCuentaService.class);
+	private final MovimientoCuentaRepository repository = mock(MovimientoCuentaRepository.class);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final IdempotenciaService idempotencia = new IdempotenciaService(movimientoService, repository, mongoTemplate,
+			objectMapper, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+	@Test
+	void laClaveSeReservaAntesDeMoverElSaldo() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		when(movimientoService.procesarMovimiento(eq(solicitud), eq("clave-1"), anyString())).thenReturn(guardado(solicitud));
+
+		assertFalse(idempotencia.procesar("clave-1", solicitud).isRepetida());
+
+		InOrder orden = inOrder(mongoTemplate, movimientoService);
+		ArgumentCaptor<ReservaIdempotencia> reserva = ArgumentCaptor.forClass(ReservaIdempotencia.class);
+		orden.verify(mongoTemplate).insert(reserva.capture());
+		orden.verify(movimientoService).procesarMovimiento(eq(solicitud), eq("clave-1"), anyString());
+		assertEquals("clave-1", reserva.getValue().getId());
+		assertEquals(solicitud.getNumeroComprobante(), reserva.getValue().getNumeroComprobante());
+	}
+
+	@Test
+	void elReintentoDesdeOtraReplicaRepiteElMovimientoSinTocarElSaldo() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		MovimientoCuenta guardado = guardado(solicitud);
+		reservada(solicitud);
+		when(repository.findByNumeroComprobante(solicitud.getNumeroComprobante())).thenReturn(Optional.of(guardado));
+
+		RespuestaIdempotente<MovimientoCuenta> respuesta = idempotencia.procesar("clave-1", solicitud);
+
+		assertTrue(respuesta.isRepetida());
+		assertSame(guardado, respuesta.getCuerpo());
+		verify(movimientoService, never()).procesarMovimiento(any(), anyString(), anyString());
+	}
+
+	@Test
+	void elReintentoEnLaMismaReplicaNoVuelveAProcesar() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		MovimientoCuenta guardado = guardado(solicitud);
+		when(movimientoService.procesarMovimiento(eq(solicitud), eq("clave-1"), anyString())).thenReturn(guardado);
+
+		assertFalse(idempotencia.procesar("clave-1", solicitud).isRepetida());
+		RespuestaIdempotente<MovimientoCuenta> repetida = idempotencia.procesar("clave-1", solicitud("150.00"));
+
+		assertTrue(repetida.isRepetida());
+		assertSame(guardado, repetida.getCuerpo());
+		verify(movimientoService, times(1)).procesarMovimiento(any(), anyString(), anyString());
+	}
+
+	@Test
+	void laMismaClaveConOtroCuerpoSeRechaza() {
+		reservada(solicitud("150.00"));
+
+		assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> idempotencia.procesar("clave-1", solicitud("900.00")));
+		verify(movimientoService, never()).procesarMovimiento(any(), anyString(), anyString());
+	}
+
+	@Test
+	void unaReservaVigenteSinMovimientoEstaEnCurso() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		reservada(solicitud);
+		when(repository.findByNumeroComprobante(solicitud.getNumeroComprobante())).thenReturn(Optional.empty());
+
+		assertThrows(OperacionEnCursoException.class, () -> idempotencia.procesar("clave-1", solicitud));
+		verify(movimientoService, never()).procesarMovimiento(any(), anyString(), anyString());
+	}
+
+	@Test
+	void unaReservaVencidaSinMovimientoSeRetoma() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		MovimientoCuenta guardado = guardado(solicitud);
+		ReservaIdempotencia reserva = reservada(solicitud);
+		when(repository.findByNumeroComprobante(solicitud.getNumeroComprobante())).thenReturn(Optional.empty());
+		when(mongoTemplate.findAndModify(any(Query.class), any(), eq(ReservaIdempotencia.class))).thenReturn(reserva);
+		when(movimientoService.procesarMovimiento(eq(solicitud), eq("clave-1"), anyString())).thenReturn(guardado);
+
+		RespuestaIdempotente<MovimientoCuenta> respuesta = idempotencia.procesar("clave-1", solicitud);
+
+		assertFalse(respuesta.isRepetida());
+		assertSame(guardado, respuesta.getCuerpo());
+	}
+
+	@Test
+	void unRechazoLiberaLaReserva() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		MovimientoCuenta guardado = guardado(solicitud);
+		when(movimientoService.procesarMovimiento(eq(solicitud), eq("clave-1"), anyString()))
+				.thenThrow(new SaldoInsuficienteException("2200000001", Dinero.de("10.00"), Dinero.de("150.00")))
+				.thenReturn(guardado);
+
+		assertThrows(SaldoInsuficienteException.class, () -> idempotencia.procesar("clave-1", solicitud));
+		verify(mongoTemplate).remove(any(Query.class), eq(ReservaIdempotencia.class));
+
+		RespuestaIdempotente<MovimientoCuenta> respuesta = idempotencia.procesar("clave-1", solicitud);
+		assertFalse(respuesta.isRepetida());
+		assertSame(guardado, respuesta.getCuerpo());
+	}
+
+	@Test
+	void soloSeLiberaLaReservaPropia() {
+		LocalDateTime hasta = IdempotenciaService.finArriendo(Duration.ofSeconds(30));
+
+		assertEquals(0, hasta.getNano() % 1_000_000);
+		assertEquals(hasta, IdempotenciaService.consultaReservaPropia("clave-1", hasta).getQueryObject().get("hasta"));
+	}
+
+	@Test
+	void laHuellaViajaConElMovimiento() {
+		MovimientoCuentaDTO solicitud = solicitud("150.00");
+		when(movimientoService.procesarMovimiento(eq(solicitud), eq("clave-1"), anyString())).thenReturn(guardado(solicitud));
+
+		idempotencia.procesar("clave-1", solicitud);
+
+		ArgumentCaptor<String> huella = ArgumentCaptor.forClass(String.class);
+		verify(movimientoService).procesarMovimiento(eq(solicitud), eq("clave-1"), huella.capture());
+		assertEquals(IdempotenciaService.huella(objectMapper, solicitud("150.00")), huella.getValue());
+		assertNotEquals(IdempotenciaService.huella(objectMapper, solicitud("150.01")), huella.getValue());
+	}
+
+	private ReservaIdempotencia reservada(MovimientoCuentaDTO solicitud) {
+		ReservaIdempotencia reserva = IdempotenciaService.nuevaReserva("clave-1", IdempotenciaService.huella(objectMapper, solicitud),
+				solicitud.getNumeroComprobante(), LocalDateTime.now().plusSeconds(30));
+		when(mongoTemplate.insert(any(ReservaIdempotencia.class))).thenThrow(new DuplicateKeyException("E11000"));
+		when(mongoTemplate.findById("clave-1", ReservaIdempotencia.class)).thenReturn(reserva);
+		return reserva;
+	}
+
+	private static MovimientoCuentaDTO solicitud(String monto) {
+		MovimientoCuentaDTO solicitud = new MovimientoCuentaDTO();
+		solicitud.setNumeroCuenta("2200000001");
+		solicitud.setNumeroComprobante("CMP-0001");
+		solicitud.setTipoMovimiento("DEBITO");
+		solicitud.setMonto(Dinero.de(monto));
+		solicitud.setConcepto("PRUEBA");
+		return solicitud;
+	}
+
+	private MovimientoCuenta guardado(MovimientoCuentaDTO solicitud) {
+		MovimientoCuenta movimiento = new MovimientoCuenta("mov-1");
+		movimiento.setNumeroComprobante(solicitud.getNumeroComprobante());
+		movimiento.setClaveIdempotencia("clave-1");
+		movimiento.setHuellaSolicitud(IdempotenciaService.huella(objectMapper, solicitud));
+		return movimiento;
+	}
+}
@@ -0,0 +1,118 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.core.messaging.SubscriptionRequest;
+import org.springframework.util.ErrorHandler;
+
+import com.banco.banquito.general.config.CacheConfig;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InvalidacionCacheCuentasTests {
+
+	private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CACHE_CUENTAS);
+	private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+	private final Subscription suscripcion = mock(Subscription.class);
+	private InvalidacionCacheCuentas invalidacion;
+
+	@BeforeEach
+	void preparar() {
+		when(container.register(any(), eq(Document.class), any(ErrorHandler.class))).thenReturn(suscripcion);
+		when(suscripcion.isActive()).thenReturn(true);
+		invalidacion = new InvalidacionCacheCuentas(cacheManager, container, new SimpleMeterRegistry());
+		invalidacion.registrar();
+		for (String numeroCuenta : List.of("2200000001", "2200000002")) {
+			cacheManager.getCache(CacheConfig.CACHE_CUENTAS).put(numeroCuenta, numeroCuenta);
+		}
+	}
+
+	@Test
+	void invalidaSoloLaCuentaModificada() {
+		invalidacion.onMessage(mensaje("2200000001", "token-1"));
+
+		assertNull(cacheManager.getCache(CacheConfig.CACHE_CUENTAS).get("2200000001"));
+		assertNotNull(cacheManager.getCache(CacheConfig.CACHE_CUENTAS).get("2200000002"));
+	}
+
+	@Test
+	void sinCaidaNoSeReinicia() {
+		invalidacion.vigilar();
+
+		verify(container, times(1)).register(any(), eq(Document.class), any(ErrorHandler.class));
+		assertNotNull(cacheManager.getCache(CacheConfig.CACHE_CUENTAS).get("2200000002"));
+	}
+
+	@Test
+	void reiniciaDesdeElUltimoTokenYVaciaLaCache() {
+		invalidacion.onMessage(mensaje("2200000001", "token-1"));
+		when(suscripcion.isActive()).thenReturn(false);
+
+		invalidacion.vigilar();
+
+		ChangeStreamRequest<?> reinicio = ultimaSuscripcion(2);
+		assertEquals(token("token-1"), reinicio.getRequestOptions().getChangeStreamOptions().getResumeToken().orElseThrow());
+		verify(container).remove(suscripcion);
+		assertNull(cacheManager.getCache(CacheConfig.CACHE_CUENTAS).get("2200000002"));
+	}
+
+	@Test
+	void conHistoriaPerdidaReiniciaSinToken() {
+		invalidacion.onMessage(mensaje("2200000001", "token-1"));
+		ArgumentCaptor<ErrorHandler> manejador = ArgumentCaptor.forClass(ErrorHandler.class);
+		verify(container).register(any(), eq(Document.class), manejador.capture());
+		manejador.getValue().handleError(new MongoException(286, "resume point may no longer be in the oplog"));
+		when(suscripcion.isActive()).thenReturn(false);
+
+		invalidacion.vigilar();
+
+		assertFalse(ultimaSuscripcion(2).getRequestOptions().getChangeStreamOptions().getResumeToken().isPresent());
+		assertNull(cacheManager.getCache(CacheConfig.CACHE_CUENTAS).get("2200000002"));
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private ChangeStreamRequest<?> ultimaSuscripcion(int suscripciones) {
+		ArgumentCaptor<SubscriptionRequest> request = ArgumentCaptor.forClass(SubscriptionRequest.class);
+		verify(container, times(suscripciones)).register(request.capture(), eq(Document.class), any(ErrorHandler.class));
+		return (ChangeStreamRequest<?>) request.getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Message<ChangeStreamDocument<Document>, Document> mensaje(String numeroCuenta, String token) {
+		ChangeStreamDocument<Document> evento = mock(ChangeStreamDocument.class);
+		when(evento.getFullDocument()).thenReturn(new Document("numeroCuenta", numeroCuenta));
+		when(evento.getResumeToken()).thenReturn(token(token));
+		Message<ChangeStreamDocument<Document>, Document> mensaje = mock(Message.class);
+		when(mensaje.getRaw()).thenReturn(evento);
+		return mensaje;
+	}
+
+	private static BsonDocument token(String valor) {
+		return new BsonDocument("_data", new BsonString(valor));
+	}
+}
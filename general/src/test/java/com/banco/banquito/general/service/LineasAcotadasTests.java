@@ -0,0 +1,34 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class LineasAcotadasTests {
+
+	@Test
+	void descartaLaLineaExcedidaYSigueConLaSiguiente() throws IOException {
+		String larga = "x".repeat(100_000);
+		ImportacionMovimientosService.LineasAcotadas lineas = new ImportacionMovimientosService.LineasAcotadas(
+				new StringReader("{\"a\":1}\r\n" + larga + "\n1234567890\nfin"), 10);
+
+		assertEquals("{\"a\":1}", lineas.siguiente());
+		assertFalse(lineas.excedida());
+
+		assertEquals("", lineas.siguiente());
+		assertTrue(lineas.excedida());
+
+		// Exactamente la longitud máxima todavía se acepta
+		assertEquals("1234567890", lineas.siguiente());
+		assertFalse(lineas.excedida());
+
+		assertEquals("fin", lineas.siguiente());
+		assertNull(lineas.siguiente());
+	}
+}
@@ -0,0 +1,83 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.exception.CuentaInactivaException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class MetricasMovimientosTests {
+
+	@Test
+	void cuentaResultadosPorEstadoSinEtiquetasDeCuenta() {
+		SimpleMeterRegistry registro = new SimpleMeterRegistry();
+		MetricasMovimientos metricas = new MetricasMovimientos(registro);
+		int seriesIniciales = registro.getMeters().size();
+
+		metricas.registrarAceptado(MetricasMovimientos.PROCESAR);
+		metricas.registrarRechazo(MetricasMovimientos.PROCESAR,
+				new SaldoInsuficienteException("2200000001", Dinero.deCentavos(100), Dinero.deCentavos(1000)));
+		metricas.registrarRechazo(MetricasMovimientos.PROCESAR, new CuentaInactivaException("2200000002", EstadoCuenta.BLOQUEADA));
+		metricas.registrarRechazo(MetricasMovimientos.PROCESAR, new IllegalStateException("otro"));
+		metricas.registrarResultados(MetricasMovimientos.LOTE, List.of(
+				ResultadoMovimiento.rechazado(0, "2200000003", "C-1", ResultadoMovimiento.COMPROBANTE_DUPLICADO, "duplicado"),
+				ResultadoMovimiento.rechazado(1, "2200000004", "C-2", "DESCONOCIDO", "sin estado propio")));
+
+		assertEquals(1, contador(registro, MetricasMovimientos.PROCESAR, ResultadoMovimiento.ACEPTADO));
+		assertEquals(1, contador(registro, MetricasMovimientos.PROCESAR, ResultadoMovimiento.SALDO_INSUFICIENTE));
+		assertEquals(1, contador(registro, MetricasMovimientos.PROCESAR, ResultadoMovimiento.CUENTA_INACTIVA));
+		assertEquals(1, contador(registro, MetricasMovimientos.PROCESAR, ResultadoMovimiento.RECHAZADO));
+		assertEquals(1, contador(registro, MetricasMovimientos.LOTE, ResultadoMovimiento.COMPROBANTE_DUPLICADO));
+		assertEquals(1, contador(registro, MetricasMovimientos.LOTE, ResultadoMovimiento.RECHAZADO));
+		// Ningún registro crea series nuevas: las etiquetas salen solo de conjuntos cerrados
+		assertEquals(seriesIniciales, registro.getMeters().size());
+	}
+
+	@Test
+	void mideEtapasYGeneradores() {
+		SimpleMeterRegistry registro = new SimpleMeterRegistry();
+		MetricasMovimientos metricas = new MetricasMovimientos(registro);
+
+		String valor = metricas.medir(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_SALDO, () -> "ok");
+		metricas.medir(MetricasMovimientos.REVERSAR, MetricasMovimientos.ETAPA_MARCA, () -> { });
+		metricas.registrarGenerado(MetricasMovimientos.GENERADOR_CUENTA);
+		metricas.registrarReintento(MetricasMovimientos.GENERADOR_CUENTA);
+
+		assertEquals("ok", valor);
+		assertEquals(1, registro.get("banquito.movimientos.etapa")
+				.tags("operacion", MetricasMovimientos.PROCESAR, "etapa", MetricasMovimientos.ETAPA_SALDO).timer().count());
+		assertEquals(1, registro.get("banquito.movimientos.etapa")
+				.tags("operacion", MetricasMovimientos.REVERSAR, "etapa", MetricasMovimientos.ETAPA_MARCA).timer().count());
+		assertEquals(1, registro.get("banquito.generadores.numeros").tag("generador", "cuenta").counter().count());
+		assertEquals(1, registro.get("banquito.generadores.reintentos").tag("generador", "cuenta").counter().count());
+		assertEquals(0, registro.get("banquito.generadores.reintentos").tag("generador", "comprobante").counter().count());
+	}
+
+	@Test
+	void mideEtapasReactivasAlTerminar() {
+		SimpleMeterRegistry registro = new SimpleMeterRegistry();
+		MetricasMovimientos metricas = new MetricasMovimientos(registro);
+
+		Mono<String> paso = metricas.medirReactivo(MetricasMovimientos.PROCESAR, MetricasMovimientos.ETAPA_INSERCION, Mono.just("ok"));
+		assertEquals(0, timer(registro, MetricasMovimientos.ETAPA_INSERCION));
+
+		assertEquals("ok", paso.block());
+		assertEquals(1, timer(registro, MetricasMovimientos.ETAPA_INSERCION));
+	}
+
+	private static long timer(SimpleMeterRegistry registro, String etapa) {
+		return registro.get("banquito.movimientos.etapa").tags("operacion", MetricasMovimientos.PROCESAR, "etapa", etapa).timer().count();
+	}
+
+	private static double contador(SimpleMeterRegistry registro, String operacion, String resultado) {
+		return registro.get("banquito.movimientos.resultado").tags("operacion", operacion, "resultado", resultado).counter().count();
+	}
+}
@@ -0,0 +1,35 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class MigracionMontosDineroTests {
+
+	@Test
+	void tambienSeMigranLosMontosDoubleYString() {
+		Document filtro = MigracionMontosDinero.filtroEnUnidades("monto");
+
+		assertEquals(new Document("$type", List.of("decimal", "double", "string")), filtro.get("monto"));
+	}
+
+	@Test
+	void laVerificacionDeArranqueCubreLosMismosTipos() {
+		Document pendientes = MigracionMontosDinero.filtroPendientes(List.of("saldoDisponible", "saldoContable"));
+
+		assertEquals(List.of(MigracionMontosDinero.filtroEnUnidades("saldoDisponible"),
+				MigracionMontosDinero.filtroEnUnidades("saldoContable")), pendientes.get("$or"));
+	}
+
+	@Test
+	void convierteADecimalAntesDeRedondearACentavos() {
+		Document centavos = MigracionMontosDinero.aCentavos("monto").get("$set", Document.class).get("monto", Document.class);
+
+		Document redondeo = centavos.get("$toLong", Document.class);
+		Document producto = (Document) redondeo.getList("$round", Object.class).get(0);
+		assertEquals(List.of(new Document("$toDecimal", "$monto"), 100), producto.get("$multiply"));
+	}
+}
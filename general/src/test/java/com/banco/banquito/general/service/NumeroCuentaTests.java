@@ -0,0 +1,69 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.repository.CuentaBancariaRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NumeroCuentaTests {
+
+	private final SecuenciaBloques secuenciaBloques = mock(SecuenciaBloques.class);
+	private final CuentaBancariaService cuentaService = new CuentaBancariaService(mock(CuentaBancariaRepository.class), null,
+			secuenciaBloques, new MetricasMovimientos(new SimpleMeterRegistry()), 1000);
+
+	@Test
+	void digitoVerificadorLuhn() {
+		// Ejemplo clásico de Luhn: 7992739871 lleva 3
+		assertEquals(3, CuentaBancariaService.digitoVerificador("7992739871"));
+		assertEquals(8, CuentaBancariaService.digitoVerificador("100000000"));
+		assertEquals(0, CuentaBancariaService.digitoVerificador("0"));
+	}
+
+	@Test
+	void elDigitoDetectaUnDigitoAlterado() {
+		String numeroCuenta = generar(123_456L);
+		for (int i = 0; i < numeroCuenta.length() - 1; i++) {
+			char original = numeroCuenta.charAt(i);
+			char alterado = (char) ('0' + (original - '0' + 1) % 10);
+			String cambiado = numeroCuenta.substring(0, i) + alterado + numeroCuenta.substring(i + 1);
+			assertFalse(luhnValido(cambiado), cambiado);
+		}
+	}
+
+	@Test
+	void generaDiezDigitosDentroDelRango() {
+		assertEquals("1000000008", generar(0L));
+
+		for (long secuencia : new long[] {1L, 42L, 123_456L, 899_999_999L}) {
+			String numeroCuenta = generar(secuencia);
+			assertEquals(10, numeroCuenta.length());
+			assertTrue(numeroCuenta.charAt(0) != '0', numeroCuenta);
+			assertTrue(luhnValido(numeroCuenta), numeroCuenta);
+		}
+	}
+
+	@Test
+	void fueraDelRangoNoSeGenera() {
+		when(secuenciaBloques.siguiente("cuentas")).thenReturn(900_000_000L);
+
+		assertThrows(IllegalStateException.class, cuentaService::generarNumeroCuenta);
+	}
+
+	private String generar(long secuencia) {
+		when(secuenciaBloques.siguiente("cuentas")).thenReturn(secuencia);
+		return cuentaService.generarNumeroCuenta();
+	}
+
+	private static boolean luhnValido(String numero) {
+		int largo = numero.length() - 1;
+		return CuentaBancariaService.digitoVerificador(numero.substring(0, largo)) == numero.charAt(largo) - '0';
+	}
+}
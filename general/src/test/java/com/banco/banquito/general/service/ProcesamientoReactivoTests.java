@@ -0,0 +1,154 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.banco.banquito.general.controller.dto.CrearCuentaDTO;
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.exception.ClaveIdempotenciaReutilizadaException;
+import com.banco.banquito.general.exception.ComprobanteDuplicadoException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadisticasCuenta;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra la misma secuencia de movimientos por la variante bloqueante y por la reactiva sobre dos cuentas
+ * iguales y compara el resultado, los rechazos, la idempotencia y las métricas de etapa. Requiere un MongoDB accesible: mvn test -Dbanquito.pruebas.mongo=true
+ */
+@SpringBootTest
+@ActiveProfiles("reactivo")
+@EnabledIfSystemProperty(named = "banquito.pruebas.mongo", matches = "true")
+class ProcesamientoReactivoTests {
+
+	private static final String[][] SECUENCIA = {
+		{"CREDITO", "150.00"}, {"DEBITO", "400.00"}, {"DEBITO", "0.01"}, {"CREDITO", "1234.56"}, {"DEBITO", "900.00"}
+	};
+
+	@Autowired
+	private CuentaBancariaService cuentaService;
+
+	@Autowired
+	private MovimientoCuentaService movimientoService;
+
+	@Autowired
+	private MovimientoCuentaReactivoService movimientoReactivoService;
+
+	@Autowired
+	private EstadisticasCuentaService estadisticasService;
+
+	@Autowired
+	private IdempotenciaService idempotencia;
+
+	@Autowired
+	private IdempotenciaReactivaService idempotenciaReactiva;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void mismaSecuenciaMismoResultado() {
+		String cuentaBloqueante = crearCuenta();
+		String cuentaReactiva = crearCuenta();
+
+		for (String[] paso : SECUENCIA) {
+			MovimientoCuenta bloqueante = movimientoService.procesarMovimiento(movimiento(cuentaBloqueante, paso[0], paso[1]));
+			MovimientoCuenta reactivo = movimientoReactivoService.procesarMovimiento(movimiento(cuentaReactiva, paso[0], paso[1])).block();
+
+			assertEquals(0, bloqueante.getSaldoAnterior().compareTo(reactivo.getSaldoAnterior()));
+			assertEquals(0, bloqueante.getSaldoPosterior().compareTo(reactivo.getSaldoPosterior()));
+		}
+
+		assertEquals(0, cuentaService.buscarPorNumeroCuenta(cuentaBloqueante).orElseThrow().getSaldoDisponible()
+				.compareTo(cuentaService.buscarPorNumeroCuenta(cuentaReactiva).orElseThrow().getSaldoDisponible()));
+
+		EstadisticasCuenta estadisticasBloqueante = estadisticasService.obtenerEstadisticas(cuentaBloqueante);
+		EstadisticasCuenta estadisticasReactiva = estadisticasService.obtenerEstadisticas(cuentaReactiva);
+		assertEquals(estadisticasBloqueante.getTotalMovimientos(), estadisticasReactiva.getTotalMovimientos());
+		assertEquals(0, estadisticasBloqueante.getSumaDebitos().compareTo(estadisticasReactiva.getSumaDebitos()));
+		assertEquals(0, estadisticasBloqueante.getSumaCreditos().compareTo(estadisticasReactiva.getSumaCreditos()));
+	}
+
+	@Test
+	void rechazosIgualesALaVarianteBloqueante() {
+		String numeroCuenta = crearCuenta();
+
+		MovimientoCuentaDTO sinFondos = movimiento(numeroCuenta, "DEBITO", "5000.00");
+		assertThrows(SaldoInsuficienteException.class, () -> movimientoReactivoService.procesarMovimiento(sinFondos).block());
+
+		MovimientoCuentaDTO credito = movimiento(numeroCuenta, "CREDITO", "10.00");
+		movimientoReactivoService.procesarMovimiento(credito).block();
+		assertThrows(ComprobanteDuplicadoException.class, () -> movimientoReactivoService.procesarMovimiento(credito).block());
+
+		// Ni el débito rechazado ni el duplicado tocaron el saldo
+		assertEquals(Dinero.de("1010.00"),
+				cuentaService.buscarPorNumeroCuenta(numeroCuenta).orElseThrow().getSaldoDisponible());
+	}
+
+	@Test
+	void mismaClaveDeIdempotenciaEntreVariantes() {
+		String numeroCuenta = crearCuenta();
+		MovimientoCuentaDTO debito = movimiento(numeroCuenta, "DEBITO", "250.00");
+		String clave = UUID.randomUUID().toString();
+
+		RespuestaIdempotente<MovimientoCuenta> reactiva = idempotenciaReactiva.procesar(clave, debito).block();
+		RespuestaIdempotente<MovimientoCuenta> bloqueante = idempotencia.procesar(clave, debito);
+
+		assertFalse(reactiva.isRepetida());
+		assertTrue(bloqueante.isRepetida());
+		assertEquals(reactiva.getCuerpo().getId(), bloqueante.getCuerpo().getId());
+
+		// La clave con otro cuerpo se rechaza en ambas variantes y el saldo no se mueve
+		MovimientoCuentaDTO otro = movimiento(numeroCuenta, "DEBITO", "1.00");
+		assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> idempotencia.procesar(clave, otro));
+		assertThrows(ClaveIdempotenciaReutilizadaException.class, () -> idempotenciaReactiva.procesar(clave, otro).block());
+		assertEquals(Dinero.de("750.00"),
+				cuentaService.buscarPorNumeroCuenta(numeroCuenta).orElseThrow().getSaldoDisponible());
+	}
+
+	@Test
+	void lasEtapasReactivasSeMidenComoLasBloqueantes() {
+		String numeroCuenta = crearCuenta();
+		long antes = insercionesMedidas();
+
+		movimientoReactivoService.procesarMovimiento(movimiento(numeroCuenta, "CREDITO", "10.00")).block();
+
+		assertEquals(antes + 1, insercionesMedidas());
+	}
+
+	private long insercionesMedidas() {
+		return meterRegistry.get("banquito.movimientos.etapa")
+				.tags("operacion", MetricasMovimientos.PROCESAR, "etapa", MetricasMovimientos.ETAPA_INSERCION).timer().count();
+	}
+
+	private String crearCuenta() {
+		CrearCuentaDTO crearCuenta = new CrearCuentaDTO();
+		crearCuenta.setClienteIdentificacion(UUID.randomUUID().toString().substring(0, 10));
+		crearCuenta.setClienteNombre("Cliente Prueba Reactiva");
+		crearCuenta.setTipoCuenta("AHORROS");
+		crearCuenta.setSaldoInicial(Dinero.de("1000.00"));
+		return cuentaService.crearCuenta(crearCuenta).getNumeroCuenta();
+	}
+
+	private MovimientoCuentaDTO movimiento(String numeroCuenta, String tipo, String monto) {
+		MovimientoCuentaDTO movimiento = new MovimientoCuentaDTO();
+		movimiento.setNumeroCuenta(numeroCuenta);
+		movimiento.setNumeroComprobante(movimientoService.generarNumeroComprobante());
+		movimiento.setTipoMovimiento(tipo);
+		movimiento.setMonto(Dinero.de(monto));
+		movimiento.setConcepto("PRUEBA REACTIVA");
+		return movimiento;
+	}
+}
@@ -0,0 +1,60 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.Test;
+
+import com.banco.banquito.general.exception.CuentaInactivaException;
+import com.banco.banquito.general.exception.OperacionNoPermitidaException;
+import com.banco.banquito.general.exception.SaldoInsuficienteException;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.EstadoCuenta;
+import com.banco.banquito.general.model.TipoCuenta;
+
+class RechazoActualizacionTests {
+
+	private static final Dinero MONTO = Dinero.de("50.00");
+
+	@Test
+	void unDebitoNoPermitidoNoSeReportaComoSaldoInsuficiente() {
+		CuentaBancaria cuenta = cuenta();
+		cuenta.setPermiteDebito(false);
+
+		assertInstanceOf(OperacionNoPermitidaException.class, CuentaBancariaService.rechazoActualizacion(cuenta, MONTO, true));
+	}
+
+	@Test
+	void unCreditoNoPermitidoNoSeReportaComoCuentaInactiva() {
+		CuentaBancaria cuenta = cuenta();
+		cuenta.setPermiteCredito(false);
+
+		assertInstanceOf(OperacionNoPermitidaException.class, CuentaBancariaService.rechazoActualizacion(cuenta, MONTO, false));
+	}
+
+	@Test
+	void sinPermisoExplicitoLaOperacionNoEstaPermitida() {
+		CuentaBancaria cuenta = cuenta();
+		cuenta.setPermiteDebito(null);
+
+		assertInstanceOf(OperacionNoPermitidaException.class, CuentaBancariaService.rechazoActualizacion(cuenta, MONTO, true));
+	}
+
+	@Test
+	void elEstadoSeVerificaAntesQueLosPermisos() {
+		CuentaBancaria cuenta = cuenta();
+		cuenta.setEstadoCuenta(EstadoCuenta.BLOQUEADA);
+		cuenta.setPermiteDebito(false);
+
+		assertInstanceOf(CuentaInactivaException.class, CuentaBancariaService.rechazoActualizacion(cuenta, MONTO, true));
+	}
+
+	@Test
+	void unDebitoPermitidoSinFondosEsSaldoInsuficiente() {
+		assertInstanceOf(SaldoInsuficienteException.class, CuentaBancariaService.rechazoActualizacion(cuenta(), MONTO, true));
+	}
+
+	private static CuentaBancaria cuenta() {
+		return new CuentaBancaria("2200000001", "1700000001", "Cliente", TipoCuenta.AHORROS);
+	}
+}
@@ -0,0 +1,92 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.banco.banquito.general.controller.dto.CrearCuentaDTO;
+import com.banco.banquito.general.controller.dto.MovimientoCuentaDTO;
+import com.banco.banquito.general.model.CuentaBancaria;
+import com.banco.banquito.general.model.Dinero;
+import com.banco.banquito.general.model.MovimientoCuenta;
+
+/**
+ * Requiere un MongoDB accesible (con replica set si banquito.transacciones.habilitadas=true):
+ * mvn test -Dbanquito.pruebas.mongo=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "banquito.pruebas.mongo", matches = "true")
+class ReversoConcurrenteTests {
+
+	private static final int HILOS = 32;
+
+	@Autowired
+	private CuentaBancariaService cuentaService;
+
+	@Autowired
+	private MovimientoCuentaService movimientoService;
+
+	@Test
+	void soloUnReversoSimultaneoGana() throws Exception {
+		CrearCuentaDTO crearCuenta = new CrearCuentaDTO();
+		crearCuenta.setClienteIdentificacion(UUID.randomUUID().toString().substring(0, 10));
+		crearCuenta.setClienteNombre("Cliente Prueba Reverso");
+		crearCuenta.setTipoCuenta("AHORROS");
+		crearCuenta.setSaldoInicial(Dinero.de("1000.00"));
+		String numeroCuenta = cuentaService.crearCuenta(crearCuenta).getNumeroCuenta();
+
+		MovimientoCuentaDTO debito = new MovimientoCuentaDTO();
+		debito.setNumeroCuenta(numeroCuenta);
+		debito.setNumeroComprobante(movimientoService.generarNumeroComprobante());
+		debito.setTipoMovimiento("DEBITO");
+		debito.setMonto(Dinero.de("250.00"));
+		debito.setConcepto("PRUEBA REVERSO");
+		movimientoService.procesarMovimiento(debito);
+
+		AtomicInteger exitosos = new AtomicInteger();
+		CountDownLatch inicio = new CountDownLatch(1);
+		ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int i = 0; i < HILOS; i++) {
+				tareas.add(ejecutor.submit(() -> {
+					inicio.await();
+					try {
+						movimientoService.reversarMovimiento(debito.getNumeroComprobante(), "Prueba concurrente");
+						exitosos.incrementAndGet();
+					} catch (RuntimeException e) {
+						// Los perdedores encuentran el movimiento ya reversado o un conflicto de escritura
+					}
+					return null;
+				}));
+			}
+			inicio.countDown();
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			ejecutor.shutdown();
+		}
+
+		assertEquals(1, exitosos.get());
+
+		CuentaBancaria cuenta = cuentaService.buscarPorNumeroCuenta(numeroCuenta).orElseThrow();
+		assertEquals(Dinero.de("1000.00"), cuenta.getSaldoDisponible());
+
+		MovimientoCuenta original = movimientoService.findByNumeroComprobante(debito.getNumeroComprobante());
+		assertTrue(original.getReversado());
+	}
+}
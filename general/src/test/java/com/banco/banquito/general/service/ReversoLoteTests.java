@@ -0,0 +1,73 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.banco.banquito.general.controller.dto.ReversoLoteDTO;
+
+class ReversoLoteTests {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 15, 0, 0);
+	private static final LocalDateTime FIN = LocalDateTime.of(2024, 1, 15, 23, 59, 59);
+
+	@Test
+	void unRangoDeFechasSinCuentaNoEsCriterio() {
+		ReversoLoteDTO reverso = reverso();
+		reverso.setFechaInicio(INICIO);
+		reverso.setFechaFin(FIN);
+		assertFalse(reverso.isCriterioValido());
+
+		reverso.setNumeroCuenta("2200000001");
+		assertTrue(reverso.isCriterioValido());
+	}
+
+	@Test
+	void comprobantesOReferenciaBastan() {
+		ReversoLoteDTO porComprobantes = reverso();
+		porComprobantes.setNumerosComprobante(List.of("COMP-2024-0000000001"));
+		assertTrue(porComprobantes.isCriterioValido());
+
+		ReversoLoteDTO porReferencia = reverso();
+		porReferencia.setReferenciaExterna("LOTE-20240115");
+		assertTrue(porReferencia.isCriterioValido());
+
+		ReversoLoteDTO soloCuenta = reverso();
+		soloCuenta.setNumeroCuenta("2200000001");
+		soloCuenta.setFechaInicio(INICIO);
+		assertFalse(soloCuenta.isCriterioValido());
+	}
+
+	@Test
+	void elFiltroExcluyeLosReversos() {
+		Document filtro = new Query(MovimientoCuentaService.criterioReversoLote(null, "2200000001", INICIO, FIN)).getQueryObject();
+
+		assertEquals(false, filtro.get("reversado"));
+		assertEquals(new Document("$exists", false), filtro.get("movimientoOriginal"));
+		assertEquals("2200000001", filtro.get("numeroCuenta"));
+		assertNull(filtro.get("referenciaExterna"));
+	}
+
+	@Test
+	void elFiltroPorReferenciaTambienExcluyeLosReversos() {
+		Document filtro = new Query(MovimientoCuentaService.criterioReversoLote("LOTE-20240115", null, null, null)).getQueryObject();
+
+		assertEquals("LOTE-20240115", filtro.get("referenciaExterna"));
+		assertEquals(new Document("$exists", false), filtro.get("movimientoOriginal"));
+		assertNull(filtro.get("fechaMovimiento"));
+	}
+
+	private static ReversoLoteDTO reverso() {
+		ReversoLoteDTO reverso = new ReversoLoteDTO();
+		reverso.setMotivo("Archivo de lote procesado dos veces");
+		return reverso;
+	}
+}
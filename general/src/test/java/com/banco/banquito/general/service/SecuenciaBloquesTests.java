@@ -0,0 +1,79 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.banco.banquito.general.model.ContadorSecuencia;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SecuenciaBloquesTests {
+
+	private static final int HILOS = 32;
+	private static final int VALORES_POR_HILO = 20_000;
+	private static final long TAMANO_BLOQUE = 100;
+
+	@Test
+	void entregaValoresUnicosConMuchosHilos() throws Exception {
+		// Simula el $inc atómico de la colección de contadores
+		AtomicLong contador = new AtomicLong();
+		AtomicLong reservas = new AtomicLong();
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ContadorSecuencia.class)))
+				.thenAnswer(invocacion -> {
+					reservas.incrementAndGet();
+					ContadorSecuencia resultado = new ContadorSecuencia("prueba");
+					resultado.setValor(contador.addAndGet(TAMANO_BLOQUE));
+					return resultado;
+				});
+
+		SecuenciaBloques secuencia = new SecuenciaBloques(mongoTemplate, TAMANO_BLOQUE, new SimpleMeterRegistry());
+		Set<Long> valores = ConcurrentHashMap.newKeySet();
+		CountDownLatch inicio = new CountDownLatch(1);
+		ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int i = 0; i < HILOS; i++) {
+				tareas.add(ejecutor.submit(() -> {
+					inicio.await();
+					for (int j = 0; j < VALORES_POR_HILO; j++) {
+						valores.add(secuencia.siguiente("prueba"));
+					}
+					return null;
+				}));
+			}
+			inicio.countDown();
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			ejecutor.shutdown();
+		}
+
+		long total = (long) HILOS * VALORES_POR_HILO;
+		assertEquals(total, valores.size());
+		// Cada bloque se reserva una sola vez y se consume completo, sin huecos
+		assertEquals(total / TAMANO_BLOQUE, reservas.get());
+		assertEquals(1L, valores.stream().mapToLong(Long::longValue).min().getAsLong());
+		assertEquals(total, valores.stream().mapToLong(Long::longValue).max().getAsLong());
+	}
+}
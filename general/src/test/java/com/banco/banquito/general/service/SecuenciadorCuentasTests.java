@@ -0,0 +1,55 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SecuenciadorCuentasTests {
+
+	private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+	private final SecuenciadorCuentas secuenciador = new SecuenciadorCuentas(true, 4, registro,
+			new DetectorCuentasCalientes(registro, true, 10, 2048, 10_000));
+
+	@Test
+	void laSegundaOperacionDeLaCuentaEsperaALaPrimera() {
+		Sinks.One<String> primera = Sinks.one();
+		AtomicBoolean segundaIniciada = new AtomicBoolean();
+		StringBuilder orden = new StringBuilder();
+
+		secuenciador.ejecutarReactivo("2200000001", primera::asMono).subscribe(orden::append);
+		secuenciador.ejecutarReactivo("2200000001", () -> {
+			segundaIniciada.set(true);
+			return Mono.just("2");
+		}).subscribe(orden::append);
+
+		assertFalse(segundaIniciada.get());
+		primera.tryEmitValue("1");
+		assertTrue(segundaIniciada.get());
+		assertEquals("12", orden.toString());
+	}
+
+	@Test
+	void cancelarLaEsperaNoAdelantaAlSiguiente() {
+		Sinks.One<String> primera = Sinks.one();
+		AtomicBoolean terceraIniciada = new AtomicBoolean();
+
+		secuenciador.ejecutarReactivo("2200000001", primera::asMono).subscribe();
+		secuenciador.ejecutarReactivo("2200000001", () -> Mono.just("2")).subscribe().dispose();
+		secuenciador.ejecutarReactivo("2200000001", () -> {
+			terceraIniciada.set(true);
+			return Mono.just("3");
+		}).subscribe();
+
+		assertFalse(terceraIniciada.get());
+		primera.tryEmitValue("1");
+		assertTrue(terceraIniciada.get());
+	}
+}
@@ -0,0 +1,86 @@
+package com.banco.banquito.general.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class SketchFrecuenciasTests {
+
+	private static final int CUENTAS = 100_000;
+	private static final int CALIENTES = 10;
+	private static final int HILOS = 8;
+	private static final int REGISTROS_POR_HILO = 200_000;
+
+	@Test
+	void encuentraLasCuentasCalientesEntreMuchasFrias() throws Exception {
+		SketchFrecuencias sketch = new SketchFrecuencias(2048, CALIENTES * 8);
+		ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int h = 0; h < HILOS; h++) {
+				long semilla = h;
+				tareas.add(ejecutor.submit(() -> {
+					// La mitad del tráfico va a 10 cuentas, el resto se reparte entre 100.000
+					SplittableRandom aleatorio = new SplittableRandom(semilla);
+					for (int i = 0; i < REGISTROS_POR_HILO; i++) {
+						String cuenta = aleatorio.nextBoolean()
+								? cuenta(aleatorio.nextInt(CALIENTES))
+								: cuenta(CALIENTES + aleatorio.nextInt(CUENTAS));
+						sketch.agregar(cuenta, 1);
+					}
+				}));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			ejecutor.shutdown();
+		}
+
+		long total = (long) HILOS * REGISTROS_POR_HILO;
+		assertEquals(total, sketch.total());
+
+		Set<String> top = new HashSet<>(sketch.candidatos().subList(0, CALIENTES));
+		for (int i = 0; i < CALIENTES; i++) {
+			assertTrue(top.contains(cuenta(i)), "Falta la cuenta caliente " + cuenta(i) + " en " + top);
+		}
+
+		// Cada caliente recibe ~total/20; el error del sketch es del orden de total * e / ancho
+		long esperado = total / (2 * CALIENTES);
+		long errorMaximo = (long) (total * Math.E / 2048);
+		for (int i = 0; i < CALIENTES; i++) {
+			long estimado = sketch.estimar(cuenta(i));
+			assertTrue(estimado > esperado * 0.9 && estimado < esperado * 1.1 + errorMaximo,
+					"Estimado " + estimado + " para " + cuenta(i));
+		}
+	}
+
+	@Test
+	void nuncaSubestimaYUsaPeso() {
+		SketchFrecuencias sketch = new SketchFrecuencias(64, 16);
+		for (int i = 0; i < 10_000; i++) {
+			sketch.agregar(cuenta(i % 500), 1);
+		}
+		sketch.agregar(cuenta(7), 1_000);
+
+		for (int i = 0; i < 500; i++) {
+			assertTrue(sketch.estimar(cuenta(i)) >= 20 + (i == 7 ? 1_000 : 0));
+		}
+		assertEquals(cuenta(7), sketch.candidatos().get(0));
+		assertEquals(0, new SketchFrecuencias(64, 16).estimar(cuenta(1)));
+	}
+
+	private static String cuenta(int indice) {
+		return String.format("22%08d", indice);
+	}
+}